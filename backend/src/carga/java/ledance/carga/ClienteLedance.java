@@ -0,0 +1,99 @@
+package ledance.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ledance.dto.request.LoginRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP compartido por todos los hilos virtuales. Mide cada llamada
+ * por endpoint (con la ruta como plantilla, sin ids) y vuelve a loguearse
+ * cuando el access token vence a mitad de la corrida.
+ */
+final class ClienteLedance {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI base;
+    private final ObjectMapper json;
+    private final Mediciones endpoints;
+    private final String usuario;
+    private final String contrasena;
+    private volatile String token;
+
+    ClienteLedance(HttpClient http, URI base, ObjectMapper json, Mediciones endpoints,
+                   String usuario, String contrasena) {
+        this.http = http;
+        this.base = base;
+        this.json = json;
+        this.endpoints = endpoints;
+        this.usuario = usuario;
+        this.contrasena = contrasena;
+    }
+
+    synchronized void login() throws IOException, InterruptedException {
+        HttpResponse<byte[]> respuesta = http.send(HttpRequest.newBuilder(base.resolve("/api/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(
+                        new LoginRequest(usuario, contrasena))))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("Login rechazado con status " + respuesta.statusCode());
+        }
+        token = "Bearer " + json.readTree(respuesta.body()).path("accessToken").asText();
+    }
+
+    /** Devuelve el cuerpo JSON o {@code null} si la respuesta no fue 2xx. */
+    JsonNode get(String endpoint, String ruta) throws IOException, InterruptedException {
+        return llamar(endpoint, ruta, "GET", HttpRequest.BodyPublishers.noBody());
+    }
+
+    JsonNode enviar(String metodo, String endpoint, String ruta, Object cuerpo)
+            throws IOException, InterruptedException {
+        return llamar(endpoint, ruta, metodo, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(cuerpo)));
+    }
+
+    private JsonNode llamar(String endpoint, String ruta, String metodo, HttpRequest.BodyPublisher cuerpo)
+            throws IOException, InterruptedException {
+        String actual = token;
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(ruta))
+                .timeout(TIMEOUT)
+                .header("Authorization", actual)
+                .header("Content-Type", "application/json")
+                .method(metodo, cuerpo)
+                .build();
+        long inicio = System.nanoTime();
+        HttpResponse<byte[]> respuesta;
+        try {
+            respuesta = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            endpoints.registrar(endpoint, System.nanoTime() - inicio, e.getClass().getSimpleName());
+            throw e;
+        }
+        endpoints.registrar(endpoint, System.nanoTime() - inicio, Integer.toString(respuesta.statusCode()));
+        if (respuesta.statusCode() == 401) {
+            renovar(actual);
+            return null;
+        }
+        if (respuesta.statusCode() / 100 != 2) {
+            return null;
+        }
+        String tipo = respuesta.headers().firstValue("Content-Type").orElse("");
+        return tipo.startsWith("application/json") ? json.readTree(respuesta.body()) : json.nullNode();
+    }
+
+    /** Sólo el primer hilo que ve el 401 renueva; los demás ya encuentran otro token. */
+    private synchronized void renovar(String vencido) throws IOException, InterruptedException {
+        if (vencido.equals(token)) {
+            login();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ledance.carga;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de una corrida. Se pasan como {@code clave=valor}; credenciales y
+ * base salen por defecto de las mismas variables de entorno que usa el backend.
+ *
+ * @param rps          llegadas por segundo, independientes de cuánto tarde el backend
+ * @param maxEnVuelo   escenarios simultáneos antes de descartar llegadas del lado del cliente
+ * @param calentamiento tiempo inicial que se ejecuta pero no se mide
+ */
+record ConfiguracionCarga(URI url, String usuario, String contrasena,
+                          String jdbcUrl, String jdbcUsuario, String jdbcContrasena,
+                          int rps, Duration duracion, Duration calentamiento, int maxEnVuelo,
+                          Map<Escenario, Integer> pesos, long semilla, Path salida) {
+
+    ConfiguracionCarga {
+        if (rps < 1 || maxEnVuelo < 1 || duracion.isNegative() || duracion.isZero() || calentamiento.isNegative()) {
+            throw new IllegalArgumentException("rps, maxEnVuelo y duracion deben ser positivos");
+        }
+        if (usuario == null || usuario.isBlank() || contrasena == null || contrasena.isBlank()) {
+            throw new IllegalArgumentException(
+                    "Faltan credenciales: usuario=/contrasena= o APP_BOOTSTRAP_ADMIN_USERNAME/PASSWORD");
+        }
+        if (pesos.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Al menos un escenario debe tener peso positivo");
+        }
+        pesos = Map.copyOf(pesos);
+    }
+
+    static ConfiguracionCarga desde(String[] args, Map<String, String> entorno) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual < 1) {
+                throw new IllegalArgumentException("Argumento sin formato clave=valor: " + arg);
+            }
+            valores.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        return new ConfiguracionCarga(
+                URI.create(valores.getOrDefault("url", "http://localhost:8080")),
+                valores.getOrDefault("usuario", entorno.get("APP_BOOTSTRAP_ADMIN_USERNAME")),
+                valores.getOrDefault("contrasena", entorno.get("APP_BOOTSTRAP_ADMIN_PASSWORD")),
+                valores.getOrDefault("jdbc", entorno.getOrDefault("SPRING_DATASOURCE_URL",
+                        "jdbc:postgresql://localhost:5432/ledance_db")),
+                valores.getOrDefault("jdbcUsuario", entorno.getOrDefault("SPRING_DATASOURCE_USERNAME", "postgres")),
+                valores.getOrDefault("jdbcContrasena", entorno.get("SPRING_DATASOURCE_PASSWORD")),
+                Integer.parseInt(valores.getOrDefault("rps", "50")),
+                Duration.parse(valores.getOrDefault("duracion", "PT60S")),
+                Duration.parse(valores.getOrDefault("calentamiento", "PT10S")),
+                Integer.parseInt(valores.getOrDefault("maxEnVuelo", "500")),
+                pesos(valores.get("pesos")),
+                Long.parseLong(valores.getOrDefault("semilla", "40")),
+                Path.of(valores.getOrDefault("salida", "target/carga-result.json")));
+    }
+
+    /** {@code pesos=PAGO_MOSTRADOR:30,BUSQUEDA_ALUMNO:40}; los escenarios omitidos quedan en cero. */
+    private static Map<Escenario, Integer> pesos(String valor) {
+        Map<Escenario, Integer> pesos = new EnumMap<>(Escenario.class);
+        if (valor == null || valor.isBlank()) {
+            for (Escenario escenario : Escenario.values()) {
+                pesos.put(escenario, escenario.pesoPorDefecto());
+            }
+            return pesos;
+        }
+        for (Escenario escenario : Escenario.values()) {
+            pesos.put(escenario, 0);
+        }
+        for (String parte : valor.split(",")) {
+            String[] par = parte.split(":");
+            if (par.length != 2) {
+                throw new IllegalArgumentException("Peso sin formato ESCENARIO:peso: " + parte);
+            }
+            pesos.put(Escenario.valueOf(par[0].trim()), Integer.parseInt(par[1].trim()));
+        }
+        return pesos;
+    }
+}
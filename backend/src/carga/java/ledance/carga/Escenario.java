@@ -0,0 +1,96 @@
+package ledance.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import ledance.dto.asistencia.request.AsistenciaDiariaRegistroRequest;
+import ledance.dto.pago.request.AplicacionPagoRequest;
+import ledance.dto.pago.request.PagoRegistroRequest;
+import ledance.dto.reporte.request.ReporteLiquidacionRequest;
+import ledance.entidades.EstadoAsistencia;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Flujos de la recepción y la administración, con el peso que tienen en un
+ * día normal. Cada llegada elige uno y lo ejecuta completo.
+ */
+enum Escenario {
+
+    /** Busca la deuda del alumno y cobra el cargo más viejo. */
+    PAGO_MOSTRADOR(30) {
+        @Override
+        void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+                throws IOException, InterruptedException {
+            long alumno = muestra.alumnoConDeuda(azar);
+            JsonNode pendientes = cliente.get("GET /api/cargos/alumno/{id}/pendientes",
+                    "/api/cargos/alumno/" + alumno + "/pendientes?size=5");
+            if (pendientes == null || pendientes.path("content").isEmpty()) {
+                return;
+            }
+            JsonNode cargo = pendientes.path("content").get(0);
+            String saldo = cargo.path("saldo").asText();
+            cliente.enviar("POST", "POST /api/pagos", "/api/pagos", new PagoRegistroRequest(alumno,
+                    muestra.metodo(azar), saldo, "carga-" + UUID.randomUUID(), null,
+                    List.of(new AplicacionPagoRequest(cargo.path("id").asLong(), saldo)), false));
+        }
+    },
+
+    BUSQUEDA_ALUMNO(40) {
+        @Override
+        void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+                throws IOException, InterruptedException {
+            cliente.get("GET /api/alumnos/buscar", "/api/alumnos/buscar?size=20&nombre="
+                    + URLEncoder.encode(muestra.prefijo(azar), StandardCharsets.UTF_8));
+        }
+    },
+
+    /** La profesora marca presente, ausente o justificado en la planilla del mes. */
+    ASISTENCIA(20) {
+        @Override
+        void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+                throws IOException, InterruptedException {
+            Muestra.Planilla planilla = muestra.planilla(azar);
+            EstadoAsistencia estado = EstadoAsistencia.values()[azar.nextInt(10) < 8 ? 0 : 1 + azar.nextInt(2)];
+            cliente.enviar("PUT", "PUT /api/asistencias-diarias/registrar", "/api/asistencias-diarias/registrar",
+                    new AsistenciaDiariaRegistroRequest(null, planilla.fecha(azar), estado, planilla.id()));
+        }
+    },
+
+    RESUMEN_CAJA(7) {
+        @Override
+        void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+                throws IOException, InterruptedException {
+            cliente.get("GET /api/caja/resumen", "/api/caja/resumen?size=50&desde=" + muestra.desde()
+                    + "&hasta=" + muestra.hasta());
+        }
+    },
+
+    /** Liquidación en PDF de una disciplina para el mes más reciente con pagos. */
+    EXPORTE_REPORTE(3) {
+        @Override
+        void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+                throws IOException, InterruptedException {
+            cliente.enviar("POST", "POST /api/reportes/mensualidades/exportar", "/api/reportes/mensualidades/exportar",
+                    new ReporteLiquidacionRequest(muestra.desde(), muestra.hasta(), muestra.disciplina(azar), null,
+                            new BigDecimal("30")));
+        }
+    };
+
+    private final int pesoPorDefecto;
+
+    Escenario(int pesoPorDefecto) {
+        this.pesoPorDefecto = pesoPorDefecto;
+    }
+
+    int pesoPorDefecto() {
+        return pesoPorDefecto;
+    }
+
+    abstract void ejecutar(ClienteLedance cliente, Muestra muestra, SplittableRandom azar)
+            throws IOException, InterruptedException;
+}
@@ -0,0 +1,155 @@
+package ledance.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto contra un backend levantado.
+ *
+ * <p>Las llegadas se programan a ritmo fijo ({@code rps}) y cada una corre en
+ * un hilo virtual, tarde lo que tarde el backend. La latencia de escenario se
+ * mide desde el instante programado y no desde el envío, así una pausa del
+ * servidor se ve en los percentiles en lugar de frenar al generador. Si hay
+ * más de {@code maxEnVuelo} escenarios abiertos la llegada se descarta y se
+ * cuenta aparte.
+ *
+ * <p>El resultado queda en {@code salida} (por defecto
+ * {@code target/carga-result.json}) para comparar versiones sobre el mismo
+ * escenario y la misma base.
+ */
+public final class GeneradorCarga {
+
+    private GeneradorCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga config = ConfiguracionCarga.desde(args, System.getenv());
+        Muestra muestra = Muestra.cargar(config);
+        ObjectMapper json = JsonMapper.builder().findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        Mediciones escenarios = new Mediciones();
+        Mediciones endpoints = new Mediciones();
+        LongAdder descartadas = new LongAdder();
+        List<Escenario> ruleta = ruleta(config);
+        SplittableRandom raiz = new SplittableRandom(config.semilla());
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / config.rps();
+        long inicio;
+        long fin;
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(hilos)
+                     .connectTimeout(Duration.ofSeconds(10)).build()) {
+            ClienteLedance cliente = new ClienteLedance(http, config.url(), json, endpoints,
+                    config.usuario(), config.contrasena());
+            cliente.login();
+            Semaphore enVuelo = new Semaphore(config.maxEnVuelo());
+            inicio = System.nanoTime();
+            long medicion = inicio + config.calentamiento().toNanos();
+            fin = medicion + config.duracion().toNanos();
+            boolean midiendo = false;
+            for (long llegada = 0; ; llegada++) {
+                long programada = inicio + llegada * intervalo;
+                if (programada >= fin) {
+                    break;
+                }
+                esperarHasta(programada);
+                if (!midiendo && programada >= medicion) {
+                    escenarios.activar();
+                    endpoints.activar();
+                    midiendo = true;
+                }
+                Escenario escenario = ruleta.get(raiz.nextInt(ruleta.size()));
+                SplittableRandom azar = raiz.split();
+                if (!enVuelo.tryAcquire()) {
+                    if (midiendo) {
+                        descartadas.increment();
+                    }
+                    continue;
+                }
+                hilos.submit(() -> {
+                    String resultado = "2xx";
+                    try {
+                        escenario.ejecutar(cliente, muestra, azar);
+                    } catch (IOException | InterruptedException | RuntimeException e) {
+                        resultado = e.getClass().getSimpleName();
+                    } finally {
+                        escenarios.registrar(escenario.name(), System.nanoTime() - programada, resultado);
+                        enVuelo.release();
+                    }
+                });
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("fecha", Instant.now().toString());
+        reporte.put("url", config.url().toString());
+        reporte.put("rps", config.rps());
+        reporte.put("duracion", config.duracion().toString());
+        reporte.put("calentamiento", config.calentamiento().toString());
+        reporte.put("pesos", new TreeMap<>(config.pesos()));
+        reporte.put("semilla", config.semilla());
+        reporte.put("segundosTotales", TimeUnit.NANOSECONDS.toSeconds(nanos));
+        reporte.put("descartadasPorCliente", descartadas.sum());
+        reporte.put("escenarios", escenarios.resumen());
+        reporte.put("endpoints", endpoints.resumen());
+        if (config.salida().getParent() != null) {
+            Files.createDirectories(config.salida().getParent());
+        }
+        json.writeValue(config.salida().toFile(), reporte);
+        imprimir(endpoints.resumen(), descartadas.sum());
+        System.out.println("Resultado completo en " + config.salida().toAbsolutePath());
+    }
+
+    /** Una entrada por unidad de peso; elegir al azar respeta las proporciones. */
+    private static List<Escenario> ruleta(ConfiguracionCarga config) {
+        List<Escenario> ruleta = new ArrayList<>();
+        config.pesos().forEach((escenario, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                ruleta.add(escenario);
+            }
+        });
+        ruleta.sort(null);
+        return List.copyOf(ruleta);
+    }
+
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Object> endpoints, long descartadas) {
+        System.out.printf("%-48s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "tasa err", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((nombre, valor) -> {
+            Map<String, Object> fila = (Map<String, Object>) valor;
+            System.out.printf("%-48s %9d %8s %9s %9s %9s %9s%n", nombre, (Long) fila.get("requests"),
+                    fila.get("tasaError"), fila.get("p50Ms"), fila.get("p99Ms"), fila.get("p999Ms"), fila.get("maxMs"));
+        });
+        System.out.println("Llegadas descartadas por el cliente: " + descartadas);
+    }
+}
@@ -0,0 +1,83 @@
+package ledance.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias en microsegundos por nombre (endpoint o escenario) y conteo de
+ * resultados. Nada se registra hasta {@link #activar()}, que marca el fin del
+ * calentamiento.
+ */
+final class Mediciones {
+
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private record Serie(Histogram histograma, Map<String, LongAdder> resultados) {
+    }
+
+    private final Map<String, Serie> series = new ConcurrentHashMap<>();
+    private volatile boolean activas;
+
+    void activar() {
+        activas = true;
+    }
+
+    /** {@code resultado} es el status HTTP o el nombre de la excepción. */
+    void registrar(String nombre, long nanos, String resultado) {
+        if (!activas) {
+            return;
+        }
+        Serie serie = series.computeIfAbsent(nombre, n -> new Serie(new ConcurrentHistogram(MAXIMO_MICROS, 3),
+                new ConcurrentHashMap<>()));
+        serie.histograma().recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAXIMO_MICROS));
+        serie.resultados().computeIfAbsent(resultado, r -> new LongAdder()).increment();
+    }
+
+    /**
+     * Percentiles en milisegundos, tasa de error (todo lo que no sea 2xx) y el
+     * histograma comprimido en base64 para re-analizarlo con HdrHistogram.
+     */
+    Map<String, Object> resumen() {
+        Map<String, Object> resumen = new TreeMap<>();
+        series.forEach((nombre, serie) -> {
+            Histogram histograma = serie.histograma().copy();
+            Map<String, Long> resultados = new TreeMap<>();
+            serie.resultados().forEach((r, n) -> resultados.put(r, n.sum()));
+            long total = histograma.getTotalCount();
+            long errores = resultados.entrySet().stream()
+                    .filter(e -> !e.getKey().startsWith("2")).mapToLong(Map.Entry::getValue).sum();
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("requests", total);
+            fila.put("errores", errores);
+            fila.put("tasaError", total == 0 ? "0.0000" : String.format(Locale.ROOT, "%.4f", errores / (double) total));
+            fila.put("resultados", resultados);
+            fila.put("p50Ms", milis(histograma.getValueAtPercentile(50)));
+            fila.put("p90Ms", milis(histograma.getValueAtPercentile(90)));
+            fila.put("p99Ms", milis(histograma.getValueAtPercentile(99)));
+            fila.put("p999Ms", milis(histograma.getValueAtPercentile(99.9)));
+            fila.put("maxMs", milis(histograma.getMaxValue()));
+            ByteBuffer buffer = ByteBuffer.allocate(histograma.getNeededByteBufferCapacity());
+            histograma.encodeIntoCompressedByteBuffer(buffer);
+            buffer.flip();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            fila.put("histograma", Base64.getEncoder().encodeToString(bytes));
+            resumen.put(nombre, fila);
+        });
+        return resumen;
+    }
+
+    private static String milis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,116 @@
+package ledance.carga;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ids reales leídos de la base antes de arrancar, para que cada escenario
+ * pegue contra alumnos con deuda, planillas abiertas y disciplinas existentes.
+ * Pensada para una base cargada con {@code DatasetEscuela}.
+ */
+record Muestra(List<Long> alumnosConDeuda, List<String> prefijos, List<Planilla> planillas,
+               List<Long> disciplinas, List<Long> metodos, LocalDate desde, LocalDate hasta) {
+
+    private static final int LIMITE = 5_000;
+
+    /** Fila de {@code asistencias_alumno_mensual} y el mes que cubre. */
+    record Planilla(long id, YearMonth mes) {
+
+        /** Un día del mes que no sea futuro: el backend rechaza asistencia adelantada. */
+        LocalDate fecha(SplittableRandom azar) {
+            LocalDate dia = mes.atDay(1 + azar.nextInt(mes.lengthOfMonth()));
+            LocalDate hoy = LocalDate.now();
+            return dia.isAfter(hoy) ? hoy : dia;
+        }
+    }
+
+    static Muestra cargar(ConfiguracionCarga config) throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(config.jdbcUrl(), config.jdbcUsuario(),
+                config.jdbcContrasena()); Statement statement = conexion.createStatement()) {
+            statement.setQueryTimeout(60);
+            LocalDate hasta = lista(statement, "SELECT max(fecha) FROM pagos WHERE estado = 'REGISTRADO'",
+                    r -> r.getDate(1) == null ? LocalDate.now() : r.getDate(1).toLocalDate()).getFirst();
+            YearMonth ultimoMes = YearMonth.from(LocalDate.now());
+            Muestra muestra = new Muestra(
+                    lista(statement, """
+                            SELECT DISTINCT alumno_id FROM cargos
+                            WHERE estado IN ('PENDIENTE','PARCIAL') ORDER BY alumno_id LIMIT %d
+                            """.formatted(LIMITE), r -> r.getLong(1)),
+                    lista(statement, """
+                            SELECT DISTINCT left(apellido, 3) FROM alumnos
+                            WHERE activo AND length(apellido) >= 3 ORDER BY 1 LIMIT %d
+                            """.formatted(LIMITE), r -> r.getString(1)),
+                    lista(statement, """
+                            SELECT aam.id, am.anio, am.mes
+                            FROM asistencias_alumno_mensual aam
+                            JOIN asistencias_mensuales am ON am.id = aam.asistencia_mensual_id
+                            WHERE aam.activo AND make_date(am.anio, am.mes, 1) <= DATE '%s'
+                            ORDER BY am.anio DESC, am.mes DESC, aam.id LIMIT %d
+                            """.formatted(ultimoMes.atDay(1), LIMITE),
+                            r -> new Planilla(r.getLong(1), YearMonth.of(r.getInt(2), r.getInt(3)))),
+                    lista(statement, "SELECT id FROM disciplinas WHERE activo ORDER BY id LIMIT " + LIMITE,
+                            r -> r.getLong(1)),
+                    lista(statement, "SELECT id FROM metodo_pagos WHERE activo ORDER BY id", r -> r.getLong(1)),
+                    hasta.withDayOfMonth(1), hasta);
+            muestra.verificar(config);
+            return muestra;
+        }
+    }
+
+    long alumnoConDeuda(SplittableRandom azar) {
+        return alumnosConDeuda.get(azar.nextInt(alumnosConDeuda.size()));
+    }
+
+    String prefijo(SplittableRandom azar) {
+        return prefijos.get(azar.nextInt(prefijos.size()));
+    }
+
+    Planilla planilla(SplittableRandom azar) {
+        return planillas.get(azar.nextInt(planillas.size()));
+    }
+
+    long disciplina(SplittableRandom azar) {
+        return disciplinas.get(azar.nextInt(disciplinas.size()));
+    }
+
+    long metodo(SplittableRandom azar) {
+        return metodos.get(azar.nextInt(metodos.size()));
+    }
+
+    private void verificar(ConfiguracionCarga config) {
+        exigir(config, Escenario.PAGO_MOSTRADOR, !alumnosConDeuda.isEmpty() && !metodos.isEmpty(),
+                "alumnos con cargos pendientes y métodos de pago");
+        exigir(config, Escenario.BUSQUEDA_ALUMNO, !prefijos.isEmpty(), "alumnos activos");
+        exigir(config, Escenario.ASISTENCIA, !planillas.isEmpty(), "planillas de asistencia");
+        exigir(config, Escenario.EXPORTE_REPORTE, !disciplinas.isEmpty(), "disciplinas activas");
+    }
+
+    private static void exigir(ConfiguracionCarga config, Escenario escenario, boolean hayDatos, String faltante) {
+        if (config.pesos().getOrDefault(escenario, 0) > 0 && !hayDatos) {
+            throw new IllegalStateException("El escenario " + escenario + " necesita " + faltante
+                    + "; cargá la base con DatasetEscuela o bajale el peso a 0");
+        }
+    }
+
+    private interface Fila<T> {
+        T leer(ResultSet result) throws SQLException;
+    }
+
+    private static <T> List<T> lista(Statement statement, String sql, Fila<T> fila) throws SQLException {
+        List<T> valores = new ArrayList<>();
+        try (ResultSet result = statement.executeQuery(sql)) {
+            while (result.next()) {
+                valores.add(fila.leer(result));
+            }
+        }
+        return List.copyOf(valores);
+    }
+}
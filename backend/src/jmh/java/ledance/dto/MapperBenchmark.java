@@ -0,0 +1,94 @@
+package ledance.dto;
+
+import ledance.dto.alumno.AlumnoMapper;
+import ledance.dto.alumno.AlumnoMapperImpl;
+import ledance.dto.alumno.response.AlumnoResponse;
+import ledance.dto.disciplina.DisciplinaHorarioMapperImpl;
+import ledance.dto.disciplina.DisciplinaMapper;
+import ledance.dto.disciplina.DisciplinaMapperImpl;
+import ledance.dto.disciplina.response.DisciplinaResponse;
+import ledance.entidades.Alumno;
+import ledance.entidades.DiaSemana;
+import ledance.entidades.Disciplina;
+import ledance.entidades.DisciplinaHorario;
+import ledance.entidades.Profesor;
+import ledance.entidades.Salon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/** Mappers de MapStruct que arman las respuestas de los listados más usados. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private AlumnoMapper alumnos;
+    private DisciplinaMapper disciplinas;
+    private Alumno alumno;
+    private Disciplina disciplina;
+
+    @Setup
+    public void preparar() {
+        alumnos = new AlumnoMapperImpl();
+        disciplinas = new DisciplinaMapperImpl();
+        ReflectionTestUtils.setField(disciplinas, "disciplinaHorarioMapper", new DisciplinaHorarioMapperImpl());
+
+        alumno = new Alumno();
+        alumno.setId(42L);
+        alumno.setNombre("Lucía");
+        alumno.setApellido("Fernández");
+        alumno.setFechaNacimiento(LocalDate.of(2012, 5, 17));
+        alumno.setCelular1("3815550000");
+        alumno.setEmail("lucia@example.test");
+        alumno.setFechaIncorporacion(LocalDate.of(2024, 3, 1));
+
+        Salon salon = new Salon();
+        salon.setId(3L);
+        salon.setNombre("Salón grande");
+        Profesor profesor = new Profesor();
+        profesor.setId(9L);
+        profesor.setNombre("Mariana");
+        profesor.setApellido("Paz");
+        disciplina = new Disciplina();
+        disciplina.setId(7L);
+        disciplina.setNombre("Jazz infantil");
+        disciplina.setSalon(salon);
+        disciplina.setProfesor(profesor);
+        disciplina.setValorCuota(new BigDecimal("35000.00"));
+        for (DiaSemana dia : new DiaSemana[]{DiaSemana.LUNES, DiaSemana.MIERCOLES, DiaSemana.VIERNES}) {
+            DisciplinaHorario horario = new DisciplinaHorario();
+            horario.setDisciplina(disciplina);
+            horario.setDiaSemana(dia);
+            horario.setHorarioInicio(LocalTime.of(18, 0));
+            horario.setDuracion(new BigDecimal("1.5"));
+            disciplina.getHorarios().add(horario);
+        }
+    }
+
+    @Benchmark
+    public AlumnoResponse alumnoToResponse() {
+        return alumnos.toResponse(alumno);
+    }
+
+    @Benchmark
+    public DisciplinaResponse disciplinaToResponse() {
+        return disciplinas.toResponse(disciplina);
+    }
+}
@@ -0,0 +1,47 @@
+package ledance.infra.seguridad;
+
+import ledance.entidades.Rol;
+import ledance.entidades.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/** Verificación del access token que hace {@link SecurityFilter} en cada request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokens;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokens = new TokenService(new JwtProperties("benchmark-only-secret-with-at-least-32-characters",
+                "le-dance-benchmark", 1, 24), Clock.systemUTC());
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNombreUsuario("caja");
+        usuario.setRol(new Rol(1L, "ADMINISTRADOR", true));
+        usuario.setActivo(true);
+        token = tokens.generarAccessToken(usuario);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokens.verify(token, TokenType.ACCESS);
+    }
+}
@@ -0,0 +1,67 @@
+package ledance.servicios.pago;
+
+import ledance.dto.pago.request.AplicacionPagoRequest;
+import ledance.dto.pago.request.PagoRegistroRequest;
+import ledance.infra.idempotencia.RequestHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash de idempotencia y parseo de importes que corren en cada alta de pago,
+ * antes de tocar la base.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagoHashBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Solicitud {
+
+        @Param({"1", "12"})
+        int aplicaciones;
+
+        PagoRegistroRequest request;
+
+        @Setup
+        public void preparar() {
+            List<AplicacionPagoRequest> detalle = new ArrayList<>();
+            for (int i = aplicaciones; i > 0; i--) {
+                detalle.add(new AplicacionPagoRequest(1_000L + i, "15000.50"));
+            }
+            request = new PagoRegistroRequest(42L, 1L, "200000", "caja-1-20260301-0001",
+                    "Pago de cuotas de marzo", detalle, true);
+        }
+    }
+
+    @Benchmark
+    public String hashPago(Solicitud solicitud) {
+        return PagoServicio.hash(solicitud.request);
+    }
+
+    @Benchmark
+    public String sha256() {
+        return RequestHash.sha256("REGISTRAR_PAGO", "42|1|200000.00|1001:15000.50|true|Pago de cuotas de marzo");
+    }
+
+    @Benchmark
+    public BigDecimal monedaPositiva() {
+        return PagoServicio.monedaPositiva("15000.5", "importe");
+    }
+}
@@ -0,0 +1,102 @@
+package ledance.servicios.pdfs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ledance.dto.reporte.response.ReporteMensualidadResponse;
+import ledance.entidades.Alumno;
+import ledance.entidades.AplicacionPago;
+import ledance.entidades.Cargo;
+import ledance.entidades.MetodoPago;
+import ledance.entidades.Pago;
+import ledance.infra.metricas.Metricas;
+import ledance.repositorios.AplicacionPagoRepositorio;
+import ledance.repositorios.DisciplinaRepositorio;
+import ledance.servicios.disciplina.DisciplinaServicio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Render de PDFs sin base: el repositorio devuelve un detalle armado en
+ * memoria, así se mide solo OpenPDF y el armado del documento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfServiceBenchmark {
+
+    @Param({"3", "40"})
+    int lineas;
+
+    private PdfService pdf;
+    private Pago pago;
+    private List<ReporteMensualidadResponse> liquidacion;
+
+    @Setup
+    public void preparar() {
+        Alumno alumno = new Alumno();
+        alumno.setId(42L);
+        alumno.setNombre("Lucía");
+        alumno.setApellido("Fernández");
+        MetodoPago efectivo = new MetodoPago();
+        efectivo.setDescripcion("Efectivo");
+        pago = new Pago();
+        pago.setId(1_234L);
+        pago.setAlumno(alumno);
+        pago.setMetodoPago(efectivo);
+        pago.setFecha(LocalDate.of(2026, 3, 10));
+        pago.setObservaciones("Pago de cuotas de marzo");
+
+        List<AplicacionPago> detalle = new ArrayList<>();
+        liquidacion = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lineas; i++) {
+            Cargo cargo = new Cargo();
+            cargo.setId(5_000L + i);
+            cargo.setDescripcion("Cuota marzo 2026 - Jazz infantil " + i);
+            AplicacionPago aplicacion = new AplicacionPago();
+            aplicacion.setCargo(cargo);
+            aplicacion.setImporteAplicado(new BigDecimal("35000.00"));
+            detalle.add(aplicacion);
+            total = total.add(aplicacion.getImporteAplicado());
+            liquidacion.add(new ReporteMensualidadResponse(cargo.getId(), LocalDate.of(2026, 3, 1),
+                    "Alumno " + i, "Jazz infantil", "Mariana Paz", "35000.00", "35000.00", "0.00", "PAGADO"));
+        }
+        pago.setMontoRecibido(total);
+
+        AplicacionPagoRepositorio aplicaciones = mock(AplicacionPagoRepositorio.class);
+        when(aplicaciones.findByPagoIdOrderById(pago.getId())).thenReturn(detalle);
+        pdf = new PdfService(aplicaciones, mock(DisciplinaServicio.class), mock(DisciplinaRepositorio.class),
+                new Metricas(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public byte[] recibo() {
+        return pdf.generarReciboPdf(pago);
+    }
+
+    @Benchmark
+    public byte[] liquidacionProfesor() {
+        return pdf.generarLiquidacionProfesorPdf(liquidacion, LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 31), new BigDecimal("30"));
+    }
+}
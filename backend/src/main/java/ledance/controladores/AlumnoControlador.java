@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import ledance.dto.alumno.request.AlumnoRegistroRequest;
+import ledance.dto.alumno.response.AlumnoNotaCoincidenciaResponse;
 import ledance.dto.alumno.response.AlumnoResponse;
 import ledance.dto.disciplina.response.DisciplinaResponse;
 import ledance.dto.PageResponse;
@@ -75,6 +76,15 @@ public class AlumnoControlador {
                 PageRequest.of(page, size, Sort.by("apellido", "nombre", "id")))));
     }
 
+    /** Búsqueda de texto completo en las notas de los alumnos activos, por relevancia. */
+    @GetMapping("/notas/buscar")
+    public ResponseEntity<PageResponse<AlumnoNotaCoincidenciaResponse>> buscarEnNotas(
+            @RequestParam String texto,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return ResponseEntity.ok(PageResponse.from(alumnoServicio.buscarEnNotas(texto, PageRequest.of(page, size))));
+    }
+
     @GetMapping("/{alumnoId}/disciplinas")
     public ResponseEntity<List<DisciplinaResponse>> obtenerDisciplinasDeAlumno(@PathVariable Long alumnoId) {
         List<DisciplinaResponse> disciplinas = alumnoServicio.obtenerDisciplinasDeAlumno(alumnoId);
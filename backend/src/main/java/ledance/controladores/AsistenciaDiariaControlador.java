@@ -1,5 +1,6 @@
 package ledance.controladores;
 
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest;
 import ledance.dto.asistencia.request.AsistenciaDiariaRegistroRequest;
 import ledance.dto.asistencia.request.AsistenciaDiariaModificacionRequest;
 import ledance.dto.asistencia.response.AsistenciaDiariaDetalleResponse;
@@ -34,6 +35,14 @@ public class AsistenciaDiariaControlador {
         return ResponseEntity.ok(asistenciaDiariaServicio.registrarOActualizarAsistencia(request));
     }
 
+    @PutMapping("/lote")
+    public ResponseEntity<List<AsistenciaDiariaDetalleResponse>> registrarDia(
+            @Valid @RequestBody AsistenciaDiariaLoteRequest request) {
+        log.info("Registrando {} asistencias para planillaId={} en fecha={}",
+                request.asistencias().size(), request.planillaId(), request.fecha());
+        return ResponseEntity.ok(asistenciaDiariaServicio.registrarDia(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AsistenciaDiariaDetalleResponse> modificarAsistencia(
             @PathVariable Long id, @Valid @RequestBody AsistenciaDiariaModificacionRequest request) {
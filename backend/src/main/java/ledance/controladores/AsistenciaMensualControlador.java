@@ -4,7 +4,10 @@ import ledance.dto.asistencia.request.AsistenciaMensualRegistroRequest;
 import ledance.dto.asistencia.request.AsistenciaMensualModificacionRequest;
 import ledance.dto.asistencia.response.AsistenciaMensualDetalleResponse;
 import ledance.dto.asistencia.response.AsistenciaMensualListadoResponse;
+import ledance.dto.asistencia.response.AsistenciaMensualMatrizResponse;
 import ledance.dto.asistencia.response.AsistenciasActivasResponse;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.servicios.asistencia.AsistenciaMensualServicio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,20 +62,35 @@ public class AsistenciaMensualControlador {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * {@code format=matrix} devuelve {@link AsistenciaMensualMatrizResponse}:
+     * fechas, alumnos y un string de estados por alumno en lugar de un objeto
+     * por alumno y día.
+     */
     @GetMapping(value = "/por-disciplina/detalle", produces = "application/json")
-    public ResponseEntity<AsistenciaMensualDetalleResponse> obtenerPlanillaPorParametros(
+    public ResponseEntity<?> obtenerPlanillaPorParametros(
             @RequestParam Long disciplinaId,
             @RequestParam int mes,
-            @RequestParam int anio) {
+            @RequestParam int anio,
+            @RequestParam(defaultValue = "true") boolean diarias,
+            @RequestParam(required = false) String format) {
+        if (format != null && !format.equals("matrix")) {
+            throw new IllegalArgumentException("Formato de planilla no soportado: " + format);
+        }
         try {
-            AsistenciaMensualDetalleResponse response =
-                    asistenciaMensualServicio.obtenerPlanillaPorDisciplinaYMes(disciplinaId, mes, anio);
+            if (format != null) {
+                return ResponseEntity.ok(asistenciaMensualServicio.obtenerMatrizPlanilla(disciplinaId, mes, anio));
+            }
+            AsistenciaMensualDetalleResponse response = diarias
+                    ? asistenciaMensualServicio.obtenerPlanillaPorDisciplinaYMes(disciplinaId, mes, anio)
+                    : asistenciaMensualServicio.obtenerResumenPlanilla(disciplinaId, mes, anio);
             return ResponseEntity.ok(response);
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @Admision(ClaseAdmision.PESADA)
     @PostMapping("/crear-asistencias-activos-detallado")
     public ResponseEntity<AsistenciasActivasResponse> crearAsistenciasParaInscripcionesActivasDetallado() {
         AsistenciasActivasResponse response = asistenciaMensualServicio.crearAsistenciasParaInscripcionesActivasDetallado();
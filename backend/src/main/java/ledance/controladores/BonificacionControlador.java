@@ -3,12 +3,15 @@ package ledance.controladores;
 import ledance.dto.bonificacion.request.BonificacionModificacionRequest;
 import ledance.dto.bonificacion.request.BonificacionRegistroRequest;
 import ledance.dto.bonificacion.response.BonificacionResponse;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.servicios.bonificacion.BonificacionServicio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,9 +22,11 @@ public class BonificacionControlador {
 
     private static final Logger log = LoggerFactory.getLogger(BonificacionControlador.class);
     private final BonificacionServicio bonificacionService;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public BonificacionControlador(BonificacionServicio bonificacionService) {
+    public BonificacionControlador(BonificacionServicio bonificacionService, RespuestaCondicional respuestaCondicional) {
         this.bonificacionService = bonificacionService;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     @PostMapping
@@ -31,13 +36,15 @@ public class BonificacionControlador {
     }
 
     @GetMapping
-    public ResponseEntity<List<BonificacionResponse>> listarBonificaciones() {
-        return ResponseEntity.ok(bonificacionService.listarBonificaciones());
+    public ResponseEntity<List<BonificacionResponse>> listarBonificaciones(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.BONIFICACIONES,
+                bonificacionService::listarBonificaciones);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BonificacionResponse> obtenerBonificacionPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(bonificacionService.obtenerBonificacionPorId(id));
+    public ResponseEntity<BonificacionResponse> obtenerBonificacionPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.BONIFICACIONES,
+                () -> bonificacionService.obtenerBonificacionPorId(id));
     }
 
     @PutMapping("/{id}")
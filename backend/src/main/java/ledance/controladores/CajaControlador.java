@@ -4,6 +4,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import ledance.dto.caja.response.ResumenCajaResponse;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.servicios.caja.CajaServicio;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +20,7 @@ import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/caja")
+@Admision(ClaseAdmision.PRIORITARIA)
 @Validated
 public class CajaControlador {
     private final CajaServicio caja;
@@ -5,6 +5,8 @@ import ledance.dto.concepto.request.ConceptoRegistroRequest;
 import ledance.dto.concepto.response.ConceptoResponse;
 import ledance.entidades.Concepto;
 import ledance.entidades.SubConcepto;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.repositorios.ConceptoRepositorio;
 import ledance.servicios.concepto.ConceptoServicio;
 import ledance.servicios.concepto.SubConceptoServicio;
@@ -13,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,12 +30,15 @@ public class ConceptoControlador {
     private final SubConceptoServicio subConceptoServicio;
     private final ConceptoRepositorio conceptoRepositorio;
     private final ConceptoMapper conceptoMapper;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public ConceptoControlador(ConceptoServicio conceptoServicio, SubConceptoServicio subConceptoServicio, ConceptoRepositorio conceptoRepositorio, ConceptoMapper conceptoMapper) {
+    public ConceptoControlador(ConceptoServicio conceptoServicio, SubConceptoServicio subConceptoServicio, ConceptoRepositorio conceptoRepositorio, ConceptoMapper conceptoMapper,
+                               RespuestaCondicional respuestaCondicional) {
         this.conceptoServicio = conceptoServicio;
         this.subConceptoServicio = subConceptoServicio;
         this.conceptoRepositorio = conceptoRepositorio;
         this.conceptoMapper = conceptoMapper;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     @PostMapping
@@ -43,15 +49,15 @@ public class ConceptoControlador {
     }
 
     @GetMapping
-    public ResponseEntity<List<ConceptoResponse>> listarConceptos() {
-        List<ConceptoResponse> conceptos = conceptoServicio.listarConceptos();
-        return ResponseEntity.ok(conceptos);
+    public ResponseEntity<List<ConceptoResponse>> listarConceptos(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.CONCEPTOS,
+                conceptoServicio::listarConceptos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ConceptoResponse> obtenerConceptoPorId(@PathVariable Long id) {
-        ConceptoResponse concepto = conceptoServicio.obtenerConceptoPorId(id);
-        return ResponseEntity.ok(concepto);
+    public ResponseEntity<ConceptoResponse> obtenerConceptoPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.CONCEPTOS,
+                () -> conceptoServicio.obtenerConceptoPorId(id));
     }
 
     @PutMapping("/{id}")
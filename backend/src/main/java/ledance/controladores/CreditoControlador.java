@@ -6,6 +6,8 @@ import ledance.dto.credito.request.CreditoConsumoRequest;
 import ledance.dto.credito.request.CreditoReversionRequest;
 import ledance.dto.credito.response.MovimientoCreditoResponse;
 import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.servicios.credito.CreditoServicio;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/creditos")
+@Admision(ClaseAdmision.PRIORITARIA)
 public class CreditoControlador {
     private final CreditoServicio creditos;
 
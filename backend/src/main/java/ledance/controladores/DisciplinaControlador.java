@@ -7,6 +7,10 @@ import ledance.dto.alumno.response.AlumnoResponse;
 import ledance.dto.disciplina.response.DisciplinaResponse;
 import ledance.dto.profesor.response.ProfesorResponse;
 import jakarta.validation.Valid;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.servicios.disciplina.DisciplinaServicio;
 import ledance.servicios.pdfs.PdfService;
 import org.slf4j.Logger;
@@ -14,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.time.LocalTime;
@@ -27,10 +32,13 @@ public class DisciplinaControlador {
     private static final Logger log = LoggerFactory.getLogger(DisciplinaControlador.class);
     private final DisciplinaServicio disciplinaServicio;
     private final PdfService pdfService;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public DisciplinaControlador(DisciplinaServicio disciplinaServicio, PdfService pdfService) {
+    public DisciplinaControlador(DisciplinaServicio disciplinaServicio, PdfService pdfService,
+                                 RespuestaCondicional respuestaCondicional) {
         this.disciplinaServicio = disciplinaServicio;
         this.pdfService = pdfService;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     /**
@@ -47,18 +55,18 @@ public class DisciplinaControlador {
      * ✅ Listar TODAS las disciplinas con detalles completos.
      */
     @GetMapping
-    public ResponseEntity<List<DisciplinaResponse>> listarDisciplinas() {
-        List<DisciplinaResponse> disciplinas = disciplinaServicio.listarDisciplinas();
-        return ResponseEntity.ok(disciplinas);
+    public ResponseEntity<List<DisciplinaResponse>> listarDisciplinas(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.DISCIPLINAS,
+                disciplinaServicio::listarDisciplinas);
     }
 
     /**
      * ✅ Obtener una disciplina por ID con detalles completos.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DisciplinaResponse> obtenerDisciplinaPorId(@PathVariable Long id) {
-        DisciplinaResponse disciplina = disciplinaServicio.obtenerDisciplinaPorId(id);
-        return ResponseEntity.ok(disciplina);
+    public ResponseEntity<DisciplinaResponse> obtenerDisciplinaPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.DISCIPLINAS,
+                () -> disciplinaServicio.obtenerDisciplinaPorId(id));
     }
 
     /**
@@ -102,9 +110,10 @@ public class DisciplinaControlador {
      * ✅ Obtener disciplinas activas segun una fecha especifica.
      */
     @GetMapping("/por-fecha")
-    public ResponseEntity<List<DisciplinaResponse>> obtenerDisciplinasPorFecha(@RequestParam String fecha) {
-        List<DisciplinaResponse> disciplinas = disciplinaServicio.obtenerDisciplinasPorFecha(fecha);
-        return ResponseEntity.ok(disciplinas);
+    public ResponseEntity<List<DisciplinaResponse>> obtenerDisciplinasPorFecha(@RequestParam String fecha,
+                                                                               WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.DISCIPLINAS,
+                () -> disciplinaServicio.obtenerDisciplinasPorFecha(fecha));
     }
 
     /**
@@ -126,10 +135,11 @@ public class DisciplinaControlador {
     }
 
     @GetMapping("/por-horario")
-    public ResponseEntity<List<DisciplinaResponse>> obtenerDisciplinasPorHorario(@RequestParam String horario) {
+    public ResponseEntity<List<DisciplinaResponse>> obtenerDisciplinasPorHorario(@RequestParam String horario,
+                                                                                 WebRequest request) {
         LocalTime horarioInicio = LocalTime.parse(horario);
-        List<DisciplinaResponse> disciplinas = disciplinaServicio.obtenerDisciplinasPorHorario(horarioInicio);
-        return ResponseEntity.ok(disciplinas);
+        return respuestaCondicional.responder(request, RecursoVersionado.DISCIPLINAS,
+                () -> disciplinaServicio.obtenerDisciplinasPorHorario(horarioInicio));
     }
 
     @GetMapping("/buscar")
@@ -138,6 +148,7 @@ public class DisciplinaControlador {
         return ResponseEntity.ok(disciplinas);
     }
 
+    @Admision(ClaseAdmision.PESADA)
     @GetMapping("/{disciplinaId}/alumnos/pdf")
     public ResponseEntity<byte[]> descargarAlumnosPorDisciplinaPdf(
             @PathVariable Long disciplinaId) {
@@ -0,0 +1,51 @@
+package ledance.controladores;
+
+import ledance.dto.asistencia.response.TasaAsistenciaResponse;
+import ledance.servicios.asistencia.EstadisticaAsistenciaServicio;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Porcentajes de asistencia por mes completo: {@code desde} y {@code hasta}
+ * incluyen los meses en los que caen.
+ */
+@RestController
+@RequestMapping("/api/asistencias/estadisticas")
+public class EstadisticaAsistenciaControlador {
+    private final EstadisticaAsistenciaServicio estadisticas;
+
+    public EstadisticaAsistenciaControlador(EstadisticaAsistenciaServicio estadisticas) {
+        this.estadisticas = estadisticas;
+    }
+
+    @GetMapping("/alumnos/{alumnoId}")
+    public List<TasaAsistenciaResponse> porAlumno(
+            @PathVariable Long alumnoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return estadisticas.porAlumno(alumnoId, desde, hasta);
+    }
+
+    @GetMapping("/disciplinas/{disciplinaId}")
+    public List<TasaAsistenciaResponse> porDisciplina(
+            @PathVariable Long disciplinaId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return estadisticas.porDisciplina(disciplinaId, desde, hasta);
+    }
+
+    @GetMapping("/profesores/{profesorId}")
+    public List<TasaAsistenciaResponse> porProfesor(
+            @PathVariable Long profesorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return estadisticas.porProfesor(profesorId, desde, hasta);
+    }
+}
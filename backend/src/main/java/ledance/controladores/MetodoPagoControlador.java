@@ -4,6 +4,8 @@ package ledance.controladores;
 import ledance.dto.metodopago.request.MetodoPagoRegistroRequest;
 import ledance.dto.metodopago.request.MetodoPagoRegistroRequest;
 import ledance.dto.metodopago.response.MetodoPagoResponse;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.servicios.pago.MetodoPagoServicio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,9 +24,11 @@ public class MetodoPagoControlador {
 
     private static final Logger log = LoggerFactory.getLogger(MetodoPagoControlador.class);
     private final MetodoPagoServicio metodoPagoServicio;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public MetodoPagoControlador(MetodoPagoServicio metodoPagoServicio) {
+    public MetodoPagoControlador(MetodoPagoServicio metodoPagoServicio, RespuestaCondicional respuestaCondicional) {
         this.metodoPagoServicio = metodoPagoServicio;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     /**
@@ -40,20 +45,17 @@ public class MetodoPagoControlador {
      * Lista todos los metodos de pago.
      */
     @GetMapping
-    public ResponseEntity<List<MetodoPagoResponse>> listar() {
-        log.info("Listando metodos de pago");
-        List<MetodoPagoResponse> responses = metodoPagoServicio.listar();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<MetodoPagoResponse>> listar(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.METODOS_PAGO, metodoPagoServicio::listar);
     }
 
     /**
      * Obtiene un metodo de pago por ID.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MetodoPagoResponse> obtenerPorId(@PathVariable Long id) {
-        log.info("Obteniendo metodo de pago con ID: {}", id);
-        MetodoPagoResponse response = metodoPagoServicio.obtenerPorId(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<MetodoPagoResponse> obtenerPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.METODOS_PAGO,
+                () -> metodoPagoServicio.obtenerPorId(id));
     }
 
     /**
@@ -1,8 +1,17 @@
 package ledance.controladores;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import ledance.dto.PageResponse;
+import ledance.dto.reporte.observacion.ObservacionCoincidenciaDTO;
 import ledance.dto.reporte.observacion.ObservacionProfesorDTO;
 import ledance.dto.reporte.observacion.ObservacionProfesorRequest;
 import ledance.servicios.observaciones.ObservacionProfesorServicio;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -10,6 +19,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/observaciones-profesores")
+@Validated
 public class ObservacionProfesorControlador {
 
     private final ObservacionProfesorServicio observacionProfesorServicio;
@@ -57,24 +67,50 @@ public class ObservacionProfesorControlador {
     }
 
     /**
-     * Lista todas las observaciones.
+     * Lista las observaciones, de la mas reciente a la mas antigua.
      *
-     * @return la lista de DTOs de observaciones
+     * @return la pagina de DTOs de observaciones
      */
     @GetMapping
-    public List<ObservacionProfesorDTO> listarObservaciones() {
-        return observacionProfesorServicio.listarObservaciones();
+    public PageResponse<ObservacionProfesorDTO> listarObservaciones(
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return PageResponse.from(observacionProfesorServicio.listarObservaciones(pagina(page, size)));
     }
 
     /**
-     * Lista las observaciones de un profesor.
+     * Busca texto en las observaciones activas, ordenadas por relevancia.
+     *
+     * @param texto      palabras, "frases" o -exclusiones a buscar
+     * @param profesorId acota la busqueda a un profesor (opcional)
+     * @return la pagina de coincidencias con su fragmento resaltado
+     */
+    @GetMapping("/buscar")
+    public PageResponse<ObservacionCoincidenciaDTO> buscarObservaciones(
+            @RequestParam String texto,
+            @RequestParam(required = false) Long profesorId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return PageResponse.from(observacionProfesorServicio.buscar(texto, profesorId, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Lista las observaciones de un profesor, opcionalmente en un rango de fechas.
      *
      * @param profesorId el id del profesor
-     * @return la lista de DTOs de observaciones del profesor
+     * @param desde      fecha de inicio (formato ISO, opcional junto con hasta)
+     * @param hasta      fecha de fin (formato ISO, opcional junto con desde)
+     * @return la pagina de DTOs de observaciones del profesor
      */
     @GetMapping("/profesor/{profesorId}")
-    public List<ObservacionProfesorDTO> listarObservacionesPorProfesor(@PathVariable Long profesorId) {
-        return observacionProfesorServicio.listarObservacionesPorProfesor(profesorId);
+    public PageResponse<ObservacionProfesorDTO> listarObservacionesPorProfesor(
+            @PathVariable Long profesorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        return PageResponse.from(observacionProfesorServicio.listarObservacionesPorProfesor(profesorId, desde, hasta,
+                pagina(page, size)));
     }
 
     /**
@@ -82,16 +118,19 @@ public class ObservacionProfesorControlador {
      *
      * @param inicio fecha de inicio (formato ISO)
      * @param fin    fecha de fin (formato ISO)
-     * @return la lista de DTOs de observaciones en el rango indicado
+     * @return la pagina de DTOs de observaciones en el rango indicado
      */
     @GetMapping("/fechas")
-    public List<ObservacionProfesorDTO> listarObservacionesEntreFechas(
+    public PageResponse<ObservacionProfesorDTO> listarObservacionesEntreFechas(
             @RequestParam String inicio,
-            @RequestParam String fin) {
+            @RequestParam String fin,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
 
         LocalDate fechaInicio = LocalDate.parse(inicio);
         LocalDate fechaFin = LocalDate.parse(fin);
-        return observacionProfesorServicio.listarObservacionesEntreFechas(fechaInicio, fechaFin);
+        return PageResponse.from(observacionProfesorServicio.listarObservacionesEntreFechas(fechaInicio, fechaFin,
+                pagina(page, size)));
     }
 
     /**
@@ -110,4 +149,8 @@ public class ObservacionProfesorControlador {
 
         return observacionProfesorServicio.listarObservacionesMensuales(profesorId, mes, anio);
     }
+
+    private static PageRequest pagina(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "fecha", "id"));
+    }
 }
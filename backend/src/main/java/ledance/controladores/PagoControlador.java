@@ -10,7 +10,10 @@ import ledance.dto.pago.response.PagoResponse;
 import ledance.dto.pago.response.PagoResumenResponse;
 import ledance.dto.PageResponse;
 import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.infra.configuracion.AppProperties;
+import ledance.infra.persistencia.LecturaEnPrimaria;
 import ledance.repositorios.ReciboRepositorio;
 import ledance.servicios.pago.PagoServicio;
 import org.springframework.core.io.ByteArrayResource;
@@ -39,6 +42,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/pagos")
+@Admision(ClaseAdmision.PRIORITARIA)
 @Validated
 public class PagoControlador {
     private final PagoServicio pagos;
@@ -65,11 +69,13 @@ public class PagoControlador {
     }
 
     @GetMapping("/{id}")
+    @LecturaEnPrimaria
     public PagoResponse obtener(@PathVariable Long id) {
         return pagos.obtenerPagoPorId(id);
     }
 
     @GetMapping("/alumno/{alumnoId}")
+    @LecturaEnPrimaria
     public PageResponse<PagoResumenResponse> listarPorAlumno(
             @PathVariable Long alumnoId,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
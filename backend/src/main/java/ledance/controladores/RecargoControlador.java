@@ -3,9 +3,12 @@ package ledance.controladores;
 import jakarta.validation.Valid;
 import ledance.dto.recargo.request.RecargoRegistroRequest;
 import ledance.dto.recargo.response.RecargoResponse;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.servicios.recargo.RecargoServicio;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,27 +18,28 @@ import java.util.List;
 public class RecargoControlador {
 
     private final RecargoServicio recargoServicio;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public RecargoControlador(RecargoServicio recargoServicio) {
+    public RecargoControlador(RecargoServicio recargoServicio, RespuestaCondicional respuestaCondicional) {
         this.recargoServicio = recargoServicio;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     /**
      * Obtener todos los recargos
      */
     @GetMapping
-    public ResponseEntity<List<RecargoResponse>> listarRecargos() {
-        List<RecargoResponse> recargos = recargoServicio.listarRecargos();
-        return ResponseEntity.ok(recargos);
+    public ResponseEntity<List<RecargoResponse>> listarRecargos(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.RECARGOS, recargoServicio::listarRecargos);
     }
 
     /**
      * Obtener un recargo por su ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RecargoResponse> obtenerRecargo(@PathVariable Long id) {
-        RecargoResponse recargo = recargoServicio.obtenerRecargo(id);
-        return ResponseEntity.ok(recargo);
+    public ResponseEntity<RecargoResponse> obtenerRecargo(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.RECARGOS,
+                () -> recargoServicio.obtenerRecargo(id));
     }
 
     /**
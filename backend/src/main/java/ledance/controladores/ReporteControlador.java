@@ -2,14 +2,26 @@ package ledance.controladores;
 
 import jakarta.validation.Valid;
 import ledance.dto.reporte.request.ReporteLiquidacionRequest;
+import ledance.dto.reporte.request.TrabajoReporteRequest;
 import ledance.dto.reporte.response.ReporteMensualidadResponse;
+import ledance.dto.reporte.response.TrabajoReporteResponse;
+import ledance.entidades.EstadoTrabajoReporte;
+import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
 import ledance.servicios.reporte.ReporteServicio;
+import ledance.servicios.reporte.TrabajoReporteServicio;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,9 +35,11 @@ import java.util.List;
 @RequestMapping("/api/reportes")
 public class ReporteControlador {
     private final ReporteServicio reportes;
+    private final TrabajoReporteServicio trabajos;
 
-    public ReporteControlador(ReporteServicio reportes) {
+    public ReporteControlador(ReporteServicio reportes, TrabajoReporteServicio trabajos) {
         this.reportes = reportes;
+        this.trabajos = trabajos;
     }
 
     @GetMapping("/mensualidades")
@@ -37,6 +51,7 @@ public class ReporteControlador {
         return reportes.buscar(desde, hasta, disciplinaId, profesorId);
     }
 
+    @Admision(ClaseAdmision.PESADA)
     @PostMapping("/mensualidades/exportar")
     public ResponseEntity<byte[]> exportar(@Valid @RequestBody ReporteLiquidacionRequest request) {
         HttpHeaders headers = new HttpHeaders();
@@ -44,4 +59,27 @@ public class ReporteControlador {
         headers.setContentDisposition(ContentDisposition.attachment().filename("liquidacion.pdf").build());
         return ResponseEntity.ok().headers(headers).body(reportes.exportar(request));
     }
+
+    /** 200 si ya hay un artefacto vigente con los mismos parámetros; si no, 202 y se consulta por id. */
+    @PostMapping("/trabajos")
+    public ResponseEntity<TrabajoReporteResponse> encolar(@Valid @RequestBody TrabajoReporteRequest request,
+                                                          @AuthenticationPrincipal Usuario usuario) {
+        TrabajoReporteResponse trabajo = trabajos.crear(request, usuario);
+        HttpStatus estado = trabajo.estado() == EstadoTrabajoReporte.COMPLETADO ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(estado).body(trabajo);
+    }
+
+    @GetMapping("/trabajos/{id}")
+    public TrabajoReporteResponse trabajo(@PathVariable Long id) {
+        return trabajos.obtener(id);
+    }
+
+    @GetMapping("/trabajos/{id}/archivo")
+    public ResponseEntity<Resource> archivo(@PathVariable Long id) {
+        TrabajoReporteServicio.Archivo archivo = trabajos.archivo(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(archivo.contentType()));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(archivo.nombre()).build());
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(archivo.path()));
+    }
 }
@@ -2,24 +2,40 @@ package ledance.controladores;
 
 import ledance.dto.salon.request.SalonModificacionRequest;
 import ledance.dto.salon.request.SalonRegistroRequest;
+import ledance.dto.salon.response.DisponibilidadSalonResponse;
+import ledance.dto.salon.response.FranjaLibreResponse;
 import ledance.dto.salon.response.SalonResponse;
+import ledance.entidades.DiaSemana;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
+import ledance.servicios.salon.OcupacionSalonServicio;
 import ledance.servicios.salon.SalonServicio;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/salones")
 public class SalonControlador {
 
     private final SalonServicio salonServicio;
+    private final OcupacionSalonServicio ocupacionSalonServicio;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public SalonControlador(SalonServicio salonServicio) {
+    public SalonControlador(SalonServicio salonServicio, OcupacionSalonServicio ocupacionSalonServicio,
+                            RespuestaCondicional respuestaCondicional) {
         this.salonServicio = salonServicio;
+        this.ocupacionSalonServicio = ocupacionSalonServicio;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     @PostMapping
@@ -29,15 +45,42 @@ public class SalonControlador {
     }
 
     @GetMapping
-    public ResponseEntity<Page<SalonResponse>> listarSalones(Pageable pageable) {
-        Page<SalonResponse> salones = salonServicio.listarSalones(pageable);
-        return ResponseEntity.ok(salones);
+    public ResponseEntity<Page<SalonResponse>> listarSalones(Pageable pageable, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.SALONES,
+                () -> salonServicio.listarSalones(pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SalonResponse> obtenerSalonPorId(@PathVariable Long id) {
-        SalonResponse salon = salonServicio.obtenerSalonPorId(id);
-        return ResponseEntity.ok(salon);
+    public ResponseEntity<SalonResponse> obtenerSalonPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.SALONES,
+                () -> salonServicio.obtenerSalonPorId(id));
+    }
+
+    /**
+     * Indica si el salon esta libre en el bloque pedido y, si no, con que disciplinas choca.
+     * Ejemplo: {@code ?dia=MARTES&inicio=18:00&duracion=1.5}.
+     */
+    @GetMapping("/{id}/disponibilidad")
+    public ResponseEntity<DisponibilidadSalonResponse> consultarDisponibilidad(
+            @PathVariable Long id,
+            @RequestParam DiaSemana dia,
+            @RequestParam LocalTime inicio,
+            @RequestParam BigDecimal duracion) {
+        return ResponseEntity.ok(ocupacionSalonServicio.consultarDisponibilidad(id, dia, inicio, duracion));
+    }
+
+    /**
+     * Huecos libres de la semana con al menos {@code duracion} horas dentro del horario de apertura.
+     */
+    @GetMapping("/{id}/franjas-libres")
+    public ResponseEntity<List<FranjaLibreResponse>> listarFranjasLibres(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") BigDecimal duracion,
+            @RequestParam(defaultValue = "08:00") LocalTime apertura,
+            @RequestParam(defaultValue = "23:00") LocalTime cierre,
+            WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.OCUPACION_SALONES,
+                () -> ocupacionSalonServicio.franjasLibres(id, duracion, apertura, cierre));
     }
 
     @PutMapping("/{id}")
@@ -5,13 +5,18 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import ledance.dto.cargo.response.CargoResponse;
+import ledance.dto.stock.request.CarritoStockRequest;
 import ledance.dto.stock.request.ReversionStockRequest;
 import ledance.dto.stock.request.StockRegistroRequest;
 import ledance.dto.stock.request.VentaStockRequest;
+import ledance.dto.stock.response.CarritoStockResponse;
 import ledance.dto.stock.response.StockResponse;
 import ledance.dto.PageResponse;
 import ledance.entidades.Usuario;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.servicios.stock.StockServicio;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +30,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,9 +39,11 @@ import java.util.List;
 @Validated
 public class StockControlador {
     private final StockServicio stocks;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public StockControlador(StockServicio stocks) {
+    public StockControlador(StockServicio stocks, RespuestaCondicional respuestaCondicional) {
         this.stocks = stocks;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     @PostMapping
@@ -53,13 +61,13 @@ public class StockControlador {
     }
 
     @GetMapping("/activos")
-    public List<StockResponse> listarActivos() {
-        return stocks.listarStocksActivos();
+    public ResponseEntity<List<StockResponse>> listarActivos(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.STOCKS, stocks::listarStocksActivos);
     }
 
     @GetMapping("/{id}")
-    public StockResponse obtener(@PathVariable Long id) {
-        return stocks.obtenerStockPorId(id);
+    public ResponseEntity<StockResponse> obtener(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responderStock(request, id, () -> stocks.obtenerStockPorId(id));
     }
 
     @PutMapping("/{id}")
@@ -84,4 +92,17 @@ public class StockControlador {
                                   @AuthenticationPrincipal Usuario usuario) {
         return stocks.revertirVenta(id, request, usuario);
     }
+
+    @PostMapping("/carritos")
+    public CarritoStockResponse venderCarrito(@Valid @RequestBody CarritoStockRequest request,
+                                              @AuthenticationPrincipal Usuario usuario) {
+        return stocks.venderCarrito(request, usuario);
+    }
+
+    @PostMapping("/carritos/{id}/reversion")
+    public CarritoStockResponse revertirCarrito(@PathVariable Long id,
+                                                @Valid @RequestBody ReversionStockRequest request,
+                                                @AuthenticationPrincipal Usuario usuario) {
+        return stocks.revertirCarrito(id, request, usuario);
+    }
 }
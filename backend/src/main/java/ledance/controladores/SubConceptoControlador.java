@@ -2,12 +2,15 @@ package ledance.controladores;
 
 import ledance.dto.concepto.request.SubConceptoRegistroRequest;
 import ledance.dto.concepto.response.SubConceptoResponse;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.cache.RespuestaCondicional;
 import ledance.servicios.concepto.SubConceptoServicio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,15 +21,17 @@ public class SubConceptoControlador {
 
     private static final Logger log = LoggerFactory.getLogger(SubConceptoControlador.class);
     private final SubConceptoServicio subConceptoServicio;
+    private final RespuestaCondicional respuestaCondicional;
 
-    public SubConceptoControlador(SubConceptoServicio subConceptoServicio) {
+    public SubConceptoControlador(SubConceptoServicio subConceptoServicio, RespuestaCondicional respuestaCondicional) {
         this.subConceptoServicio = subConceptoServicio;
+        this.respuestaCondicional = respuestaCondicional;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SubConceptoResponse> obtenerSubConceptoPorId(@PathVariable Long id) {
-        SubConceptoResponse subconcepto = subConceptoServicio.obtenerSubConceptoPorId(id);
-        return ResponseEntity.ok(subconcepto);
+    public ResponseEntity<SubConceptoResponse> obtenerSubConceptoPorId(@PathVariable Long id, WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.SUB_CONCEPTOS,
+                () -> subConceptoServicio.obtenerSubConceptoPorId(id));
     }
 
     @PostMapping
@@ -37,9 +42,9 @@ public class SubConceptoControlador {
     }
 
     @GetMapping
-    public ResponseEntity<List<SubConceptoResponse>> listarSubConceptos() {
-        List<SubConceptoResponse> subconceptos = subConceptoServicio.listarSubConceptos();
-        return ResponseEntity.ok(subconceptos);
+    public ResponseEntity<List<SubConceptoResponse>> listarSubConceptos(WebRequest request) {
+        return respuestaCondicional.responder(request, RecursoVersionado.SUB_CONCEPTOS,
+                subConceptoServicio::listarSubConceptos);
     }
 
     @PutMapping("/{id}")
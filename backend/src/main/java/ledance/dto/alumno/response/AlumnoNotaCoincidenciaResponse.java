@@ -0,0 +1,13 @@
+package ledance.dto.alumno.response;
+
+import java.math.BigDecimal;
+
+/** Resultado de la búsqueda en notas: {@code fragmento} es HTML con las coincidencias en {@code <mark>}. */
+public record AlumnoNotaCoincidenciaResponse(
+        Long id,
+        String nombre,
+        String apellido,
+        String fragmento,
+        BigDecimal relevancia
+) {
+}
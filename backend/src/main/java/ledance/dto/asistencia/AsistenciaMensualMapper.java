@@ -11,6 +11,7 @@ import ledance.entidades.Salon;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -23,6 +24,13 @@ public interface AsistenciaMensualMapper {
     @Mapping(target = "alumnos", source = "asistenciasAlumnoMensual")
     AsistenciaMensualDetalleResponse toDetalleDTO(AsistenciaMensual asistenciaMensual);
 
+    // Planilla servida sólo desde las máscaras, sin cargar las asistencias diarias
+    @Named("resumen")
+    @Mapping(target = "disciplina", source = "disciplina")
+    @Mapping(target = "profesor", source = "disciplina.profesor.nombre")
+    @Mapping(target = "alumnos", source = "asistenciasAlumnoMensual", qualifiedByName = "resumenAlumno")
+    AsistenciaMensualDetalleResponse toResumenDTO(AsistenciaMensual asistenciaMensual);
+
     // Metodo de mapeo para convertir Salon a String (su nombre)
     default String map(Salon salon) {
         return (salon != null) ? salon.getNombre() : null;
@@ -63,4 +71,11 @@ public interface AsistenciaMensualMapper {
     @Mapping(target = "asistenciasDiarias", source = "asistenciasDiarias")
     @Mapping(target = "alumno", source = "inscripcion.alumno", qualifiedByName = "toResponse")
     AsistenciaAlumnoMensualDetalleResponse toAlumnoDetalleDTO(AsistenciaAlumnoMensual alumno);
+
+    @Named("resumenAlumno")
+    @Mapping(target = "inscripcionId", source = "inscripcion.id")
+    @Mapping(target = "asistenciaMensualId", source = "asistenciaMensual.id")
+    @Mapping(target = "asistenciasDiarias", ignore = true)
+    @Mapping(target = "alumno", source = "inscripcion.alumno", qualifiedByName = "toResponse")
+    AsistenciaAlumnoMensualDetalleResponse toAlumnoResumenDTO(AsistenciaAlumnoMensual alumno);
 }
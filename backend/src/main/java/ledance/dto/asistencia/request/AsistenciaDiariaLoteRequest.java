@@ -0,0 +1,21 @@
+package ledance.dto.asistencia.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+import ledance.entidades.EstadoAsistencia;
+
+/** Un día de una planilla: el estado de cada alumno que se marca. */
+public record AsistenciaDiariaLoteRequest(
+        @NotNull Long planillaId,
+        @NotNull LocalDate fecha,
+        @NotEmpty @Size(max = 200) List<@Valid @NotNull Marca> asistencias
+) {
+    public record Marca(
+            @NotNull Long asistenciaAlumnoMensualId,
+            @NotNull EstadoAsistencia estado
+    ) {}
+}
@@ -10,5 +10,9 @@ public record AsistenciaAlumnoMensualDetalleResponse(
         AlumnoResponse alumno,
         String observacion,
         Long asistenciaMensualId,
-        List<AsistenciaDiariaDetalleResponse> asistenciasDiarias
+        List<AsistenciaDiariaDetalleResponse> asistenciasDiarias,
+        // Bit (dia - 1) de cada clase vigente, presente y justificada del mes
+        Integer diasClase,
+        Integer diasPresente,
+        Integer diasJustificado
 ) { }
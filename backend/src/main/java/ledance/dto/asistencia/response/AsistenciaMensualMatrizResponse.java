@@ -0,0 +1,26 @@
+package ledance.dto.asistencia.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Planilla en formato matriz: {@code fechas} son las columnas y cada alumno
+ * trae un carácter por columna en {@code estados} ({@code P} presente,
+ * {@code A} ausente, {@code J} justificado, {@code -} sin clase ese día).
+ */
+public record AsistenciaMensualMatrizResponse(
+        Long id,
+        Integer mes,
+        Integer anio,
+        List<LocalDate> fechas,
+        List<Alumno> alumnos
+) {
+    public record Alumno(
+            Long asistenciaAlumnoMensualId,
+            Long alumnoId,
+            String nombre,
+            String apellido,
+            String observacion,
+            String estados
+    ) { }
+}
@@ -0,0 +1,20 @@
+package ledance.dto.asistencia.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de asistencia de un grupo del resumen mensual. Los campos de
+ * agrupación que no aplican a la consulta vienen en null; el porcentaje es
+ * presentes sobre clases y es null si no hubo clases.
+ */
+public record TasaAsistenciaResponse(
+        Long alumnoId,
+        Long disciplinaId,
+        Integer anio,
+        Integer mes,
+        long clases,
+        long presentes,
+        long justificados,
+        long ausentes,
+        BigDecimal porcentajeAsistencia
+) { }
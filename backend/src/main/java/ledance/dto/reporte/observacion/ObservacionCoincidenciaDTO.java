@@ -0,0 +1,13 @@
+package ledance.dto.reporte.observacion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Resultado de la búsqueda de texto: {@code fragmento} es HTML con las coincidencias en {@code <mark>}. */
+public record ObservacionCoincidenciaDTO(
+        Long id,
+        Long profesorId,
+        LocalDate fecha,
+        String fragmento,
+        BigDecimal relevancia
+) {}
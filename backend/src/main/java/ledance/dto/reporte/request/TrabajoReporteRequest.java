@@ -0,0 +1,23 @@
+package ledance.dto.reporte.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import ledance.entidades.TipoReporte;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Parámetros de un reporte diferido. Qué campos aplican depende de
+ * {@code tipo}; los que no aplican se descartan antes de calcular el hash
+ * que decide si se reutiliza un artefacto.
+ */
+public record TrabajoReporteRequest(
+        @NotNull TipoReporte tipo,
+        LocalDate fechaInicio,
+        LocalDate fechaFin,
+        Long disciplinaId,
+        Long profesorId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal porcentajeEscuela
+) {
+}
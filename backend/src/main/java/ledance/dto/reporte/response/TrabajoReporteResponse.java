@@ -0,0 +1,20 @@
+package ledance.dto.reporte.response;
+
+import ledance.entidades.EstadoTrabajoReporte;
+import ledance.entidades.TipoReporte;
+
+import java.time.Instant;
+
+public record TrabajoReporteResponse(
+        Long id,
+        TipoReporte tipo,
+        EstadoTrabajoReporte estado,
+        int progreso,
+        String nombreArchivo,
+        Long tamanioBytes,
+        String error,
+        Instant createdAt,
+        Instant completadoAt,
+        Instant expiraAt
+) {
+}
@@ -0,0 +1,13 @@
+package ledance.dto.salon.response;
+
+import ledance.entidades.DiaSemana;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+public record ConflictoHorarioResponse(Long disciplinaId,
+                                       String disciplina,
+                                       DiaSemana diaSemana,
+                                       LocalTime horarioInicio,
+                                       BigDecimal duracion) {
+}
@@ -0,0 +1,6 @@
+package ledance.dto.salon.response;
+
+import java.util.List;
+
+public record DisponibilidadSalonResponse(Long salonId, boolean libre, List<ConflictoHorarioResponse> conflictos) {
+}
@@ -0,0 +1,8 @@
+package ledance.dto.salon.response;
+
+import ledance.entidades.DiaSemana;
+
+import java.time.LocalTime;
+
+public record FranjaLibreResponse(DiaSemana diaSemana, LocalTime inicio, LocalTime fin) {
+}
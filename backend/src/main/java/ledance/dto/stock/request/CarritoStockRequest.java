@@ -0,0 +1,18 @@
+package ledance.dto.stock.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CarritoStockRequest(
+        @NotNull Long alumnoId,
+        @NotEmpty @Size(max = 50) List<@Valid @NotNull ItemCarritoStockRequest> items,
+        @NotNull LocalDate fechaVencimiento,
+        @NotBlank @Size(max = 100) String idempotencyKey
+) {
+}
@@ -0,0 +1,10 @@
+package ledance.dto.stock.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ItemCarritoStockRequest(
+        @NotNull Long stockId,
+        @NotNull @Positive Integer cantidad
+) {
+}
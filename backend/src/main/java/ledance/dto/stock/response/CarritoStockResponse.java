@@ -0,0 +1,16 @@
+package ledance.dto.stock.response;
+
+import ledance.dto.cargo.response.CargoResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CarritoStockResponse(
+        Long id,
+        Long alumnoId,
+        LocalDate fecha,
+        String estado,
+        String total,
+        List<CargoResponse> cargos
+) {
+}
@@ -37,6 +37,13 @@ public class AsistenciaAlumnoMensual {
     @ManyToOne(optional = false)
     @JoinColumn(name = "asistencia_mensual_id", nullable = false)
     private AsistenciaMensual asistenciaMensual;
+    /** Bit {@code dia - 1} por clase vigente del mes; lo mantiene un trigger sobre {@code asistencias_diarias}. */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer diasClase = 0;
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer diasPresente = 0;
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer diasJustificado = 0;
     @OneToMany(mappedBy = "asistenciaAlumnoMensual")
     private List<AsistenciaDiaria> asistenciasDiarias = new ArrayList<>();
 }
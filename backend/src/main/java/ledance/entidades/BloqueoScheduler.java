@@ -0,0 +1,38 @@
+package ledance.entidades;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Lease de una tarea programada. El nodo que la tiene vigente es el único que
+ * ejecuta la tarea; las filas se crean al primer intento.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "scheduler_locks")
+public class BloqueoScheduler {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(length = 80, nullable = false, unique = true)
+    private String nombre;
+    @Column(nullable = false)
+    private Instant leaseUntil;
+    @Column(nullable = false)
+    private Instant lockedAt;
+    @Column(length = 120, nullable = false)
+    private String lockedBy;
+}
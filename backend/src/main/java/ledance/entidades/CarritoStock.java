@@ -0,0 +1,53 @@
+package ledance.entidades;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDate;
+
+/**
+ * Venta de varios productos a un alumno bajo una sola idempotency key. Cada
+ * producto queda como una {@link VentaStock} con su propio cargo.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "carritos_stock")
+public class CarritoStock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "alumno_id", nullable = false, updatable = false)
+    private Alumno alumno;
+    @Column(nullable = false)
+    private LocalDate fecha;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private EstadoVentaStock estado = EstadoVentaStock.REGISTRADA;
+    @Column(name = "idempotency_key", length = 100, nullable = false, updatable = false)
+    private String idempotencyKey;
+    @Column(name = "request_hash", length = 64, nullable = false, updatable = false)
+    private String requestHash;
+    @Column(name = "reversal_idempotency_key", length = 100)
+    private String reversalIdempotencyKey;
+    @Column(name = "reversal_request_hash", length = 64)
+    private String reversalRequestHash;
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,9 @@
+package ledance.entidades;
+
+public enum EstadoTrabajoReporte {
+    PENDIENTE,
+    PROCESANDO,
+    COMPLETADO,
+    ERROR,
+    EXPIRADO
+}
@@ -0,0 +1,47 @@
+package ledance.entidades;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Clases, presentes y justificados de un alumno en una disciplina y mes.
+ * Lo mantienen triggers de PostgreSQL a partir de las máscaras de
+ * asistencia; la aplicación sólo lo lee.
+ */
+@Entity
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "resumenes_asistencia_mensual")
+public class ResumenAsistenciaMensual {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long alumnoId;
+    @Column(nullable = false)
+    private Long disciplinaId;
+    @Column(nullable = false)
+    private Integer anio;
+    @Column(nullable = false)
+    private Integer mes;
+    @Column(nullable = false)
+    private Integer clases;
+    @Column(nullable = false)
+    private Integer presentes;
+    @Column(nullable = false)
+    private Integer justificados;
+    @Column(nullable = false)
+    private Instant actualizadoAt;
+}
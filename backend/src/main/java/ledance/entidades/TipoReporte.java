@@ -0,0 +1,23 @@
+package ledance.entidades;
+
+public enum TipoReporte {
+    LIQUIDACION_PDF("application/pdf", "pdf"),
+    ALUMNOS_DISCIPLINA_PDF("application/pdf", "pdf"),
+    MENSUALIDADES_CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TipoReporte(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,68 @@
+package ledance.entidades;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "trabajos_reporte")
+public class TrabajoReporte {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false, updatable = false)
+    private TipoReporte tipo;
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String parametros;
+    @Column(length = 64, nullable = false, updatable = false)
+    private String parametrosHash;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 12, nullable = false)
+    private EstadoTrabajoReporte estado = EstadoTrabajoReporte.PENDIENTE;
+    @Column(nullable = false)
+    private Integer progreso = 0;
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false, updatable = false)
+    private Usuario usuario;
+    @Column(nullable = false)
+    private Integer intentos = 0;
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+    private UUID claimToken;
+    private Instant claimedAt;
+    private Instant leaseUntil;
+    @Column(length = 200)
+    private String storageKey;
+    @Column(length = 100)
+    private String contentType;
+    @Column(length = 200)
+    private String nombreArchivo;
+    private Long tamanioBytes;
+    @Column(length = 500)
+    private String ultimoError;
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+    private Instant completadoAt;
+    private Instant expiraAt;
+}
@@ -35,6 +35,9 @@ public class VentaStock {
     @ManyToOne(optional = false)
     @JoinColumn(name = "stock_id", nullable = false)
     private Stock stock;
+    @ManyToOne
+    @JoinColumn(name = "carrito_id", updatable = false)
+    private CarritoStock carrito;
     @Column(nullable = false)
     private Integer cantidad;
     @Column(name = "precio_unitario", precision = 19, scale = 2, nullable = false, updatable = false)
@@ -0,0 +1,38 @@
+package ledance.entidades;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Contador de cambios por tabla mantenido por triggers de PostgreSQL.
+ * La aplicación sólo lo lee para calcular ETags.
+ */
+@Entity
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "versiones_catalogo")
+public class VersionCatalogo {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(length = 63, nullable = false)
+    private String tabla;
+    @Column(nullable = false)
+    private Long version;
+    @Column(nullable = false)
+    private Instant actualizadoAt;
+}
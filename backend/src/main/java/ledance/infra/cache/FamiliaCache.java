@@ -0,0 +1,10 @@
+package ledance.infra.cache;
+
+/**
+ * Agrupa endpoints que comparten política de {@code Cache-Control}.
+ * CATALOGO cambia sólo por administración; INVENTARIO cambia con cada venta.
+ */
+public enum FamiliaCache {
+    CATALOGO,
+    INVENTARIO
+}
@@ -0,0 +1,35 @@
+package ledance.infra.cache;
+
+import java.util.List;
+
+/**
+ * Recursos HTTP con ETag y las tablas de {@code versiones_catalogo} cuya
+ * modificación cambia su representación.
+ */
+public enum RecursoVersionado {
+    BONIFICACIONES(FamiliaCache.CATALOGO, "bonificaciones"),
+    CONCEPTOS(FamiliaCache.CATALOGO, "conceptos", "sub_conceptos"),
+    DISCIPLINAS(FamiliaCache.CATALOGO, "disciplinas", "disciplina_horarios", "profesores", "salones"),
+    METODOS_PAGO(FamiliaCache.CATALOGO, "metodo_pagos"),
+    OCUPACION_SALONES(FamiliaCache.CATALOGO, "disciplinas", "disciplina_horarios", "salones"),
+    RECARGOS(FamiliaCache.CATALOGO, "recargos"),
+    SALONES(FamiliaCache.CATALOGO, "salones"),
+    SUB_CONCEPTOS(FamiliaCache.CATALOGO, "sub_conceptos"),
+    STOCKS(FamiliaCache.INVENTARIO);
+
+    private final FamiliaCache familia;
+    private final List<String> tablas;
+
+    RecursoVersionado(FamiliaCache familia, String... tablas) {
+        this.familia = familia;
+        this.tablas = List.of(tablas);
+    }
+
+    public FamiliaCache familia() {
+        return familia;
+    }
+
+    public List<String> tablas() {
+        return tablas;
+    }
+}
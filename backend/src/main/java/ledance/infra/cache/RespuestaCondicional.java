@@ -0,0 +1,96 @@
+package ledance.infra.cache;
+
+import ledance.infra.configuracion.HttpCacheProperties;
+import ledance.repositorios.StockRepositorio;
+import ledance.repositorios.VersionCatalogoRepositorio;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Resuelve GET condicionales antes de consultar y serializar el recurso.
+ * El ETag combina la revisión desplegada con la versión persistida de las
+ * tablas que alimentan la respuesta; si coincide con {@code If-None-Match}
+ * se responde 304 sin invocar al proveedor del cuerpo.
+ * <p>
+ * La revisión sale de {@code app.http-cache.revision} o, si está vacía, del
+ * {@code build-info} del artefacto: todos los nodos que corren el mismo jar
+ * emiten el mismo ETag. Sin ninguna de las dos, prod no arranca y dev/test
+ * usan una revisión aleatoria por arranque.
+ */
+@Component
+public class RespuestaCondicional {
+
+    private final VersionCatalogoRepositorio versiones;
+    private final StockRepositorio stocks;
+    private final HttpCacheProperties properties;
+    private final String revision;
+
+    public RespuestaCondicional(VersionCatalogoRepositorio versiones,
+                                StockRepositorio stocks,
+                                HttpCacheProperties properties,
+                                ObjectProvider<BuildProperties> build,
+                                Environment environment) {
+        this.versiones = versiones;
+        this.stocks = stocks;
+        this.properties = properties;
+        this.revision = revision(properties.revision(), build.getIfAvailable(),
+                environment.acceptsProfiles(Profiles.of("prod")));
+    }
+
+    static String revision(String configurada, BuildProperties build, boolean produccion) {
+        if (configurada != null && !configurada.isBlank()) {
+            return configurada;
+        }
+        if (build != null && build.getTime() != null) {
+            return build.getVersion() + "." + build.getTime().toEpochMilli();
+        }
+        if (produccion) {
+            throw new IllegalStateException(
+                    "app.http-cache.revision es obligatoria en prod cuando el artefacto no trae build-info");
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    public <T> ResponseEntity<T> responder(WebRequest request, RecursoVersionado recurso, Supplier<T> cuerpo) {
+        String version = recurso == RecursoVersionado.STOCKS
+                ? stocks.versionCatalogo()
+                : Long.toString(versiones.sumVersionByTablaIn(recurso.tablas()));
+        return responder(request, recurso, version, cuerpo);
+    }
+
+    public <T> ResponseEntity<T> responderStock(WebRequest request, Long stockId, Supplier<T> cuerpo) {
+        return stocks.findVersionById(stockId)
+                .map(version -> responder(request, RecursoVersionado.STOCKS, stockId + "." + version, cuerpo))
+                .orElseGet(() -> ResponseEntity.ok(cuerpo.get()));
+    }
+
+    private <T> ResponseEntity<T> responder(WebRequest request, RecursoVersionado recurso,
+                                            String version, Supplier<T> cuerpo) {
+        String etag = "W/\"" + recurso.name().toLowerCase(Locale.ROOT) + "-" + version
+                + "-" + revision + "\"";
+        CacheControl politica = politica(recurso.familia());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(politica).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(politica).body(cuerpo.get());
+    }
+
+    private CacheControl politica(FamiliaCache familia) {
+        Duration maxAge = properties.maxAge(familia);
+        return maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+    }
+}
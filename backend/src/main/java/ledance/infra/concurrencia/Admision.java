@@ -0,0 +1,18 @@
+package ledance.infra.concurrencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Clase de admisión de un controlador o de un endpoint; la del método pisa a
+ * la del controlador. Sin anotación la request es {@link ClaseAdmision#GENERAL}.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admision {
+    ClaseAdmision value();
+}
@@ -0,0 +1,27 @@
+package ledance.infra.concurrencia;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bloqueos pesimistas por alumno.
+ *
+ * @param esperaLenta espera por un bloqueo a partir de la cual se loguea un warning
+ * @param lockTimeout {@code lock_timeout} de la transacción según la operación que
+ *                    toma el primer bloqueo; las que no figuran usan el del pool
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.bloqueos")
+public record BloqueosProperties(
+        @NotNull Duration esperaLenta,
+        Map<OperacionBloqueo, Duration> lockTimeout
+) {
+
+    public BloqueosProperties {
+        lockTimeout = lockTimeout == null ? Map.of() : Map.copyOf(lockTimeout);
+    }
+}
@@ -0,0 +1,86 @@
+package ledance.infra.concurrencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semáforo con tantos permisos como conexiones tiene el pool de Hikari.
+ * Con hilos virtuales Tomcat acepta miles de requests simultáneas; sin este
+ * límite todas competirían por {@code getConnection()} y las que no llegan a
+ * tiempo fallarían con un timeout de Hikari en medio de la transacción. Así,
+ * el exceso espera antes de empezar y, si no entra, se rechaza limpio.
+ *
+ * <p>Las requests no prioritarias pasan antes por un segundo semáforo con
+ * {@code reservaPrioritaria} permisos menos, así nunca ocupan todo el pool y
+ * un cobro siempre encuentra lugar aunque haya reportes en curso.
+ */
+public class BulkheadBaseDeDatos {
+
+    private static final int POOL_POR_DEFECTO = 10;
+
+    private final Semaphore permisos;
+    private final Semaphore comunes;
+    private final int total;
+
+    public BulkheadBaseDeDatos(DataSource dataSource, int reservaPrioritaria) {
+        this(tamanioPool(dataSource), reservaPrioritaria);
+    }
+
+    /** La reserva nunca deja a las requests comunes sin al menos un permiso. */
+    public BulkheadBaseDeDatos(int total, int reservaPrioritaria) {
+        this.total = total;
+        this.permisos = new Semaphore(total, true);
+        this.comunes = new Semaphore(Math.max(1, total - reservaPrioritaria), true);
+    }
+
+    public boolean entrar(boolean prioritaria, long espera, TimeUnit unidad) throws InterruptedException {
+        if (prioritaria) {
+            return permisos.tryAcquire(espera, unidad);
+        }
+        long limite = System.nanoTime() + unidad.toNanos(espera);
+        if (!comunes.tryAcquire(espera, unidad)) {
+            return false;
+        }
+        boolean dentro = false;
+        try {
+            dentro = permisos.tryAcquire(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return dentro;
+        } finally {
+            if (!dentro) {
+                comunes.release();
+            }
+        }
+    }
+
+    public void salir(boolean prioritaria) {
+        permisos.release();
+        if (!prioritaria) {
+            comunes.release();
+        }
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public int enUso() {
+        return total - permisos.availablePermits();
+    }
+
+    private static int tamanioPool(DataSource dataSource) {
+        if (dataSource == null) {
+            return POOL_POR_DEFECTO;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            return POOL_POR_DEFECTO;
+        }
+        return POOL_POR_DEFECTO;
+    }
+}
@@ -0,0 +1,113 @@
+package ledance.infra.concurrencia;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ledance.infra.errores.TratadorDeErrores.AdmisionRechazadaException;
+import ledance.infra.errores.TratadorDeErrores.ServicioSaturadoException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admite la request según su {@link ClaseAdmision} antes de entrar al
+ * controlador y devuelve los permisos al completarla. Las pesadas toman
+ * primero su cupo, así las que esperan en cola no retienen conexiones.
+ *
+ * <p>El permiso de {@link BulkheadBaseDeDatos} sólo se toma con hilos
+ * virtuales: con hilos de plataforma el pool de Tomcat ya acota la
+ * concurrencia, y las requests que no usan la base (PDFs, login) no deben
+ * esperar por una conexión que no van a pedir. En ese modo la reserva de
+ * cobros se aplica al pedir la conexión del pool web, con la clase que este
+ * interceptor deja en {@link ClaseAdmision#actual()}. El cupo de pesadas rige
+ * en ambos modos.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMISO = BulkheadInterceptor.class.getName() + ".permiso";
+
+    private final BulkheadBaseDeDatos bulkhead;
+    private final CupoPesadas pesadas;
+    private final BulkheadProperties properties;
+    private final Duration retryAfter;
+    private final boolean limitarConexiones;
+
+    public BulkheadInterceptor(BulkheadBaseDeDatos bulkhead, CupoPesadas pesadas, BulkheadProperties properties,
+                               Duration retryAfter, boolean limitarConexiones) {
+        this.bulkhead = bulkhead;
+        this.pesadas = pesadas;
+        this.properties = properties;
+        this.retryAfter = retryAfter;
+        this.limitarConexiones = limitarConexiones;
+    }
+
+    BulkheadBaseDeDatos bulkhead() {
+        return bulkhead;
+    }
+
+    CupoPesadas pesadas() {
+        return pesadas;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (request.getAttribute(PERMISO) instanceof ClaseAdmision admitida) {
+            admitida.fijar();
+            return true;
+        }
+        ClaseAdmision clase = clase(handler);
+        if (clase == ClaseAdmision.PESADA && !pesadas.entrar()) {
+            throw new AdmisionRechazadaException("Hay demasiados reportes en curso; reintente en unos segundos",
+                    retryAfter);
+        }
+        if (!limitarConexiones) {
+            request.setAttribute(PERMISO, clase);
+            clase.fijar();
+            return true;
+        }
+        boolean dentro = false;
+        try {
+            dentro = bulkhead.entrar(clase == ClaseAdmision.PRIORITARIA, properties.maxWait().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        } finally {
+            if (!dentro && clase == ClaseAdmision.PESADA) {
+                pesadas.salir();
+            }
+        }
+        if (!dentro) {
+            throw new ServicioSaturadoException("El servidor está ocupado; reintente en unos segundos");
+        }
+        request.setAttribute(PERMISO, clase);
+        clase.fijar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ClaseAdmision.restablecer();
+        if (request.getAttribute(PERMISO) instanceof ClaseAdmision clase) {
+            request.removeAttribute(PERMISO);
+            if (limitarConexiones) {
+                bulkhead.salir(clase == ClaseAdmision.PRIORITARIA);
+            }
+            if (clase == ClaseAdmision.PESADA) {
+                pesadas.salir();
+            }
+        }
+    }
+
+    public static ClaseAdmision clase(Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return ClaseAdmision.GENERAL;
+        }
+        Admision admision = metodo.getMethodAnnotation(Admision.class);
+        if (admision == null) {
+            admision = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), Admision.class);
+        }
+        return admision == null ? ClaseAdmision.GENERAL : admision.value();
+    }
+}
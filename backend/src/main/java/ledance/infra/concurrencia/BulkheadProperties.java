@@ -0,0 +1,22 @@
+package ledance.infra.concurrencia;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Límites de concurrencia independientes del modo de hilos.
+ *
+ * @param maxWait          cuánto espera una request por un permiso antes de responder 503
+ * @param asyncConcurrency tareas {@code @Async} simultáneas (envío de mails, etc.)
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.bulkhead")
+public record BulkheadProperties(
+        @NotNull Duration maxWait,
+        @Min(1) int asyncConcurrency
+) {
+}
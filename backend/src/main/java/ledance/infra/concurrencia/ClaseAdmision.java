@@ -0,0 +1,29 @@
+package ledance.infra.concurrencia;
+
+/**
+ * Cómo entra una request al backend cuando hay contención.
+ */
+public enum ClaseAdmision {
+    /** Cobros y caja: pueden usar las conexiones reservadas del bulkhead. */
+    PRIORITARIA,
+    /** Todo lo que no está anotado. */
+    GENERAL,
+    /** Reportes y PDFs masivos: además del bulkhead, pasan por un cupo propio con cola. */
+    PESADA;
+
+    private static final ThreadLocal<ClaseAdmision> ACTUAL = new ThreadLocal<>();
+
+    /** La clase de la request que atiende este hilo; fuera de una request, {@link #GENERAL}. */
+    public static ClaseAdmision actual() {
+        ClaseAdmision clase = ACTUAL.get();
+        return clase == null ? GENERAL : clase;
+    }
+
+    void fijar() {
+        ACTUAL.set(this);
+    }
+
+    static void restablecer() {
+        ACTUAL.remove();
+    }
+}
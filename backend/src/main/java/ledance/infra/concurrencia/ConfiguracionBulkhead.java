@@ -0,0 +1,44 @@
+package ledance.infra.concurrencia;
+
+import ledance.infra.configuracion.AppProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties({BulkheadProperties.class, BloqueosProperties.class})
+public class ConfiguracionBulkhead implements WebMvcConfigurer {
+
+    private final BulkheadInterceptor interceptor;
+
+    public ConfiguracionBulkhead(ObjectProvider<DataSource> dataSource, BulkheadProperties properties,
+                                 AppProperties app, Environment environment) {
+        AppProperties.ControlAdmision admision = app.admision();
+        this.interceptor = new BulkheadInterceptor(
+                new BulkheadBaseDeDatos(dataSource.getIfAvailable(), admision.reservaPrioritaria()),
+                new CupoPesadas(admision.pesadasConcurrentes(), admision.pesadasEnCola(), admision.pesadasEspera()),
+                properties, admision.retryAfter(), Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    BulkheadBaseDeDatos bulkheadBaseDeDatos() {
+        return interceptor.bulkhead();
+    }
+
+    @Bean
+    CupoPesadas cupoPesadas() {
+        return interceptor.pesadas();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
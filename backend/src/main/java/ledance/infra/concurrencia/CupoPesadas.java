@@ -0,0 +1,43 @@
+package ledance.infra.concurrencia;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cupo de requests {@link ClaseAdmision#PESADA} simultáneas con una cola
+ * acotada: si ya hay {@code enCola} esperando se rechaza sin esperar, y las
+ * que esperan lo hacen a lo sumo {@code espera}.
+ */
+public class CupoPesadas {
+
+    private final Semaphore permisos;
+    private final int total;
+    private final int enCola;
+    private final Duration espera;
+
+    public CupoPesadas(int total, int enCola, Duration espera) {
+        this.permisos = new Semaphore(total, true);
+        this.total = total;
+        this.enCola = enCola;
+        this.espera = espera;
+    }
+
+    public boolean entrar() throws InterruptedException {
+        if (permisos.tryAcquire()) {
+            return true;
+        }
+        if (permisos.getQueueLength() >= enCola) {
+            return false;
+        }
+        return permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void salir() {
+        permisos.release();
+    }
+
+    public int enUso() {
+        return total - permisos.availablePermits();
+    }
+}
@@ -0,0 +1,94 @@
+package ledance.infra.concurrencia;
+
+import ledance.infra.persistencia.CargaDeTrabajo;
+import ledance.repositorios.BloqueoSchedulerRepositorio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Garantiza que una tarea programada corra en un solo nodo por disparo.
+ *
+ * <p>El lease vive en {@code scheduler_locks}: el nodo que logra el upsert
+ * condicional ejecuta la tarea y, al terminar, deja el lease vigente al menos
+ * {@link #RETENCION_MINIMA} desde que lo tomó. Así los nodos cuyo cron dispara
+ * unos segundos más tarde, por diferencia de reloj, no repiten la ejecución.
+ * Si el nodo muere a mitad de la tarea, el lease vence solo.
+ *
+ * <p>Toma, vencimiento y liberación se calculan con la hora de PostgreSQL,
+ * nunca con la del nodo: un reloj adelantado no puede dar por vencido un
+ * lease que sigue vigente.
+ *
+ * <p>No usa advisory locks porque retendrían una conexión del pool durante
+ * toda la tarea, que puede tardar minutos.
+ */
+@Component
+public class LiderazgoScheduler {
+
+    static final Duration RETENCION_MINIMA = Duration.ofMinutes(1);
+    private static final Logger log = LoggerFactory.getLogger(LiderazgoScheduler.class);
+
+    private final BloqueoSchedulerRepositorio bloqueos;
+    private final String nodo;
+
+    @Autowired
+    public LiderazgoScheduler(BloqueoSchedulerRepositorio bloqueos) {
+        this(bloqueos, nombreDeNodo());
+    }
+
+    LiderazgoScheduler(BloqueoSchedulerRepositorio bloqueos, String nodo) {
+        this.bloqueos = bloqueos;
+        this.nodo = nodo;
+    }
+
+    /**
+     * Ejecuta {@code tarea} si este nodo obtiene el lease {@code nombre}, con
+     * conexiones del pool {@link CargaDeTrabajo#BATCH}.
+     *
+     * @param duracionMaxima cota de la tarea; pasado ese plazo otro nodo puede tomarla
+     * @return {@code false} si otro nodo la tenía
+     */
+    public boolean ejecutar(String nombre, Duration duracionMaxima, Runnable tarea) {
+        boolean[] ejecutada = {false};
+        CargaDeTrabajo.BATCH.ejecutar(() -> ejecutada[0] = ejecutarConLease(nombre, duracionMaxima, tarea));
+        return ejecutada[0];
+    }
+
+    private boolean ejecutarConLease(String nombre, Duration duracionMaxima, Runnable tarea) {
+        Optional<String> tomado = bloqueos.adquirir(nombre, nodo, duracionMaxima.toMillis());
+        if (tomado.isEmpty()) {
+            log.info("Tarea programada omitida; otro nodo tiene el lease tarea={}", nombre);
+            return false;
+        }
+        try {
+            tarea.run();
+            return true;
+        } finally {
+            bloqueos.liberar(nombre, nodo, tomado.get(), RETENCION_MINIMA.toMillis());
+        }
+    }
+
+    String nodo() {
+        return nodo;
+    }
+
+    private static String nombreDeNodo() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "desconocido";
+        }
+        if (host.length() > 100) {
+            host = host.substring(0, 100);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
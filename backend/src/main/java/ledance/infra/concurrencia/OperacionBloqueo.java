@@ -0,0 +1,23 @@
+package ledance.infra.concurrencia;
+
+import java.util.Locale;
+
+/**
+ * Operaciones que toman bloqueos pesimistas sobre la cuenta de un alumno. Es
+ * la clave de {@code app.bloqueos.lock-timeout} y el tag {@code operacion} de
+ * {@code ledance.bloqueos.espera}.
+ */
+public enum OperacionBloqueo {
+    PAGO,
+    ANULACION_PAGO,
+    CARGO_CONCEPTO,
+    CREDITO,
+    VENTA_STOCK,
+    ANULACION_VENTA_STOCK,
+    MATRICULA,
+    INSCRIPCION;
+
+    String etiqueta() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,217 @@
+package ledance.infra.concurrencia;
+
+import jakarta.persistence.EntityManager;
+import ledance.entidades.Alumno;
+import ledance.entidades.Cargo;
+import ledance.infra.metricas.Metricas;
+import ledance.repositorios.AlumnoRepositorio;
+import ledance.repositorios.CargoRepositorio;
+import ledance.repositorios.StockRepositorio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Único punto por el que se toman los bloqueos pesimistas de la cuenta de un
+ * alumno. El orden global es:
+ *
+ * <ol>
+ *   <li>la fila del alumno, que serializa sus idempotency keys, cargos y crédito;</li>
+ *   <li>cargos, por id ascendente;</li>
+ *   <li>filas de stock, por id ascendente y como últimas escrituras.</li>
+ * </ol>
+ *
+ * <p>Volver a pedir algo que la transacción ya tiene no espera y siempre se
+ * permite; pedir algo nuevo de un nivel anterior, o un id menor dentro del
+ * mismo nivel, lanza {@link IllegalStateException} antes de ir a la base. Los
+ * documentos propios de la operación (el pago, la venta o el carrito que se
+ * anula) pueden bloquearse antes que el alumno porque nadie los pide después.
+ *
+ * <p>La espera de cada bloqueo queda en {@code ledance.bloqueos.espera} con
+ * los tags {@code operacion} y {@code recurso}. El primer bloqueo de la
+ * transacción fija su {@code lock_timeout} según la operación.
+ */
+@Component
+public class OrdenDeBloqueo {
+
+    public static final String ESPERA = "ledance.bloqueos.espera";
+    private static final Logger log = LoggerFactory.getLogger(OrdenDeBloqueo.class);
+
+    private enum Nivel { ALUMNO, CARGOS, STOCK }
+
+    private static final class Estado {
+        private Nivel nivel;
+        private final Set<Long> alumnos = new HashSet<>();
+        private final Set<Long> cargos = new HashSet<>();
+        private long ultimoAlumno = Long.MIN_VALUE;
+        private long ultimoCargo = Long.MIN_VALUE;
+        private long ultimoStock = Long.MIN_VALUE;
+    }
+
+    private final AlumnoRepositorio alumnos;
+    private final CargoRepositorio cargos;
+    private final StockRepositorio stocks;
+    private final EntityManager entityManager;
+    private final Metricas metricas;
+    private final BloqueosProperties properties;
+
+    public OrdenDeBloqueo(AlumnoRepositorio alumnos, CargoRepositorio cargos, StockRepositorio stocks,
+                          EntityManager entityManager, Metricas metricas, BloqueosProperties properties) {
+        this.alumnos = alumnos;
+        this.cargos = cargos;
+        this.stocks = stocks;
+        this.entityManager = entityManager;
+        this.metricas = metricas;
+        this.properties = properties;
+    }
+
+    /** Bloquea al alumno si está activo. */
+    public Optional<Alumno> alumno(OperacionBloqueo operacion, Long alumnoId) {
+        Estado estado = estado(operacion);
+        if (!estado.alumnos.contains(alumnoId)) {
+            if (estado.nivel != null && estado.nivel != Nivel.ALUMNO) {
+                throw fueraDeOrden(operacion, "alumno " + alumnoId + " después de " + estado.nivel);
+            }
+            if (alumnoId <= estado.ultimoAlumno) {
+                throw fueraDeOrden(operacion, "alumno " + alumnoId + " después del alumno " + estado.ultimoAlumno);
+            }
+        }
+        Optional<Alumno> alumno = medir(operacion, "alumno", () -> alumnos.findActivoByIdForUpdate(alumnoId));
+        if (estado.alumnos.add(alumnoId)) {
+            estado.ultimoAlumno = alumnoId;
+        }
+        if (estado.nivel == null) {
+            estado.nivel = Nivel.ALUMNO;
+        }
+        return alumno;
+    }
+
+    /** Bloquea un cargo. */
+    public Optional<Cargo> cargo(OperacionBloqueo operacion, Long cargoId) {
+        List<Cargo> bloqueados = cargos(operacion, List.of(cargoId));
+        return bloqueados.isEmpty() ? Optional.empty() : Optional.of(bloqueados.getFirst());
+    }
+
+    /**
+     * Bloquea el cargo de una venta de stock. El id se lee sin bloquear porque
+     * la venta no cambia de cargo; la entidad se carga recién con el bloqueo.
+     */
+    public Optional<Cargo> cargoDeVenta(OperacionBloqueo operacion, Long ventaStockId) {
+        return cargos.findIdByVentaStockId(ventaStockId).flatMap(id -> cargo(operacion, id));
+    }
+
+    /** Bloquea los cargos de las ventas de un carrito, en orden de id. */
+    public List<Cargo> cargosDeCarrito(OperacionBloqueo operacion, Long carritoId) {
+        return cargos(operacion, cargos.findIdsByVentaStockCarritoId(carritoId));
+    }
+
+    /**
+     * Bloquea los cargos en orden de id y los devuelve en ese orden; los que no
+     * existen simplemente faltan en la lista.
+     */
+    public List<Cargo> cargos(OperacionBloqueo operacion, Collection<Long> cargoIds) {
+        List<Long> ordenados = cargoIds.stream().distinct().sorted().toList();
+        if (ordenados.isEmpty()) {
+            return List.of();
+        }
+        Estado estado = estado(operacion);
+        List<Long> nuevos = ordenados.stream().filter(id -> !estado.cargos.contains(id)).toList();
+        if (!nuevos.isEmpty()) {
+            if (estado.nivel == Nivel.STOCK) {
+                throw fueraDeOrden(operacion, "cargos " + nuevos + " después de bloquear stock");
+            }
+            if (nuevos.getFirst() <= estado.ultimoCargo) {
+                throw fueraDeOrden(operacion, "cargo " + nuevos.getFirst() + " después del cargo " + estado.ultimoCargo);
+            }
+        }
+        List<Cargo> bloqueados = medir(operacion, "cargos", () -> cargos.findAllByIdForUpdate(ordenados));
+        estado.cargos.addAll(nuevos);
+        if (!nuevos.isEmpty()) {
+            estado.ultimoCargo = nuevos.getLast();
+        }
+        if (estado.nivel != Nivel.STOCK) {
+            estado.nivel = Nivel.CARGOS;
+        }
+        return bloqueados;
+    }
+
+    /**
+     * Descuenta existencia con el UPDATE condicional de {@link StockRepositorio}.
+     * Devuelve {@code 0} si no alcanzaba.
+     */
+    public int descontarStock(OperacionBloqueo operacion, Long stockId, int cantidad) {
+        stock(operacion, stockId);
+        return medir(operacion, "stock", () -> stocks.descontarSiAlcanza(stockId, cantidad));
+    }
+
+    public int reponerStock(OperacionBloqueo operacion, Long stockId, int cantidad) {
+        stock(operacion, stockId);
+        return medir(operacion, "stock", () -> stocks.reponer(stockId, cantidad));
+    }
+
+    private void stock(OperacionBloqueo operacion, Long stockId) {
+        Estado estado = estado(operacion);
+        if (estado.nivel == Nivel.STOCK && stockId <= estado.ultimoStock) {
+            throw fueraDeOrden(operacion, "stock " + stockId + " después del stock " + estado.ultimoStock);
+        }
+        estado.nivel = Nivel.STOCK;
+        estado.ultimoStock = stockId;
+    }
+
+    private <T> T medir(OperacionBloqueo operacion, String recurso, Supplier<T> bloqueo) {
+        long inicio = System.nanoTime();
+        try {
+            return metricas.medir(ESPERA, bloqueo, "operacion", operacion.etiqueta(), "recurso", recurso);
+        } finally {
+            Duration espera = Duration.ofNanos(System.nanoTime() - inicio);
+            if (espera.compareTo(properties.esperaLenta()) > 0) {
+                log.warn("Espera de bloqueo lenta operacion={} recurso={} ms={}",
+                        operacion.etiqueta(), recurso, espera.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Estado de la transacción actual. Al crearlo fija el {@code lock_timeout}
+     * de la operación con {@code set_config(..., true)}, que dura hasta el
+     * commit o rollback y no queda en la conexión del pool.
+     */
+    private Estado estado(OperacionBloqueo operacion) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Los bloqueos de " + operacion + " requieren una transacción");
+        }
+        Estado estado = (Estado) TransactionSynchronizationManager.getResource(this);
+        if (estado != null) {
+            return estado;
+        }
+        estado = new Estado();
+        TransactionSynchronizationManager.bindResource(this, estado);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrdenDeBloqueo.this);
+            }
+        });
+        Duration lockTimeout = properties.lockTimeout().get(operacion);
+        if (lockTimeout != null) {
+            entityManager.createNativeQuery("select set_config('lock_timeout', :valor, true)")
+                    .setParameter("valor", lockTimeout.toMillis() + "ms")
+                    .getSingleResult();
+        }
+        return estado;
+    }
+
+    private static IllegalStateException fueraDeOrden(OperacionBloqueo operacion, String detalle) {
+        return new IllegalStateException("Orden de bloqueo violado en " + operacion + ": " + detalle);
+    }
+}
@@ -1,11 +1,14 @@
 package ledance.infra.configuracion;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.List;
 
@@ -14,6 +17,25 @@ import java.util.List;
 public record AppProperties(
         @NotNull ZoneId timeZone,
         @NotNull Path receiptsPath,
-        @NotEmpty List<String> corsAllowedOrigins
+        @NotEmpty List<String> corsAllowedOrigins,
+        @Valid @NotNull ControlAdmision admision
 ) {
+
+    /**
+     * Control de admisión por clase de endpoint (ver {@code @Admision}).
+     *
+     * @param pesadasConcurrentes reportes y PDFs masivos que corren a la vez
+     * @param pesadasEnCola       cuántas más pueden esperar turno; el resto recibe 429 en el acto
+     * @param pesadasEspera       cuánto espera en la cola una request pesada antes del 429
+     * @param reservaPrioritaria  permisos del bulkhead de base que sólo usan cobros y caja
+     * @param retryAfter          valor de {@code Retry-After} en los 429
+     */
+    public record ControlAdmision(
+            @Min(1) int pesadasConcurrentes,
+            @Min(0) int pesadasEnCola,
+            @NotNull Duration pesadasEspera,
+            @Min(0) int reservaPrioritaria,
+            @NotNull Duration retryAfter
+    ) {
+    }
 }
@@ -1,22 +1,40 @@
 package ledance.infra.configuracion;
 
+import ledance.infra.concurrencia.BulkheadProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class AsyncConfig {
+
+    /**
+     * Con {@code spring.threads.virtual.enabled} cada tarea corre en un hilo virtual
+     * y el límite de concurrencia bloquea al que encola en vez de rechazar; con
+     * hilos de plataforma se mantiene el pool y el desborde corre en el hilo que
+     * llama, para no descartar mails cuando la cola se llena.
+     */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(Environment environment, BulkheadProperties bulkhead) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(bulkhead.asyncConcurrency());
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
+        executor.setCorePoolSize(bulkhead.asyncConcurrency());
+        executor.setMaxPoolSize(Math.max(10, bulkhead.asyncConcurrency()));
         executor.setQueueCapacity(25);
         executor.setThreadNamePrefix("Async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
         return executor;
     }
 }
-
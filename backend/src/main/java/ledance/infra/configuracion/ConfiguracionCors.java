@@ -25,8 +25,13 @@ public class ConfiguracionCors implements WebMvcConfigurer {
         configuration.setAllowedOrigins(properties.corsAllowedOrigins());
 
         configuration.setAllowedMethods(List.of("GET", "POST", "OPTIONS", "PUT", "DELETE", "PATCH"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match"));
         configuration.addExposedHeader("Authorization");
+        configuration.addExposedHeader("ETag");
+        configuration.addExposedHeader("X-Request-Id");
+        configuration.addExposedHeader("X-Sql-Statements");
+        configuration.addExposedHeader("X-Sql-Time-Ms");
+        configuration.addExposedHeader("X-Sql-Rows");
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
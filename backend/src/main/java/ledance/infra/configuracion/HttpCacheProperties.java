@@ -0,0 +1,23 @@
+package ledance.infra.configuracion;
+
+import jakarta.validation.constraints.NotNull;
+import ledance.infra.cache.FamiliaCache;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "app.http-cache")
+public record HttpCacheProperties(
+        String revision,
+        @NotNull Duration catalogosMaxAge,
+        @NotNull Duration inventarioMaxAge
+) {
+    public Duration maxAge(FamiliaCache familia) {
+        return switch (familia) {
+            case CATALOGO -> catalogosMaxAge;
+            case INVENTARIO -> inventarioMaxAge;
+        };
+    }
+}
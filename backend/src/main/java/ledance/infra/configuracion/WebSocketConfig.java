@@ -1,17 +1,30 @@
 package ledance.infra.configuracion;
 
+import ledance.infra.mensajeria.RelayWebSocket;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * Broker en memoria por nodo. {@link RelayWebSocket} intercepta el
+ * {@code brokerChannel} y reenvía cada mensaje a {@code /topic/**} a los
+ * clientes conectados a las demás instancias.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final RelayWebSocket relay;
+
+    public WebSocketConfig(RelayWebSocket relay) {
+        this.relay = relay;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.configureBrokerChannel().interceptors(relay);
         registry.enableSimpleBroker("/topic", "/queue");
         registry.setApplicationDestinationPrefixes("/app");
     }
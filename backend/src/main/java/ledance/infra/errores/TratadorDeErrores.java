@@ -5,6 +5,8 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -19,7 +21,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
@@ -97,6 +101,21 @@ public class TratadorDeErrores {
         return response(HttpStatus.CONFLICT, "INSUFFICIENT_STOCK", safeMessage(exception, "Stock insuficiente"));
     }
 
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ApiErrorResponse> busy(ServicioSaturadoException exception) {
+        log.warn("Request rechazada por bulkhead");
+        return busy(safeMessage(exception, "El servidor está ocupado"));
+    }
+
+    @ExceptionHandler(AdmisionRechazadaException.class)
+    public ResponseEntity<ApiErrorResponse> tooManyRequests(AdmisionRechazadaException exception) {
+        log.warn("Request pesada rechazada por control de admisión");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(new ApiErrorResponse(clock.instant(), HttpStatus.TOO_MANY_REQUESTS.value(), "TOO_MANY_REQUESTS",
+                        safeMessage(exception, "Hay demasiadas operaciones pesadas en curso"), List.of()));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiErrorResponse> dataConflict(DataIntegrityViolationException exception) {
         String detail = rootMessage(exception).toLowerCase(Locale.ROOT);
@@ -111,6 +130,15 @@ public class TratadorDeErrores {
                 "El recurso fue modificado por otra operación; vuelva a cargarlo");
     }
 
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> lockTimeout(PessimisticLockingFailureException exception) {
+        log.warn("Bloqueo no obtenido a tiempo type={}", exception.getClass().getSimpleName());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiErrorResponse(clock.instant(), HttpStatus.SERVICE_UNAVAILABLE.value(), "LOCK_TIMEOUT",
+                        "El registro está siendo modificado por otra operación; reintente en unos segundos", List.of()));
+    }
+
     @ExceptionHandler({HttpClientErrorException.class, HttpServerErrorException.class})
     public ResponseEntity<ApiErrorResponse> externalFailure(Exception exception) {
         log.error("Fallo de dependencia externa type={}", exception.getClass().getSimpleName());
@@ -119,10 +147,24 @@ public class TratadorDeErrores {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> internalError(Exception exception) {
+        // Sin conexión a tiempo (pool agotado o reserva de cobros): llega envuelta según quién la pidió.
+        for (Throwable causa = exception; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLTransientConnectionException) {
+                log.warn("Request sin conexión libre type={}", exception.getClass().getSimpleName());
+                return busy("El servidor está ocupado; reintente en unos segundos");
+            }
+        }
         log.error("Error interno type={}", exception.getClass().getSimpleName());
         return response(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Ocurrió un error inesperado");
     }
 
+    private ResponseEntity<ApiErrorResponse> busy(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiErrorResponse(clock.instant(), HttpStatus.SERVICE_UNAVAILABLE.value(), "SERVICE_BUSY",
+                        message, List.of()));
+    }
+
     private ResponseEntity<ApiErrorResponse> response(HttpStatus status, String code, String message) {
         return response(status, code, message, List.of());
     }
@@ -186,6 +228,21 @@ public class TratadorDeErrores {
         public OperacionNoPermitidaException(String message) { super(message); }
     }
 
+    public static class ServicioSaturadoException extends RuntimeException {
+        public ServicioSaturadoException(String message) { super(message); }
+    }
+
+    public static class AdmisionRechazadaException extends RuntimeException {
+        private final Duration retryAfter;
+
+        public AdmisionRechazadaException(String message, Duration retryAfter) {
+            super(message);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() { return retryAfter; }
+    }
+
     public static class ErrorDeAutenticacionException extends RuntimeException {
         public ErrorDeAutenticacionException(String message) { super(message); }
     }
@@ -0,0 +1,215 @@
+package ledance.infra.mensajeria;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Reenvía a todos los nodos los mensajes STOMP a {@code /topic/**}.
+ *
+ * <p>Está registrado como interceptor del {@code brokerChannel}: cualquier
+ * envío al broker, sea con {@code SimpMessagingTemplate} o con
+ * {@code @SendTo}, se entrega al broker local y además se emite con
+ * {@code pg_notify}. Cada nodo mantiene una conexión dedicada en
+ * {@code LISTEN} y reenvía a su broker lo que publicaron los demás. La
+ * conexión de escucha no sale del pool de Hikari para no ocupar un permiso del
+ * bulkhead de forma permanente.
+ *
+ * <p>La entrega entre nodos es best-effort: lo que se publique mientras un
+ * nodo reconecta no le llega. Las notificaciones quedan persistidas en
+ * {@code notificaciones}, así que el cliente las recupera al recargar.
+ */
+@Component
+public class RelayWebSocket implements SmartLifecycle, ChannelInterceptor {
+
+    /** Límite de {@code NOTIFY} en PostgreSQL con la configuración por defecto. */
+    static final int MAX_BYTES = 7_999;
+    static final String PREFIJO = "/topic/";
+    /** Marca los mensajes que llegaron de otro nodo para no volver a emitirlos. */
+    static final String REENVIADO = RelayWebSocket.class.getName() + ".reenviado";
+    private static final Logger log = LoggerFactory.getLogger(RelayWebSocket.class);
+
+    /** {@code payload} son los bytes ya serializados del mensaje, en Base64. */
+    record Sobre(String origen, String destino, String contentType, String payload) {
+    }
+
+    private final MessageChannel broker;
+    private final ObjectMapper mapper;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final DataSourceProperties dataSource;
+    private final WebSocketRelayProperties properties;
+    private final String nodo = UUID.randomUUID().toString();
+    private volatile boolean activo;
+    private volatile Thread escucha;
+
+    public RelayWebSocket(@Lazy @Qualifier("brokerChannel") MessageChannel broker,
+                          ObjectMapper mapper,
+                          JdbcTemplate jdbc,
+                          PlatformTransactionManager transactionManager,
+                          DataSourceProperties dataSource,
+                          WebSocketRelayProperties properties) {
+        this.broker = broker;
+        this.mapper = mapper;
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    /**
+     * Emite el mensaje ya entregado al broker local. El NOTIFY va en una
+     * transacción propia, así que conviene enviar después del commit de los
+     * datos que anuncia.
+     */
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null || !properties.enabled()) {
+            return;
+        }
+        MessageHeaders headers = message.getHeaders();
+        String destino = SimpMessageHeaderAccessor.getDestination(headers);
+        if (headers.containsKey(REENVIADO)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || destino == null || !destino.startsWith(PREFIJO)) {
+            return;
+        }
+        if (!(message.getPayload() instanceof byte[] cuerpo)) {
+            log.warn("Mensaje WebSocket sin serializar; sólo se entregó en este nodo destino={}", destino);
+            return;
+        }
+        Object tipo = headers.get(MessageHeaders.CONTENT_TYPE);
+        try {
+            emitir(new Sobre(nodo, destino, tipo == null ? null : tipo.toString(),
+                    Base64.getEncoder().encodeToString(cuerpo)));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reenviar el mensaje WebSocket a los demás nodos destino={} error={}",
+                    destino, e.getClass().getSimpleName());
+        }
+    }
+
+    private void emitir(Sobre mensaje) {
+        String sobre;
+        try {
+            sobre = mapper.writeValueAsString(mensaje);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("El mensaje para " + mensaje.destino() + " no se puede serializar", e);
+        }
+        if (sobre.getBytes(StandardCharsets.UTF_8).length > MAX_BYTES) {
+            log.error("Mensaje WebSocket demasiado grande para NOTIFY; sólo se entregó en este nodo destino={}",
+                    mensaje.destino());
+            return;
+        }
+        transactions.executeWithoutResult(status ->
+                jdbc.queryForObject("SELECT pg_notify(?, ?)", String.class, properties.canal(), sobre));
+    }
+
+    void recibir(String sobre) {
+        Sobre mensaje;
+        try {
+            mensaje = mapper.readValue(sobre, Sobre.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Mensaje de relay WebSocket ilegible descartado");
+            return;
+        }
+        if (nodo.equals(mensaje.origen())) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(mensaje.destino());
+        if (mensaje.contentType() != null) {
+            accessor.setContentType(MimeTypeUtils.parseMimeType(mensaje.contentType()));
+        }
+        accessor.setHeader(REENVIADO, mensaje.origen());
+        broker.send(MessageBuilder.createMessage(Base64.getDecoder().decode(mensaje.payload()),
+                accessor.getMessageHeaders()));
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled() || activo) {
+            return;
+        }
+        activo = true;
+        escucha = Thread.ofPlatform().name("ws-relay").daemon().start(this::escuchar);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        Thread hilo = escucha;
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    private void escuchar() {
+        while (activo) {
+            try (Connection conexion = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                try (Statement statement = conexion.createStatement()) {
+                    statement.execute("LISTEN " + properties.canal());
+                }
+                PGConnection postgres = conexion.unwrap(PGConnection.class);
+                log.info("Relay WebSocket escuchando canal={}", properties.canal());
+                while (activo) {
+                    PGNotification[] notificaciones = postgres.getNotifications(1_000);
+                    if (notificaciones == null) {
+                        continue;
+                    }
+                    for (PGNotification notificacion : notificaciones) {
+                        recibir(notificacion.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (activo) {
+                    log.warn("Relay WebSocket desconectado; reintentando en {} causa={}",
+                            properties.reconexion(), e.getClass().getSimpleName());
+                    esperar();
+                }
+            }
+        }
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(properties.reconexion());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
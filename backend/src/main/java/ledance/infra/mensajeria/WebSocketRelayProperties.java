@@ -0,0 +1,22 @@
+package ledance.infra.mensajeria;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param enabled    publica en PostgreSQL además del broker local; apagado, cada nodo sólo ve lo propio
+ * @param canal      canal de {@code LISTEN/NOTIFY}; debe ser un identificador SQL simple
+ * @param reconexion espera entre intentos cuando se pierde la conexión de escucha
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.websocket-relay")
+public record WebSocketRelayProperties(
+        boolean enabled,
+        @NotNull @Pattern(regexp = "[a-z_][a-z0-9_]{0,62}") String canal,
+        @NotNull Duration reconexion
+) {
+}
@@ -0,0 +1,47 @@
+package ledance.infra.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Temporizadores de los caminos críticos del negocio. Cada medición lleva el
+ * tag {@code resultado} ({@code ok} o el nombre simple de la excepción) además
+ * de los que indique quien llama.
+ */
+@Component
+public class Metricas {
+
+    private final MeterRegistry registry;
+
+    public Metricas(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T medir(String nombre, Supplier<T> accion, String... tags) {
+        Timer.Sample muestra = Timer.start(registry);
+        String resultado = "ok";
+        try {
+            return accion.get();
+        } catch (RuntimeException e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(registry.timer(nombre, Tags.of(tags).and("resultado", resultado)));
+        }
+    }
+
+    public void ejecutar(String nombre, Runnable accion, String... tags) {
+        medir(nombre, () -> {
+            accion.run();
+            return null;
+        }, tags);
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+}
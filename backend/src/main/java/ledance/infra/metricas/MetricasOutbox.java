@@ -0,0 +1,49 @@
+package ledance.infra.metricas;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ledance.repositorios.ReciboPendienteRepositorio;
+import ledance.repositorios.ReciboPendienteRepositorio.EstadoOutbox;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de {@code recibos_pendientes} como gauges. Se refresca con una
+ * consulta periódica y no en cada scrape, para que Prometheus no agregue
+ * carga a la base.
+ */
+@Component
+public class MetricasOutbox {
+
+    private final ReciboPendienteRepositorio pendientes;
+    private final Clock clock;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+    private final AtomicLong antiguedad = new AtomicLong();
+    private final AtomicLong intentos = new AtomicLong();
+
+    public MetricasOutbox(ReciboPendienteRepositorio pendientes, MeterRegistry registry, Clock clock) {
+        this.pendientes = pendientes;
+        this.clock = clock;
+        Gauge.builder("ledance.outbox.pendientes", backlog, AtomicLong::get)
+                .description("Recibos pendientes o en proceso").register(registry);
+        Gauge.builder("ledance.outbox.errores", errores, AtomicLong::get)
+                .description("Recibos que agotaron los reintentos").register(registry);
+        Gauge.builder("ledance.outbox.antiguedad", antiguedad, AtomicLong::get)
+                .description("Antigüedad del recibo pendiente más viejo").baseUnit("seconds").register(registry);
+        Gauge.builder("ledance.outbox.intentos.max", intentos, AtomicLong::get)
+                .description("Mayor cantidad de intentos entre los pendientes").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metricas.outbox-interval:30s}")
+    public void refrescar() {
+        EstadoOutbox estado = pendientes.estadoOutbox(clock.instant());
+        backlog.set(estado.getPendientes());
+        errores.set(estado.getErrores());
+        antiguedad.set(estado.getAntiguedadSegundos());
+        intentos.set(estado.getMaxIntentos());
+    }
+}
@@ -0,0 +1,45 @@
+package ledance.infra.persistencia;
+
+/**
+ * Contexto de ejecución que decide de qué pool sale la conexión. El hilo que
+ * no declara nada es {@link #WEB}.
+ */
+public enum CargaDeTrabajo {
+    WEB,
+    BATCH,
+    OUTBOX;
+
+    private static final ThreadLocal<CargaDeTrabajo> ACTUAL = new ThreadLocal<>();
+
+    public static CargaDeTrabajo actual() {
+        CargaDeTrabajo carga = ACTUAL.get();
+        return carga == null ? WEB : carga;
+    }
+
+    /** Corre {@code tarea} con conexiones de este pool y restaura el contexto anterior. */
+    public void ejecutar(Runnable tarea) {
+        CargaDeTrabajo anterior = ACTUAL.get();
+        ACTUAL.set(this);
+        try {
+            tarea.run();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Fija esta carga en el hilo hasta {@link #restablecer()}. Para los
+     * interceptores HTTP, que no pueden envolver la llamada al controlador.
+     */
+    void fijar() {
+        ACTUAL.set(this);
+    }
+
+    static void restablecer() {
+        ACTUAL.remove();
+    }
+}
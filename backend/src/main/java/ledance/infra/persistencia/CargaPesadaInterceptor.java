@@ -0,0 +1,30 @@
+package ledance.infra.persistencia;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ledance.infra.concurrencia.BulkheadInterceptor;
+import ledance.infra.concurrencia.ClaseAdmision;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Los endpoints {@link ClaseAdmision#PESADA} (exportes y PDFs masivos que
+ * todavía corren dentro de la request) toman sus conexiones del pool
+ * {@link CargaDeTrabajo#BATCH}: no compiten con la atención al público y
+ * quedan bajo su {@code statement_timeout}, no bajo el del pool web.
+ */
+class CargaPesadaInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (BulkheadInterceptor.clase(handler) == ClaseAdmision.PESADA) {
+            CargaDeTrabajo.BATCH.fijar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        CargaDeTrabajo.restablecer();
+    }
+}
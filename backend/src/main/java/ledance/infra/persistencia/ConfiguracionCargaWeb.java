@@ -0,0 +1,19 @@
+package ledance.infra.persistencia;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra {@link CargaPesadaInterceptor}. Va aparte de
+ * {@link ConfiguracionDataSource} porque los tests {@code @WebMvcTest} cargan
+ * todo {@link WebMvcConfigurer} y no deben levantar los pools.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ConfiguracionCargaWeb implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CargaPesadaInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,105 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import ledance.infra.concurrencia.BulkheadBaseDeDatos;
+import ledance.infra.concurrencia.BulkheadProperties;
+import ledance.infra.configuracion.AppProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Un pool de Hikari por carga de trabajo sobre la misma base, para que los
+ * schedulers y el outbox nunca tomen las conexiones de la atención al público.
+ * Cada pool fija {@code statement_timeout} y {@code lock_timeout} en sus
+ * conexiones.
+ *
+ * <p>El {@link DataSource} de la aplicación pide la conexión física recién en
+ * la primera sentencia: así el pool se elige con el contexto real y, si hay
+ * réplica, la transacción ya está marcada como de solo lectura. Por encima va
+ * el proxy que cuenta el SQL de cada request ({@link FiltroSentencias}).
+ *
+ * <p>Las requests HTTP usan el pool web, salvo los endpoints
+ * {@code @Admision(PESADA)}, que van al batch ({@link ConfiguracionCargaWeb}).
+ * Con hilos de plataforma el pool web pasa por {@link ReservaDeConexiones}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(PoolsProperties.class)
+public class ConfiguracionDataSource {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource webDataSource(DataSourceProperties properties, PoolsProperties pools) {
+        return crear(properties, "web", pools.web());
+    }
+
+    @Bean
+    @FlywayDataSource
+    HikariDataSource batchDataSource(DataSourceProperties properties, PoolsProperties pools) {
+        HikariDataSource pool = crear(properties, "batch", pools.batch());
+        pool.setMaximumPoolSize(tamanio("batch", pools.batch()));
+        return pool;
+    }
+
+    @Bean
+    HikariDataSource outboxDataSource(DataSourceProperties properties, PoolsProperties pools) {
+        HikariDataSource pool = crear(properties, "outbox", pools.outbox());
+        pool.setMaximumPoolSize(tamanio("outbox", pools.outbox()));
+        return pool;
+    }
+
+    @Bean
+    PoolPorCarga poolPorCarga(HikariDataSource webDataSource,
+                              HikariDataSource batchDataSource,
+                              HikariDataSource outboxDataSource,
+                              AppProperties app, BulkheadProperties bulkhead, Environment environment) {
+        // Con hilos virtuales la reserva ya la aplica el bulkhead por request.
+        DataSource web = Threading.VIRTUAL.isActive(environment) ? webDataSource
+                : new ReservaDeConexiones(webDataSource, new BulkheadBaseDeDatos(
+                        webDataSource.getMaximumPoolSize(), app.admision().reservaPrioritaria()), bulkhead.maxWait());
+        return new PoolPorCarga(Map.of(
+                CargaDeTrabajo.WEB, web,
+                CargaDeTrabajo.BATCH, batchDataSource,
+                CargaDeTrabajo.OUTBOX, outboxDataSource));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(PoolPorCarga poolPorCarga, ObjectProvider<LecturaConRespaldo> lectura) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(poolPorCarga);
+        lectura.ifAvailable(proxy::setReadOnlyDataSource);
+        ListenerSentencias sentencias = new ListenerSentencias();
+        return ProxyDataSourceBuilder.create("ledance", proxy)
+                .listener(sentencias)
+                .methodListener(sentencias)
+                .proxyResultSet()
+                .build();
+    }
+
+    private static int tamanio(String nombre, PoolsProperties.Pool pool) {
+        if (pool.maximumPoolSize() == null) {
+            throw new IllegalStateException("app.pools." + nombre + ".maximum-pool-size es obligatorio");
+        }
+        return pool.maximumPoolSize();
+    }
+
+    private static HikariDataSource crear(DataSourceProperties properties, String nombre, PoolsProperties.Pool pool) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(nombre);
+        dataSource.addDataSourceProperty("options", "-c statement_timeout=" + pool.statementTimeout().toMillis()
+                + " -c lock_timeout=" + pool.lockTimeout().toMillis());
+        return dataSource;
+    }
+}
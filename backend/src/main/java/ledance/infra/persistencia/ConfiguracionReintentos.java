@@ -0,0 +1,30 @@
+package ledance.infra.persistencia;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReintentosProperties.class)
+public class ConfiguracionReintentos {
+
+    /**
+     * Por fuera del interceptor de {@code @Transactional}, que tiene la menor
+     * precedencia: cada intento abre y cierra su propia transacción.
+     */
+    @Bean
+    static Advisor reintentoTransaccional(ObjectProvider<ReintentosProperties> properties,
+                                          ObjectProvider<MeterRegistry> registry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Reintentable.class),
+                new ReintentoTransaccional(properties, registry));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,53 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Con {@code app.replica.enabled} las conexiones de las transacciones
+ * {@code readOnly} salen de {@link LecturaConRespaldo}; ver
+ * {@link ConfiguracionDataSource}. Si la réplica no está disponible se usa el
+ * pool primario de la carga de trabajo actual.
+ *
+ * <p>Exige {@code spring.jpa.open-in-view=false}: con la sesión abierta durante
+ * toda la request, Hibernate reutilizaría la conexión de réplica de la primera
+ * lectura para una escritura posterior.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ConfiguracionReplica implements WebMvcConfigurer {
+
+    @Bean
+    LecturaConRespaldo lecturaConRespaldo(PoolPorCarga poolPorCarga, ReplicaProperties properties,
+                                          Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("app.replica.enabled requiere spring.jpa.open-in-view=false");
+        }
+        if (properties.url() == null || properties.url().isBlank()) {
+            throw new IllegalStateException("app.replica.url es obligatorio con app.replica.enabled=true");
+        }
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(properties.url());
+        replica.setUsername(properties.username());
+        replica.setPassword(properties.password());
+        replica.setMaximumPoolSize(properties.maximumPoolSize());
+        replica.setConnectionTimeout(properties.connectionTimeout().toMillis());
+        replica.setReadOnly(true);
+        // La aplicación arranca aunque la réplica no responda; lee de la primaria hasta que vuelva.
+        replica.setInitializationFailTimeout(-1);
+        return new LecturaConRespaldo(poolPorCarga, replica, properties.maxLag());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LecturaEnPrimariaInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,20 @@
+package ledance.infra.persistencia;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SentenciasProperties.class)
+public class ConfiguracionSentencias {
+
+    /** Antes que Spring Security, para contar también la carga del usuario del token. */
+    @Bean
+    FilterRegistrationBean<FiltroSentencias> filtroSentencias(SentenciasProperties properties) {
+        FilterRegistrationBean<FiltroSentencias> registro = new FilterRegistrationBean<>(new FiltroSentencias(properties));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,77 @@
+package ledance.infra.persistencia;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias, tiempo de base y filas del request en curso. Vive en un
+ * {@link ThreadLocal}: lo que corre en otros hilos ({@code @Async}, schedulers)
+ * no se cuenta.
+ */
+final class ContabilidadSentencias {
+
+    private static final ThreadLocal<ContabilidadSentencias> ACTUAL = new ThreadLocal<>();
+    private static final Pattern LITERALES = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> formas = new HashMap<>();
+    private int sentencias;
+    private long nanos;
+    private long filas;
+
+    static ContabilidadSentencias iniciar() {
+        ContabilidadSentencias cuenta = new ContabilidadSentencias();
+        ACTUAL.set(cuenta);
+        return cuenta;
+    }
+
+    static ContabilidadSentencias actual() {
+        return ACTUAL.get();
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    void sentencia(String sql, long nanos) {
+        sentencias++;
+        this.nanos += nanos;
+        formas.merge(forma(sql), 1, Integer::sum);
+    }
+
+    void filas(long filas) {
+        this.filas += filas;
+    }
+
+    int sentencias() {
+        return sentencias;
+    }
+
+    long milisegundos() {
+        return nanos / 1_000_000;
+    }
+
+    long filas() {
+        return filas;
+    }
+
+    /** Las formas de SQL ejecutadas más de una vez, de la más repetida a la menos. */
+    List<Map.Entry<String, Integer>> repetidas(int limite) {
+        return formas.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limite)
+                .toList();
+    }
+
+    /** Quita literales y colapsa listas {@code IN (?, ?, ...)} para agrupar el mismo SQL. */
+    static String forma(String sql) {
+        String forma = LITERALES.matcher(sql).replaceAll("?");
+        forma = LISTAS.matcher(forma).replaceAll("(?...)");
+        return ESPACIOS.matcher(forma).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,42 @@
+package ledance.infra.persistencia;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca del hilo actual para que las transacciones de solo lectura usen la
+ * primaria. La fijan {@link LecturaEnPrimaria} por endpoint o el código que
+ * necesita leer lo que acaba de escribir.
+ */
+public final class EnrutamientoLectura {
+
+    private static final ThreadLocal<Boolean> PRIMARIA = new ThreadLocal<>();
+
+    private EnrutamientoLectura() {
+    }
+
+    public static <T> T enPrimaria(Supplier<T> lectura) {
+        Boolean anterior = PRIMARIA.get();
+        PRIMARIA.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIA.remove();
+            } else {
+                PRIMARIA.set(anterior);
+            }
+        }
+    }
+
+    static void forzarPrimaria() {
+        PRIMARIA.set(Boolean.TRUE);
+    }
+
+    static void liberar() {
+        PRIMARIA.remove();
+    }
+
+    static boolean primariaForzada() {
+        return Boolean.TRUE.equals(PRIMARIA.get());
+    }
+}
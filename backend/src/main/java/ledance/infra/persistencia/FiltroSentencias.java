@@ -0,0 +1,83 @@
+package ledance.infra.persistencia;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Asigna un id a cada request ({@code X-Request-Id}, también en el MDC como
+ * {@code requestId}), cuenta su SQL y loguea los que superan el presupuesto de
+ * {@link SentenciasProperties} junto con las sentencias más repetidas, que es
+ * como se ve un N+1.
+ */
+class FiltroSentencias extends OncePerRequestFilter {
+
+    static final String REQUEST_ID = "X-Request-Id";
+    static final String SENTENCIAS = "X-Sql-Statements";
+    static final String TIEMPO = "X-Sql-Time-Ms";
+    static final String FILAS = "X-Sql-Rows";
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroSentencias.class);
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final int REPETIDAS = 5;
+
+    private final SentenciasProperties properties;
+
+    FiltroSentencias(SentenciasProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String recibido = request.getHeader(REQUEST_ID);
+        String id = recibido != null && ID_VALIDO.matcher(recibido).matches()
+                ? recibido : UUID.randomUUID().toString();
+        response.setHeader(REQUEST_ID, id);
+        MDC.put("requestId", id);
+        ContentCachingResponseWrapper demorada = properties.encabezados() && request.getHeader("Upgrade") == null
+                ? new ContentCachingResponseWrapper(response) : null;
+        ContabilidadSentencias cuenta = ContabilidadSentencias.iniciar();
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, demorada != null ? demorada : response);
+        } finally {
+            ContabilidadSentencias.terminar();
+            long duracion = (System.nanoTime() - inicio) / 1_000_000;
+            if (cuenta.sentencias() > properties.maxSentencias() || duracion > properties.maxDuracion().toMillis()) {
+                log.warn("Request fuera de presupuesto id={} {} {} status={} duracion={}ms sentencias={} "
+                                + "tiempoDb={}ms filas={} repetidas={}", id, request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), duracion, cuenta.sentencias(),
+                        cuenta.milisegundos(), cuenta.filas(), repetidas(cuenta));
+            }
+            if (demorada != null) {
+                demorada.setHeader(SENTENCIAS, Integer.toString(cuenta.sentencias()));
+                demorada.setHeader(TIEMPO, Long.toString(cuenta.milisegundos()));
+                demorada.setHeader(FILAS, Long.toString(cuenta.filas()));
+                demorada.copyBodyToResponse();
+            }
+            MDC.remove("requestId");
+        }
+    }
+
+    private static String repetidas(ContabilidadSentencias cuenta) {
+        return cuenta.repetidas(REPETIDAS).stream()
+                .map(e -> e.getValue() + "x " + recortar(e.getKey()))
+                .collect(Collectors.joining(" | ", "[", "]"));
+    }
+
+    private static String recortar(String sql) {
+        return sql.length() <= 200 ? sql : sql.substring(0, 200) + "...";
+    }
+}
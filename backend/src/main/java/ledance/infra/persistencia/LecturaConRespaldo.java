@@ -0,0 +1,122 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Origen de las conexiones de solo lectura: la réplica mientras responda y su
+ * retraso de replay no supere {@code app.replica.max-lag}; la primaria en
+ * cualquier otro caso.
+ */
+public class LecturaConRespaldo extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LecturaConRespaldo.class);
+
+    /**
+     * Sin replay pendiente el retraso es cero aunque la primaria esté ociosa;
+     * una base que no está en recovery se considera al día. NULL significa que
+     * la réplica todavía no aplicó nada.
+     */
+    private static final String RETRASO_MS = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)
+                   END
+            """;
+
+    private final DataSource primaria;
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private volatile boolean disponible = true;
+
+    public LecturaConRespaldo(DataSource primaria, HikariDataSource replica, Duration maxLag) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(replica::getConnection, primaria::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(() -> replica.getConnection(username, password),
+                () -> primaria.getConnection(username, password));
+    }
+
+    /**
+     * Lo que el pool de la réplica no soporta se propaga sin marcarla caída:
+     * la primaria está detrás del mismo tipo de pool y respondería igual.
+     */
+    private Connection conectar(Conexion deReplica, Conexion dePrimaria) throws SQLException {
+        if (!disponible || EnrutamientoLectura.primariaForzada()) {
+            return dePrimaria.abrir();
+        }
+        try {
+            return deReplica.abrir();
+        } catch (SQLFeatureNotSupportedException e) {
+            throw e;
+        } catch (SQLException e) {
+            marcar(false, "sin conexión (" + e.getClass().getSimpleName() + ")");
+            return dePrimaria.abrir();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Conexion {
+        Connection abrir() throws SQLException;
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica.check-interval}")
+    public void verificar() {
+        try (Connection conexion = replica.getConnection();
+             Statement statement = conexion.createStatement();
+             ResultSet resultado = statement.executeQuery(RETRASO_MS)) {
+            resultado.next();
+            long retraso = resultado.getLong(1);
+            if (resultado.wasNull()) {
+                marcar(false, "sin replay aplicado");
+            } else if (retraso > maxLag.toMillis()) {
+                marcar(false, "retraso de " + retraso + " ms");
+            } else {
+                marcar(true, "retraso de " + retraso + " ms");
+            }
+        } catch (SQLException e) {
+            marcar(false, "sin conexión (" + e.getClass().getSimpleName() + ")");
+        }
+    }
+
+    public boolean disponible() {
+        return disponible;
+    }
+
+    private void marcar(boolean estado, String motivo) {
+        if (disponible != estado) {
+            if (estado) {
+                log.info("Réplica de lectura habilitada: {}", motivo);
+            } else {
+                log.warn("Réplica de lectura deshabilitada; se lee de la primaria: {}", motivo);
+            }
+        }
+        disponible = estado;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+    }
+}
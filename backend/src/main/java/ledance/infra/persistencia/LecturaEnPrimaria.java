@@ -0,0 +1,17 @@
+package ledance.infra.persistencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * El endpoint lee siempre de la primaria aunque sus transacciones sean de solo
+ * lectura. Para pantallas que muestran lo que el mismo usuario acaba de grabar.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LecturaEnPrimaria {
+}
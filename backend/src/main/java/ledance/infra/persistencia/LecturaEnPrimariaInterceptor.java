@@ -0,0 +1,23 @@
+package ledance.infra.persistencia;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+class LecturaEnPrimariaInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod metodo && metodo.hasMethodAnnotation(LecturaEnPrimaria.class)) {
+            EnrutamientoLectura.forzarPrimaria();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        EnrutamientoLectura.liberar();
+    }
+}
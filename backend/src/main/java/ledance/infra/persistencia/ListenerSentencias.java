@@ -0,0 +1,67 @@
+package ledance.infra.persistencia;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Alimenta {@link ContabilidadSentencias} desde el proxy JDBC: tiempo y forma
+ * de cada sentencia, filas afectadas por las escrituras y filas leídas vía
+ * {@link ResultSet#next()}. Fuera de un request no hace nada.
+ */
+class ListenerSentencias implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String INICIO = "ledance.inicio";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (ContabilidadSentencias.actual() != null) {
+            execInfo.addCustomValue(INICIO, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ContabilidadSentencias cuenta = ContabilidadSentencias.actual();
+        Long inicio = execInfo.getCustomValue(INICIO, Long.class);
+        if (cuenta == null || inicio == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - inicio;
+        for (QueryInfo query : queryInfoList) {
+            cuenta.sentencia(query.getQuery(), nanos / queryInfoList.size());
+        }
+        switch (execInfo.getResult()) {
+            case Integer n when n > 0 -> cuenta.filas(n);
+            case Long n when n > 0 -> cuenta.filas(n);
+            case int[] lote -> {
+                for (int n : lote) {
+                    if (n > 0) cuenta.filas(n);
+                }
+            }
+            case null, default -> {
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            ContabilidadSentencias cuenta = ContabilidadSentencias.actual();
+            if (cuenta != null) {
+                cuenta.filas(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Deja en el log los pools con hilos esperando conexión. Es la señal de que
+ * la carga de trabajo necesita más conexiones o de que algo las retiene.
+ */
+@Component
+public class MonitorPools {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorPools.class);
+
+    private final List<HikariDataSource> pools;
+
+    public MonitorPools(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    @Scheduled(fixedDelayString = "${app.pools.monitor-interval:30s}")
+    public void revisar() {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean estado = pool.getHikariPoolMXBean();
+            if (estado != null && estado.getThreadsAwaitingConnection() > 0) {
+                log.warn("Pool saturado pool={} activas={} maximo={} esperando={}", pool.getPoolName(),
+                        estado.getActiveConnections(), pool.getMaximumPoolSize(),
+                        estado.getThreadsAwaitingConnection());
+            }
+        }
+    }
+}
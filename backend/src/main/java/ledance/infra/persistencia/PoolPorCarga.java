@@ -0,0 +1,22 @@
+package ledance.infra.persistencia;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/** Elige el pool según {@link CargaDeTrabajo#actual()} al pedir la conexión. */
+public class PoolPorCarga extends AbstractRoutingDataSource {
+
+    public PoolPorCarga(Map<CargaDeTrabajo, DataSource> pools) {
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(CargaDeTrabajo.WEB));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CargaDeTrabajo.actual();
+    }
+}
@@ -0,0 +1,34 @@
+package ledance.infra.persistencia;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Límites por carga de trabajo. El tamaño del pool web sigue saliendo de
+ * {@code spring.datasource.hikari.maximum-pool-size}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.pools")
+public record PoolsProperties(
+        @Valid @NotNull Pool web,
+        @Valid @NotNull Pool batch,
+        @Valid @NotNull Pool outbox
+) {
+
+    /**
+     * @param maximumPoolSize  obligatorio para batch y outbox; el de web se ignora
+     * @param statementTimeout {@code statement_timeout} de cada conexión del pool
+     * @param lockTimeout      {@code lock_timeout} de cada conexión del pool
+     */
+    public record Pool(
+            @Min(1) Integer maximumPoolSize,
+            @NotNull Duration statementTimeout,
+            @NotNull Duration lockTimeout
+    ) {
+    }
+}
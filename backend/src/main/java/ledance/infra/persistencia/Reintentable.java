@@ -0,0 +1,22 @@
+package ledance.infra.persistencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Si la transacción del método aborta por deadlock, fallo de serialización o
+ * {@code lock_timeout}, se vuelve a ejecutar completa. Sólo para escrituras
+ * protegidas por idempotency key: el intento fallido hizo rollback y el nuevo
+ * vuelve a validar todo desde cero.
+ *
+ * <p>Llamado dentro de una transacción ya abierta no reintenta nada; lo hace
+ * el método anotado más externo, si lo hay.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Reintentable {
+}
@@ -0,0 +1,114 @@
+package ledance.infra.persistencia;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Vuelve a ejecutar un método {@link Reintentable} cuando PostgreSQL aborta la
+ * transacción por {@code 40P01} (deadlock), {@code 40001} (serialización) o
+ * {@code 55P03} ({@code lock_timeout}). Entre intentos espera un tiempo al
+ * azar entre cero y un tope que se duplica, así las transacciones que chocaron
+ * no vuelven a chocar en el mismo instante.
+ *
+ * <p>Cuenta cada reintento en {@code ledance.transacciones.reintentos} y los
+ * que se quedan sin intentos en {@code ledance.transacciones.reintentos.agotados},
+ * ambos con los tags {@code metodo} y {@code sqlstate}.
+ */
+class ReintentoTransaccional implements MethodInterceptor {
+
+    static final String REINTENTOS = "ledance.transacciones.reintentos";
+    static final String AGOTADOS = "ledance.transacciones.reintentos.agotados";
+    private static final Logger log = LoggerFactory.getLogger(ReintentoTransaccional.class);
+    private static final Set<String> REINTENTABLES = Set.of("40P01", "40001", "55P03");
+
+    private final ObjectProvider<ReintentosProperties> properties;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    /**
+     * Recibe providers porque los advisors se crean antes que el resto de los
+     * beans: resolver acá las properties o el registry los dejaría sin procesar.
+     */
+    ReintentoTransaccional(ObjectProvider<ReintentosProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        ReintentosProperties config = properties.getObject();
+        String metodo = invocation.getMethod().getDeclaringClass().getSimpleName() + "."
+                + invocation.getMethod().getName();
+        long tope = config.esperaInicial().toMillis();
+        for (int intento = 1; ; intento++) {
+            try {
+                return intento(invocation);
+            } catch (RuntimeException e) {
+                String sqlState = sqlStateReintentable(e);
+                if (sqlState == null) {
+                    throw e;
+                }
+                if (intento >= config.maxIntentos()) {
+                    registry.getObject().counter(AGOTADOS, "metodo", metodo, "sqlstate", sqlState).increment();
+                    log.warn("Reintentos agotados metodo={} sqlstate={} intentos={}", metodo, sqlState, intento);
+                    throw e;
+                }
+                registry.getObject().counter(REINTENTOS, "metodo", metodo, "sqlstate", sqlState).increment();
+                long espera = ThreadLocalRandom.current().nextLong(tope + 1);
+                log.info("Reintentando transacción metodo={} sqlstate={} intento={} esperaMs={}",
+                        metodo, sqlState, intento + 1, espera);
+                if (!esperar(espera)) {
+                    throw e;
+                }
+                tope = Math.min(tope * 2, config.esperaMaxima().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Cada intento recorre de nuevo el resto de la cadena de advice sobre una
+     * copia de la invocación: la original ya dejó su índice al final, y
+     * volver a llamarla saltearía el {@code TransactionInterceptor}.
+     */
+    private static Object intento(MethodInvocation invocation) throws Throwable {
+        if (invocation instanceof ProxyMethodInvocation proxy) {
+            return proxy.invocableClone().proceed();
+        }
+        return invocation.proceed();
+    }
+
+    /** El SQLState reintentable más cercano en la cadena de causas, o {@code null}. */
+    static String sqlStateReintentable(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && REINTENTABLES.contains(sql.getSQLState())) {
+                return sql.getSQLState();
+            }
+            if (causa.getCause() == causa) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean esperar(long milis) {
+        try {
+            Thread.sleep(milis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
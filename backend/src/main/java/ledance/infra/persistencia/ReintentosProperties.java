@@ -0,0 +1,24 @@
+package ledance.infra.persistencia;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Reintentos de los métodos {@link Reintentable}.
+ *
+ * @param maxIntentos   ejecuciones totales, contando la primera
+ * @param esperaInicial tope de la espera antes del segundo intento; se duplica en cada uno
+ * @param esperaMaxima  tope de la espera entre intentos
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.reintentos")
+public record ReintentosProperties(
+        @Min(1) int maxIntentos,
+        @NotNull Duration esperaInicial,
+        @NotNull Duration esperaMaxima
+) {
+}
@@ -0,0 +1,29 @@
+package ledance.infra.persistencia;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Réplica de lectura para las transacciones {@code readOnly}.
+ *
+ * @param maxLag            retraso de replay a partir del cual se lee de la primaria
+ * @param checkInterval     cada cuánto se mide el retraso
+ * @param connectionTimeout espera por una conexión de la réplica antes de caer a la primaria
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.replica")
+public record ReplicaProperties(
+        boolean enabled,
+        String url,
+        String username,
+        String password,
+        @Min(1) int maximumPoolSize,
+        @NotNull Duration maxLag,
+        @NotNull Duration checkInterval,
+        @NotNull Duration connectionTimeout
+) {
+}
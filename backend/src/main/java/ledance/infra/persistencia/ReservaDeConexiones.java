@@ -0,0 +1,91 @@
+package ledance.infra.persistencia;
+
+import ledance.infra.concurrencia.BulkheadBaseDeDatos;
+import ledance.infra.concurrencia.ClaseAdmision;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reserva de cobros con hilos de plataforma. Sin bulkhead por request, la
+ * reserva se aplica al pedir la conexión: las requests que no son
+ * {@link ClaseAdmision#PRIORITARIA} nunca tienen más que el pool menos
+ * {@code reservaPrioritaria} conexiones a la vez, y las que no usan la base no
+ * esperan nada. El permiso se devuelve al cerrar la conexión.
+ */
+class ReservaDeConexiones extends DelegatingDataSource {
+
+    private interface Apertura {
+        Connection abrir() throws SQLException;
+    }
+
+    private final BulkheadBaseDeDatos bulkhead;
+    private final Duration espera;
+
+    ReservaDeConexiones(DataSource pool, BulkheadBaseDeDatos bulkhead, Duration espera) {
+        super(pool);
+        this.bulkhead = bulkhead;
+        this.espera = espera;
+    }
+
+    BulkheadBaseDeDatos bulkhead() {
+        return bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return reservar(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return reservar(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection reservar(Apertura apertura) throws SQLException {
+        boolean prioritaria = ClaseAdmision.actual() == ClaseAdmision.PRIORITARIA;
+        try {
+            if (!bulkhead.entrar(prioritaria, espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Sin conexiones libres fuera de la reserva de cobros tras " + espera.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+        try {
+            return devolviendoAlCerrar(apertura.abrir(), prioritaria);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.salir(prioritaria);
+            throw e;
+        }
+    }
+
+    private Connection devolviendoAlCerrar(Connection conexion, boolean prioritaria) {
+        AtomicBoolean devuelta = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        try {
+                            yield metodo.invoke(conexion, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            if ("close".equals(metodo.getName()) && devuelta.compareAndSet(false, true)) {
+                                bulkhead.salir(prioritaria);
+                            }
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,25 @@
+package ledance.infra.persistencia;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Presupuesto de SQL por request HTTP. Un request que lo supera se loguea con
+ * las sentencias que más se repitieron.
+ *
+ * @param maxSentencias sentencias por request antes de loguearlo
+ * @param maxDuracion   duración total del request antes de loguearlo
+ * @param encabezados   agrega {@code X-Sql-*} a cada respuesta; solo para desarrollo
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.sentencias")
+public record SentenciasProperties(
+        @Positive int maxSentencias,
+        @NotNull Duration maxDuracion,
+        boolean encabezados
+) {
+}
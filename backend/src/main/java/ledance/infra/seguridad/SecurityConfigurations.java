@@ -55,6 +55,9 @@ public class SecurityConfigurations {
                     req.requestMatchers(HttpMethod.POST, "/api/login/refresh").permitAll();
                     req.requestMatchers(HttpMethod.GET, "/api/usuarios/perfil").authenticated();
                     req.requestMatchers("/api/**").hasRole("ADMINISTRADOR");
+                    // Solo se sirven en management.server.port, que no se publica fuera de la red interna.
+                    req.requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**",
+                            "/actuator/prometheus").permitAll();
                     req.anyRequest().denyAll();
                 })
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
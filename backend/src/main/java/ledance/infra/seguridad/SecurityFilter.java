@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import ledance.infra.metricas.Metricas;
 import ledance.repositorios.UsuarioRepositorio;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,10 +18,12 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UsuarioRepositorio usuarioRepositorio;
+    private final Metricas metricas;
 
-    public SecurityFilter(TokenService tokenService, UsuarioRepositorio usuarioRepositorio) {
+    public SecurityFilter(TokenService tokenService, UsuarioRepositorio usuarioRepositorio, Metricas metricas) {
         this.tokenService = tokenService;
         this.usuarioRepositorio = usuarioRepositorio;
+        this.metricas = metricas;
     }
 
     @Override
@@ -32,7 +35,8 @@ public class SecurityFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring("Bearer ".length());
             try {
-                VerifiedToken verified = tokenService.verify(token, TokenType.ACCESS);
+                VerifiedToken verified = metricas.medir("ledance.jwt.verificacion",
+                        () -> tokenService.verify(token, TokenType.ACCESS));
                 var userEntity = usuarioRepositorio.findById(verified.userId())
                         .filter(user -> Objects.equals(user.getNombreUsuario(), verified.subject()))
                         .filter(user -> Boolean.TRUE.equals(user.getActivo()))
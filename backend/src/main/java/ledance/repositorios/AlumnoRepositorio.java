@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,4 +35,35 @@ public interface AlumnoRepositorio extends JpaRepository<Alumno, Long> {
              LIKE LOWER(CONCAT('%', :nombre, '%'))
       """)
     Page<Alumno> buscarPorNombreCompleto(@Param("nombre") String nombre, Pageable pageable);
+
+    /**
+     * Alumnos activos cuyas notas coinciden con {@code texto}, por relevancia.
+     * Mismo formato de consulta y de fragmento que
+     * {@link ObservacionProfesorRepositorio#buscarTexto}.
+     */
+    @Query(value = """
+            SELECT a.id AS "id", a.nombre AS "nombre", a.apellido AS "apellido",
+                   ts_headline('spanish',
+                               replace(replace(replace(a.otras_notas, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                               q.consulta,
+                               'StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10, MaxFragments=2') AS "fragmento",
+                   CAST(ts_rank_cd(a.busqueda_notas, q.consulta) AS numeric(12, 6)) AS "relevancia"
+            FROM alumnos a,
+                 websearch_to_tsquery('spanish', :texto) AS q(consulta)
+            WHERE a.activo AND a.busqueda_notas @@ q.consulta
+            ORDER BY "relevancia" DESC, a.apellido, a.nombre, a.id
+            """, countQuery = """
+            SELECT count(*)
+            FROM alumnos a
+            WHERE a.activo AND a.busqueda_notas @@ websearch_to_tsquery('spanish', :texto)
+            """, nativeQuery = true)
+    Page<CoincidenciaNotas> buscarEnNotas(@Param("texto") String texto, Pageable pageable);
+
+    interface CoincidenciaNotas {
+        Long getId();
+        String getNombre();
+        String getApellido();
+        String getFragmento();
+        BigDecimal getRelevancia();
+    }
 }
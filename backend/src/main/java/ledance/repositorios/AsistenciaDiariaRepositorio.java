@@ -3,14 +3,14 @@ package ledance.repositorios;
 import ledance.entidades.AsistenciaDiaria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -22,25 +22,38 @@ public interface AsistenciaDiariaRepositorio extends JpaRepository<AsistenciaDia
     // Busca una asistencia por id, alumno (a traves del registro) y fecha
     Optional<AsistenciaDiaria> findByIdAndAsistenciaAlumnoMensual_Inscripcion_Alumno_IdAndFecha(Long id, Long alumnoId, LocalDate fecha);
 
-    @Query("SELECT a.asistenciaAlumnoMensual.inscripcion.alumno.id, COUNT(a) " +
-            "FROM AsistenciaDiaria a " +
-            "WHERE a.asistenciaAlumnoMensual.asistenciaMensual.disciplina.id = :disciplinaId " +
-            "AND a.fecha BETWEEN :fechaInicio AND :fechaFin " +
-            "GROUP BY a.asistenciaAlumnoMensual.inscripcion.alumno.id")
+    /**
+     * Clases vigentes por alumno en el rango, contadas sobre las máscaras de
+     * cada registro mensual: una fila por alumno y mes en lugar de una por día.
+     * Los meses de {@code fechaInicio} y {@code fechaFin} se recortan con
+     * {@code mascaraInicio} y {@code mascaraFin}; los del medio cuentan enteros.
+     *
+     * <p>Sólo cuenta días con una asistencia vigente, cualquiera sea su estado.
+     * Antes contaba todas las filas diarias del rango, incluidas las que
+     * {@code eliminarAsistencia} dejó con {@code vigente = false}; ahora
+     * coincide con el resumen mensual que se usa para meses completos.
+     */
+    @Query(value = """
+            SELECT i.alumno_id,
+                   sum(bit_count(CAST(m.dias_clase
+                       & CASE WHEN make_date(p.anio, p.mes, 1) = date_trunc('month', CAST(:fechaInicio AS date))
+                              THEN :mascaraInicio ELSE -1 END
+                       & CASE WHEN make_date(p.anio, p.mes, 1) = date_trunc('month', CAST(:fechaFin AS date))
+                              THEN :mascaraFin ELSE -1 END
+                     AS bit(32))))
+            FROM asistencias_mensuales p
+            JOIN asistencias_alumno_mensual m ON m.asistencia_mensual_id = p.id
+            JOIN inscripciones i ON i.id = m.inscripcion_id
+            WHERE p.disciplina_id = :disciplinaId
+              AND make_date(p.anio, p.mes, 1) BETWEEN date_trunc('month', CAST(:fechaInicio AS date))
+                                                  AND CAST(:fechaFin AS date)
+            GROUP BY i.alumno_id
+            """, nativeQuery = true)
     List<Object[]> contarAsistenciasPorAlumnoRaw(@Param("disciplinaId") Long disciplinaId,
                                                  @Param("fechaInicio") LocalDate fechaInicio,
-                                                 @Param("fechaFin") LocalDate fechaFin);
-
-    default Map<Long, Integer> contarAsistenciasPorAlumno(Long disciplinaId, LocalDate fechaInicio, LocalDate fechaFin) {
-        List<Object[]> resultados = contarAsistenciasPorAlumnoRaw(disciplinaId, fechaInicio, fechaFin);
-        Map<Long, Integer> mapa = new HashMap<>();
-        for (Object[] row : resultados) {
-            Long alumnoId = (Long) row[0];
-            Integer count = ((Long) row[1]).intValue();
-            mapa.put(alumnoId, count);
-        }
-        return mapa;
-    }
+                                                 @Param("fechaFin") LocalDate fechaFin,
+                                                 @Param("mascaraInicio") int mascaraInicio,
+                                                 @Param("mascaraFin") int mascaraFin);
 
     // Verifica si ya existe una asistencia para un alumno en una fecha
     boolean existsByAsistenciaAlumnoMensual_Inscripcion_Alumno_IdAndFecha(Long alumnoId, LocalDate fecha);
@@ -65,4 +78,31 @@ public interface AsistenciaDiariaRepositorio extends JpaRepository<AsistenciaDia
     Optional<AsistenciaDiaria> findByAsistenciaAlumnoMensualIdAndFecha(Long id, LocalDate fecha);
 
     List<AsistenciaDiaria> findByAsistenciaAlumnoMensualId(Long id);
+
+    /**
+     * Marca un día de la planilla para varios alumnos en una sola sentencia.
+     * Los registros ajenos a la planilla, inactivos o de una planilla de otro
+     * mes no se insertan; el llamador compara el total con lo pedido.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO asistencias_diarias (asistencia_alumno_mensual_id, fecha, estado, vigente)
+            SELECT m.id, :fecha, marca.estado, true
+            FROM unnest(CAST(:registros AS bigint[]), CAST(:estados AS varchar[])) AS marca(registro_id, estado)
+            JOIN asistencias_alumno_mensual m ON m.id = marca.registro_id
+            JOIN asistencias_mensuales p ON p.id = m.asistencia_mensual_id
+            WHERE m.asistencia_mensual_id = :planillaId
+              AND m.activo
+              AND p.anio = EXTRACT(YEAR FROM CAST(:fecha AS date))
+              AND p.mes = EXTRACT(MONTH FROM CAST(:fecha AS date))
+            ON CONFLICT (asistencia_alumno_mensual_id, fecha)
+            DO UPDATE SET estado = EXCLUDED.estado, vigente = true
+            """, nativeQuery = true)
+    int marcarDia(@Param("planillaId") Long planillaId, @Param("fecha") LocalDate fecha,
+                  @Param("registros") Long[] registros, @Param("estados") String[] estados);
+
+    @EntityGraph(attributePaths = {"asistenciaAlumnoMensual.inscripcion.alumno",
+            "asistenciaAlumnoMensual.asistenciaMensual.disciplina"})
+    List<AsistenciaDiaria> findByAsistenciaAlumnoMensual_AsistenciaMensual_IdAndFechaOrderByAsistenciaAlumnoMensualId(
+            Long asistenciaMensualId, LocalDate fecha);
 }
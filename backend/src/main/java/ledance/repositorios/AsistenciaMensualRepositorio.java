@@ -39,4 +39,39 @@ public interface AsistenciaMensualRepositorio extends JpaRepository<AsistenciaMe
                                             @Param("anio") Integer anio);
 
     List<AsistenciaMensual> findByDisciplinaId(Long id);
+
+    /**
+     * Una fila por alumno de la planilla con sus máscaras del mes, ordenadas
+     * por apellido. Una planilla sin alumnos devuelve una fila con el
+     * registro en null; una planilla inexistente, ninguna.
+     */
+    @Query(value = """
+            SELECT p.id AS "planillaId", p.mes AS "mes", p.anio AS "anio",
+                   m.id AS "registroId", a.id AS "alumnoId", a.nombre AS "nombre", a.apellido AS "apellido",
+                   m.observacion AS "observacion", m.dias_clase AS "diasClase",
+                   m.dias_presente AS "diasPresente", m.dias_justificado AS "diasJustificado"
+            FROM asistencias_mensuales p
+            LEFT JOIN asistencias_alumno_mensual m ON m.asistencia_mensual_id = p.id
+            LEFT JOIN inscripciones i ON i.id = m.inscripcion_id
+            LEFT JOIN alumnos a ON a.id = i.alumno_id
+            WHERE p.disciplina_id = :disciplinaId AND p.mes = :mes AND p.anio = :anio
+            ORDER BY a.apellido, a.nombre, m.id
+            """, nativeQuery = true)
+    List<FilaMatriz> findMatrizByDisciplinaAndMesAndAnio(@Param("disciplinaId") Long disciplinaId,
+                                                         @Param("mes") int mes,
+                                                         @Param("anio") int anio);
+
+    interface FilaMatriz {
+        Long getPlanillaId();
+        Integer getMes();
+        Integer getAnio();
+        Long getRegistroId();
+        Long getAlumnoId();
+        String getNombre();
+        String getApellido();
+        String getObservacion();
+        Integer getDiasClase();
+        Integer getDiasPresente();
+        Integer getDiasJustificado();
+    }
 }
@@ -0,0 +1,47 @@
+package ledance.repositorios;
+
+import ledance.entidades.BloqueoScheduler;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface BloqueoSchedulerRepositorio extends JpaRepository<BloqueoScheduler, Long> {
+
+    /**
+     * Toma el lease si la fila no existe o si el anterior ya venció, con la hora
+     * de la base: los relojes de los nodos no intervienen. Devuelve el
+     * {@code locked_at} de la toma (como texto, para compararlo exacto al
+     * liberar) o vacío si otro nodo tiene el lease vigente.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            INSERT INTO scheduler_locks (nombre, lease_until, locked_at, locked_by)
+            VALUES (:nombre, now() + :duracionMs * INTERVAL '1 millisecond', now(), :nodo)
+            ON CONFLICT (nombre) DO UPDATE
+               SET lease_until = EXCLUDED.lease_until,
+                   locked_at = EXCLUDED.locked_at,
+                   locked_by = EXCLUDED.locked_by
+             WHERE scheduler_locks.lease_until <= EXCLUDED.locked_at
+            RETURNING CAST(locked_at AS text)
+            """, nativeQuery = true)
+    Optional<String> adquirir(@Param("nombre") String nombre, @Param("nodo") String nodo,
+                              @Param("duracionMs") long duracionMs);
+
+    /** Deja el lease vigente hasta ahora o hasta {@code locked_at + retencion}, lo que sea posterior. */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            UPDATE scheduler_locks
+               SET lease_until = GREATEST(clock_timestamp(), locked_at + :retencionMs * INTERVAL '1 millisecond')
+            WHERE nombre = :nombre AND locked_by = :nodo AND locked_at = CAST(:lockedAt AS timestamptz)
+            """, nativeQuery = true)
+    int liberar(@Param("nombre") String nombre, @Param("nodo") String nodo,
+                @Param("lockedAt") String lockedAt, @Param("retencionMs") long retencionMs);
+
+    Optional<BloqueoScheduler> findByNombre(String nombre);
+}
@@ -30,6 +30,15 @@ public interface CargoRepositorio extends JpaRepository<Cargo, Long> {
     Optional<Cargo> findByMatriculaId(Long matriculaId);
     Optional<Cargo> findByIdempotencyKey(String idempotencyKey);
     Optional<Cargo> findByVentaStockId(Long ventaStockId);
+
+    @Query("select c.id from Cargo c where c.ventaStock.id = :ventaStockId")
+    Optional<Long> findIdByVentaStockId(@Param("ventaStockId") Long ventaStockId);
+
+    List<Cargo> findByVentaStockCarritoIdOrderByIdAsc(Long carritoId);
+
+    @Query("select c.id from Cargo c where c.ventaStock.carrito.id = :carritoId order by c.id")
+    List<Long> findIdsByVentaStockCarritoId(@Param("carritoId") Long carritoId);
+
     List<Cargo> findByTipoAndEstadoInAndFechaVencimientoBeforeOrderById(
             TipoCargo tipo, List<EstadoCargo> estados, LocalDate fecha);
 
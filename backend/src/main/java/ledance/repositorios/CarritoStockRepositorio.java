@@ -0,0 +1,18 @@
+package ledance.repositorios;
+
+import jakarta.persistence.LockModeType;
+import ledance.entidades.CarritoStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CarritoStockRepositorio extends JpaRepository<CarritoStock, Long> {
+    Optional<CarritoStock> findByIdempotencyKey(String idempotencyKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CarritoStock c where c.id = :id")
+    Optional<CarritoStock> findByIdForUpdate(@Param("id") Long id);
+}
@@ -3,6 +3,11 @@ package ledance.repositorios;
 import ledance.entidades.DiaSemana;
 import ledance.entidades.DisciplinaHorario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
 import java.util.List;
 
 public interface DisciplinaHorarioRepositorio extends JpaRepository<DisciplinaHorario, Long> {
@@ -10,4 +15,29 @@ public interface DisciplinaHorarioRepositorio extends JpaRepository<DisciplinaHo
     void deleteByDisciplinaId(Long disciplinaId);
 
     List<DisciplinaHorario> findByDiaSemana(DiaSemana diaSemana);
+
+    @Query("""
+            SELECT d.salon.id AS salonId, d.id AS disciplinaId, d.nombre AS disciplinaNombre,
+                   h.diaSemana AS diaSemana, h.horarioInicio AS horarioInicio, h.duracion AS duracion
+            FROM DisciplinaHorario h JOIN h.disciplina d
+            WHERE d.activo = true AND d.salon IS NOT NULL
+            """)
+    List<Ocupacion> findOcupacionActiva();
+
+    @Query("""
+            SELECT d.salon.id AS salonId, d.id AS disciplinaId, d.nombre AS disciplinaNombre,
+                   h.diaSemana AS diaSemana, h.horarioInicio AS horarioInicio, h.duracion AS duracion
+            FROM DisciplinaHorario h JOIN h.disciplina d
+            WHERE d.activo = true AND d.salon.id = :salonId
+            """)
+    List<Ocupacion> findOcupacionActivaBySalonId(@Param("salonId") Long salonId);
+
+    interface Ocupacion {
+        Long getSalonId();
+        Long getDisciplinaId();
+        String getDisciplinaNombre();
+        DiaSemana getDiaSemana();
+        LocalTime getHorarioInicio();
+        BigDecimal getDuracion();
+    }
 }
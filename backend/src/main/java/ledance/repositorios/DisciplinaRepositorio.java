@@ -1,8 +1,10 @@
 package ledance.repositorios;
 
 import ledance.entidades.Alumno;
+import ledance.entidades.DiaSemana;
 import ledance.entidades.Disciplina;
 import ledance.entidades.Profesor;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.Lock;
@@ -10,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +21,35 @@ public interface DisciplinaRepositorio extends JpaRepository<Disciplina, Long> {
 
     boolean existsByNombre(String nombre);
 
-    List<Disciplina> findByActivoTrue();
+    /**
+     * Las consultas "ConDetalle" traen en un solo SELECT todo lo que lee
+     * {@code DisciplinaMapper.toResponse}: salon, profesor (con su usuario y rol,
+     * que son EAGER) y horarios.
+     */
+    @EntityGraph(attributePaths = {"salon", "profesor", "profesor.usuario", "profesor.usuario.rol", "horarios"})
+    @Query("SELECT d FROM Disciplina d WHERE d.activo = true ORDER BY d.nombre, d.id")
+    List<Disciplina> findActivasConDetalle();
+
+    @EntityGraph(attributePaths = {"salon", "profesor", "profesor.usuario", "profesor.usuario.rol", "horarios"})
+    @Query("SELECT d FROM Disciplina d WHERE d.id = :id")
+    Optional<Disciplina> findConDetalleById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"salon", "profesor", "profesor.usuario", "profesor.usuario.rol", "horarios"})
+    @Query("""
+            SELECT d FROM Disciplina d
+            WHERE EXISTS (SELECT 1 FROM DisciplinaHorario h WHERE h.disciplina = d AND h.diaSemana = :dia)
+            ORDER BY d.nombre, d.id
+            """)
+    List<Disciplina> findConDetalleQueDictanEl(@Param("dia") DiaSemana dia);
+
+    @EntityGraph(attributePaths = {"salon", "profesor", "profesor.usuario", "profesor.usuario.rol", "horarios"})
+    @Query("""
+            SELECT d FROM Disciplina d
+            WHERE d.activo = true
+              AND EXISTS (SELECT 1 FROM DisciplinaHorario h WHERE h.disciplina = d AND h.horarioInicio = :inicio)
+            ORDER BY d.nombre, d.id
+            """)
+    List<Disciplina> findActivasConDetalleQueInicianA(@Param("inicio") LocalTime inicio);
 
     @Query("SELECT I.alumno FROM Inscripcion I WHERE I.disciplina.id = :disciplinaId AND I.alumno.activo = true")
     List<Alumno> findAlumnosPorDisciplina(@Param("disciplinaId") Long disciplinaId);
@@ -26,7 +57,8 @@ public interface DisciplinaRepositorio extends JpaRepository<Disciplina, Long> {
     @Query("SELECT d.profesor FROM Disciplina d WHERE d.id = :disciplinaId AND d.activo = true")
     Optional<Profesor> findProfesorPorDisciplina(@Param("disciplinaId") Long disciplinaId);
 
-    @Query("SELECT d FROM Disciplina d WHERE LOWER(d.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) AND d.activo = true")
+    @EntityGraph(attributePaths = {"salon", "profesor", "profesor.usuario", "profesor.usuario.rol", "horarios"})
+    @Query("SELECT d FROM Disciplina d WHERE LOWER(d.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) AND d.activo = true ORDER BY d.nombre, d.id")
     List<Disciplina> buscarPorNombre(@Param("nombre") String nombre);
 
     Disciplina findByNombreContainingIgnoreCase(String nombre);
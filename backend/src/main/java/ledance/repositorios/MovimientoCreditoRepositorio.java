@@ -32,15 +32,18 @@ public interface MovimientoCreditoRepositorio extends JpaRepository<MovimientoCr
         """)
     BigDecimal saldoByAlumnoId(@Param("alumnoId") Long alumnoId);
 
-    @Query("""
-        select coalesce(sum(case
-            when m.tipo = ledance.entidades.TipoMovimientoCredito.CONSUMO then m.importe
-            else -m.importe end), 0)
-        from MovimientoCredito m left join m.movimientoRevertido r
-        where (m.tipo = ledance.entidades.TipoMovimientoCredito.CONSUMO and m.cargo.id = :cargoId)
-           or (m.tipo = ledance.entidades.TipoMovimientoCredito.REVERSO
-               and r.tipo = ledance.entidades.TipoMovimientoCredito.CONSUMO
-               and r.cargo.id = :cargoId)
-        """)
+    /**
+     * Consumos del cargo menos sus reversos. Va en dos subconsultas y no como
+     * un OR sobre el self join: así cada parte entra por su índice
+     * ({@code cargo_id} y la unicidad de {@code movimiento_revertido_id}) en
+     * lugar de recorrer todos los movimientos de crédito.
+     */
+    @Query(value = """
+        SELECT coalesce((SELECT sum(c.importe) FROM movimientos_credito c
+                         WHERE c.tipo = 'CONSUMO' AND c.cargo_id = :cargoId), 0)
+             - coalesce((SELECT sum(r.importe) FROM movimientos_credito r
+                         JOIN movimientos_credito c ON c.id = r.movimiento_revertido_id
+                         WHERE r.tipo = 'REVERSO' AND c.tipo = 'CONSUMO' AND c.cargo_id = :cargoId), 0)
+        """, nativeQuery = true)
     BigDecimal sumAplicadoByCargoId(@Param("cargoId") Long cargoId);
 }
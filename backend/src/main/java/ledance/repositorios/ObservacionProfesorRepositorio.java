@@ -1,16 +1,60 @@
 package ledance.repositorios;
 
 import ledance.entidades.ObservacionProfesor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface ObservacionProfesorRepositorio extends JpaRepository<ObservacionProfesor, Long> {
-    List<ObservacionProfesor> findByProfesorId(Long profesorId);
-    List<ObservacionProfesor> findByFechaBetween(LocalDate inicio, LocalDate fin);
+    Page<ObservacionProfesor> findByProfesorId(Long profesorId, Pageable pageable);
+    Page<ObservacionProfesor> findByFechaBetween(LocalDate inicio, LocalDate fin, Pageable pageable);
     List<ObservacionProfesor> findByProfesorIdAndFechaBetween(Long profesorId, LocalDate inicio, LocalDate fin);
+    Page<ObservacionProfesor> findByProfesorIdAndFechaBetween(Long profesorId, LocalDate inicio, LocalDate fin,
+                                                              Pageable pageable);
 
+    /**
+     * Observaciones activas que coinciden con {@code texto} (sintaxis de
+     * {@code websearch_to_tsquery}: palabras, "frases" y -exclusiones),
+     * ordenadas por relevancia. El fragmento marca las coincidencias con
+     * {@code <mark>} sobre el texto ya escapado como HTML.
+     */
+    @Query(value = """
+            SELECT o.id AS "id",
+                   o.profesor_id AS "profesorId",
+                   o.fecha AS "fecha",
+                   ts_headline('spanish',
+                               replace(replace(replace(o.observacion, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                               q.consulta,
+                               'StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10, MaxFragments=2') AS "fragmento",
+                   CAST(ts_rank_cd(o.busqueda, q.consulta) AS numeric(12, 6)) AS "relevancia"
+            FROM observaciones_profesores o,
+                 websearch_to_tsquery('spanish', :texto) AS q(consulta)
+            WHERE o.activa AND o.busqueda @@ q.consulta
+              AND (CAST(:profesorId AS bigint) IS NULL OR o.profesor_id = :profesorId)
+            ORDER BY "relevancia" DESC, o.fecha DESC, o.id DESC
+            """, countQuery = """
+            SELECT count(*)
+            FROM observaciones_profesores o
+            WHERE o.activa AND o.busqueda @@ websearch_to_tsquery('spanish', :texto)
+              AND (CAST(:profesorId AS bigint) IS NULL OR o.profesor_id = :profesorId)
+            """, nativeQuery = true)
+    Page<Coincidencia> buscarTexto(@Param("texto") String texto,
+                                   @Param("profesorId") Long profesorId,
+                                   Pageable pageable);
+
+    interface Coincidencia {
+        Long getId();
+        Long getProfesorId();
+        LocalDate getFecha();
+        String getFragmento();
+        BigDecimal getRelevancia();
+    }
 }
@@ -1,7 +1,6 @@
 package ledance.repositorios;
 
 import jakarta.persistence.LockModeType;
-import ledance.entidades.EstadoPago;
 import ledance.entidades.Pago;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
@@ -10,8 +9,6 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 public interface PagoRepositorio extends JpaRepository<Pago, Long> {
@@ -23,5 +20,4 @@ public interface PagoRepositorio extends JpaRepository<Pago, Long> {
     Optional<Pago> findByIdForUpdate(@Param("id") Long id);
 
     Page<Pago> findByAlumnoId(Long alumnoId, Pageable pageable);
-    List<Pago> findByFechaBetweenAndEstadoOrderByFechaAscIdAsc(LocalDate desde, LocalDate hasta, EstadoPago estado);
 }
@@ -25,4 +25,22 @@ public interface ReciboPendienteRepositorio extends JpaRepository<ReciboPendient
 
     @EntityGraph(attributePaths = {"pago", "pago.alumno", "pago.metodoPago"})
     Optional<ReciboPendiente> findByIdAndClaimToken(Long id, UUID claimToken);
+
+    @Query(value = """
+            SELECT count(*) FILTER (WHERE r.estado IN ('PENDIENTE','PROCESANDO')) AS "pendientes",
+                   count(*) FILTER (WHERE r.estado = 'ERROR') AS "errores",
+                   coalesce(CAST(extract(EPOCH FROM :ahora - min(r.created_at)
+                       FILTER (WHERE r.estado IN ('PENDIENTE','PROCESANDO'))) AS BIGINT), 0) AS "antiguedadSegundos",
+                   coalesce(max(r.intentos) FILTER (WHERE r.estado IN ('PENDIENTE','PROCESANDO')), 0) AS "maxIntentos"
+            FROM recibos_pendientes r
+            WHERE r.estado IN ('PENDIENTE','PROCESANDO','ERROR')
+            """, nativeQuery = true)
+    EstadoOutbox estadoOutbox(@Param("ahora") Instant ahora);
+
+    interface EstadoOutbox {
+        long getPendientes();
+        long getErrores();
+        long getAntiguedadSegundos();
+        int getMaxIntentos();
+    }
 }
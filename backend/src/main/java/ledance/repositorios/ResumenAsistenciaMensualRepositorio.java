@@ -0,0 +1,80 @@
+package ledance.repositorios;
+
+import ledance.entidades.ResumenAsistenciaMensual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lecturas sobre {@code resumenes_asistencia_mensual}. Los rangos toman los
+ * meses completos que tocan {@code desde} y {@code hasta}.
+ */
+public interface ResumenAsistenciaMensualRepositorio extends JpaRepository<ResumenAsistenciaMensual, Long> {
+
+    @Query(value = """
+            SELECT r.alumno_id AS "alumnoId", r.disciplina_id AS "disciplinaId", r.anio AS "anio", r.mes AS "mes",
+                   r.clases AS "clases", r.presentes AS "presentes", r.justificados AS "justificados"
+            FROM resumenes_asistencia_mensual r
+            WHERE r.alumno_id = :alumnoId
+              AND (r.anio, r.mes) >= (CAST(extract(YEAR FROM CAST(:desde AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:desde AS date)) AS integer))
+              AND (r.anio, r.mes) <= (CAST(extract(YEAR FROM CAST(:hasta AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:hasta AS date)) AS integer))
+            ORDER BY r.anio, r.mes, r.disciplina_id
+            """, nativeQuery = true)
+    List<Totales> totalesPorAlumno(@Param("alumnoId") Long alumnoId,
+                                   @Param("desde") LocalDate desde,
+                                   @Param("hasta") LocalDate hasta);
+
+    @Query(value = """
+            SELECT r.alumno_id AS "alumnoId", r.disciplina_id AS "disciplinaId",
+                   CAST(NULL AS integer) AS "anio", CAST(NULL AS integer) AS "mes",
+                   sum(r.clases) AS "clases", sum(r.presentes) AS "presentes", sum(r.justificados) AS "justificados"
+            FROM resumenes_asistencia_mensual r
+            WHERE r.disciplina_id = :disciplinaId
+              AND (r.anio, r.mes) >= (CAST(extract(YEAR FROM CAST(:desde AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:desde AS date)) AS integer))
+              AND (r.anio, r.mes) <= (CAST(extract(YEAR FROM CAST(:hasta AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:hasta AS date)) AS integer))
+            GROUP BY r.alumno_id, r.disciplina_id
+            ORDER BY r.alumno_id
+            """, nativeQuery = true)
+    List<Totales> totalesPorDisciplina(@Param("disciplinaId") Long disciplinaId,
+                                       @Param("desde") LocalDate desde,
+                                       @Param("hasta") LocalDate hasta);
+
+    @Query(value = """
+            SELECT CAST(NULL AS bigint) AS "alumnoId", r.disciplina_id AS "disciplinaId",
+                   r.anio AS "anio", r.mes AS "mes",
+                   sum(r.clases) AS "clases", sum(r.presentes) AS "presentes", sum(r.justificados) AS "justificados"
+            FROM disciplinas d
+            JOIN resumenes_asistencia_mensual r ON r.disciplina_id = d.id
+            WHERE d.profesor_id = :profesorId
+              AND (r.anio, r.mes) >= (CAST(extract(YEAR FROM CAST(:desde AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:desde AS date)) AS integer))
+              AND (r.anio, r.mes) <= (CAST(extract(YEAR FROM CAST(:hasta AS date)) AS integer),
+                                      CAST(extract(MONTH FROM CAST(:hasta AS date)) AS integer))
+            GROUP BY r.disciplina_id, r.anio, r.mes
+            ORDER BY r.anio, r.mes, r.disciplina_id
+            """, nativeQuery = true)
+    List<Totales> totalesPorProfesor(@Param("profesorId") Long profesorId,
+                                     @Param("desde") LocalDate desde,
+                                     @Param("hasta") LocalDate hasta);
+
+    /** Reconcilia el resumen con las máscaras; devuelve las filas corregidas. */
+    @Query(value = "SELECT reconstruir_resumen_asistencia()", nativeQuery = true)
+    long reconstruir();
+
+    interface Totales {
+        Long getAlumnoId();
+        Long getDisciplinaId();
+        Integer getAnio();
+        Integer getMes();
+        long getClases();
+        long getPresentes();
+        long getJustificados();
+    }
+}
@@ -1,7 +1,17 @@
 package ledance.repositorios;
 
+import jakarta.persistence.LockModeType;
 import ledance.entidades.Salon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface SalonRepositorio extends JpaRepository<Salon, Long> {
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Salon s where s.id = :id")
+    Optional<Salon> findByIdForUpdate(@Param("id") Long id);
+}
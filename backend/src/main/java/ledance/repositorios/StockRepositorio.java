@@ -4,6 +4,7 @@ import jakarta.persistence.LockModeType;
 import ledance.entidades.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,8 +14,31 @@ import java.util.Optional;
 public interface StockRepositorio extends JpaRepository<Stock, Long> {
     List<Stock> findByActivoTrue();
     Optional<Stock> findByNombreIgnoreCase(String nombre);
+    Optional<Stock> findByIdAndActivoTrue(Long id);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select s from Stock s where s.id = :id and s.activo = true")
     Optional<Stock> findActivoByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Descuenta {@code cantidad} sólo si alcanza; devuelve 0 si no alcanza o el producto
+     * no está activo. El bloqueo de fila dura desde este UPDATE hasta el commit, por eso
+     * las ventas lo ejecutan como última escritura de la transacción.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Stock s set s.stock = s.stock - :cantidad, s.version = s.version + 1
+            where s.id = :id and s.activo = true and s.stock >= :cantidad
+            """)
+    int descontarSiAlcanza(@Param("id") Long id, @Param("cantidad") int cantidad);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Stock s set s.stock = s.stock + :cantidad, s.version = s.version + 1 where s.id = :id")
+    int reponer(@Param("id") Long id, @Param("cantidad") int cantidad);
+
+    @Query(value = "SELECT count(*) || '.' || coalesce(sum(version), 0) FROM stocks", nativeQuery = true)
+    String versionCatalogo();
+
+    @Query("select s.version from Stock s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,48 @@
+package ledance.repositorios;
+
+import ledance.entidades.TrabajoReporte;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TrabajoReporteRepositorio extends JpaRepository<TrabajoReporte, Long> {
+    @Query(value = """
+            SELECT * FROM trabajos_reporte t
+            WHERE (t.estado = 'PENDIENTE' AND t.next_attempt_at <= :ahora)
+               OR (t.estado = 'PROCESANDO' AND t.lease_until <= :ahora)
+            ORDER BY t.id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TrabajoReporte> findClaimableForUpdate(@Param("ahora") Instant ahora, @Param("limite") int limite);
+
+    Optional<TrabajoReporte> findByIdAndClaimToken(Long id, UUID claimToken);
+
+    /**
+     * Último trabajo con los mismos parámetros que todavía sirve: en curso o
+     * completado sin vencer.
+     */
+    @Query(value = """
+            SELECT * FROM trabajos_reporte t
+            WHERE t.parametros_hash = :hash
+              AND (t.estado IN ('PENDIENTE','PROCESANDO')
+                   OR (t.estado = 'COMPLETADO' AND t.expira_at > :ahora))
+            ORDER BY t.id DESC
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<TrabajoReporte> findReutilizable(@Param("hash") String hash, @Param("ahora") Instant ahora);
+
+    @Query(value = """
+            SELECT * FROM trabajos_reporte t
+            WHERE t.estado = 'COMPLETADO' AND t.expira_at <= :ahora
+            ORDER BY t.expira_at
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TrabajoReporte> findVencidosForUpdate(@Param("ahora") Instant ahora, @Param("limite") int limite);
+}
@@ -3,6 +3,7 @@ package ledance.repositorios;
 import ledance.entidades.VentaStock;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +13,8 @@ import jakarta.persistence.LockModeType;
 public interface VentaStockRepositorio extends JpaRepository<VentaStock, Long> {
     Optional<VentaStock> findByIdempotencyKey(String idempotencyKey);
 
+    List<VentaStock> findByCarritoIdOrderByStockIdAsc(Long carritoId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select v from VentaStock v where v.id = :id")
     Optional<VentaStock> findByIdForUpdate(@Param("id") Long id);
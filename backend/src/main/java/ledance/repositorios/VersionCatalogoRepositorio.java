@@ -0,0 +1,14 @@
+package ledance.repositorios;
+
+import ledance.entidades.VersionCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface VersionCatalogoRepositorio extends JpaRepository<VersionCatalogo, Long> {
+
+    @Query("select coalesce(sum(v.version), 0) from VersionCatalogo v where v.tabla in :tablas")
+    long sumVersionByTablaIn(@Param("tablas") Collection<String> tablas);
+}
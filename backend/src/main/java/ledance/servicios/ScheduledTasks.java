@@ -1,6 +1,10 @@
 package ledance.servicios;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import ledance.infra.concurrencia.LiderazgoScheduler;
+import ledance.infra.metricas.Metricas;
 import ledance.servicios.asistencia.AsistenciaMensualServicio;
+import ledance.servicios.asistencia.EstadisticaAsistenciaServicio;
 import ledance.servicios.matricula.MatriculaServicio;
 import ledance.servicios.mensualidad.MensualidadServicio;
 import ledance.servicios.notificaciones.NotificacionService;
@@ -12,8 +16,15 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.IntSupplier;
 
+/**
+ * Tareas diarias y mensuales. Cada una toma un lease en {@code scheduler_locks}
+ * para correr en un único nodo aunque haya varias instancias con el scheduling
+ * habilitado.
+ */
 @Component
 @ConditionalOnProperty(name = "app.scheduling-enabled", havingValue = "true")
 public class ScheduledTasks {
@@ -24,18 +35,27 @@ public class ScheduledTasks {
     private final MatriculaServicio matriculaServicio;
     private final RecargoServicio recargoServicio;
     private final AsistenciaMensualServicio asistenciaMensualServicio;
+    private final EstadisticaAsistenciaServicio estadisticaAsistenciaServicio;
     private final NotificacionService notificacionService;
+    private final LiderazgoScheduler liderazgo;
+    private final Metricas metricas;
 
     public ScheduledTasks(MensualidadServicio mensualidadServicio,
                           MatriculaServicio matriculaServicio,
                           RecargoServicio recargoServicio,
                           AsistenciaMensualServicio asistenciaMensualServicio,
-                          NotificacionService notificacionService) {
+                          EstadisticaAsistenciaServicio estadisticaAsistenciaServicio,
+                          NotificacionService notificacionService,
+                          LiderazgoScheduler liderazgo,
+                          Metricas metricas) {
         this.mensualidadServicio = mensualidadServicio;
         this.matriculaServicio = matriculaServicio;
         this.recargoServicio = recargoServicio;
         this.asistenciaMensualServicio = asistenciaMensualServicio;
+        this.estadisticaAsistenciaServicio = estadisticaAsistenciaServicio;
         this.notificacionService = notificacionService;
+        this.liderazgo = liderazgo;
+        this.metricas = metricas;
     }
 
     /**
@@ -44,7 +64,8 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 0 1 * *", zone = "${app.time-zone}")
     public void generarMensualidadesMesVigente() {
-        mensualidadServicio.generarMensualidadesParaMesVigente();
+        ejecutar("generar-mensualidades", Duration.ofHours(2),
+                () -> mensualidadServicio.generarMensualidadesParaMesVigente().size());
     }
 
     /**
@@ -53,7 +74,7 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 0 1 1 *", zone = "${app.time-zone}")
     public void generarMatriculasAnioVigente() {
-        matriculaServicio.generarMatriculasAnioVigente();
+        ejecutar("generar-matriculas", Duration.ofHours(2), matriculaServicio::generarMatriculasAnioVigente);
     }
 
     /**
@@ -62,7 +83,7 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 1 * * *", zone = "${app.time-zone}")
     public void aplicarRecargosAutomaticos() {
-        recargoServicio.aplicarRecargosAutomaticos();
+        ejecutar("aplicar-recargos", Duration.ofHours(1), recargoServicio::aplicarRecargosAutomaticos);
     }
 
     /**
@@ -71,7 +92,17 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 2 * * *", zone = "${app.time-zone}")
     public void crearAsistenciasParaInscripcionesActivas() {
-        asistenciaMensualServicio.crearAsistenciasParaInscripcionesActivasDetallado();
+        ejecutar("crear-asistencias", Duration.ofHours(1), () -> asistenciaMensualServicio
+                .crearAsistenciasParaInscripcionesActivasDetallado().totalAsistenciasDiariasGeneradas());
+    }
+
+    /**
+     * Reconcilia el resumen mensual de asistencia con las máscaras
+     * Todos los dias a las 2:30AM, despues de generar las asistencias.
+     */
+    @Scheduled(cron = "0 30 2 * * *", zone = "${app.time-zone}")
+    public void reconciliarResumenAsistencia() {
+        ejecutar("reconciliar-resumen-asistencia", Duration.ofMinutes(30), estadisticaAsistenciaServicio::reconciliar);
     }
 
     /**
@@ -80,11 +111,32 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 10 * * *", zone = "${app.time-zone}")
     public void enviarNotificacionesCumpleanios() {
-        try {
-            List<String> mensajes = notificacionService.generarYObtenerCumpleanerosDelDia();
-            log.info("Notificaciones de cumpleaños procesadas cantidad={}", mensajes.size());
-        } catch (IOException e) {
-            log.error("Falló el proceso de notificaciones de cumpleaños", e);
+        ejecutar("notificar-cumpleanios", Duration.ofMinutes(30), () -> {
+            try {
+                List<String> mensajes = notificacionService.generarYObtenerCumpleanerosDelDia();
+                log.info("Notificaciones de cumpleaños procesadas cantidad={}", mensajes.size());
+                return mensajes.size();
+            } catch (IOException e) {
+                log.error("Falló el proceso de notificaciones de cumpleaños", e);
+                return 0;
+            }
+        });
+    }
+
+    /**
+     * Corre la tarea bajo su lease y publica la duración
+     * ({@code ledance.scheduler.tarea}), las filas generadas
+     * ({@code ledance.scheduler.filas}) y las omisiones por lease ajeno
+     * ({@code ledance.scheduler.omitidas}).
+     */
+    private void ejecutar(String tarea, Duration duracionMaxima, IntSupplier proceso) {
+        boolean ejecutada = liderazgo.ejecutar(tarea, duracionMaxima, () -> metricas.ejecutar(
+                "ledance.scheduler.tarea", () -> DistributionSummary.builder("ledance.scheduler.filas")
+                        .tag("tarea", tarea)
+                        .register(metricas.registry())
+                        .record(proceso.getAsInt()), "tarea", tarea));
+        if (!ejecutada) {
+            metricas.registry().counter("ledance.scheduler.omitidas", "tarea", tarea).increment();
         }
     }
 }
@@ -3,6 +3,7 @@ package ledance.servicios.alumno;
 import jakarta.persistence.EntityNotFoundException;
 import ledance.dto.alumno.AlumnoMapper;
 import ledance.dto.alumno.request.AlumnoRegistroRequest;
+import ledance.dto.alumno.response.AlumnoNotaCoincidenciaResponse;
 import ledance.dto.alumno.response.AlumnoResponse;
 import ledance.dto.disciplina.DisciplinaMapper;
 import ledance.dto.disciplina.response.DisciplinaResponse;
@@ -90,6 +91,15 @@ public class AlumnoServicio {
         return alumnos.buscarPorNombreCompleto(nombre, pageable).map(this::respuesta);
     }
 
+    @Transactional(readOnly = true)
+    public Page<AlumnoNotaCoincidenciaResponse> buscarEnNotas(String texto, Pageable pageable) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto a buscar es obligatorio");
+        }
+        return alumnos.buscarEnNotas(texto.strip(), pageable).map(c -> new AlumnoNotaCoincidenciaResponse(
+                c.getId(), c.getNombre(), c.getApellido(), c.getFragmento(), c.getRelevancia()));
+    }
+
     @Transactional(readOnly = true)
     public List<DisciplinaResponse> obtenerDisciplinasDeAlumno(Long alumnoId) {
         activo(alumnoId);
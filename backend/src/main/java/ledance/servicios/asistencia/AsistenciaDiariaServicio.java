@@ -1,14 +1,17 @@
 package ledance.servicios.asistencia;
 
 import ledance.dto.asistencia.AsistenciaDiariaMapper;
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest;
 import ledance.dto.asistencia.request.AsistenciaDiariaModificacionRequest;
 import ledance.dto.asistencia.request.AsistenciaDiariaRegistroRequest;
 import ledance.dto.asistencia.response.AsistenciaDiariaDetalleResponse;
 import ledance.entidades.AsistenciaAlumnoMensual;
 import ledance.entidades.AsistenciaDiaria;
+import ledance.entidades.AsistenciaMensual;
 import ledance.infra.errores.TratadorDeErrores.RecursoNoEncontradoException;
 import ledance.repositorios.AsistenciaAlumnoMensualRepositorio;
 import ledance.repositorios.AsistenciaDiariaRepositorio;
+import ledance.repositorios.ResumenAsistenciaMensualRepositorio;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
 import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,15 +28,18 @@ import java.util.Map;
 public class AsistenciaDiariaServicio {
     private final AsistenciaDiariaRepositorio diarias;
     private final AsistenciaAlumnoMensualRepositorio alumnosMensuales;
+    private final ResumenAsistenciaMensualRepositorio resumenes;
     private final AsistenciaDiariaMapper mapper;
     private final Clock clock;
 
     public AsistenciaDiariaServicio(AsistenciaDiariaRepositorio diarias,
                                     AsistenciaAlumnoMensualRepositorio alumnosMensuales,
+                                    ResumenAsistenciaMensualRepositorio resumenes,
                                     AsistenciaDiariaMapper mapper,
                                     Clock clock) {
         this.diarias = diarias;
         this.alumnosMensuales = alumnosMensuales;
+        this.resumenes = resumenes;
         this.mapper = mapper;
         this.clock = clock;
     }
@@ -40,6 +48,7 @@ public class AsistenciaDiariaServicio {
     public AsistenciaDiariaDetalleResponse registrarAsistencia(AsistenciaDiariaRegistroRequest request) {
         validarFecha(request.fecha());
         AsistenciaAlumnoMensual registro = registro(request.asistenciaAlumnoMensualId());
+        validarMes(registro, request.fecha());
         if (diarias.existsByAsistenciaAlumnoMensualIdAndFecha(registro.getId(), request.fecha())) {
             throw new IllegalStateException("La asistencia ya existe");
         }
@@ -67,6 +76,7 @@ public class AsistenciaDiariaServicio {
     public AsistenciaDiariaDetalleResponse registrarOActualizarAsistencia(AsistenciaDiariaRegistroRequest request) {
         validarFecha(request.fecha());
         AsistenciaAlumnoMensual registro = registro(request.asistenciaAlumnoMensualId());
+        validarMes(registro, request.fecha());
         AsistenciaDiaria diaria = diarias.findByAsistenciaAlumnoMensualIdAndFecha(registro.getId(), request.fecha())
                 .orElseGet(() -> {
                     AsistenciaDiaria nueva = new AsistenciaDiaria();
@@ -79,6 +89,35 @@ public class AsistenciaDiariaServicio {
         return mapper.toDTO(diarias.save(diaria));
     }
 
+    /**
+     * Marca un día de la planilla para toda la clase con un único upsert y
+     * devuelve la columna del día. Las marcas van ordenadas por registro para
+     * que dos lotes simultáneos sobre la misma planilla tomen las filas en el
+     * mismo orden.
+     */
+    @Transactional
+    public List<AsistenciaDiariaDetalleResponse> registrarDia(AsistenciaDiariaLoteRequest request) {
+        validarFecha(request.fecha());
+        List<AsistenciaDiariaLoteRequest.Marca> marcas = request.asistencias().stream()
+                .sorted(Comparator.comparing(AsistenciaDiariaLoteRequest.Marca::asistenciaAlumnoMensualId))
+                .toList();
+        Long[] registros = new Long[marcas.size()];
+        String[] estados = new String[marcas.size()];
+        for (int i = 0; i < marcas.size(); i++) {
+            registros[i] = marcas.get(i).asistenciaAlumnoMensualId();
+            estados[i] = marcas.get(i).estado().name();
+            if (i > 0 && registros[i].equals(registros[i - 1])) {
+                throw new IllegalArgumentException("El registro " + registros[i] + " figura más de una vez");
+            }
+        }
+        int marcadas = diarias.marcarDia(request.planillaId(), request.fecha(), registros, estados);
+        if (marcadas != marcas.size()) {
+            throw new IllegalArgumentException("Hay registros que no pertenecen a la planilla o a su mes");
+        }
+        return diarias.findByAsistenciaAlumnoMensual_AsistenciaMensual_IdAndFechaOrderByAsistenciaAlumnoMensualId(
+                request.planillaId(), request.fecha()).stream().map(mapper::toDTO).toList();
+    }
+
     @Transactional(readOnly = true)
     public Page<AsistenciaDiariaDetalleResponse> obtenerAsistenciasPorDisciplinaYFecha(Long disciplinaId, LocalDate fecha, Pageable pageable) {
         return diarias.findByAsistenciaAlumnoMensual_AsistenciaMensual_Disciplina_IdAndFecha(disciplinaId, fecha, pageable)
@@ -103,9 +142,34 @@ public class AsistenciaDiariaServicio {
         diaria.setVigente(false);
     }
 
+    /**
+     * Clases vigentes por alumno. Si el rango son meses completos sale del
+     * resumen mensual; si corta un mes, de las máscaras de cada registro.
+     */
     @Transactional(readOnly = true)
     public Map<Long, Integer> obtenerResumenAsistenciasPorAlumno(Long disciplinaId, LocalDate inicio, LocalDate fin) {
-        return diarias.contarAsistenciasPorAlumno(disciplinaId, inicio, fin);
+        if (inicio.getDayOfMonth() != 1 || fin.getDayOfMonth() != fin.lengthOfMonth()) {
+            Map<Long, Integer> clases = new HashMap<>();
+            for (Object[] fila : diarias.contarAsistenciasPorAlumnoRaw(
+                    disciplinaId, inicio, fin, diasDesde(inicio), diasHasta(fin))) {
+                clases.put(((Number) fila[0]).longValue(), ((Number) fila[1]).intValue());
+            }
+            return clases;
+        }
+        Map<Long, Integer> clases = new HashMap<>();
+        resumenes.totalesPorDisciplina(disciplinaId, inicio, fin)
+                .forEach(t -> clases.put(t.getAlumnoId(), Math.toIntExact(t.getClases())));
+        return clases;
+    }
+
+    /** Bits de las máscaras mensuales desde el día de {@code fecha} hasta fin de mes. */
+    static int diasDesde(LocalDate fecha) {
+        return -1 << (fecha.getDayOfMonth() - 1);
+    }
+
+    /** Bits de las máscaras mensuales desde el día 1 hasta el día de {@code fecha} inclusive. */
+    static int diasHasta(LocalDate fecha) {
+        return (int) ((1L << fecha.getDayOfMonth()) - 1);
     }
 
     @Transactional
@@ -123,4 +187,16 @@ public class AsistenciaDiariaServicio {
             throw new IllegalStateException("No se puede registrar asistencia futura");
         }
     }
+
+    /**
+     * Las máscaras del registro se indexan sólo por día del mes, así que una
+     * fecha de otro mes marcaría un día ajeno; {@code marcarDia} hace el mismo
+     * control para los lotes.
+     */
+    private static void validarMes(AsistenciaAlumnoMensual registro, LocalDate fecha) {
+        AsistenciaMensual planilla = registro.getAsistenciaMensual();
+        if (fecha.getYear() != planilla.getAnio() || fecha.getMonthValue() != planilla.getMes()) {
+            throw new IllegalArgumentException("La fecha " + fecha + " no pertenece al mes de la planilla");
+        }
+    }
 }
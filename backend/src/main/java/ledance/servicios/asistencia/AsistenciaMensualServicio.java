@@ -4,6 +4,7 @@ import ledance.dto.asistencia.AsistenciaMensualMapper;
 import ledance.dto.asistencia.request.AsistenciaMensualModificacionRequest;
 import ledance.dto.asistencia.response.AsistenciaMensualDetalleResponse;
 import ledance.dto.asistencia.response.AsistenciaMensualListadoResponse;
+import ledance.dto.asistencia.response.AsistenciaMensualMatrizResponse;
 import ledance.dto.asistencia.response.AsistenciasActivasResponse;
 import ledance.entidades.AsistenciaAlumnoMensual;
 import ledance.entidades.AsistenciaDiaria;
@@ -16,6 +17,7 @@ import ledance.entidades.Inscripcion;
 import ledance.repositorios.AsistenciaAlumnoMensualRepositorio;
 import ledance.repositorios.AsistenciaDiariaRepositorio;
 import ledance.repositorios.AsistenciaMensualRepositorio;
+import ledance.repositorios.AsistenciaMensualRepositorio.FilaMatriz;
 import ledance.repositorios.DisciplinaHorarioRepositorio;
 import ledance.repositorios.DisciplinaRepositorio;
 import ledance.repositorios.InscripcionRepositorio;
@@ -105,6 +107,62 @@ public class AsistenciaMensualServicio {
                 .orElseThrow(() -> new NoSuchElementException("Planilla no encontrada"));
     }
 
+    /**
+     * La planilla con las máscaras de cada alumno y sin las asistencias
+     * diarias: una sola consulta sin importar cuántas clases tenga el mes.
+     */
+    @Transactional(readOnly = true)
+    public AsistenciaMensualDetalleResponse obtenerResumenPlanilla(Long disciplinaId, int mes, int anio) {
+        return planillas.findByDisciplina_IdAndMesAndAnioFetch(disciplinaId, mes, anio)
+                .map(mapper::toResumenDTO)
+                .orElseThrow(() -> new NoSuchElementException("Planilla no encontrada"));
+    }
+
+    /**
+     * La planilla como matriz de estados, armada desde una proyección de las
+     * máscaras sin materializar entidades ni asistencias diarias.
+     */
+    @Transactional(readOnly = true)
+    public AsistenciaMensualMatrizResponse obtenerMatrizPlanilla(Long disciplinaId, int mes, int anio) {
+        List<FilaMatriz> filas = planillas.findMatrizByDisciplinaAndMesAndAnio(disciplinaId, mes, anio);
+        if (filas.isEmpty()) {
+            throw new NoSuchElementException("Planilla no encontrada");
+        }
+        return matriz(filas);
+    }
+
+    static AsistenciaMensualMatrizResponse matriz(List<FilaMatriz> filas) {
+        FilaMatriz primera = filas.getFirst();
+        YearMonth periodo = YearMonth.of(primera.getAnio(), primera.getMes());
+        int clases = 0;
+        for (FilaMatriz fila : filas) {
+            if (fila.getRegistroId() != null) {
+                clases |= fila.getDiasClase();
+            }
+        }
+        List<LocalDate> fechas = new ArrayList<>(Integer.bitCount(clases));
+        for (int resto = clases; resto != 0; resto &= resto - 1) {
+            fechas.add(periodo.atDay(Integer.numberOfTrailingZeros(resto) + 1));
+        }
+        List<AsistenciaMensualMatrizResponse.Alumno> alumnos = new ArrayList<>(filas.size());
+        for (FilaMatriz fila : filas) {
+            if (fila.getRegistroId() == null) {
+                continue;
+            }
+            char[] estados = new char[fechas.size()];
+            for (int i = 0; i < estados.length; i++) {
+                int bit = 1 << (fechas.get(i).getDayOfMonth() - 1);
+                estados[i] = (fila.getDiasClase() & bit) == 0 ? '-'
+                        : (fila.getDiasPresente() & bit) != 0 ? 'P'
+                        : (fila.getDiasJustificado() & bit) != 0 ? 'J' : 'A';
+            }
+            alumnos.add(new AsistenciaMensualMatrizResponse.Alumno(fila.getRegistroId(), fila.getAlumnoId(),
+                    fila.getNombre(), fila.getApellido(), fila.getObservacion(), new String(estados)));
+        }
+        return new AsistenciaMensualMatrizResponse(primera.getPlanillaId(), primera.getMes(), primera.getAnio(),
+                fechas, alumnos);
+    }
+
     @Transactional
     public AsistenciaMensualDetalleResponse actualizarPlanillaAsistencia(Long id, AsistenciaMensualModificacionRequest request) {
         AsistenciaMensual planilla = planillas.findById(id)
@@ -0,0 +1,83 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.response.TasaAsistenciaResponse;
+import ledance.repositorios.ResumenAsistenciaMensualRepositorio;
+import ledance.repositorios.ResumenAsistenciaMensualRepositorio.Totales;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Porcentajes de asistencia por alumno, disciplina y profesor leídos del
+ * resumen mensual que mantienen los triggers de asistencia.
+ */
+@Service
+public class EstadisticaAsistenciaServicio {
+    private static final Logger log = LoggerFactory.getLogger(EstadisticaAsistenciaServicio.class);
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    private final ResumenAsistenciaMensualRepositorio resumenes;
+
+    public EstadisticaAsistenciaServicio(ResumenAsistenciaMensualRepositorio resumenes) {
+        this.resumenes = resumenes;
+    }
+
+    /** Una fila por disciplina y mes del alumno. */
+    @Transactional(readOnly = true)
+    public List<TasaAsistenciaResponse> porAlumno(Long alumnoId, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return resumenes.totalesPorAlumno(alumnoId, desde, hasta).stream()
+                .map(EstadisticaAsistenciaServicio::tasa).toList();
+    }
+
+    /** Una fila por alumno de la disciplina con el total del período. */
+    @Transactional(readOnly = true)
+    public List<TasaAsistenciaResponse> porDisciplina(Long disciplinaId, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return resumenes.totalesPorDisciplina(disciplinaId, desde, hasta).stream()
+                .map(EstadisticaAsistenciaServicio::tasa).toList();
+    }
+
+    /** Una fila por disciplina y mes de las clases del profesor. */
+    @Transactional(readOnly = true)
+    public List<TasaAsistenciaResponse> porProfesor(Long profesorId, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return resumenes.totalesPorProfesor(profesorId, desde, hasta).stream()
+                .map(EstadisticaAsistenciaServicio::tasa).toList();
+    }
+
+    /**
+     * Corrige el resumen contra las máscaras. Sólo debería encontrar
+     * diferencias después de cargas con los triggers deshabilitados.
+     */
+    @Transactional
+    public int reconciliar() {
+        long corregidas = resumenes.reconstruir();
+        if (corregidas > 0) {
+            log.warn("Resumen de asistencia reconciliado filas={}", corregidas);
+        }
+        return Math.toIntExact(corregidas);
+    }
+
+    static TasaAsistenciaResponse tasa(Totales totales) {
+        long clases = totales.getClases();
+        long presentes = totales.getPresentes();
+        long justificados = totales.getJustificados();
+        BigDecimal porcentaje = clases == 0 ? null
+                : BigDecimal.valueOf(presentes).multiply(CIEN).divide(BigDecimal.valueOf(clases), 2, RoundingMode.HALF_UP);
+        return new TasaAsistenciaResponse(totales.getAlumnoId(), totales.getDisciplinaId(), totales.getAnio(),
+                totales.getMes(), clases, presentes, justificados, clases - presentes - justificados, porcentaje);
+    }
+
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha hasta no puede ser anterior a la fecha desde");
+        }
+    }
+}
@@ -12,8 +12,10 @@ import ledance.entidades.Matricula;
 import ledance.entidades.Mensualidad;
 import ledance.entidades.TipoCargo;
 import ledance.entidades.VentaStock;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
-import ledance.repositorios.AlumnoRepositorio;
+import ledance.infra.metricas.Metricas;
 import ledance.repositorios.AplicacionPagoRepositorio;
 import ledance.repositorios.CargoRepositorio;
 import ledance.repositorios.ConceptoRepositorio;
@@ -33,22 +35,25 @@ import java.util.List;
 public class CargoServicio {
     private final CargoRepositorio cargos;
     private final AplicacionPagoRepositorio aplicaciones;
-    private final AlumnoRepositorio alumnos;
+    private final OrdenDeBloqueo bloqueos;
     private final ConceptoRepositorio conceptos;
     private final MovimientoCreditoRepositorio movimientosCredito;
+    private final Metricas metricas;
     private final Clock clock;
 
     public CargoServicio(CargoRepositorio cargos,
                          AplicacionPagoRepositorio aplicaciones,
-                         AlumnoRepositorio alumnos,
+                         OrdenDeBloqueo bloqueos,
                          ConceptoRepositorio conceptos,
                          MovimientoCreditoRepositorio movimientosCredito,
+                         Metricas metricas,
                          Clock clock) {
         this.cargos = cargos;
         this.aplicaciones = aplicaciones;
-        this.alumnos = alumnos;
+        this.bloqueos = bloqueos;
         this.conceptos = conceptos;
         this.movimientosCredito = movimientosCredito;
+        this.metricas = metricas;
         this.clock = clock;
     }
 
@@ -63,7 +68,7 @@ public class CargoServicio {
             }
             return respuesta(previo);
         }
-        Alumno alumno = alumnos.findActivoByIdForUpdate(request.alumnoId())
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.CARGO_CONCEPTO, request.alumnoId())
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
         Concepto concepto = conceptos.findById(request.conceptoId())
                 .filter(c -> Boolean.TRUE.equals(c.getActivo()))
@@ -164,10 +169,12 @@ public class CargoServicio {
     }
 
     public BigDecimal saldo(Cargo cargo) {
-        BigDecimal pagosAplicados = aplicaciones.sumByCargoAndEstado(cargo.getId(), EstadoAplicacionPago.APLICADA);
-        BigDecimal creditoAplicado = movimientosCredito.sumAplicadoByCargoId(cargo.getId());
-        return cargo.getImporteOriginal().subtract(pagosAplicados).subtract(creditoAplicado)
-                .setScale(2, RoundingMode.UNNECESSARY);
+        return metricas.medir("ledance.cargos.saldo", () -> {
+            BigDecimal pagosAplicados = aplicaciones.sumByCargoAndEstado(cargo.getId(), EstadoAplicacionPago.APLICADA);
+            BigDecimal creditoAplicado = movimientosCredito.sumAplicadoByCargoId(cargo.getId());
+            return cargo.getImporteOriginal().subtract(pagosAplicados).subtract(creditoAplicado)
+                    .setScale(2, RoundingMode.UNNECESSARY);
+        });
     }
 
     public void actualizarEstado(Cargo cargo) {
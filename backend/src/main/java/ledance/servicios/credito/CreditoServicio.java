@@ -11,10 +11,11 @@ import ledance.entidades.EstadoCargo;
 import ledance.entidades.MovimientoCredito;
 import ledance.entidades.TipoMovimientoCredito;
 import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
 import ledance.infra.idempotencia.RequestHash;
-import ledance.repositorios.AlumnoRepositorio;
-import ledance.repositorios.CargoRepositorio;
+import ledance.infra.persistencia.Reintentable;
 import ledance.repositorios.MovimientoCreditoRepositorio;
 import ledance.repositorios.UsuarioRepositorio;
 import ledance.servicios.cargo.CargoServicio;
@@ -27,20 +28,19 @@ import java.math.RoundingMode;
 @Service
 public class CreditoServicio {
     private final MovimientoCreditoRepositorio movimientos;
-    private final AlumnoRepositorio alumnos;
-    private final CargoRepositorio cargos;
+    private final OrdenDeBloqueo bloqueos;
     private final UsuarioRepositorio usuarios;
     private final CargoServicio cargoServicio;
 
-    public CreditoServicio(MovimientoCreditoRepositorio movimientos, AlumnoRepositorio alumnos,
-                           CargoRepositorio cargos, UsuarioRepositorio usuarios, CargoServicio cargoServicio) {
+    public CreditoServicio(MovimientoCreditoRepositorio movimientos, OrdenDeBloqueo bloqueos,
+                           UsuarioRepositorio usuarios, CargoServicio cargoServicio) {
         this.movimientos = movimientos;
-        this.alumnos = alumnos;
-        this.cargos = cargos;
+        this.bloqueos = bloqueos;
         this.usuarios = usuarios;
         this.cargoServicio = cargoServicio;
     }
 
+    @Reintentable
     @Transactional
     public MovimientoCreditoResponse consumir(CreditoConsumoRequest request, Usuario principal) {
         String requestHash = RequestHash.sha256("CONSUMIR_CREDITO", request.alumnoId().toString(),
@@ -56,7 +56,7 @@ public class CreditoServicio {
             validarReintento(previo, requestHash);
             return respuesta(previo);
         }
-        Cargo cargo = cargos.findByIdForUpdate(request.cargoId())
+        Cargo cargo = bloqueos.cargo(OperacionBloqueo.CREDITO, request.cargoId())
                 .orElseThrow(() -> new EntityNotFoundException("Cargo no encontrado"));
         Usuario usuario = usuarioActivo(principal);
         BigDecimal importe = monedaPositiva(request.importe());
@@ -112,7 +112,7 @@ public class CreditoServicio {
         if (movimientos.findByMovimientoRevertidoId(movimientoId).isPresent()) {
             throw new OperacionNoPermitidaException("El consumo de crédito ya fue revertido");
         }
-        Cargo cargo = cargos.findByIdForUpdate(original.getCargo().getId())
+        Cargo cargo = bloqueos.cargo(OperacionBloqueo.CREDITO, original.getCargo().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Cargo no encontrado"));
         MovimientoCredito reverso = new MovimientoCredito();
         reverso.setAlumno(alumno);
@@ -168,7 +168,7 @@ public class CreditoServicio {
     }
 
     private Alumno alumnoBloqueado(Long id) {
-        return alumnos.findActivoByIdForUpdate(id)
+        return bloqueos.alumno(OperacionBloqueo.CREDITO, id)
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
     }
 
@@ -12,6 +12,8 @@ import ledance.repositorios.DisciplinaHorarioRepositorio;
 import ledance.repositorios.DisciplinaRepositorio;
 import jakarta.transaction.Transactional;
 import ledance.servicios.asistencia.AsistenciaMensualServicio;
+import ledance.servicios.salon.OcupacionSalonServicio;
+import ledance.servicios.salon.OcupacionSalonServicio.Bloque;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -31,15 +33,18 @@ public class DisciplinaHorarioServicio {
     private final DisciplinaRepositorio disciplinaRepositorio;
     private final DisciplinaHorarioMapper disciplinaHorarioMapper;
     private final AsistenciaMensualServicio asistenciaMensualServicio;
+    private final OcupacionSalonServicio ocupacionSalonServicio;
 
     public DisciplinaHorarioServicio(
             DisciplinaHorarioRepositorio disciplinaHorarioRepositorio,
             DisciplinaRepositorio disciplinaRepositorio,
-            DisciplinaHorarioMapper disciplinaHorarioMapper, AsistenciaMensualServicio asistenciaMensualServicio) {
+            DisciplinaHorarioMapper disciplinaHorarioMapper, AsistenciaMensualServicio asistenciaMensualServicio,
+            OcupacionSalonServicio ocupacionSalonServicio) {
         this.disciplinaHorarioRepositorio = disciplinaHorarioRepositorio;
         this.disciplinaRepositorio = disciplinaRepositorio;
         this.disciplinaHorarioMapper = disciplinaHorarioMapper;
         this.asistenciaMensualServicio = asistenciaMensualServicio;
+        this.ocupacionSalonServicio = ocupacionSalonServicio;
     }
 
 
@@ -48,6 +53,7 @@ public class DisciplinaHorarioServicio {
      * Se actualizan los horarios existentes, se crean nuevos y se eliminan los que no vienen en la solicitud.
      * Finalmente, se invoca la actualizacion de la planilla de asistencia (por cambio de horario)
      * usando la fecha de cambio proporcionada por el caso de uso.
+     * Antes de tocar nada se rechazan los horarios que se superponen en el salon de la disciplina.
      *
      * @param disciplina   la disciplina a la cual se actualizaran los horarios
      * @param horariosRequest lista de solicitudes de modificacion de horarios
@@ -59,6 +65,9 @@ public class DisciplinaHorarioServicio {
                                                       List<DisciplinaHorarioModificacionRequest> horariosRequest,
                                                       LocalDate fechaCambio) {
         log.info("Actualizando {} horarios para disciplina id: {}", horariosRequest.size(), disciplina.getId());
+        ocupacionSalonServicio.verificarHorarios(disciplina, horariosRequest.stream()
+                .map(h -> new Bloque(h.diaSemana(), h.horarioInicio(), h.duracion()))
+                .toList());
 
         // Obten la lista actual de horarios asociados a la disciplina
         List<DisciplinaHorario> existentes = new ArrayList<>(disciplina.getHorarios());
@@ -113,6 +122,7 @@ public class DisciplinaHorarioServicio {
     /**
      * Guarda los horarios para una disciplina.
      * Primero elimina los horarios existentes y luego guarda los nuevos.
+     * Los horarios que se superponen en el salon de la disciplina se rechazan.
      */
     @Transactional
     public List<DisciplinaHorario> guardarHorarios(Long disciplinaId, List<DisciplinaHorarioRequest> horariosRequest) {
@@ -122,6 +132,9 @@ public class DisciplinaHorarioServicio {
         Disciplina disciplina = disciplinaRepositorio.findById(disciplinaId)
                 .orElseThrow(() -> new TratadorDeErrores.DisciplinaNotFoundException(disciplinaId));
         log.info("Disciplina recuperada: id={}, nombre={}", disciplina.getId(), disciplina.getNombre());
+        ocupacionSalonServicio.verificarHorarios(disciplina, horariosRequest.stream()
+                .map(h -> new Bloque(h.diaSemana(), h.horarioInicio(), h.duracion()))
+                .toList());
 
         // Elimina los horarios previos asociados a la disciplina
         log.info("Eliminando horarios previos para disciplina id: {}", disciplinaId);
@@ -12,7 +12,6 @@ import ledance.dto.profesor.ProfesorMapper;
 import ledance.dto.profesor.response.ProfesorResponse;
 import ledance.entidades.DiaSemana;
 import ledance.entidades.Disciplina;
-import ledance.entidades.DisciplinaHorario;
 import ledance.entidades.Profesor;
 import ledance.entidades.Salon;
 import ledance.infra.errores.TratadorDeErrores.DisciplinaNotFoundException;
@@ -101,12 +100,13 @@ public class DisciplinaServicio {
 
     @Transactional(readOnly = true)
     public DisciplinaResponse obtenerDisciplinaPorId(Long id) {
-        return mapper.toResponse(obtener(id));
+        return mapper.toResponse(disciplinas.findConDetalleById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Disciplina no encontrada")));
     }
 
     @Transactional(readOnly = true)
     public List<DisciplinaResponse> listarDisciplinas() {
-        return disciplinas.findByActivoTrue().stream().map(mapper::toResponse).toList();
+        return disciplinas.findActivasConDetalle().stream().map(mapper::toResponse).toList();
     }
 
     public List<DisciplinaResponse> listarDisciplinasSimplificadas() {
@@ -129,15 +129,12 @@ public class DisciplinaServicio {
             case SATURDAY -> DiaSemana.SABADO;
             case SUNDAY -> DiaSemana.DOMINGO;
         };
-        return horarios.obtenerHorariosPorDia(dia).stream()
-                .map(DisciplinaHorario::getDisciplina).distinct().map(mapper::toResponse).toList();
+        return disciplinas.findConDetalleQueDictanEl(dia).stream().map(mapper::toResponse).toList();
     }
 
     @Transactional(readOnly = true)
     public List<DisciplinaResponse> obtenerDisciplinasPorHorario(LocalTime inicio) {
-        return disciplinas.findByActivoTrue().stream()
-                .filter(d -> d.getHorarios().stream().anyMatch(h -> h.getHorarioInicio().equals(inicio)))
-                .map(mapper::toResponse).toList();
+        return disciplinas.findActivasConDetalleQueInicianA(inicio).stream().map(mapper::toResponse).toList();
     }
 
     @Transactional(readOnly = true)
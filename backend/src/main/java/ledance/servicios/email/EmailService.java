@@ -6,6 +6,7 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Store;
 import jakarta.mail.internet.MimeMessage;
+import ledance.infra.metricas.Metricas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +28,7 @@ public class EmailService implements IEmailService {
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
     private final JavaMailSender mailSender;
+    private final Metricas metricas;
 
     @Value("${spring.mail.imap.host}")
     private String imapHost;
@@ -43,8 +45,9 @@ public class EmailService implements IEmailService {
     @Value("${spring.mail.imap.properties.mail.imap.ssl.enable}")
     private boolean imapSslEnable;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, Metricas metricas) {
         this.mailSender = mailSender;
+        this.metricas = metricas;
     }
 
     @Override
@@ -65,9 +68,9 @@ public class EmailService implements IEmailService {
         helper.addInline(contentId, new ByteArrayResource(inlineData), inlineMimeType);
 
         // 1) Envío SMTP normal
-        mailSender.send(message);
+        metricas.ejecutar("ledance.email.smtp", () -> mailSender.send(message));
         // 2) Guardado en carpeta Sent vía IMAPS
-        saveToSent(message);
+        metricas.ejecutar("ledance.email.imap", () -> saveToSent(message));
     }
 
     @Override
@@ -91,9 +94,9 @@ public class EmailService implements IEmailService {
         helper.addInline(contentId, new ByteArrayResource(inlineData), inlineMimeType);
 
         // 1) Envío SMTP normal
-        mailSender.send(message);
+        metricas.ejecutar("ledance.email.smtp", () -> mailSender.send(message));
         // 2) Guardado en carpeta Sent vía IMAPS
-        saveToSent(message);
+        metricas.ejecutar("ledance.email.imap", () -> saveToSent(message));
     }
 
     @Value("${spring.mail.imap.sent-folder:INBOX.Sent}")
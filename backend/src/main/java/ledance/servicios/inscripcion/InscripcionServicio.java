@@ -8,8 +8,9 @@ import ledance.entidades.Bonificacion;
 import ledance.entidades.Disciplina;
 import ledance.entidades.EstadoInscripcion;
 import ledance.entidades.Inscripcion;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
-import ledance.repositorios.AlumnoRepositorio;
 import ledance.repositorios.BonificacionRepositorio;
 import ledance.repositorios.DisciplinaRepositorio;
 import ledance.repositorios.InscripcionRepositorio;
@@ -33,7 +34,7 @@ import java.util.List;
 public class InscripcionServicio {
     private static final Logger log = LoggerFactory.getLogger(InscripcionServicio.class);
     private final InscripcionRepositorio inscripciones;
-    private final AlumnoRepositorio alumnos;
+    private final OrdenDeBloqueo bloqueos;
     private final DisciplinaRepositorio disciplinas;
     private final BonificacionRepositorio bonificaciones;
     private final MensualidadServicio mensualidades;
@@ -41,14 +42,14 @@ public class InscripcionServicio {
     private final Clock clock;
 
     public InscripcionServicio(InscripcionRepositorio inscripciones,
-                               AlumnoRepositorio alumnos,
+                               OrdenDeBloqueo bloqueos,
                                DisciplinaRepositorio disciplinas,
                                BonificacionRepositorio bonificaciones,
                                MensualidadServicio mensualidades,
                                MatriculaServicio matriculas,
                                Clock clock) {
         this.inscripciones = inscripciones;
-        this.alumnos = alumnos;
+        this.bloqueos = bloqueos;
         this.disciplinas = disciplinas;
         this.bonificaciones = bonificaciones;
         this.mensualidades = mensualidades;
@@ -58,7 +59,7 @@ public class InscripcionServicio {
 
     @Transactional
     public InscripcionResponse crearInscripcion(InscripcionRegistroRequest request) {
-        Alumno alumno = alumnos.findActivoByIdForUpdate(request.alumnoId())
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.INSCRIPCION, request.alumnoId())
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
         Disciplina disciplina = disciplinas.findById(request.disciplinaId())
                 .filter(d -> Boolean.TRUE.equals(d.getActivo()))
@@ -10,8 +10,9 @@ import ledance.entidades.EstadoInscripcion;
 import ledance.entidades.EstadoOrigenCargo;
 import ledance.entidades.Inscripcion;
 import ledance.entidades.Matricula;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
-import ledance.repositorios.AlumnoRepositorio;
 import ledance.repositorios.AplicacionPagoRepositorio;
 import ledance.repositorios.CargoRepositorio;
 import ledance.repositorios.InscripcionRepositorio;
@@ -37,7 +38,7 @@ import java.util.stream.Collectors;
 public class MatriculaServicio {
     private static final Logger log = LoggerFactory.getLogger(MatriculaServicio.class);
     private final MatriculaRepositorio matriculas;
-    private final AlumnoRepositorio alumnos;
+    private final OrdenDeBloqueo bloqueos;
     private final InscripcionRepositorio inscripciones;
     private final CargoRepositorio cargos;
     private final AplicacionPagoRepositorio aplicaciones;
@@ -45,14 +46,14 @@ public class MatriculaServicio {
     private final Clock clock;
 
     public MatriculaServicio(MatriculaRepositorio matriculas,
-                             AlumnoRepositorio alumnos,
+                             OrdenDeBloqueo bloqueos,
                              InscripcionRepositorio inscripciones,
                              CargoRepositorio cargos,
                              AplicacionPagoRepositorio aplicaciones,
                              CargoServicio cargoServicio,
                              Clock clock) {
         this.matriculas = matriculas;
-        this.alumnos = alumnos;
+        this.bloqueos = bloqueos;
         this.inscripciones = inscripciones;
         this.cargos = cargos;
         this.aplicaciones = aplicaciones;
@@ -62,7 +63,7 @@ public class MatriculaServicio {
 
     @Transactional
     public MatriculaResponse obtenerOMarcarPendienteMatricula(Long alumnoId, int anio) {
-        Alumno alumno = alumnos.findActivoByIdForUpdate(alumnoId)
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.MATRICULA, alumnoId)
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
         Matricula matricula = matriculas.findByAlumnoIdAndAnio(alumnoId, anio).orElseGet(() -> {
             Matricula nueva = new Matricula();
@@ -97,7 +98,7 @@ public class MatriculaServicio {
     }
 
     @Transactional
-    public void generarMatriculasAnioVigente() {
+    public int generarMatriculasAnioVigente() {
         int anio = Year.now(clock).getValue();
         List<Long> ids = inscripciones.lockActiveIdsForScheduler();
         List<Inscripcion> activas = ids.isEmpty() ? List.of() : inscripciones.findAllForScheduler(ids);
@@ -123,6 +124,7 @@ public class MatriculaServicio {
             creadas++;
         }
         log.info("Matrículas procesadas año={} alumnos={} creadas={}", anio, porAlumno.size(), creadas);
+        return creadas;
     }
 
     @Transactional(readOnly = true)
@@ -1,11 +1,14 @@
 package ledance.servicios.observaciones;
 
+import ledance.dto.reporte.observacion.ObservacionCoincidenciaDTO;
 import ledance.dto.reporte.observacion.ObservacionProfesorDTO;
 import ledance.dto.reporte.observacion.ObservacionProfesorMapper;
 import ledance.entidades.ObservacionProfesor;
 import ledance.entidades.Profesor;
 import ledance.repositorios.ObservacionProfesorRepositorio;
 import ledance.repositorios.ProfesorRepositorio;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -90,39 +93,68 @@ public class ObservacionProfesorServicio {
     }
 
     /**
-     * Lista todas las observaciones.
+     * Lista las observaciones paginadas.
      *
-     * @return la lista de DTOs de observaciones
+     * @param pageable pagina y orden solicitados
+     * @return la pagina de DTOs de observaciones
      */
-    public List<ObservacionProfesorDTO> listarObservaciones() {
-        return observacionRepo.findAll().stream()
-                .map(observacionProfesorMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<ObservacionProfesorDTO> listarObservaciones(Pageable pageable) {
+        return observacionRepo.findAll(pageable).map(observacionProfesorMapper::toDTO);
     }
 
     /**
-     * Lista las observaciones de un profesor.
+     * Lista las observaciones de un profesor, opcionalmente acotadas a un rango de fechas.
      *
      * @param profesorId el id del profesor
-     * @return la lista de DTOs de observaciones del profesor
+     * @param inicio     fecha de inicio (inclusive); null junto con fin para no acotar
+     * @param fin        fecha de fin (inclusive); null junto con inicio para no acotar
+     * @param pageable   pagina y orden solicitados
+     * @return la pagina de DTOs de observaciones del profesor
      */
-    public List<ObservacionProfesorDTO> listarObservacionesPorProfesor(Long profesorId) {
-        return observacionRepo.findByProfesorId(profesorId).stream()
-                .map(observacionProfesorMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<ObservacionProfesorDTO> listarObservacionesPorProfesor(Long profesorId, LocalDate inicio,
+                                                                       LocalDate fin, Pageable pageable) {
+        if (inicio == null && fin == null) {
+            return observacionRepo.findByProfesorId(profesorId, pageable).map(observacionProfesorMapper::toDTO);
+        }
+        if (inicio == null || fin == null) {
+            throw new IllegalArgumentException("El rango requiere fecha de inicio y de fin");
+        }
+        return observacionRepo.findByProfesorIdAndFechaBetween(profesorId, inicio, fin, pageable)
+                .map(observacionProfesorMapper::toDTO);
     }
 
     /**
      * Lista las observaciones en un rango de fechas.
      *
-     * @param inicio fecha de inicio (inclusive)
-     * @param fin    fecha de fin (inclusive)
-     * @return la lista de DTOs de observaciones en el rango indicado
+     * @param inicio   fecha de inicio (inclusive)
+     * @param fin      fecha de fin (inclusive)
+     * @param pageable pagina y orden solicitados
+     * @return la pagina de DTOs de observaciones en el rango indicado
      */
-    public List<ObservacionProfesorDTO> listarObservacionesEntreFechas(LocalDate inicio, LocalDate fin) {
-        return observacionRepo.findByFechaBetween(inicio, fin).stream()
-                .map(observacionProfesorMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<ObservacionProfesorDTO> listarObservacionesEntreFechas(LocalDate inicio, LocalDate fin,
+                                                                       Pageable pageable) {
+        return observacionRepo.findByFechaBetween(inicio, fin, pageable).map(observacionProfesorMapper::toDTO);
+    }
+
+    /**
+     * Busca texto en las observaciones activas, ordenadas por relevancia.
+     *
+     * @param texto      palabras, "frases" o -exclusiones a buscar
+     * @param profesorId acota la busqueda a un profesor; null busca en todos
+     * @param pageable   pagina solicitada; el orden lo fija la relevancia
+     * @return la pagina de coincidencias con su fragmento resaltado
+     */
+    @Transactional(readOnly = true)
+    public Page<ObservacionCoincidenciaDTO> buscar(String texto, Long profesorId, Pageable pageable) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto a buscar es obligatorio");
+        }
+        return observacionRepo.buscarTexto(texto.strip(), profesorId, pageable)
+                .map(c -> new ObservacionCoincidenciaDTO(c.getId(), c.getProfesorId(), c.getFecha(),
+                        c.getFragmento(), c.getRelevancia()));
     }
 
     /**
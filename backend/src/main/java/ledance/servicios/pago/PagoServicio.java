@@ -24,11 +24,13 @@ import ledance.entidades.TipoEfectoRecibo;
 import ledance.entidades.TipoMovimientoCaja;
 import ledance.entidades.TipoMovimientoCredito;
 import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
 import ledance.infra.idempotencia.RequestHash;
-import ledance.repositorios.AlumnoRepositorio;
+import ledance.infra.metricas.Metricas;
+import ledance.infra.persistencia.Reintentable;
 import ledance.repositorios.AplicacionPagoRepositorio;
-import ledance.repositorios.CargoRepositorio;
 import ledance.repositorios.MetodoPagoRepositorio;
 import ledance.repositorios.MovimientoCajaRepositorio;
 import ledance.repositorios.MovimientoCreditoRepositorio;
@@ -59,22 +61,21 @@ public class PagoServicio {
     private static final BigDecimal CERO = new BigDecimal("0.00");
 
     private final PagoRepositorio pagos;
-    private final CargoRepositorio cargos;
     private final AplicacionPagoRepositorio aplicaciones;
-    private final AlumnoRepositorio alumnos;
+    private final OrdenDeBloqueo bloqueos;
     private final MetodoPagoRepositorio metodos;
     private final UsuarioRepositorio usuarios;
     private final MovimientoCajaRepositorio movimientosCaja;
     private final MovimientoCreditoRepositorio movimientosCredito;
     private final ReciboRepositorio recibos;
+    private final Metricas metricas;
     private final ReciboPendienteRepositorio recibosPendientes;
     private final Clock clock;
     private final CargoServicio cargoServicio;
 
     public PagoServicio(PagoRepositorio pagos,
-                        CargoRepositorio cargos,
                         AplicacionPagoRepositorio aplicaciones,
-                        AlumnoRepositorio alumnos,
+                        OrdenDeBloqueo bloqueos,
                         MetodoPagoRepositorio metodos,
                         UsuarioRepositorio usuarios,
                         MovimientoCajaRepositorio movimientosCaja,
@@ -82,11 +83,11 @@ public class PagoServicio {
                         ReciboRepositorio recibos,
                         ReciboPendienteRepositorio recibosPendientes,
                         CargoServicio cargoServicio,
+                        Metricas metricas,
                         Clock clock) {
         this.pagos = pagos;
-        this.cargos = cargos;
         this.aplicaciones = aplicaciones;
-        this.alumnos = alumnos;
+        this.bloqueos = bloqueos;
         this.metodos = metodos;
         this.usuarios = usuarios;
         this.movimientosCaja = movimientosCaja;
@@ -94,18 +95,24 @@ public class PagoServicio {
         this.recibos = recibos;
         this.recibosPendientes = recibosPendientes;
         this.cargoServicio = cargoServicio;
+        this.metricas = metricas;
         this.clock = clock;
     }
 
+    @Reintentable
     @Transactional
     public PagoResponse registrarPago(PagoRegistroRequest request, Usuario principal) {
+        return metricas.medir("ledance.pagos.registro", () -> registrar(request, principal));
+    }
+
+    private PagoResponse registrar(PagoRegistroRequest request, Usuario principal) {
         String hash = hash(request);
         Pago previo = pagos.findByIdempotencyKey(request.idempotencyKey()).orElse(null);
         if (previo != null) {
             return validarReintento(previo, hash);
         }
 
-        Alumno alumno = alumnos.findActivoByIdForUpdate(request.alumnoId())
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.PAGO, request.alumnoId())
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
 
         previo = pagos.findByIdempotencyKey(request.idempotencyKey()).orElse(null);
@@ -126,9 +133,8 @@ public class PagoServicio {
             throw new IllegalArgumentException("Un cargo no puede repetirse en el mismo pago");
         }
 
-        List<Cargo> cargosBloqueados = solicitadas.isEmpty()
-                ? List.of()
-                : cargos.findAllByIdForUpdate(solicitadas.stream().map(AplicacionPagoRequest::cargoId).toList());
+        List<Cargo> cargosBloqueados = bloqueos.cargos(OperacionBloqueo.PAGO,
+                solicitadas.stream().map(AplicacionPagoRequest::cargoId).toList());
         if (cargosBloqueados.size() != solicitadas.size()) {
             throw new EntityNotFoundException("Uno o más cargos no existen");
         }
@@ -224,8 +230,13 @@ public class PagoServicio {
         return respuesta(pago);
     }
 
+    @Reintentable
     @Transactional
     public PagoResponse anularPago(Long pagoId, PagoAnulacionRequest request, Usuario principal) {
+        return metricas.medir("ledance.pagos.anulacion", () -> anular(pagoId, request, principal));
+    }
+
+    private PagoResponse anular(Long pagoId, PagoAnulacionRequest request, Usuario principal) {
         String reversalHash = RequestHash.sha256("ANULAR_PAGO", pagoId.toString(), request.motivo());
         Pago pago = pagos.findByIdForUpdate(pagoId)
                 .orElseThrow(() -> new EntityNotFoundException("Pago no encontrado"));
@@ -240,14 +251,13 @@ public class PagoServicio {
         }
 
         Usuario usuario = usuarioActivo(principal);
-        alumnos.findActivoByIdForUpdate(pago.getAlumno().getId())
+        bloqueos.alumno(OperacionBloqueo.ANULACION_PAGO, pago.getAlumno().getId())
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno está inactivo"));
 
         List<AplicacionPago> activas = aplicaciones.findByPagoIdAndEstadoOrderById(
                 pagoId, EstadoAplicacionPago.APLICADA);
-        List<Cargo> cargosBloqueados = activas.isEmpty()
-                ? List.of()
-                : cargos.findAllByIdForUpdate(activas.stream().map(a -> a.getCargo().getId()).sorted().toList());
+        List<Cargo> cargosBloqueados = bloqueos.cargos(OperacionBloqueo.ANULACION_PAGO,
+                activas.stream().map(a -> a.getCargo().getId()).toList());
         if (cargosBloqueados.size() != activas.size()) {
             throw new IllegalStateException("No fue posible bloquear todos los cargos del pago");
         }
@@ -363,7 +373,7 @@ public class PagoServicio {
                 pago.getObservaciones(), decimal(credito), detalle);
     }
 
-    private static BigDecimal monedaPositiva(String valor, String campo) {
+    static BigDecimal monedaPositiva(String valor, String campo) {
         try {
             BigDecimal normalizado = new BigDecimal(valor).setScale(2, RoundingMode.UNNECESSARY);
             if (normalizado.signum() <= 0) {
@@ -379,7 +389,7 @@ public class PagoServicio {
         return valor.setScale(2, RoundingMode.UNNECESSARY).toPlainString();
     }
 
-    private static String hash(PagoRegistroRequest request) {
+    static String hash(PagoRegistroRequest request) {
         String aplicaciones = request.aplicaciones().stream()
                 .sorted(Comparator.comparing(AplicacionPagoRequest::cargoId))
                 .map(a -> a.cargoId() + ":" + monedaPositiva(a.importe(), "aplicaciones.importe").toPlainString())
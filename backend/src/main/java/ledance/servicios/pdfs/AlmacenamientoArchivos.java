@@ -0,0 +1,47 @@
+package ledance.servicios.pdfs;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Archivos generados bajo {@code app.receipts-path}. Las claves son rutas
+ * relativas a esa raíz y nunca pueden salir de ella.
+ */
+public final class AlmacenamientoArchivos {
+    private AlmacenamientoArchivos() {
+    }
+
+    /** Escribe en un temporal del mismo directorio y lo mueve, así nadie lee un archivo a medias. */
+    public static void guardar(Path raiz, String clave, byte[] bytes) throws IOException {
+        Path destino = raiz.resolve(clave).normalize();
+        if (!destino.startsWith(raiz) || destino.equals(raiz)) {
+            throw new IOException("Ruta de archivo inválida");
+        }
+        Path directorio = destino.getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, destino.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporal, bytes);
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /** El archivo de {@code clave} si existe y está dentro de la raíz. */
+    public static Optional<Path> existente(Path raiz, String clave) {
+        if (clave == null) {
+            return Optional.empty();
+        }
+        Path archivo = raiz.resolve(clave).normalize();
+        return archivo.startsWith(raiz) && Files.isRegularFile(archivo) ? Optional.of(archivo) : Optional.empty();
+    }
+}
@@ -13,6 +13,7 @@ import com.lowagie.text.pdf.PdfWriter;
 import ledance.dto.reporte.response.ReporteMensualidadResponse;
 import ledance.entidades.AplicacionPago;
 import ledance.entidades.Pago;
+import ledance.infra.metricas.Metricas;
 import ledance.repositorios.AplicacionPagoRepositorio;
 import ledance.repositorios.DisciplinaRepositorio;
 import ledance.servicios.disciplina.DisciplinaServicio;
@@ -34,16 +35,37 @@ public class PdfService {
     private final AplicacionPagoRepositorio aplicaciones;
     private final DisciplinaServicio disciplinas;
     private final DisciplinaRepositorio disciplinaRepositorio;
+    private final Metricas metricas;
 
     public PdfService(AplicacionPagoRepositorio aplicaciones,
                       DisciplinaServicio disciplinas,
-                      DisciplinaRepositorio disciplinaRepositorio) {
+                      DisciplinaRepositorio disciplinaRepositorio,
+                      Metricas metricas) {
         this.aplicaciones = aplicaciones;
         this.disciplinas = disciplinas;
         this.disciplinaRepositorio = disciplinaRepositorio;
+        this.metricas = metricas;
     }
 
     public byte[] generarReciboPdf(Pago pago) {
+        return metricas.medir("ledance.pdf.render", () -> recibo(pago), "documento", "recibo");
+    }
+
+    public byte[] generarAlumnosDisciplinaPdf(Long disciplinaId) {
+        return metricas.medir("ledance.pdf.render", () -> alumnosDisciplina(disciplinaId),
+                "documento", "alumnos_disciplina");
+    }
+
+    public byte[] generarLiquidacionProfesorPdf(List<ReporteMensualidadResponse> filas,
+                                                 LocalDate desde,
+                                                 LocalDate hasta,
+                                                 BigDecimal porcentajeEscuela) {
+        return metricas.medir("ledance.pdf.render",
+                () -> liquidacionProfesor(filas, desde, hasta, porcentajeEscuela),
+                "documento", "liquidacion_profesor");
+    }
+
+    private byte[] recibo(Pago pago) {
         List<AplicacionPago> detalle = aplicaciones.findByPagoIdOrderById(pago.getId());
         try (ByteArrayOutputStream salida = new ByteArrayOutputStream();
              Document documento = new Document(PageSize.A4)) {
@@ -83,7 +105,7 @@ public class PdfService {
         }
     }
 
-    public byte[] generarAlumnosDisciplinaPdf(Long disciplinaId) {
+    private byte[] alumnosDisciplina(Long disciplinaId) {
         var disciplina = disciplinaRepositorio.findById(disciplinaId)
                 .orElseThrow(() -> new IllegalArgumentException("Disciplina no encontrada"));
         var alumnos = disciplinas.obtenerAlumnosDeDisciplina(disciplinaId).stream()
@@ -112,10 +134,10 @@ public class PdfService {
         }
     }
 
-    public byte[] generarLiquidacionProfesorPdf(List<ReporteMensualidadResponse> filas,
-                                                 LocalDate desde,
-                                                 LocalDate hasta,
-                                                 BigDecimal porcentajeEscuela) {
+    private byte[] liquidacionProfesor(List<ReporteMensualidadResponse> filas,
+                                       LocalDate desde,
+                                       LocalDate hasta,
+                                       BigDecimal porcentajeEscuela) {
         BigDecimal bruto = filas.stream().map(f -> new BigDecimal(f.importeCobrado()))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         BigDecimal retencion = bruto.multiply(porcentajeEscuela)
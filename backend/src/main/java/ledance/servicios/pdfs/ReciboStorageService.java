@@ -5,6 +5,7 @@ import ledance.entidades.Recibo;
 import ledance.entidades.ReciboPendiente;
 import ledance.entidades.Pago;
 import ledance.infra.configuracion.AppProperties;
+import ledance.infra.persistencia.CargaDeTrabajo;
 import ledance.repositorios.AplicacionPagoRepositorio;
 import ledance.repositorios.ReciboPendienteRepositorio;
 import ledance.repositorios.ReciboRepositorio;
@@ -21,8 +22,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.AtomicMoveNotSupportedException;
-import java.nio.file.StandardCopyOption;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -62,13 +61,22 @@ public class ReciboStorageService {
         this.transactions = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Corre en todos los nodos: cada uno reclama su lote con
+     * {@code FOR UPDATE SKIP LOCKED} y un lease por fila, así el worker escala
+     * con las instancias sin pasar por {@code scheduler_locks}. Usa el pool
+     * {@link CargaDeTrabajo#OUTBOX}, que el envío SMTP puede retener sin
+     * afectar a la caja.
+     */
     @Scheduled(fixedDelayString = "${app.receipts.worker-delay-ms:30000}")
     public void procesarPendientes() {
-        List<Claim> trabajos = transactions.execute(status -> reclamar());
-        if (trabajos == null) {
-            return;
-        }
-        trabajos.forEach(this::procesar);
+        CargaDeTrabajo.OUTBOX.ejecutar(() -> {
+            List<Claim> trabajos = transactions.execute(status -> reclamar());
+            if (trabajos == null) {
+                return;
+            }
+            trabajos.forEach(this::procesar);
+        });
     }
 
     private List<Claim> reclamar() {
@@ -93,9 +101,9 @@ public class ReciboStorageService {
             }
             String nombre = "recibo_" + trabajo.pago().getId() + ".pdf";
             Path raiz = properties.receiptsPath().toAbsolutePath().normalize();
-            Path almacenado = trabajo.storageKey() == null ? null : raiz.resolve(trabajo.storageKey()).normalize();
+            Path almacenado = AlmacenamientoArchivos.existente(raiz, trabajo.storageKey()).orElse(null);
             byte[] bytes;
-            if (almacenado != null && almacenado.startsWith(raiz) && Files.isRegularFile(almacenado)) {
+            if (almacenado != null) {
                 bytes = Files.readAllBytes(almacenado);
                 nombre = trabajo.storageKey();
             } else {
@@ -103,7 +111,7 @@ public class ReciboStorageService {
                 if (!renovarLease(claim)) {
                     return;
                 }
-                guardar(raiz, nombre, bytes);
+                AlmacenamientoArchivos.guardar(raiz, nombre, bytes);
                 String storageKey = nombre;
                 transactions.executeWithoutResult(status -> confirmarGenerado(claim, storageKey));
             }
@@ -207,25 +215,6 @@ public class ReciboStorageService {
         trabajo.setLeaseUntil(null);
     }
 
-    private static void guardar(Path raiz, String nombre, byte[] bytes) throws IOException {
-        Path destino = raiz.resolve(nombre).normalize();
-        if (!destino.startsWith(raiz)) {
-            throw new IOException("Ruta de recibo inválida");
-        }
-        Files.createDirectories(raiz);
-        Path temporal = Files.createTempFile(raiz, nombre, ".tmp");
-        try {
-            Files.write(temporal, bytes);
-            try {
-                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
-            } catch (AtomicMoveNotSupportedException e) {
-                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
-            }
-        } finally {
-            Files.deleteIfExists(temporal);
-        }
-    }
-
     private String cuerpo(Trabajo trabajo) {
         String conceptos = aplicaciones.findByPagoIdOrderById(trabajo.pago().getId()).stream()
                 .map(a -> escapar(a.getCargo().getDescripcion()))
@@ -67,7 +67,7 @@ public class RecargoServicio {
     }
 
     @Transactional
-    public void aplicarRecargosAutomaticos() {
+    public int aplicarRecargosAutomaticos() {
         LocalDate hoy = LocalDate.now(clock);
         List<Cargo> vencidos = cargos.findByTipoAndEstadoInAndFechaVencimientoBeforeOrderById(
                 TipoCargo.MENSUALIDAD, List.of(EstadoCargo.PENDIENTE, EstadoCargo.PARCIAL), hoy);
@@ -90,6 +90,7 @@ public class RecargoServicio {
             }
         }
         log.info("Recargos automáticos procesados vencidos={} creados={}", vencidos.size(), creados);
+        return creados;
     }
 
     private void aplicar(RecargoRegistroRequest request, Recargo recargo) {
@@ -0,0 +1,25 @@
+package ledance.servicios.reporte;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Reportes diferidos.
+ *
+ * @param workers  reportes que un nodo renderiza a la vez
+ * @param ttl      tiempo durante el que un pedido con los mismos parámetros
+ *                 recibe el artefacto ya generado en lugar de renderizar otro
+ * @param intervalo espera entre pasadas del worker
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.reportes")
+public record ReportesProperties(
+        @Min(1) int workers,
+        @NotNull Duration ttl,
+        @NotNull Duration intervalo
+) {
+}
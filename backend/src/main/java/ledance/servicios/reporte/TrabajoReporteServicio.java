@@ -0,0 +1,154 @@
+package ledance.servicios.reporte;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ledance.dto.reporte.request.TrabajoReporteRequest;
+import ledance.dto.reporte.response.TrabajoReporteResponse;
+import ledance.entidades.EstadoTrabajoReporte;
+import ledance.entidades.TrabajoReporte;
+import ledance.entidades.Usuario;
+import ledance.infra.configuracion.AppProperties;
+import ledance.infra.errores.TratadorDeErrores.RecursoNoEncontradoException;
+import ledance.infra.idempotencia.RequestHash;
+import ledance.repositorios.TrabajoReporteRepositorio;
+import ledance.servicios.pdfs.AlmacenamientoArchivos;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Alta y consulta de reportes diferidos. El render lo hace
+ * {@link TrabajoReporteWorker}; acá sólo se encola o se reutiliza.
+ */
+@Service
+public class TrabajoReporteServicio {
+    private final TrabajoReporteRepositorio trabajos;
+    private final ObjectMapper mapper;
+    private final AppProperties properties;
+    private final Clock clock;
+
+    public TrabajoReporteServicio(TrabajoReporteRepositorio trabajos,
+                                  ObjectMapper mapper,
+                                  AppProperties properties,
+                                  Clock clock) {
+        this.trabajos = trabajos;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Devuelve el trabajo en curso o el artefacto vigente con los mismos
+     * parámetros normalizados; si no hay ninguno encola uno nuevo. Dos altas
+     * idénticas simultáneas pueden encolar dos trabajos: se renderiza de más,
+     * pero ambos pedidos reciben su archivo.
+     */
+    @Transactional
+    public TrabajoReporteResponse crear(TrabajoReporteRequest request, Usuario usuario) {
+        TrabajoReporteRequest parametros = normalizar(request);
+        String json;
+        try {
+            json = mapper.writeValueAsString(parametros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parámetros de reporte inválidos", e);
+        }
+        String hash = RequestHash.sha256(parametros.tipo().name(), json);
+        var existente = trabajos.findReutilizable(hash, clock.instant())
+                .filter(t -> t.getEstado() != EstadoTrabajoReporte.COMPLETADO
+                        || AlmacenamientoArchivos.existente(raiz(), t.getStorageKey()).isPresent());
+        if (existente.isPresent()) {
+            return respuesta(existente.get());
+        }
+        TrabajoReporte trabajo = new TrabajoReporte();
+        trabajo.setTipo(parametros.tipo());
+        trabajo.setParametros(json);
+        trabajo.setParametrosHash(hash);
+        trabajo.setUsuario(usuario);
+        trabajo.setNextAttemptAt(clock.instant());
+        return respuesta(trabajos.save(trabajo));
+    }
+
+    @Transactional(readOnly = true)
+    public TrabajoReporteResponse obtener(Long id) {
+        return respuesta(buscar(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Archivo archivo(Long id) {
+        TrabajoReporte trabajo = buscar(id);
+        if (trabajo.getEstado() != EstadoTrabajoReporte.COMPLETADO) {
+            throw new RecursoNoEncontradoException("El reporte no está disponible");
+        }
+        Path archivo = AlmacenamientoArchivos.existente(raiz(), trabajo.getStorageKey())
+                .orElseThrow(() -> new RecursoNoEncontradoException("El reporte no está disponible"));
+        return new Archivo(archivo, trabajo.getNombreArchivo(), trabajo.getContentType());
+    }
+
+    Path raiz() {
+        return properties.receiptsPath().toAbsolutePath().normalize();
+    }
+
+    private TrabajoReporte buscar(Long id) {
+        return trabajos.findById(id)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Reporte no encontrado"));
+    }
+
+    /** Deja sólo los campos que usa el tipo, con escala fija, para que el hash no dependa de la forma del JSON. */
+    static TrabajoReporteRequest normalizar(TrabajoReporteRequest request) {
+        return switch (request.tipo()) {
+            case LIQUIDACION_PDF -> {
+                validarFechas(request.fechaInicio(), request.fechaFin());
+                yield new TrabajoReporteRequest(request.tipo(), request.fechaInicio(), request.fechaFin(),
+                        request.disciplinaId(), request.profesorId(), porcentaje(request.porcentajeEscuela()));
+            }
+            case MENSUALIDADES_CSV -> {
+                validarFechas(request.fechaInicio(), request.fechaFin());
+                yield new TrabajoReporteRequest(request.tipo(), request.fechaInicio(), request.fechaFin(),
+                        request.disciplinaId(), request.profesorId(), null);
+            }
+            case ALUMNOS_DISCIPLINA_PDF -> {
+                if (request.disciplinaId() == null) {
+                    throw new IllegalArgumentException("La disciplina es obligatoria");
+                }
+                yield new TrabajoReporteRequest(request.tipo(), null, null, request.disciplinaId(), null, null);
+            }
+        };
+    }
+
+    private static void validarFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Las fechas de inicio y fin son obligatorias");
+        }
+        if (hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha fin no puede ser anterior a la fecha inicio");
+        }
+    }
+
+    private static BigDecimal porcentaje(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El porcentaje de la escuela es obligatorio");
+        }
+        if (valor.signum() < 0 || valor.compareTo(new BigDecimal("100")) > 0) {
+            throw new IllegalArgumentException("El porcentaje debe estar entre 0 y 100");
+        }
+        if (valor.stripTrailingZeros().scale() > 4) {
+            throw new IllegalArgumentException("El porcentaje admite hasta 4 decimales");
+        }
+        return valor.setScale(4, RoundingMode.UNNECESSARY);
+    }
+
+    static TrabajoReporteResponse respuesta(TrabajoReporte trabajo) {
+        return new TrabajoReporteResponse(trabajo.getId(), trabajo.getTipo(), trabajo.getEstado(),
+                trabajo.getProgreso(), trabajo.getNombreArchivo(), trabajo.getTamanioBytes(),
+                trabajo.getEstado() == EstadoTrabajoReporte.ERROR ? trabajo.getUltimoError() : null,
+                trabajo.getCreatedAt(), trabajo.getCompletadoAt(), trabajo.getExpiraAt());
+    }
+
+    public record Archivo(Path path, String nombre, String contentType) {
+    }
+}
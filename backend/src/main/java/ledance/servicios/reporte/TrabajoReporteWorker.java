@@ -0,0 +1,331 @@
+package ledance.servicios.reporte;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ledance.dto.reporte.request.TrabajoReporteRequest;
+import ledance.dto.reporte.response.ReporteMensualidadResponse;
+import ledance.dto.reporte.response.TrabajoReporteResponse;
+import ledance.entidades.EstadoTrabajoReporte;
+import ledance.entidades.TipoReporte;
+import ledance.entidades.TrabajoReporte;
+import ledance.infra.metricas.Metricas;
+import ledance.infra.persistencia.CargaDeTrabajo;
+import ledance.repositorios.TrabajoReporteRepositorio;
+import ledance.servicios.pdfs.AlmacenamientoArchivos;
+import ledance.servicios.pdfs.PdfService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Renderiza los reportes encolados por {@link TrabajoReporteServicio} y deja
+ * el archivo junto a los recibos, bajo {@code reportes/}. Cada nodo reclama
+ * con {@code FOR UPDATE SKIP LOCKED} sólo tantos trabajos como hilos libres
+ * tiene, así un reporte nunca espera detrás de otro en un nodo ocupado
+ * mientras otro está ocioso. El fin de cada trabajo se anuncia en
+ * {@value #DESTINO}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.scheduling-enabled", havingValue = "true")
+public class TrabajoReporteWorker implements DisposableBean {
+    public static final String DESTINO = "/topic/reportes";
+    private static final Logger log = LoggerFactory.getLogger(TrabajoReporteWorker.class);
+    private static final int MAX_INTENTOS = 3;
+    private static final int VENCIDOS_POR_PASADA = 50;
+    private static final Duration LEASE = Duration.ofMinutes(15);
+    private static final Duration REINTENTO = Duration.ofMinutes(1);
+    private static final int PROGRESO_RECLAMADO = 5;
+    private static final int PROGRESO_DATOS = 40;
+    private static final int PROGRESO_RENDERIZADO = 80;
+
+    private final TrabajoReporteServicio servicio;
+    private final TrabajoReporteRepositorio trabajos;
+    private final ReporteServicio reportes;
+    private final PdfService pdf;
+    private final SimpMessagingTemplate websocket;
+    private final Metricas metricas;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate lectura;
+    private final Semaphore libres;
+    private final ExecutorService hilos;
+
+    public TrabajoReporteWorker(TrabajoReporteServicio servicio,
+                                TrabajoReporteRepositorio trabajos,
+                                ReporteServicio reportes,
+                                PdfService pdf,
+                                SimpMessagingTemplate websocket,
+                                Metricas metricas,
+                                ObjectMapper mapper,
+                                ReportesProperties properties,
+                                Clock clock,
+                                PlatformTransactionManager transactionManager) {
+        this.servicio = servicio;
+        this.trabajos = trabajos;
+        this.reportes = reportes;
+        this.pdf = pdf;
+        this.websocket = websocket;
+        this.metricas = metricas;
+        this.mapper = mapper;
+        this.clock = clock;
+        this.ttl = properties.ttl();
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.libres = new Semaphore(properties.workers());
+        this.hilos = Executors.newFixedThreadPool(properties.workers(),
+                Thread.ofPlatform().name("reportes-", 1).factory());
+    }
+
+    /**
+     * Sólo este hilo toma permisos, así que los que ve libres al reclamar
+     * siguen libres al despachar.
+     */
+    @Scheduled(fixedDelayString = "${app.reportes.intervalo:5s}")
+    public void procesarPendientes() {
+        CargaDeTrabajo.BATCH.ejecutar(() -> {
+            expirar();
+            int disponibles = libres.availablePermits();
+            if (disponibles == 0) {
+                return;
+            }
+            List<Claim> claims = transactions.execute(status -> reclamar(disponibles));
+            if (claims == null) {
+                return;
+            }
+            for (Claim claim : claims) {
+                libres.acquireUninterruptibly();
+                hilos.execute(() -> CargaDeTrabajo.BATCH.ejecutar(() -> {
+                    try {
+                        procesar(claim);
+                    } finally {
+                        libres.release();
+                    }
+                }));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        hilos.shutdownNow();
+    }
+
+    private List<Claim> reclamar(int limite) {
+        Instant ahora = clock.instant();
+        return trabajos.findClaimableForUpdate(ahora, limite).stream()
+                .map(trabajo -> {
+                    UUID token = UUID.randomUUID();
+                    trabajo.setEstado(EstadoTrabajoReporte.PROCESANDO);
+                    trabajo.setProgreso(PROGRESO_RECLAMADO);
+                    trabajo.setIntentos(trabajo.getIntentos() + 1);
+                    trabajo.setClaimToken(token);
+                    trabajo.setClaimedAt(ahora);
+                    trabajo.setLeaseUntil(ahora.plus(LEASE));
+                    return new Claim(trabajo.getId(), token);
+                }).toList();
+    }
+
+    private void procesar(Claim claim) {
+        try {
+            TrabajoReporte trabajo = transactions.execute(status ->
+                    trabajos.findByIdAndClaimToken(claim.id(), claim.token()).orElse(null));
+            if (trabajo == null) {
+                return;
+            }
+            TipoReporte tipo = trabajo.getTipo();
+            TrabajoReporteRequest parametros = mapper.readValue(trabajo.getParametros(), TrabajoReporteRequest.class);
+            byte[] bytes = metricas.medir("ledance.reportes.render", () -> renderizar(claim, parametros),
+                    "tipo", tipo.name().toLowerCase(Locale.ROOT));
+            if (bytes == null || !avanzar(claim, PROGRESO_RENDERIZADO)) {
+                return;
+            }
+            String clave = "reportes/reporte_" + claim.id() + "." + tipo.extension();
+            AlmacenamientoArchivos.guardar(servicio.raiz(), clave, bytes);
+            anunciar(transactions.execute(status -> completar(claim, clave, bytes.length)));
+        } catch (Exception e) {
+            anunciar(transactions.execute(status -> fallar(claim, e)));
+        }
+    }
+
+    /** {@code null} si otro nodo se quedó con el trabajo a mitad de camino. */
+    private byte[] renderizar(Claim claim, TrabajoReporteRequest parametros) {
+        return switch (parametros.tipo()) {
+            case LIQUIDACION_PDF -> {
+                List<ReporteMensualidadResponse> filas = mensualidades(parametros);
+                yield avanzar(claim, PROGRESO_DATOS) ? pdf.generarLiquidacionProfesorPdf(filas,
+                        parametros.fechaInicio(), parametros.fechaFin(), parametros.porcentajeEscuela()) : null;
+            }
+            case MENSUALIDADES_CSV -> {
+                List<ReporteMensualidadResponse> filas = mensualidades(parametros);
+                yield avanzar(claim, PROGRESO_DATOS) ? csv(filas) : null;
+            }
+            case ALUMNOS_DISCIPLINA_PDF ->
+                    lectura.execute(status -> pdf.generarAlumnosDisciplinaPdf(parametros.disciplinaId()));
+        };
+    }
+
+    private List<ReporteMensualidadResponse> mensualidades(TrabajoReporteRequest parametros) {
+        return reportes.buscar(parametros.fechaInicio(), parametros.fechaFin(),
+                parametros.disciplinaId(), parametros.profesorId());
+    }
+
+    /** Actualiza el progreso y renueva el lease; {@code false} si el claim ya no es nuestro. */
+    private boolean avanzar(Claim claim, int progreso) {
+        Boolean vigente = transactions.execute(status -> trabajos.findByIdAndClaimToken(claim.id(), claim.token())
+                .map(trabajo -> {
+                    trabajo.setProgreso(progreso);
+                    trabajo.setLeaseUntil(clock.instant().plus(LEASE));
+                    return true;
+                }).orElse(false));
+        return Boolean.TRUE.equals(vigente);
+    }
+
+    private TrabajoReporteResponse completar(Claim claim, String clave, long tamanio) {
+        return trabajos.findByIdAndClaimToken(claim.id(), claim.token()).map(trabajo -> {
+            Instant ahora = clock.instant();
+            trabajo.setEstado(EstadoTrabajoReporte.COMPLETADO);
+            trabajo.setProgreso(100);
+            trabajo.setStorageKey(clave);
+            trabajo.setContentType(trabajo.getTipo().contentType());
+            trabajo.setNombreArchivo(trabajo.getTipo().name().toLowerCase(Locale.ROOT) + "_" + trabajo.getId()
+                    + "." + trabajo.getTipo().extension());
+            trabajo.setTamanioBytes(tamanio);
+            trabajo.setUltimoError(null);
+            trabajo.setCompletadoAt(ahora);
+            trabajo.setExpiraAt(ahora.plus(ttl));
+            liberar(trabajo);
+            log.info("Reporte generado id={} tipo={} bytes={}", trabajo.getId(), trabajo.getTipo(), tamanio);
+            return TrabajoReporteServicio.respuesta(trabajo);
+        }).orElse(null);
+    }
+
+    /**
+     * Los parámetros inválidos no se arreglan reintentando; el resto vuelve a
+     * la cola hasta {@value #MAX_INTENTOS} intentos.
+     */
+    private TrabajoReporteResponse fallar(Claim claim, Exception e) {
+        return trabajos.findByIdAndClaimToken(claim.id(), claim.token()).map(trabajo -> {
+            boolean definitivo = e instanceof IllegalArgumentException || trabajo.getIntentos() >= MAX_INTENTOS;
+            String error = e instanceof IllegalArgumentException && e.getMessage() != null
+                    ? e.getMessage() : e.getClass().getSimpleName();
+            trabajo.setUltimoError(error.length() > 500 ? error.substring(0, 500) : error);
+            if (definitivo) {
+                trabajo.setEstado(EstadoTrabajoReporte.ERROR);
+                trabajo.setCompletadoAt(clock.instant());
+            } else {
+                trabajo.setEstado(EstadoTrabajoReporte.PENDIENTE);
+                trabajo.setProgreso(0);
+                trabajo.setNextAttemptAt(clock.instant().plus(REINTENTO));
+            }
+            liberar(trabajo);
+            log.warn("Falló reporte id={} tipo={} intento={} error={}",
+                    trabajo.getId(), trabajo.getTipo(), trabajo.getIntentos(), error);
+            return definitivo ? TrabajoReporteServicio.respuesta(trabajo) : null;
+        }).orElse(null);
+    }
+
+    /**
+     * Marca vencidos los artefactos fuera de TTL y borra los archivos después
+     * del commit: si la transacción falla, el archivo sigue sirviendo.
+     */
+    private void expirar() {
+        List<String> claves = transactions.execute(status -> {
+            List<String> vencidas = new ArrayList<>();
+            trabajos.findVencidosForUpdate(clock.instant(), VENCIDOS_POR_PASADA).forEach(trabajo -> {
+                vencidas.add(trabajo.getStorageKey());
+                trabajo.setEstado(EstadoTrabajoReporte.EXPIRADO);
+                trabajo.setStorageKey(null);
+            });
+            return vencidas;
+        });
+        if (claves == null) {
+            return;
+        }
+        Path raiz = servicio.raiz();
+        for (String clave : claves) {
+            try {
+                var archivo = AlmacenamientoArchivos.existente(raiz, clave);
+                if (archivo.isPresent()) {
+                    Files.delete(archivo.get());
+                }
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el reporte vencido clave={} error={}", clave, e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void anunciar(TrabajoReporteResponse trabajo) {
+        if (trabajo == null) {
+            return;
+        }
+        try {
+            websocket.convertAndSend(DESTINO, trabajo);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo anunciar el reporte id={} error={}", trabajo.id(), e.getClass().getSimpleName());
+        }
+    }
+
+    private static void liberar(TrabajoReporte trabajo) {
+        trabajo.setClaimToken(null);
+        trabajo.setClaimedAt(null);
+        trabajo.setLeaseUntil(null);
+    }
+
+    static byte[] csv(List<ReporteMensualidadResponse> filas) {
+        StringBuilder salida = new StringBuilder(
+                "cargo_id,fecha_emision,alumno,disciplina,profesor,importe_original,importe_cobrado,saldo,estado\r\n");
+        for (ReporteMensualidadResponse fila : filas) {
+            salida.append(fila.cargoId()).append(',')
+                    .append(fila.fechaEmision()).append(',')
+                    .append(campo(fila.alumno())).append(',')
+                    .append(campo(fila.disciplina())).append(',')
+                    .append(campo(fila.profesor())).append(',')
+                    .append(fila.importeOriginal()).append(',')
+                    .append(fila.importeCobrado()).append(',')
+                    .append(fila.saldo()).append(',')
+                    .append(fila.estado()).append("\r\n");
+        }
+        return salida.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Comillas según RFC 4180; los textos que empiezan con {@code = + - @}
+     * llevan un apóstrofo para que la planilla no los evalúe como fórmula.
+     */
+    private static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = !valor.isEmpty() && "=+-@".indexOf(valor.charAt(0)) >= 0 ? "'" + valor : valor;
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
+    private record Claim(Long id, UUID token) {
+    }
+}
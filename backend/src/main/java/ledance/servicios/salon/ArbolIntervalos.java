@@ -0,0 +1,70 @@
+package ledance.servicios.salon;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Árbol de intervalos inmutable sobre rangos semiabiertos {@code [inicio, fin)}.
+ * Los intervalos se ordenan por inicio y el árbol queda implícito en el arreglo:
+ * la raíz de cada rango es su punto medio y {@code maxFin} guarda el fin más
+ * lejano del subárbol, lo que permite podar ramas enteras en cada consulta.
+ * Construcción O(n log n), consulta O(log n + k).
+ */
+final class ArbolIntervalos<T> {
+
+    record Intervalo<T>(int inicio, int fin, T valor) {
+    }
+
+    private final List<Intervalo<T>> intervalos;
+    private final int[] maxFin;
+
+    private ArbolIntervalos(List<Intervalo<T>> intervalos) {
+        this.intervalos = intervalos;
+        this.maxFin = new int[intervalos.size()];
+        calcularMaxFin(0, intervalos.size());
+    }
+
+    static <T> ArbolIntervalos<T> de(List<Intervalo<T>> intervalos) {
+        List<Intervalo<T>> ordenados = new ArrayList<>(intervalos);
+        ordenados.sort(Comparator.comparingInt((Intervalo<T> i) -> i.inicio()).thenComparingInt(Intervalo::fin));
+        return new ArbolIntervalos<>(List.copyOf(ordenados));
+    }
+
+    /** Intervalos que comparten al menos un minuto con {@code [inicio, fin)}, ordenados por inicio. */
+    List<Intervalo<T>> superpuestos(int inicio, int fin) {
+        List<Intervalo<T>> resultado = new ArrayList<>();
+        buscar(0, intervalos.size(), inicio, fin, resultado);
+        return resultado;
+    }
+
+    private int calcularMaxFin(int desde, int hasta) {
+        if (desde >= hasta) {
+            return Integer.MIN_VALUE;
+        }
+        int medio = (desde + hasta) >>> 1;
+        int max = Math.max(intervalos.get(medio).fin(),
+                Math.max(calcularMaxFin(desde, medio), calcularMaxFin(medio + 1, hasta)));
+        maxFin[medio] = max;
+        return max;
+    }
+
+    private void buscar(int desde, int hasta, int inicio, int fin, List<Intervalo<T>> resultado) {
+        if (desde >= hasta) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        if (maxFin[medio] <= inicio) {
+            return;
+        }
+        buscar(desde, medio, inicio, fin, resultado);
+        Intervalo<T> actual = intervalos.get(medio);
+        if (actual.inicio() >= fin) {
+            return;
+        }
+        if (actual.fin() > inicio) {
+            resultado.add(actual);
+        }
+        buscar(medio + 1, hasta, inicio, fin, resultado);
+    }
+}
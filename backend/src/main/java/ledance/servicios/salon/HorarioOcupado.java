@@ -0,0 +1,50 @@
+package ledance.servicios.salon;
+
+import ledance.entidades.DiaSemana;
+import ledance.repositorios.DisciplinaHorarioRepositorio.Ocupacion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+
+/**
+ * Bloque semanal que una disciplina ocupa en un salon. {@code duracion} está en
+ * horas, igual que en {@code disciplina_horarios}.
+ */
+public record HorarioOcupado(Long salonId,
+                             Long disciplinaId,
+                             String disciplinaNombre,
+                             DiaSemana diaSemana,
+                             LocalTime horarioInicio,
+                             BigDecimal duracion) {
+
+    static final int MINUTOS_DIA = 24 * 60;
+    static final int MINUTOS_SEMANA = 7 * MINUTOS_DIA;
+
+    static HorarioOcupado de(Ocupacion ocupacion) {
+        return new HorarioOcupado(ocupacion.getSalonId(), ocupacion.getDisciplinaId(),
+                ocupacion.getDisciplinaNombre(), ocupacion.getDiaSemana(),
+                ocupacion.getHorarioInicio(), ocupacion.getDuracion());
+    }
+
+    /** Minuto de la semana (lunes 00:00 = 0) en que empieza el bloque. */
+    int inicioSemanal() {
+        return minutoSemanal(diaSemana, horarioInicio);
+    }
+
+    /** Duración en minutos, redondeada hacia arriba para no subestimar la ocupación. */
+    int minutos() {
+        return minutos(duracion);
+    }
+
+    static int minutoSemanal(DiaSemana dia, LocalTime hora) {
+        return dia.ordinal() * MINUTOS_DIA + hora.toSecondOfDay() / 60;
+    }
+
+    static int minutos(BigDecimal horas) {
+        if (horas == null || horas.signum() <= 0) {
+            throw new IllegalArgumentException("La duracion del horario debe ser mayor a cero");
+        }
+        return horas.multiply(BigDecimal.valueOf(60)).setScale(0, RoundingMode.CEILING).intValueExact();
+    }
+}
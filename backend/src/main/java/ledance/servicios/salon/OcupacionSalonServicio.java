@@ -0,0 +1,141 @@
+package ledance.servicios.salon;
+
+import ledance.dto.salon.response.ConflictoHorarioResponse;
+import ledance.dto.salon.response.DisponibilidadSalonResponse;
+import ledance.dto.salon.response.FranjaLibreResponse;
+import ledance.entidades.DiaSemana;
+import ledance.entidades.Disciplina;
+import ledance.infra.cache.RecursoVersionado;
+import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
+import ledance.repositorios.DisciplinaHorarioRepositorio;
+import ledance.repositorios.SalonRepositorio;
+import ledance.repositorios.VersionCatalogoRepositorio;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Ocupación semanal de los salones.
+ *
+ * <p>Las consultas usan un índice en memoria por salon que se reconstruye
+ * cuando cambia la versión de {@code disciplinas}, {@code disciplina_horarios}
+ * o {@code salones} en {@code versiones_catalogo}; así cualquier instancia ve
+ * las escrituras de las demás sin invalidaciones explícitas.
+ *
+ * <p>La validación al guardar no usa ese índice: bloquea la fila del salon y
+ * lee su ocupación dentro de la transacción de escritura, de modo que dos
+ * altas concurrentes en el mismo salon no pueden superponerse.
+ */
+@Service
+public class OcupacionSalonServicio {
+
+    private record Instantanea(long version, Map<Long, OcupacionSemanal> porSalon) {
+    }
+
+    private final DisciplinaHorarioRepositorio horarios;
+    private final SalonRepositorio salones;
+    private final VersionCatalogoRepositorio versiones;
+    private final AtomicReference<Instantanea> instantanea = new AtomicReference<>();
+
+    public OcupacionSalonServicio(DisciplinaHorarioRepositorio horarios,
+                                  SalonRepositorio salones,
+                                  VersionCatalogoRepositorio versiones) {
+        this.horarios = horarios;
+        this.salones = salones;
+        this.versiones = versiones;
+    }
+
+    /** Bloque propuesto para una disciplina; la duracion está en horas. */
+    public record Bloque(DiaSemana diaSemana, LocalTime horarioInicio, BigDecimal duracion) {
+        public Bloque {
+            if (diaSemana == null || horarioInicio == null || duracion == null) {
+                throw new IllegalArgumentException("Cada horario requiere dia, hora de inicio y duracion");
+            }
+        }
+    }
+
+    /**
+     * Rechaza con 409 los horarios que se superponen con otra disciplina activa
+     * del mismo salon o entre sí. Debe llamarse dentro de la transacción que los
+     * persiste.
+     */
+    @Transactional
+    public void verificarHorarios(Disciplina disciplina, List<Bloque> bloques) {
+        if (disciplina.getSalon() == null || !Boolean.TRUE.equals(disciplina.getActivo()) || bloques.isEmpty()) {
+            return;
+        }
+        Long salonId = disciplina.getSalon().getId();
+        salones.findByIdForUpdate(salonId)
+                .orElseThrow(() -> new IllegalArgumentException("No se encontro el salon con id: " + salonId));
+
+        List<HorarioOcupado> ocupados = new ArrayList<>();
+        horarios.findOcupacionActivaBySalonId(salonId).stream()
+                .map(HorarioOcupado::de)
+                .filter(h -> !Objects.equals(h.disciplinaId(), disciplina.getId()))
+                .forEach(ocupados::add);
+        List<HorarioOcupado> propuestos = bloques.stream()
+                .map(b -> new HorarioOcupado(salonId, disciplina.getId(), disciplina.getNombre(),
+                        b.diaSemana(), b.horarioInicio(), b.duracion()))
+                .toList();
+        ocupados.addAll(propuestos);
+
+        OcupacionSemanal ocupacion = new OcupacionSemanal(ocupados);
+        for (HorarioOcupado propuesto : propuestos) {
+            for (HorarioOcupado conflicto : ocupacion.conflictos(
+                    propuesto.diaSemana(), propuesto.horarioInicio(), propuesto.duracion())) {
+                if (conflicto != propuesto) {
+                    throw new OperacionNoPermitidaException("El horario " + propuesto.diaSemana() + " "
+                            + propuesto.horarioInicio() + " se superpone en el salon con "
+                            + conflicto.disciplinaNombre() + " (" + conflicto.diaSemana() + " "
+                            + conflicto.horarioInicio() + ")");
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DisponibilidadSalonResponse consultarDisponibilidad(Long salonId, DiaSemana dia,
+                                                               LocalTime inicio, BigDecimal duracion) {
+        List<ConflictoHorarioResponse> conflictos = ocupacion(salonId).conflictos(dia, inicio, duracion).stream()
+                .map(h -> new ConflictoHorarioResponse(h.disciplinaId(), h.disciplinaNombre(),
+                        h.diaSemana(), h.horarioInicio(), h.duracion()))
+                .toList();
+        return new DisponibilidadSalonResponse(salonId, conflictos.isEmpty(), conflictos);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FranjaLibreResponse> franjasLibres(Long salonId, BigDecimal duracionMinima,
+                                                   LocalTime apertura, LocalTime cierre) {
+        if (!apertura.isBefore(cierre)) {
+            throw new IllegalArgumentException("La apertura debe ser anterior al cierre");
+        }
+        return ocupacion(salonId).franjasLibres(apertura, cierre, HorarioOcupado.minutos(duracionMinima));
+    }
+
+    private OcupacionSemanal ocupacion(Long salonId) {
+        if (!salones.existsById(salonId)) {
+            throw new IllegalArgumentException("No se encontro el salon con id: " + salonId);
+        }
+        long version = versiones.sumVersionByTablaIn(RecursoVersionado.OCUPACION_SALONES.tablas());
+        Instantanea actual = instantanea.get();
+        if (actual == null || actual.version() != version) {
+            // La versión se lee antes que los datos: si alguien escribe en el medio,
+            // la instantánea queda etiquetada como vieja y se reconstruye en la próxima consulta.
+            Map<Long, OcupacionSemanal> porSalon = horarios.findOcupacionActiva().stream()
+                    .map(HorarioOcupado::de)
+                    .collect(Collectors.groupingBy(HorarioOcupado::salonId,
+                            Collectors.collectingAndThen(Collectors.toList(), OcupacionSemanal::new)));
+            actual = new Instantanea(version, Map.copyOf(porSalon));
+            instantanea.set(actual);
+        }
+        return actual.porSalon().getOrDefault(salonId, OcupacionSemanal.VACIA);
+    }
+}
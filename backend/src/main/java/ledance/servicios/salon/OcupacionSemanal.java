@@ -0,0 +1,82 @@
+package ledance.servicios.salon;
+
+import ledance.dto.salon.response.FranjaLibreResponse;
+import ledance.entidades.DiaSemana;
+import ledance.servicios.salon.ArbolIntervalos.Intervalo;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ocupación semanal de un salon sobre una línea de tiempo de minutos
+ * (lunes 00:00 a domingo 24:00). Un bloque que cruza la medianoche del domingo
+ * se parte en dos para que el lunes temprano también quede ocupado.
+ */
+final class OcupacionSemanal {
+
+    static final OcupacionSemanal VACIA = new OcupacionSemanal(List.of());
+
+    private final ArbolIntervalos<HorarioOcupado> arbol;
+
+    OcupacionSemanal(Collection<HorarioOcupado> horarios) {
+        List<Intervalo<HorarioOcupado>> intervalos = new ArrayList<>();
+        for (HorarioOcupado horario : horarios) {
+            agregar(intervalos, horario.inicioSemanal(), horario.minutos(), horario);
+        }
+        this.arbol = ArbolIntervalos.de(intervalos);
+    }
+
+    List<HorarioOcupado> conflictos(DiaSemana dia, LocalTime inicio, BigDecimal duracion) {
+        List<Intervalo<Void>> consulta = new ArrayList<>();
+        agregar(consulta, HorarioOcupado.minutoSemanal(dia, inicio), HorarioOcupado.minutos(duracion), null);
+        Set<HorarioOcupado> conflictos = new LinkedHashSet<>();
+        for (Intervalo<Void> tramo : consulta) {
+            arbol.superpuestos(tramo.inicio(), tramo.fin()).forEach(i -> conflictos.add(i.valor()));
+        }
+        return List.copyOf(conflictos);
+    }
+
+    /**
+     * Huecos de al menos {@code minimo} minutos dentro de la franja diaria
+     * {@code [apertura, cierre)}, recorriendo la semana de lunes a domingo.
+     */
+    List<FranjaLibreResponse> franjasLibres(LocalTime apertura, LocalTime cierre, int minimo) {
+        List<FranjaLibreResponse> franjas = new ArrayList<>();
+        for (DiaSemana dia : DiaSemana.values()) {
+            int base = HorarioOcupado.minutoSemanal(dia, LocalTime.MIDNIGHT);
+            int desde = base + apertura.toSecondOfDay() / 60;
+            int hasta = base + cierre.toSecondOfDay() / 60;
+            int cursor = desde;
+            for (Intervalo<HorarioOcupado> ocupado : arbol.superpuestos(desde, hasta)) {
+                if (ocupado.inicio() - cursor >= minimo) {
+                    franjas.add(franja(dia, base, cursor, ocupado.inicio()));
+                }
+                cursor = Math.max(cursor, ocupado.fin());
+            }
+            if (hasta - cursor >= minimo) {
+                franjas.add(franja(dia, base, cursor, hasta));
+            }
+        }
+        return franjas;
+    }
+
+    private static FranjaLibreResponse franja(DiaSemana dia, int base, int desde, int hasta) {
+        return new FranjaLibreResponse(dia, LocalTime.ofSecondOfDay((desde - base) * 60L),
+                LocalTime.ofSecondOfDay((hasta - base) * 60L));
+    }
+
+    private static <T> void agregar(List<Intervalo<T>> destino, int inicio, int minutos, T valor) {
+        int fin = inicio + minutos;
+        if (fin <= HorarioOcupado.MINUTOS_SEMANA) {
+            destino.add(new Intervalo<>(inicio, fin, valor));
+            return;
+        }
+        destino.add(new Intervalo<>(inicio, HorarioOcupado.MINUTOS_SEMANA, valor));
+        destino.add(new Intervalo<>(0, Math.min(fin - HorarioOcupado.MINUTOS_SEMANA, inicio), valor));
+    }
+}
@@ -3,12 +3,16 @@ package ledance.servicios.stock;
 import jakarta.persistence.EntityNotFoundException;
 import ledance.dto.cargo.response.CargoResponse;
 import ledance.dto.stock.StockMapper;
+import ledance.dto.stock.request.CarritoStockRequest;
+import ledance.dto.stock.request.ItemCarritoStockRequest;
 import ledance.dto.stock.request.ReversionStockRequest;
 import ledance.dto.stock.request.StockRegistroRequest;
 import ledance.dto.stock.request.VentaStockRequest;
+import ledance.dto.stock.response.CarritoStockResponse;
 import ledance.dto.stock.response.StockResponse;
 import ledance.entidades.Alumno;
 import ledance.entidades.Cargo;
+import ledance.entidades.CarritoStock;
 import ledance.entidades.EstadoCargo;
 import ledance.entidades.EstadoVentaStock;
 import ledance.entidades.MovimientoStock;
@@ -16,11 +20,14 @@ import ledance.entidades.Stock;
 import ledance.entidades.TipoMovimientoStock;
 import ledance.entidades.Usuario;
 import ledance.entidades.VentaStock;
+import ledance.infra.concurrencia.OperacionBloqueo;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
 import ledance.infra.errores.SinStockException;
 import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
 import ledance.infra.idempotencia.RequestHash;
-import ledance.repositorios.AlumnoRepositorio;
+import ledance.infra.persistencia.Reintentable;
 import ledance.repositorios.CargoRepositorio;
+import ledance.repositorios.CarritoStockRepositorio;
 import ledance.repositorios.MovimientoStockRepositorio;
 import ledance.repositorios.StockRepositorio;
 import ledance.repositorios.UsuarioRepositorio;
@@ -37,16 +44,20 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class StockServicio {
     private static final Logger log = LoggerFactory.getLogger(StockServicio.class);
     private final StockRepositorio stocks;
     private final VentaStockRepositorio ventas;
+    private final CarritoStockRepositorio carritos;
     private final MovimientoStockRepositorio movimientos;
-    private final AlumnoRepositorio alumnos;
+    private final OrdenDeBloqueo bloqueos;
     private final UsuarioRepositorio usuarios;
     private final CargoRepositorio cargos;
     private final CargoServicio cargoServicio;
@@ -55,8 +66,9 @@ public class StockServicio {
 
     public StockServicio(StockRepositorio stocks,
                          VentaStockRepositorio ventas,
+                         CarritoStockRepositorio carritos,
                          MovimientoStockRepositorio movimientos,
-                         AlumnoRepositorio alumnos,
+                         OrdenDeBloqueo bloqueos,
                          UsuarioRepositorio usuarios,
                          CargoRepositorio cargos,
                          CargoServicio cargoServicio,
@@ -64,8 +76,9 @@ public class StockServicio {
                          Clock clock) {
         this.stocks = stocks;
         this.ventas = ventas;
+        this.carritos = carritos;
         this.movimientos = movimientos;
-        this.alumnos = alumnos;
+        this.bloqueos = bloqueos;
         this.usuarios = usuarios;
         this.cargos = cargos;
         this.cargoServicio = cargoServicio;
@@ -132,6 +145,7 @@ public class StockServicio {
         stock.setActivo(false);
     }
 
+    @Reintentable
     @Transactional
     public CargoResponse vender(VentaStockRequest request, Usuario principal) {
         String requestHash = RequestHash.sha256("VENDER_STOCK", request.alumnoId().toString(),
@@ -143,7 +157,11 @@ public class StockServicio {
             }
             return cargoServicio.obtener(cargos.findByVentaStockId(previa.getId()).orElseThrow().getId());
         }
-        Alumno alumno = alumnos.findActivoByIdForUpdate(request.alumnoId())
+        // Orden de bloqueo (ver OrdenDeBloqueo): alumno y, al final, la fila de stock. El
+        // alumno serializa la idempotency key y los cargos de esa persona; el producto no se
+        // bloquea con SELECT ... FOR UPDATE para que las ventas de un mismo producto no
+        // esperen a que termine la creación del cargo de la anterior.
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.VENTA_STOCK, request.alumnoId())
                 .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
         previa = ventas.findByIdempotencyKey(request.idempotencyKey()).orElse(null);
         if (previa != null) {
@@ -153,9 +171,10 @@ public class StockServicio {
             return cargoServicio.obtener(cargos.findByVentaStockId(previa.getId()).orElseThrow().getId());
         }
         Usuario usuario = usuarioActivo(principal);
-        Stock stock = stocks.findActivoByIdForUpdate(request.stockId())
+        Stock stock = stocks.findByIdAndActivoTrue(request.stockId())
                 .orElseThrow(() -> new EntityNotFoundException("Stock no encontrado"));
-        if (Boolean.TRUE.equals(stock.getRequiereControlDeStock()) && stock.getStock() < request.cantidad()) {
+        boolean controlaStock = Boolean.TRUE.equals(stock.getRequiereControlDeStock());
+        if (controlaStock && stock.getStock() < request.cantidad()) {
             throw new SinStockException("Stock insuficiente para el producto " + stock.getNombre());
         }
         VentaStock venta = new VentaStock();
@@ -169,9 +188,6 @@ public class StockServicio {
         venta.setRequestHash(requestHash);
         ventas.save(venta);
 
-        if (Boolean.TRUE.equals(stock.getRequiereControlDeStock())) {
-            stock.setStock(stock.getStock() - request.cantidad());
-        }
         MovimientoStock salida = new MovimientoStock();
         salida.setStock(stock);
         salida.setTipo(TipoMovimientoStock.VENTA);
@@ -183,6 +199,11 @@ public class StockServicio {
 
         Cargo cargo = cargoServicio.crearParaVenta(venta,
                 stock.getPrecio().multiply(BigDecimal.valueOf(request.cantidad())), request.fechaVencimiento());
+        // El descuento condicional es la única fuente de verdad de la existencia: la
+        // lectura previa sólo corta temprano el caso obvio.
+        if (controlaStock && bloqueos.descontarStock(OperacionBloqueo.VENTA_STOCK, stock.getId(), request.cantidad()) == 0) {
+            throw new SinStockException("Stock insuficiente para el producto " + stock.getNombre());
+        }
         log.info("Venta de stock registrada id={} stockId={} cantidad={}", venta.getId(), stock.getId(), venta.getCantidad());
         return cargoServicio.obtener(cargo.getId());
     }
@@ -201,10 +222,15 @@ public class StockServicio {
             }
             throw new OperacionNoPermitidaException("La venta ya fue anulada");
         }
+        if (venta.getCarrito() != null) {
+            throw new OperacionNoPermitidaException("La venta pertenece a un carrito; debe anularse el carrito completo");
+        }
         Usuario usuario = usuarioActivo(principal);
-        Stock stock = stocks.findActivoByIdForUpdate(venta.getStock().getId())
+        // Orden de bloqueo: venta, cargo y, como última escritura, la fila de stock.
+        Stock stock = stocks.findByIdAndActivoTrue(venta.getStock().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Stock no encontrado"));
-        Cargo cargo = cargos.findByVentaStockId(ventaId).orElseThrow(() -> new IllegalStateException("Venta sin cargo"));
+        Cargo cargo = bloqueos.cargoDeVenta(OperacionBloqueo.ANULACION_VENTA_STOCK, ventaId)
+                .orElseThrow(() -> new IllegalStateException("Venta sin cargo"));
         if (cargo.getEstado() != EstadoCargo.PENDIENTE) {
             throw new OperacionNoPermitidaException("Primero debe anularse el pago aplicado a la venta");
         }
@@ -220,16 +246,165 @@ public class StockServicio {
         reverso.setIdempotencyKey("reversion-venta:" + request.idempotencyKey());
         reverso.setMotivo(request.motivo());
         movimientos.save(reverso);
-        if (Boolean.TRUE.equals(stock.getRequiereControlDeStock())) {
-            stock.setStock(stock.getStock() + venta.getCantidad());
-        }
         venta.setEstado(EstadoVentaStock.ANULADA);
         venta.setReversalIdempotencyKey(request.idempotencyKey());
         venta.setReversalRequestHash(reversalHash);
         cargo.setEstado(EstadoCargo.ANULADO);
+        if (Boolean.TRUE.equals(stock.getRequiereControlDeStock())) {
+            bloqueos.reponerStock(OperacionBloqueo.ANULACION_VENTA_STOCK, stock.getId(), venta.getCantidad());
+        }
         return cargoServicio.obtener(cargo.getId());
     }
 
+    /**
+     * Vende varios productos a un alumno en una sola transacción. Las líneas del mismo
+     * producto se suman y se genera una venta y un cargo por producto. Como en
+     * {@link #vender}, los descuentos condicionales van al final y en orden de id de
+     * producto, así dos carritos con productos en común no pueden bloquearse mutuamente.
+     */
+    @Transactional
+    public CarritoStockResponse venderCarrito(CarritoStockRequest request, Usuario principal) {
+        Map<Long, Integer> cantidades = new TreeMap<>();
+        for (ItemCarritoStockRequest item : request.items()) {
+            cantidades.merge(item.stockId(), item.cantidad(), Integer::sum);
+        }
+        String requestHash = RequestHash.sha256("VENDER_CARRITO_STOCK", request.alumnoId().toString(),
+                request.fechaVencimiento().toString(), cantidades.toString());
+        CarritoStock previo = carritos.findByIdempotencyKey(request.idempotencyKey()).orElse(null);
+        if (previo != null) {
+            return carritoRepetido(previo, requestHash);
+        }
+        Alumno alumno = bloqueos.alumno(OperacionBloqueo.VENTA_STOCK, request.alumnoId())
+                .orElseThrow(() -> new OperacionNoPermitidaException("El alumno no existe o está inactivo"));
+        previo = carritos.findByIdempotencyKey(request.idempotencyKey()).orElse(null);
+        if (previo != null) {
+            return carritoRepetido(previo, requestHash);
+        }
+        Usuario usuario = usuarioActivo(principal);
+        List<Stock> productos = stocks.findAllById(cantidades.keySet()).stream()
+                .filter(stock -> Boolean.TRUE.equals(stock.getActivo()))
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList();
+        if (productos.size() != cantidades.size()) {
+            throw new EntityNotFoundException("Stock no encontrado");
+        }
+        for (Stock stock : productos) {
+            if (Boolean.TRUE.equals(stock.getRequiereControlDeStock()) && stock.getStock() < cantidades.get(stock.getId())) {
+                throw new SinStockException("Stock insuficiente para el producto " + stock.getNombre());
+            }
+        }
+
+        CarritoStock carrito = new CarritoStock();
+        carrito.setAlumno(alumno);
+        carrito.setFecha(LocalDate.now(clock));
+        carrito.setEstado(EstadoVentaStock.REGISTRADA);
+        carrito.setIdempotencyKey(request.idempotencyKey());
+        carrito.setRequestHash(requestHash);
+        carritos.save(carrito);
+
+        List<VentaStock> lineas = new ArrayList<>();
+        for (Stock stock : productos) {
+            VentaStock venta = new VentaStock();
+            venta.setAlumno(alumno);
+            venta.setStock(stock);
+            venta.setCarrito(carrito);
+            venta.setCantidad(cantidades.get(stock.getId()));
+            venta.setPrecioUnitario(stock.getPrecio());
+            venta.setFecha(carrito.getFecha());
+            venta.setEstado(EstadoVentaStock.REGISTRADA);
+            venta.setIdempotencyKey("carrito-" + carrito.getId() + "-" + stock.getId());
+            venta.setRequestHash(requestHash);
+            lineas.add(venta);
+        }
+        ventas.saveAll(lineas);
+        List<MovimientoStock> salidas = new ArrayList<>();
+        for (VentaStock venta : lineas) {
+            MovimientoStock salida = new MovimientoStock();
+            salida.setStock(venta.getStock());
+            salida.setTipo(TipoMovimientoStock.VENTA);
+            salida.setCantidad(venta.getCantidad());
+            salida.setVentaStock(venta);
+            salida.setUsuario(usuario);
+            salida.setIdempotencyKey("venta:" + venta.getIdempotencyKey());
+            salidas.add(salida);
+        }
+        movimientos.saveAll(salidas);
+        List<Cargo> cargosCarrito = new ArrayList<>();
+        for (VentaStock venta : lineas) {
+            cargosCarrito.add(cargoServicio.crearParaVenta(venta,
+                    venta.getPrecioUnitario().multiply(BigDecimal.valueOf(venta.getCantidad())),
+                    request.fechaVencimiento()));
+        }
+        for (Stock stock : productos) {
+            if (Boolean.TRUE.equals(stock.getRequiereControlDeStock())
+                    && bloqueos.descontarStock(OperacionBloqueo.VENTA_STOCK, stock.getId(),
+                    cantidades.get(stock.getId())) == 0) {
+                throw new SinStockException("Stock insuficiente para el producto " + stock.getNombre());
+            }
+        }
+        log.info("Carrito de stock registrado id={} alumnoId={} productos={}",
+                carrito.getId(), alumno.getId(), lineas.size());
+        return respuesta(carrito, cargosCarrito);
+    }
+
+    /**
+     * Anula todas las ventas de un carrito y repone su stock. Sólo procede si ningún
+     * cargo del carrito tiene pagos aplicados.
+     */
+    @Transactional
+    public CarritoStockResponse revertirCarrito(Long carritoId, ReversionStockRequest request, Usuario principal) {
+        String reversalHash = RequestHash.sha256("REVERTIR_CARRITO_STOCK", carritoId.toString(), request.motivo());
+        CarritoStock carrito = carritos.findByIdForUpdate(carritoId)
+                .orElseThrow(() -> new EntityNotFoundException("Carrito no encontrado"));
+        if (carrito.getEstado() == EstadoVentaStock.ANULADA) {
+            if (request.idempotencyKey().equals(carrito.getReversalIdempotencyKey())) {
+                if (!reversalHash.equals(carrito.getReversalRequestHash())) {
+                    throw new OperacionNoPermitidaException("La idempotency key ya fue usada con otro contenido");
+                }
+                return respuesta(carrito, cargos.findByVentaStockCarritoIdOrderByIdAsc(carritoId));
+            }
+            throw new OperacionNoPermitidaException("El carrito ya fue anulado");
+        }
+        Usuario usuario = usuarioActivo(principal);
+        // Orden de bloqueo: carrito, cargos (por id) y, como últimas escrituras, stock por id de producto.
+        List<Cargo> cargosCarrito = bloqueos.cargosDeCarrito(OperacionBloqueo.ANULACION_VENTA_STOCK, carritoId);
+        if (cargosCarrito.stream().anyMatch(cargo -> cargo.getEstado() != EstadoCargo.PENDIENTE)) {
+            throw new OperacionNoPermitidaException("Primero deben anularse los pagos aplicados al carrito");
+        }
+        List<VentaStock> lineas = ventas.findByCarritoIdOrderByStockIdAsc(carritoId);
+        List<MovimientoStock> reversos = new ArrayList<>();
+        for (VentaStock venta : lineas) {
+            MovimientoStock original = movimientos.findByVentaStockIdAndTipo(venta.getId(), TipoMovimientoStock.VENTA)
+                    .orElseThrow(() -> new IllegalStateException("Venta sin movimiento de stock"));
+            venta.setEstado(EstadoVentaStock.ANULADA);
+            venta.setReversalIdempotencyKey("reversion-" + venta.getIdempotencyKey());
+            venta.setReversalRequestHash(reversalHash);
+            MovimientoStock reverso = new MovimientoStock();
+            reverso.setStock(venta.getStock());
+            reverso.setTipo(TipoMovimientoStock.REVERSO);
+            reverso.setCantidad(venta.getCantidad());
+            reverso.setVentaStock(venta);
+            reverso.setMovimientoRevertido(original);
+            reverso.setUsuario(usuario);
+            reverso.setIdempotencyKey("reversion-venta:" + venta.getReversalIdempotencyKey());
+            reverso.setMotivo(request.motivo());
+            reversos.add(reverso);
+        }
+        movimientos.saveAll(reversos);
+        cargosCarrito.forEach(cargo -> cargo.setEstado(EstadoCargo.ANULADO));
+        carrito.setEstado(EstadoVentaStock.ANULADA);
+        carrito.setReversalIdempotencyKey(request.idempotencyKey());
+        carrito.setReversalRequestHash(reversalHash);
+        for (VentaStock venta : lineas) {
+            if (Boolean.TRUE.equals(venta.getStock().getRequiereControlDeStock())) {
+                bloqueos.reponerStock(OperacionBloqueo.ANULACION_VENTA_STOCK, venta.getStock().getId(),
+                        venta.getCantidad());
+            }
+        }
+        log.info("Carrito de stock anulado id={} productos={}", carritoId, lineas.size());
+        return respuesta(carrito, cargosCarrito);
+    }
+
     @Transactional(readOnly = true)
     public boolean obtenerStockPorNombre(String nombre) {
         return stocks.findByNombreIgnoreCase(nombre.trim()).isPresent();
@@ -243,6 +418,20 @@ public class StockServicio {
                 .orElseThrow(() -> new OperacionNoPermitidaException("El usuario está inactivo"));
     }
 
+    private CarritoStockResponse carritoRepetido(CarritoStock previo, String requestHash) {
+        if (!requestHash.equals(previo.getRequestHash())) {
+            throw new OperacionNoPermitidaException("La idempotency key ya fue usada con otro contenido");
+        }
+        return respuesta(previo, cargos.findByVentaStockCarritoIdOrderByIdAsc(previo.getId()));
+    }
+
+    private CarritoStockResponse respuesta(CarritoStock carrito, List<Cargo> cargosCarrito) {
+        BigDecimal total = cargosCarrito.stream().map(Cargo::getImporteOriginal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new CarritoStockResponse(carrito.getId(), carrito.getAlumno().getId(), carrito.getFecha(),
+                carrito.getEstado().name(), decimal(total),
+                cargosCarrito.stream().map(cargo -> cargoServicio.obtener(cargo.getId())).toList());
+    }
+
     private StockResponse respuesta(Stock stock) {
         return new StockResponse(stock.getId(), stock.getNombre(), decimal(stock.getPrecio()), stock.getStock(),
                 stock.getRequiereControlDeStock(), stock.getActivo(), stock.getCodigoBarras());
@@ -38,6 +38,7 @@ CREATE TABLE public.alumnos (
     otras_notas TEXT,
     activo BOOLEAN NOT NULL DEFAULT TRUE,
     version BIGINT NOT NULL DEFAULT 0,
+    busqueda_notas TSVECTOR GENERATED ALWAYS AS (to_tsvector('spanish', coalesce(otras_notas, ''))) STORED,
     CONSTRAINT ck_alumnos_baja CHECK ((activo AND fecha_de_baja IS NULL) OR NOT activo)
 );
 
@@ -45,6 +46,8 @@ CREATE UNIQUE INDEX uq_alumnos_documento
     ON public.alumnos (documento) WHERE documento IS NOT NULL;
 CREATE INDEX ix_alumnos_activos_nombre
     ON public.alumnos (activo, apellido, nombre);
+CREATE INDEX ix_alumnos_busqueda_notas
+    ON public.alumnos USING GIN (busqueda_notas);
 
 CREATE TABLE public.salones (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -73,11 +76,14 @@ CREATE TABLE public.observaciones_profesores (
     fecha DATE NOT NULL,
     observacion TEXT NOT NULL,
     activa BOOLEAN NOT NULL DEFAULT TRUE,
+    busqueda TSVECTOR GENERATED ALWAYS AS (to_tsvector('spanish', observacion)) STORED,
     CONSTRAINT fk_observaciones_profesor FOREIGN KEY (profesor_id) REFERENCES public.profesores(id) ON DELETE RESTRICT
 );
 
 CREATE INDEX ix_observaciones_profesor_fecha
     ON public.observaciones_profesores (profesor_id, fecha);
+CREATE INDEX ix_observaciones_profesores_busqueda
+    ON public.observaciones_profesores USING GIN (busqueda) WHERE activa;
 
 CREATE TABLE public.bonificaciones (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -185,6 +191,8 @@ CREATE TABLE public.disciplina_horarios (
     CONSTRAINT uq_horarios_disciplina UNIQUE (disciplina_id, dia_semana, horario_inicio),
     CONSTRAINT fk_horarios_disciplina FOREIGN KEY (disciplina_id) REFERENCES public.disciplinas(id) ON DELETE CASCADE
 );
+CREATE INDEX ix_horarios_dia_inicio ON public.disciplina_horarios (dia_semana, horario_inicio);
+CREATE INDEX ix_horarios_inicio ON public.disciplina_horarios (horario_inicio);
 
 CREATE TABLE public.inscripciones (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -265,6 +273,13 @@ CREATE TABLE public.asistencias_alumno_mensual (
     asistencia_mensual_id BIGINT NOT NULL,
     observacion VARCHAR(500),
     activo BOOLEAN NOT NULL DEFAULT TRUE,
+    dias_clase INTEGER NOT NULL DEFAULT 0,
+    dias_presente INTEGER NOT NULL DEFAULT 0,
+    dias_justificado INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT ck_asistencia_alumno_dias CHECK (
+        dias_clase >= 0 AND dias_presente & ~dias_clase = 0 AND dias_justificado & ~dias_clase = 0
+        AND dias_presente & dias_justificado = 0
+    ),
     CONSTRAINT uq_asistencia_alumno_periodo UNIQUE (asistencia_mensual_id, inscripcion_id),
     CONSTRAINT fk_asistencia_alumno_inscripcion FOREIGN KEY (inscripcion_id) REFERENCES public.inscripciones(id) ON DELETE RESTRICT,
     CONSTRAINT fk_asistencia_alumno_mensual FOREIGN KEY (asistencia_mensual_id) REFERENCES public.asistencias_mensuales(id) ON DELETE RESTRICT
@@ -284,10 +299,58 @@ CREATE TABLE public.asistencias_diarias (
     CONSTRAINT fk_asistencias_diarias_alumno FOREIGN KEY (asistencia_alumno_mensual_id) REFERENCES public.asistencias_alumno_mensual(id) ON DELETE RESTRICT
 );
 
+-- Totales de asistencia por alumno, disciplina y mes. Es un derivado de las
+-- máscaras de asistencias_alumno_mensual: lo mantiene un trigger y lo
+-- reconcilia reconstruir_resumen_asistencia().
+CREATE TABLE public.resumenes_asistencia_mensual (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    alumno_id BIGINT NOT NULL,
+    disciplina_id BIGINT NOT NULL,
+    anio INTEGER NOT NULL,
+    mes INTEGER NOT NULL,
+    clases INTEGER NOT NULL DEFAULT 0,
+    presentes INTEGER NOT NULL DEFAULT 0,
+    justificados INTEGER NOT NULL DEFAULT 0,
+    actualizado_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ck_resumenes_asistencia_mes CHECK (mes BETWEEN 1 AND 12),
+    CONSTRAINT ck_resumenes_asistencia_totales CHECK (
+        presentes >= 0 AND justificados >= 0 AND presentes + justificados <= clases
+    ),
+    CONSTRAINT uq_resumenes_asistencia_periodo UNIQUE (alumno_id, disciplina_id, anio, mes),
+    CONSTRAINT fk_resumenes_asistencia_alumno FOREIGN KEY (alumno_id) REFERENCES public.alumnos(id) ON DELETE CASCADE,
+    CONSTRAINT fk_resumenes_asistencia_disciplina FOREIGN KEY (disciplina_id) REFERENCES public.disciplinas(id) ON DELETE CASCADE
+);
+
+CREATE INDEX ix_resumenes_asistencia_disciplina_periodo
+    ON public.resumenes_asistencia_mensual (disciplina_id, anio, mes);
+
+CREATE TABLE public.carritos_stock (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    alumno_id BIGINT NOT NULL,
+    fecha DATE NOT NULL,
+    estado VARCHAR(10) NOT NULL DEFAULT 'REGISTRADA',
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    reversal_idempotency_key VARCHAR(100),
+    reversal_request_hash VARCHAR(64),
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT ck_carritos_stock_estado CHECK (estado IN ('REGISTRADA','ANULADA')),
+    CONSTRAINT ck_carritos_stock_reversion CHECK (
+        (estado = 'REGISTRADA' AND reversal_idempotency_key IS NULL AND reversal_request_hash IS NULL) OR
+        (estado = 'ANULADA' AND reversal_idempotency_key IS NOT NULL AND reversal_request_hash IS NOT NULL)
+    ),
+    CONSTRAINT uq_carritos_stock_idempotency UNIQUE (idempotency_key),
+    CONSTRAINT uq_carritos_stock_reversal UNIQUE (reversal_idempotency_key),
+    CONSTRAINT fk_carritos_stock_alumno FOREIGN KEY (alumno_id) REFERENCES public.alumnos(id) ON DELETE RESTRICT
+);
+
+CREATE INDEX ix_carritos_stock_alumno_fecha ON public.carritos_stock (alumno_id, fecha);
+
 CREATE TABLE public.ventas_stock (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     alumno_id BIGINT NOT NULL,
     stock_id BIGINT NOT NULL,
+    carrito_id BIGINT,
     cantidad INTEGER NOT NULL,
     precio_unitario NUMERIC(19,2) NOT NULL,
     fecha DATE NOT NULL,
@@ -307,11 +370,13 @@ CREATE TABLE public.ventas_stock (
     CONSTRAINT uq_ventas_stock_idempotency UNIQUE (idempotency_key),
     CONSTRAINT uq_ventas_stock_reversal UNIQUE (reversal_idempotency_key),
     CONSTRAINT fk_ventas_stock_alumno FOREIGN KEY (alumno_id) REFERENCES public.alumnos(id) ON DELETE RESTRICT,
-    CONSTRAINT fk_ventas_stock_stock FOREIGN KEY (stock_id) REFERENCES public.stocks(id) ON DELETE RESTRICT
+    CONSTRAINT fk_ventas_stock_stock FOREIGN KEY (stock_id) REFERENCES public.stocks(id) ON DELETE RESTRICT,
+    CONSTRAINT fk_ventas_stock_carrito FOREIGN KEY (carrito_id) REFERENCES public.carritos_stock(id) ON DELETE RESTRICT
 );
 
 CREATE INDEX ix_ventas_stock_alumno_fecha ON public.ventas_stock (alumno_id, fecha);
 CREATE INDEX ix_ventas_stock_stock ON public.ventas_stock (stock_id);
+CREATE INDEX ix_ventas_stock_carrito ON public.ventas_stock (carrito_id);
 
 CREATE TABLE public.cargos (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -595,6 +660,66 @@ CREATE TABLE public.recibos_pendientes (
 CREATE INDEX ix_recibos_pendientes_worker
     ON public.recibos_pendientes (estado, next_attempt_at, lease_until);
 
+CREATE TABLE public.trabajos_reporte (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    parametros TEXT NOT NULL,
+    parametros_hash VARCHAR(64) NOT NULL,
+    estado VARCHAR(12) NOT NULL DEFAULT 'PENDIENTE',
+    progreso INTEGER NOT NULL DEFAULT 0,
+    usuario_id BIGINT NOT NULL,
+    intentos INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claim_token UUID,
+    claimed_at TIMESTAMPTZ,
+    lease_until TIMESTAMPTZ,
+    storage_key VARCHAR(200),
+    content_type VARCHAR(100),
+    nombre_archivo VARCHAR(200),
+    tamanio_bytes BIGINT,
+    ultimo_error VARCHAR(500),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completado_at TIMESTAMPTZ,
+    expira_at TIMESTAMPTZ,
+    CONSTRAINT ck_trabajos_reporte_tipo CHECK (tipo IN ('LIQUIDACION_PDF','ALUMNOS_DISCIPLINA_PDF','MENSUALIDADES_CSV')),
+    CONSTRAINT ck_trabajos_reporte_estado CHECK (estado IN ('PENDIENTE','PROCESANDO','COMPLETADO','ERROR','EXPIRADO')),
+    CONSTRAINT ck_trabajos_reporte_progreso CHECK (progreso BETWEEN 0 AND 100),
+    CONSTRAINT ck_trabajos_reporte_intentos CHECK (intentos >= 0),
+    CONSTRAINT ck_trabajos_reporte_claim CHECK (
+        (estado = 'PROCESANDO' AND claim_token IS NOT NULL AND claimed_at IS NOT NULL AND lease_until IS NOT NULL) OR
+        (estado <> 'PROCESANDO' AND claim_token IS NULL AND claimed_at IS NULL AND lease_until IS NULL)
+    ),
+    CONSTRAINT ck_trabajos_reporte_artefacto CHECK (
+        estado <> 'COMPLETADO' OR (storage_key IS NOT NULL AND content_type IS NOT NULL
+            AND nombre_archivo IS NOT NULL AND completado_at IS NOT NULL AND expira_at IS NOT NULL)
+    ),
+    CONSTRAINT fk_trabajos_reporte_usuario FOREIGN KEY (usuario_id) REFERENCES public.usuarios(id) ON DELETE RESTRICT
+);
+
+CREATE INDEX ix_trabajos_reporte_worker
+    ON public.trabajos_reporte (estado, next_attempt_at, lease_until);
+
+CREATE INDEX ix_trabajos_reporte_cache
+    ON public.trabajos_reporte (parametros_hash, id DESC)
+    WHERE estado IN ('PENDIENTE','PROCESANDO','COMPLETADO');
+
+CREATE INDEX ix_trabajos_reporte_expiracion
+    ON public.trabajos_reporte (expira_at)
+    WHERE estado = 'COMPLETADO';
+
+CREATE INDEX ix_trabajos_reporte_usuario
+    ON public.trabajos_reporte (usuario_id);
+
+CREATE TABLE public.scheduler_locks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(80) NOT NULL,
+    lease_until TIMESTAMPTZ NOT NULL,
+    locked_at TIMESTAMPTZ NOT NULL,
+    locked_by VARCHAR(120) NOT NULL,
+    CONSTRAINT uq_scheduler_locks_nombre UNIQUE (nombre),
+    CONSTRAINT ck_scheduler_locks_lease CHECK (lease_until >= locked_at)
+);
+
 CREATE TABLE public.notificaciones (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     usuario_id BIGINT,
@@ -611,5 +736,207 @@ CREATE TABLE public.notificaciones (
 CREATE INDEX ix_notificaciones_usuario_leida
     ON public.notificaciones (usuario_id, leida, fecha_creacion DESC);
 
+-- Contadores de cambio por tabla para ETag de catálogos. Se incrementan por
+-- sentencia y se hacen visibles en el mismo commit que los datos. `stocks` no
+-- participa: cada venta modifica la cantidad y un contador compartido
+-- serializaría las ventas; su versión se deriva de `stocks.version`.
+CREATE TABLE public.versiones_catalogo (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tabla VARCHAR(63) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    actualizado_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_versiones_catalogo_tabla UNIQUE (tabla)
+);
+
+INSERT INTO public.versiones_catalogo (tabla)
+VALUES ('bonificaciones'), ('conceptos'), ('disciplina_horarios'), ('disciplinas'), ('metodo_pagos'),
+       ('profesores'), ('recargos'), ('salones'), ('sub_conceptos');
+
+CREATE FUNCTION public.incrementar_version_catalogo() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE public.versiones_catalogo
+    SET version = version + 1, actualizado_at = CURRENT_TIMESTAMP
+    WHERE tabla = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tg_bonificaciones_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.bonificaciones
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_conceptos_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.conceptos
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_disciplina_horarios_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.disciplina_horarios
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_disciplinas_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.disciplinas
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_metodo_pagos_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.metodo_pagos
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_profesores_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.profesores
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_recargos_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.recargos
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_salones_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.salones
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+CREATE TRIGGER tg_sub_conceptos_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.sub_conceptos
+    FOR EACH STATEMENT EXECUTE FUNCTION public.incrementar_version_catalogo();
+
+-- Máscaras de asistencia: bit (día - 1) de cada registro mensual. dias_clase
+-- son las clases vigentes del mes; dias_presente y dias_justificado, las que
+-- tienen ese estado. Las mantiene este trigger a partir de asistencias_diarias.
+CREATE FUNCTION public.actualizar_mascaras_asistencia() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+DECLARE
+    bit_viejo INTEGER;
+    bit_nuevo INTEGER;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        bit_viejo := 1 << (extract(DAY FROM OLD.fecha)::INTEGER - 1);
+        UPDATE public.asistencias_alumno_mensual
+        SET dias_clase = dias_clase & ~bit_viejo,
+            dias_presente = dias_presente & ~bit_viejo,
+            dias_justificado = dias_justificado & ~bit_viejo
+        WHERE id = OLD.asistencia_alumno_mensual_id;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.vigente THEN
+        bit_nuevo := 1 << (extract(DAY FROM NEW.fecha)::INTEGER - 1);
+        UPDATE public.asistencias_alumno_mensual
+        SET dias_clase = dias_clase | bit_nuevo,
+            dias_presente = dias_presente | CASE WHEN NEW.estado = 'PRESENTE' THEN bit_nuevo ELSE 0 END,
+            dias_justificado = dias_justificado | CASE WHEN NEW.estado = 'JUSTIFICADO' THEN bit_nuevo ELSE 0 END
+        WHERE id = NEW.asistencia_alumno_mensual_id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tg_asistencias_diarias_mascaras
+    AFTER INSERT OR DELETE ON public.asistencias_diarias
+    FOR EACH ROW EXECUTE FUNCTION public.actualizar_mascaras_asistencia();
+CREATE TRIGGER tg_asistencias_diarias_mascaras_cambio
+    AFTER UPDATE OF asistencia_alumno_mensual_id, fecha, estado, vigente ON public.asistencias_diarias
+    FOR EACH ROW
+    WHEN ((OLD.asistencia_alumno_mensual_id, OLD.fecha, OLD.estado, OLD.vigente)
+          IS DISTINCT FROM (NEW.asistencia_alumno_mensual_id, NEW.fecha, NEW.estado, NEW.vigente))
+    EXECUTE FUNCTION public.actualizar_mascaras_asistencia();
+
+-- Recalcula las máscaras desde las filas. Para cargas masivas con el trigger
+-- deshabilitado o bases que vienen del modelo por filas; devuelve cuántos
+-- registros cambió.
+CREATE FUNCTION public.reconstruir_mascaras_asistencia() RETURNS BIGINT
+    LANGUAGE sql AS $$
+    WITH mascaras AS (
+        SELECT m.id,
+               coalesce(bit_or(1 << (extract(DAY FROM d.fecha)::INTEGER - 1))
+                   FILTER (WHERE d.vigente), 0) AS clase,
+               coalesce(bit_or(1 << (extract(DAY FROM d.fecha)::INTEGER - 1))
+                   FILTER (WHERE d.vigente AND d.estado = 'PRESENTE'), 0) AS presente,
+               coalesce(bit_or(1 << (extract(DAY FROM d.fecha)::INTEGER - 1))
+                   FILTER (WHERE d.vigente AND d.estado = 'JUSTIFICADO'), 0) AS justificado
+        FROM public.asistencias_alumno_mensual m
+        LEFT JOIN public.asistencias_diarias d ON d.asistencia_alumno_mensual_id = m.id
+        GROUP BY m.id
+    ), cambiados AS (
+        UPDATE public.asistencias_alumno_mensual a
+        SET dias_clase = x.clase, dias_presente = x.presente, dias_justificado = x.justificado
+        FROM mascaras x
+        WHERE a.id = x.id
+          AND (a.dias_clase, a.dias_presente, a.dias_justificado) IS DISTINCT FROM (x.clase, x.presente, x.justificado)
+        RETURNING 1
+    )
+    SELECT count(*) FROM cambiados;
+$$;
+
+-- Suma al resumen mensual la diferencia entre las máscaras viejas y las
+-- nuevas de cada registro. Corre dentro de la misma transacción que la
+-- escritura de asistencia que cambió la máscara.
+CREATE FUNCTION public.acumular_resumen_asistencia() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE public.resumenes_asistencia_mensual r
+        SET clases = r.clases - bit_count(CAST(OLD.dias_clase AS BIT(32))),
+            presentes = r.presentes - bit_count(CAST(OLD.dias_presente AS BIT(32))),
+            justificados = r.justificados - bit_count(CAST(OLD.dias_justificado AS BIT(32))),
+            actualizado_at = CURRENT_TIMESTAMP
+        FROM public.asistencias_mensuales p, public.inscripciones i
+        WHERE p.id = OLD.asistencia_mensual_id AND i.id = OLD.inscripcion_id
+          AND r.alumno_id = i.alumno_id AND r.disciplina_id = p.disciplina_id
+          AND r.anio = p.anio AND r.mes = p.mes;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        INSERT INTO public.resumenes_asistencia_mensual AS r
+            (alumno_id, disciplina_id, anio, mes, clases, presentes, justificados)
+        SELECT i.alumno_id, p.disciplina_id, p.anio, p.mes,
+               bit_count(CAST(NEW.dias_clase AS BIT(32))),
+               bit_count(CAST(NEW.dias_presente AS BIT(32))),
+               bit_count(CAST(NEW.dias_justificado AS BIT(32)))
+        FROM public.asistencias_mensuales p, public.inscripciones i
+        WHERE p.id = NEW.asistencia_mensual_id AND i.id = NEW.inscripcion_id
+        ON CONFLICT (alumno_id, disciplina_id, anio, mes) DO UPDATE
+        SET clases = r.clases + EXCLUDED.clases,
+            presentes = r.presentes + EXCLUDED.presentes,
+            justificados = r.justificados + EXCLUDED.justificados,
+            actualizado_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tg_asistencias_alumno_resumen
+    AFTER INSERT OR DELETE ON public.asistencias_alumno_mensual
+    FOR EACH ROW EXECUTE FUNCTION public.acumular_resumen_asistencia();
+CREATE TRIGGER tg_asistencias_alumno_resumen_cambio
+    AFTER UPDATE OF inscripcion_id, asistencia_mensual_id, dias_clase, dias_presente, dias_justificado
+    ON public.asistencias_alumno_mensual
+    FOR EACH ROW
+    WHEN ((OLD.inscripcion_id, OLD.asistencia_mensual_id, OLD.dias_clase, OLD.dias_presente, OLD.dias_justificado)
+          IS DISTINCT FROM (NEW.inscripcion_id, NEW.asistencia_mensual_id, NEW.dias_clase, NEW.dias_presente,
+                            NEW.dias_justificado))
+    EXECUTE FUNCTION public.acumular_resumen_asistencia();
+
+-- Recalcula el resumen desde las máscaras y borra los períodos que ya no
+-- tienen registros. La corre el generador nocturno de asistencias y la carga
+-- masiva; devuelve cuántas filas cambió.
+CREATE FUNCTION public.reconstruir_resumen_asistencia() RETURNS BIGINT
+    LANGUAGE sql AS $$
+    WITH esperado AS (
+        SELECT i.alumno_id, p.disciplina_id, p.anio, p.mes,
+               CAST(sum(bit_count(CAST(m.dias_clase AS BIT(32)))) AS INTEGER) AS clases,
+               CAST(sum(bit_count(CAST(m.dias_presente AS BIT(32)))) AS INTEGER) AS presentes,
+               CAST(sum(bit_count(CAST(m.dias_justificado AS BIT(32)))) AS INTEGER) AS justificados
+        FROM public.asistencias_alumno_mensual m
+        JOIN public.asistencias_mensuales p ON p.id = m.asistencia_mensual_id
+        JOIN public.inscripciones i ON i.id = m.inscripcion_id
+        GROUP BY i.alumno_id, p.disciplina_id, p.anio, p.mes
+    ), borrados AS (
+        DELETE FROM public.resumenes_asistencia_mensual r
+        WHERE NOT EXISTS (SELECT 1 FROM esperado e
+                          WHERE e.alumno_id = r.alumno_id AND e.disciplina_id = r.disciplina_id
+                            AND e.anio = r.anio AND e.mes = r.mes)
+        RETURNING 1
+    ), cambiados AS (
+        INSERT INTO public.resumenes_asistencia_mensual AS r
+            (alumno_id, disciplina_id, anio, mes, clases, presentes, justificados)
+        SELECT alumno_id, disciplina_id, anio, mes, clases, presentes, justificados FROM esperado
+        ON CONFLICT (alumno_id, disciplina_id, anio, mes) DO UPDATE
+        SET clases = EXCLUDED.clases, presentes = EXCLUDED.presentes, justificados = EXCLUDED.justificados,
+            actualizado_at = CURRENT_TIMESTAMP
+        WHERE (r.clases, r.presentes, r.justificados)
+              IS DISTINCT FROM (EXCLUDED.clases, EXCLUDED.presentes, EXCLUDED.justificados)
+        RETURNING 1
+    )
+    SELECT (SELECT count(*) FROM borrados) + (SELECT count(*) FROM cambiados);
+$$;
+
 INSERT INTO public.roles (descripcion, activo)
 VALUES ('ADMINISTRADOR', TRUE);
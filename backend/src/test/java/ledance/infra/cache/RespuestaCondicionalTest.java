@@ -0,0 +1,39 @@
+package ledance.infra.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.info.BuildProperties;
+
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RespuestaCondicionalTest {
+
+    @Test
+    void laRevisionConfiguradaGanaSobreElBuildInfo() {
+        assertThat(RespuestaCondicional.revision("abc123", build("1.0", 1_000L), true)).isEqualTo("abc123");
+    }
+
+    @Test
+    void sinRevisionConfiguradaUsaElBuildInfoDelArtefacto() {
+        assertThat(RespuestaCondicional.revision("", build("1.0", 1_000L), true)).isEqualTo("1.0.1000");
+        assertThat(RespuestaCondicional.revision(" ", build("1.0", 1_000L), false))
+                .isEqualTo(RespuestaCondicional.revision(null, build("1.0", 1_000L), false));
+    }
+
+    @Test
+    void prodSinRevisionNiBuildInfoNoArranca() {
+        assertThatThrownBy(() -> RespuestaCondicional.revision("", null, true))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(RespuestaCondicional.revision("", null, false)).isNotBlank();
+    }
+
+    private static BuildProperties build(String version, long epochMilli) {
+        Properties properties = new Properties();
+        properties.setProperty("version", version);
+        properties.setProperty("time", Instant.ofEpochMilli(epochMilli).toString());
+        return new BuildProperties(properties);
+    }
+}
@@ -0,0 +1,237 @@
+package ledance.infra.concurrencia;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ledance.dto.credito.request.CreditoAjusteRequest;
+import ledance.dto.credito.request.CreditoConsumoRequest;
+import ledance.dto.pago.request.AplicacionPagoRequest;
+import ledance.dto.pago.request.PagoRegistroRequest;
+import ledance.dto.stock.request.VentaStockRequest;
+import ledance.entidades.Usuario;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.repositorios.UsuarioRepositorio;
+import ledance.servicios.credito.CreditoServicio;
+import ledance.servicios.pago.PagoServicio;
+import ledance.servicios.stock.StockServicio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Contención sobre la cuenta de un único alumno: 16 cajas mezclan pagos,
+ * consumos de crédito y ventas de stock contra la misma fila de alumno. Deja
+ * en el log el throughput y la espera por bloqueo de cada operación, y
+ * verifica que no se pierde ni se duplica nada.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BloqueosAlumnoPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BloqueosAlumnoPostgreSqlTest.class);
+    private static final int CAJAS = 16;
+    private static final int OPERACIONES_POR_CAJA = 30;
+    private static final int EXISTENCIA = 10_000;
+    private static final LocalDate VENCIMIENTO = LocalDate.of(2026, 8, 31);
+
+    @Autowired private PagoServicio pagos;
+    @Autowired private CreditoServicio creditos;
+    @Autowired private StockServicio stock;
+    @Autowired private OrdenDeBloqueo bloqueos;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private MeterRegistry registry;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbc;
+
+    private record Escenario(Long alumno, Long metodo, Long concepto, Long producto, Usuario usuario) {
+    }
+
+    @Test
+    @Timeout(180)
+    void dieciseisCajasSobreElMismoAlumnoNoPierdenOperaciones() throws Exception {
+        Escenario escenario = escenario();
+        creditos.ajustar(new CreditoAjusteRequest(escenario.alumno(), "100000.00", "CREDITO",
+                "Saldo inicial de la prueba", "credito-inicial-" + UUID.randomUUID()), escenario.usuario());
+        // Cada caja alterna pago (dos cargos, pedidos en orden inverso), consumo de crédito y venta.
+        List<List<Long>> cargosPorCaja = new ArrayList<>();
+        for (int caja = 0; caja < CAJAS; caja++) {
+            List<Long> propios = new ArrayList<>();
+            for (int i = 0; i < OPERACIONES_POR_CAJA * 2; i++) {
+                propios.add(cargo(escenario, new BigDecimal("5.00")));
+            }
+            cargosPorCaja.add(propios);
+        }
+        Map<String, Timer> antes = esperas();
+
+        AtomicInteger pagados = new AtomicInteger();
+        AtomicInteger consumos = new AtomicInteger();
+        AtomicInteger ventas = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CAJAS);
+        List<Future<?>> cajas = new ArrayList<>();
+        for (int caja = 0; caja < CAJAS; caja++) {
+            int numero = caja;
+            List<Long> propios = cargosPorCaja.get(caja);
+            cajas.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERACIONES_POR_CAJA; i++) {
+                    Long primero = propios.get(2 * i);
+                    Long segundo = propios.get(2 * i + 1);
+                    String key = "caja-" + numero + "-" + i + "-" + escenario.alumno();
+                    switch ((numero + i) % 3) {
+                        case 0 -> {
+                            pagos.registrarPago(new PagoRegistroRequest(escenario.alumno(), escenario.metodo(),
+                                    "10.00", key, null, List.of(new AplicacionPagoRequest(segundo, "5.00"),
+                                    new AplicacionPagoRequest(primero, "5.00")), false), escenario.usuario());
+                            pagados.incrementAndGet();
+                        }
+                        case 1 -> {
+                            creditos.consumir(new CreditoConsumoRequest(escenario.alumno(), primero, "5.00", key),
+                                    escenario.usuario());
+                            consumos.incrementAndGet();
+                        }
+                        default -> {
+                            stock.vender(new VentaStockRequest(escenario.alumno(), escenario.producto(), 1,
+                                    VENCIMIENTO, key), escenario.usuario());
+                            ventas.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> caja : cajas) {
+                caja.get(150, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        int total = pagados.get() + consumos.get() + ventas.get();
+        log.info("{} cajas sobre un alumno: {} operaciones en {} ms ({} op/s)", CAJAS, total,
+                TimeUnit.NANOSECONDS.toMillis(nanos), total * 1_000_000_000L / Math.max(nanos, 1));
+        Map<String, Timer> despues = esperas();
+        despues.forEach((clave, timer) -> {
+            Timer previo = antes.get(clave);
+            long cuenta = timer.count() - (previo == null ? 0 : previo.count());
+            double ms = timer.totalTime(TimeUnit.MILLISECONDS) - (previo == null ? 0 : previo.totalTime(TimeUnit.MILLISECONDS));
+            if (cuenta > 0) {
+                log.info("Espera por bloqueo {}: {} bloqueos, {} ms en total, media {} ms, máx. {} ms", clave, cuenta,
+                        Math.round(ms), Math.round(ms / cuenta), Math.round(timer.max(TimeUnit.MILLISECONDS)));
+            }
+        });
+
+        assertThat(total).isEqualTo(CAJAS * OPERACIONES_POR_CAJA);
+        assertThat(jdbc.queryForObject("SELECT cantidad_actual FROM stocks WHERE id = ?", Integer.class,
+                escenario.producto())).isEqualTo(EXISTENCIA - ventas.get());
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM cargos WHERE alumno_id = ? AND tipo = 'CONCEPTO' AND estado = 'PAGADO'
+                """, Integer.class, escenario.alumno())).isEqualTo(pagados.get() * 2 + consumos.get());
+        assertThat(creditos.saldo(escenario.alumno()))
+                .isEqualTo(new BigDecimal("100000.00").subtract(new BigDecimal("5.00").multiply(
+                        BigDecimal.valueOf(consumos.get()))).toPlainString());
+        assertThat(despues).containsKeys("pago/alumno", "pago/cargos", "credito/alumno", "credito/cargos",
+                "venta-stock/alumno", "venta-stock/stock");
+    }
+
+    @Test
+    void rechazaBloqueosFueraDeOrdenYFijaElLockTimeoutDeLaOperacion() {
+        Escenario escenario = escenario();
+        Long menor = cargo(escenario, new BigDecimal("5.00"));
+        Long mayor = cargo(escenario, new BigDecimal("5.00"));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            bloqueos.alumno(OperacionBloqueo.PAGO, escenario.alumno()).orElseThrow();
+            assertThat(jdbc.queryForObject("SHOW lock_timeout", String.class)).isEqualTo("3s");
+            bloqueos.cargo(OperacionBloqueo.PAGO, mayor).orElseThrow();
+            // Volver a pedir lo que ya se tiene no espera y está permitido.
+            bloqueos.alumno(OperacionBloqueo.PAGO, escenario.alumno()).orElseThrow();
+            assertThatThrownBy(() -> bloqueos.cargo(OperacionBloqueo.PAGO, menor))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Orden de bloqueo violado");
+            status.setRollbackOnly();
+        });
+        tx.executeWithoutResult(status -> {
+            bloqueos.descontarStock(OperacionBloqueo.VENTA_STOCK, escenario.producto(), 1);
+            assertThatThrownBy(() -> bloqueos.cargos(OperacionBloqueo.VENTA_STOCK, List.of(menor, mayor)))
+                    .isInstanceOf(IllegalStateException.class);
+            status.setRollbackOnly();
+        });
+        assertThat(jdbc.queryForObject("SHOW lock_timeout", String.class)).isNotEqualTo("3s");
+        assertThatThrownBy(() -> bloqueos.alumno(OperacionBloqueo.PAGO, escenario.alumno()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("requieren una transacción");
+    }
+
+    /** Timers de espera por {@code operacion/recurso}, sumando los tags de resultado. */
+    private Map<String, Timer> esperas() {
+        Map<String, Timer> esperas = new TreeMap<>();
+        for (Timer timer : registry.find(OrdenDeBloqueo.ESPERA).tag("resultado", "ok").timers()) {
+            esperas.put(timer.getId().getTag("operacion") + "/" + timer.getId().getTag("recurso"), timer);
+        }
+        return esperas;
+    }
+
+    private Escenario escenario() {
+        String suffix = UUID.randomUUID().toString();
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Usuario usuario = usuarios.findById(jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, Long.class, "bloqueos-" + suffix, role)).orElseThrow();
+        Long alumno = jdbc.queryForObject("""
+                INSERT INTO alumnos(nombre, fecha_incorporacion, activo)
+                VALUES (?, DATE '2026-01-01', true) RETURNING id
+                """, Long.class, "Alumno bloqueos " + suffix);
+        Long metodo = jdbc.queryForObject("""
+                INSERT INTO metodo_pagos (descripcion, activo, recargo) VALUES (?, true, 0) RETURNING id
+                """, Long.class, "Método " + suffix);
+        Long sub = jdbc.queryForObject("""
+                INSERT INTO sub_conceptos (descripcion, activo) VALUES (?, true) RETURNING id
+                """, Long.class, "Sub " + suffix);
+        Long concepto = jdbc.queryForObject("""
+                INSERT INTO conceptos (descripcion, precio, sub_concepto_id, activo)
+                VALUES (?, 1, ?, true) RETURNING id
+                """, Long.class, "Concepto " + suffix, sub);
+        Long producto = jdbc.queryForObject("""
+                INSERT INTO stocks(nombre, precio, cantidad_actual, requiere_control_de_stock, activo)
+                VALUES (?, 100, ?, true, true) RETURNING id
+                """, Long.class, "Medias " + suffix, EXISTENCIA);
+        return new Escenario(alumno, metodo, concepto, producto, usuario);
+    }
+
+    private Long cargo(Escenario escenario, BigDecimal importe) {
+        return jdbc.queryForObject("""
+                INSERT INTO cargos (alumno_id, tipo, descripcion, importe_original, fecha_emision,
+                                    fecha_vencimiento, estado, concepto_id)
+                VALUES (?, 'CONCEPTO', 'Cargo de prueba', ?, DATE '2026-06-30', DATE '2026-07-10', 'PENDIENTE', ?)
+                RETURNING id
+                """, Long.class, escenario.alumno(), importe, escenario.concepto());
+    }
+}
@@ -0,0 +1,119 @@
+package ledance.infra.concurrencia;
+
+import ledance.infra.errores.TratadorDeErrores.AdmisionRechazadaException;
+import ledance.infra.errores.TratadorDeErrores.ServicioSaturadoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadInterceptorTest {
+
+    @Admision(ClaseAdmision.PRIORITARIA)
+    static class Cobros {
+        public void cobrar() {
+        }
+
+        @Admision(ClaseAdmision.PESADA)
+        public void exportar() {
+        }
+    }
+
+    static class Reportes {
+        @Admision(ClaseAdmision.PESADA)
+        public void exportar() {
+        }
+
+        public void listar() {
+        }
+    }
+
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor(new BulkheadBaseDeDatos(4, 2),
+            new CupoPesadas(1, 0, Duration.ofMillis(10)), new BulkheadProperties(Duration.ofMillis(10), 1),
+            Duration.ofSeconds(7), true);
+
+    @Test
+    void laAnotacionDelMetodoPisaALaDelControlador() throws Exception {
+        assertThat(BulkheadInterceptor.clase(handler(new Cobros(), "cobrar"))).isEqualTo(ClaseAdmision.PRIORITARIA);
+        assertThat(BulkheadInterceptor.clase(handler(new Cobros(), "exportar"))).isEqualTo(ClaseAdmision.PESADA);
+        assertThat(BulkheadInterceptor.clase(handler(new Reportes(), "listar"))).isEqualTo(ClaseAdmision.GENERAL);
+        assertThat(BulkheadInterceptor.clase(new Object())).isEqualTo(ClaseAdmision.GENERAL);
+    }
+
+    @Test
+    void laSegundaPesadaRecibe429YLiberarDevuelveElCupo() throws Exception {
+        MockHttpServletRequest primera = new MockHttpServletRequest();
+        HandlerMethod exportar = handler(new Reportes(), "exportar");
+        interceptor.preHandle(primera, new MockHttpServletResponse(), exportar);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                exportar))
+                .isInstanceOfSatisfying(AdmisionRechazadaException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7)));
+        assertThat(interceptor.bulkhead().enUso()).isEqualTo(1);
+
+        interceptor.afterCompletion(primera, new MockHttpServletResponse(), exportar, null);
+        assertThat(interceptor.pesadas().enUso()).isZero();
+        assertThat(interceptor.bulkhead().enUso()).isZero();
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), exportar);
+    }
+
+    @Test
+    void lasGeneralesNoOcupanLaReservaDeCobros() throws Exception {
+        HandlerMethod listar = handler(new Reportes(), "listar");
+        HandlerMethod cobrar = handler(new Cobros(), "cobrar");
+        List<MockHttpServletRequest> generales = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            interceptor.preHandle(request, new MockHttpServletResponse(), listar);
+            generales.add(request);
+        }
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                listar)).isInstanceOf(ServicioSaturadoException.class);
+
+        MockHttpServletRequest cobro = new MockHttpServletRequest();
+        interceptor.preHandle(cobro, new MockHttpServletResponse(), cobrar);
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), cobrar);
+        assertThat(interceptor.bulkhead().enUso()).isEqualTo(4);
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                cobrar)).isInstanceOf(ServicioSaturadoException.class);
+
+        interceptor.afterCompletion(cobro, new MockHttpServletResponse(), cobrar, null);
+        interceptor.afterCompletion(generales.getFirst(), new MockHttpServletResponse(), listar, null);
+        assertThat(interceptor.bulkhead().enUso()).isEqualTo(2);
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), listar);
+    }
+
+    @Test
+    void conHilosDePlataformaSoloLimitaLasPesadas() throws Exception {
+        BulkheadInterceptor plataforma = new BulkheadInterceptor(new BulkheadBaseDeDatos(1, 0),
+                new CupoPesadas(1, 0, Duration.ofMillis(10)), new BulkheadProperties(Duration.ofMillis(10), 1),
+                Duration.ofSeconds(7), false);
+        HandlerMethod listar = handler(new Reportes(), "listar");
+        HandlerMethod exportar = handler(new Reportes(), "exportar");
+        for (int i = 0; i < 3; i++) {
+            assertThat(plataforma.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), listar))
+                    .isTrue();
+        }
+        assertThat(plataforma.bulkhead().enUso()).isZero();
+
+        MockHttpServletRequest pesada = new MockHttpServletRequest();
+        plataforma.preHandle(pesada, new MockHttpServletResponse(), exportar);
+        assertThatThrownBy(() -> plataforma.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                exportar)).isInstanceOf(AdmisionRechazadaException.class);
+        plataforma.afterCompletion(pesada, new MockHttpServletResponse(), exportar, null);
+        assertThat(plataforma.pesadas().enUso()).isZero();
+        assertThat(plataforma.bulkhead().enUso()).isZero();
+    }
+
+    private static HandlerMethod handler(Object controlador, String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(controlador, controlador.getClass().getMethod(metodo));
+    }
+}
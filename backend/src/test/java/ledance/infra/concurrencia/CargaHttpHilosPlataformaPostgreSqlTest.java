@@ -0,0 +1,16 @@
+package ledance.infra.concurrencia;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "app.bulkhead.max-wait=10s"
+})
+class CargaHttpHilosPlataformaPostgreSqlTest extends CargaHttpPostgreSqlTest {
+
+    @Override
+    protected String modo() {
+        return "plataforma";
+    }
+}
@@ -0,0 +1,120 @@
+package ledance.infra.concurrencia;
+
+import ledance.entidades.Usuario;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.infra.seguridad.TokenService;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga concurrente sobre un endpoint de pagos y uno de reportes con un pool de
+ * cinco conexiones. Cada subclase fija el modo de hilos; ambas dejan en el log
+ * p50, p99 y throughput para compararlos en la misma máquina.
+ */
+abstract class CargaHttpPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaHttpPostgreSqlTest.class);
+    private static final int CLIENTES = 64;
+    private static final int REQUESTS_POR_CLIENTE = 25;
+
+    @LocalServerPort private int port;
+    @Autowired private TokenService tokens;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+
+    protected abstract String modo();
+
+    @Test
+    @Timeout(180)
+    void pagosYReportesBajoCargaNoFallanPorFaltaDeConexiones() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Usuario usuario = usuarios.findById(jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, Long.class, "carga-" + suffix, role)).orElseThrow();
+        Long alumno = jdbc.queryForObject("""
+                INSERT INTO alumnos(nombre, fecha_incorporacion, activo)
+                VALUES (?, DATE '2026-01-01', true) RETURNING id
+                """, Long.class, "Alumno carga " + suffix);
+        String token = "Bearer " + tokens.generarAccessToken(usuario);
+        List<URI> endpoints = List.of(
+                URI.create("http://localhost:" + port + "/api/pagos/alumno/" + alumno),
+                URI.create("http://localhost:" + port + "/api/reportes/mensualidades?desde=2026-01-01&hasta=2026-12-31"));
+
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        Map<Integer, AtomicInteger> estados = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clientes = new ArrayList<>();
+        long inicio;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(executor)
+                     .connectTimeout(Duration.ofSeconds(10)).build()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                int cliente = c;
+                clientes.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_POR_CLIENTE; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(endpoints.get((cliente + i) % endpoints.size()))
+                                .header("Authorization", token).GET().build();
+                        long t0 = System.nanoTime();
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencias.add(System.nanoTime() - t0);
+                        estados.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            inicio = System.nanoTime();
+            start.countDown();
+            for (Future<?> cliente : clientes) {
+                cliente.get(150, TimeUnit.SECONDS);
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        log.info("modo={} requests={} estados={} p50={}ms p99={}ms throughput={} req/s",
+                modo(), ordenadas.size(), estados,
+                TimeUnit.NANOSECONDS.toMillis(percentil(ordenadas, 50)),
+                TimeUnit.NANOSECONDS.toMillis(percentil(ordenadas, 99)),
+                ordenadas.size() * 1_000_000_000L / Math.max(nanos, 1));
+
+        assertThat(ordenadas).hasSize(CLIENTES * REQUESTS_POR_CLIENTE);
+        assertThat(estados.keySet()).isSubsetOf(200, 503);
+        assertThat(estados.getOrDefault(200, new AtomicInteger()).get())
+                .isGreaterThanOrEqualTo(CLIENTES * REQUESTS_POR_CLIENTE * 95 / 100);
+    }
+
+    private static long percentil(List<Long> ordenadas, int percentil) {
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.size()) - 1;
+        return ordenadas.get(Math.max(indice, 0));
+    }
+}
@@ -0,0 +1,117 @@
+package ledance.infra.concurrencia;
+
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.repositorios.BloqueoSchedulerRepositorio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LiderazgoSchedulerPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private BloqueoSchedulerRepositorio bloqueos;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    @Timeout(30)
+    void ochoNodosDisparandoALaVezEjecutanLaTareaUnaSolaVez() throws Exception {
+        String tarea = "mensualidades-" + UUID.randomUUID();
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> nodos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            LiderazgoScheduler nodo = nodo("nodo-" + i);
+            nodos.add(executor.submit(() -> {
+                start.await();
+                return nodo.ejecutar(tarea, Duration.ofHours(1), () -> {
+                    ejecuciones.incrementAndGet();
+                    dormir(200);
+                });
+            }));
+        }
+        start.countDown();
+        int ganadores = 0;
+        try {
+            for (Future<Boolean> nodo : nodos) {
+                if (nodo.get(20, TimeUnit.SECONDS)) ganadores++;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ejecuciones.get()).isEqualTo(1);
+        assertThat(ganadores).isEqualTo(1);
+    }
+
+    @Test
+    void leaseRetieneElDisparoDeNodosAtrasadosYVenceSiElDuenoMuere() {
+        String tarea = "recargos-" + UUID.randomUUID();
+        AtomicInteger ejecuciones = new AtomicInteger();
+        LiderazgoScheduler a = nodo("a");
+
+        assertThat(a.ejecutar(tarea, Duration.ofHours(1), () -> {
+            ejecuciones.incrementAndGet();
+            assertThat(nodo("b").ejecutar(tarea, Duration.ofHours(1), ejecuciones::incrementAndGet))
+                    .as("mientras corre, el lease es de a").isFalse();
+        })).isTrue();
+        assertThat(nodo("b").ejecutar(tarea, Duration.ofHours(1), ejecuciones::incrementAndGet))
+                .as("un disparo atrasado no repite la tarea").isFalse();
+        assertThat(jdbc.queryForObject("""
+                SELECT lease_until - locked_at >= INTERVAL '1 minute' FROM scheduler_locks WHERE nombre = ?
+                """, Boolean.class, tarea)).isTrue();
+
+        jdbc.update("UPDATE scheduler_locks SET lease_until = now() - INTERVAL '1 second', "
+                + "locked_at = now() - INTERVAL '2 minutes' WHERE nombre = ?", tarea);
+        assertThat(nodo("b").ejecutar(tarea, Duration.ofHours(1), ejecuciones::incrementAndGet)).isTrue();
+        assertThat(ejecuciones.get()).isEqualTo(2);
+
+        String huerfana = "asistencias-" + UUID.randomUUID();
+        jdbc.update("""
+                INSERT INTO scheduler_locks(nombre, lease_until, locked_at, locked_by)
+                VALUES (?, now() - INTERVAL '1 second', now() - INTERVAL '1 hour', 'nodo-caido')
+                """, huerfana);
+        assertThat(nodo("c").ejecutar(huerfana, Duration.ofHours(1), ejecuciones::incrementAndGet)).isTrue();
+        assertThat(bloqueos.findByNombre(huerfana).orElseThrow().getLockedBy()).isEqualTo("c");
+    }
+
+    @Test
+    void unLeaseVigenteSoloVenceSegunLaHoraDeLaBase() {
+        String tarea = "mensualidades-" + UUID.randomUUID();
+        jdbc.update("""
+                INSERT INTO scheduler_locks(nombre, lease_until, locked_at, locked_by)
+                VALUES (?, now() + INTERVAL '30 seconds', now() - INTERVAL '30 seconds', 'nodo-vivo')
+                """, tarea);
+
+        assertThat(nodo("otro").ejecutar(tarea, Duration.ofHours(1), () -> {
+        })).isFalse();
+        assertThat(bloqueos.findByNombre(tarea).orElseThrow().getLockedBy()).isEqualTo("nodo-vivo");
+    }
+
+    private LiderazgoScheduler nodo(String nombre) {
+        return new LiderazgoScheduler(bloqueos, nombre);
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
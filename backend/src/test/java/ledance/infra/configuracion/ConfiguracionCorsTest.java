@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.List;
 
@@ -24,7 +25,8 @@ class ConfiguracionCorsTest {
         var properties = new AppProperties(
                 ZoneId.of("America/Argentina/Buenos_Aires"),
                 Path.of("receipts"),
-                origins
+                origins,
+                new AppProperties.ControlAdmision(2, 4, Duration.ofSeconds(10), 2, Duration.ofSeconds(5))
         );
         var source = (UrlBasedCorsConfigurationSource)
                 new ConfiguracionCors(properties).corsConfigurationSource();
@@ -38,7 +40,8 @@ class ConfiguracionCorsTest {
         var properties = new AppProperties(
                 ZoneId.of("America/Argentina/Buenos_Aires"),
                 Path.of("receipts"),
-                List.of("https://app.example.test")
+                List.of("https://app.example.test"),
+                new AppProperties.ControlAdmision(2, 4, Duration.ofSeconds(10), 2, Duration.ofSeconds(5))
         );
         var source = new ConfiguracionCors(properties).corsConfigurationSource();
         MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new Object())
@@ -1,7 +1,11 @@
 package ledance.infra.configuracion;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ledance.infra.concurrencia.LiderazgoScheduler;
+import ledance.infra.metricas.Metricas;
 import ledance.servicios.ScheduledTasks;
 import ledance.servicios.asistencia.AsistenciaMensualServicio;
+import ledance.servicios.asistencia.EstadisticaAsistenciaServicio;
 import ledance.servicios.email.EmailService;
 import ledance.servicios.email.IEmailService;
 import ledance.servicios.email.NoOpEmailService;
@@ -115,9 +119,24 @@ class RuntimeProfilesTest {
             return mock(AsistenciaMensualServicio.class);
         }
 
+        @Bean
+        EstadisticaAsistenciaServicio estadisticaAsistenciaServicio() {
+            return mock(EstadisticaAsistenciaServicio.class);
+        }
+
         @Bean
         NotificacionService notificacionService() {
             return mock(NotificacionService.class);
         }
+
+        @Bean
+        LiderazgoScheduler liderazgoScheduler() {
+            return mock(LiderazgoScheduler.class);
+        }
+
+        @Bean
+        Metricas metricas() {
+            return new Metricas(new SimpleMeterRegistry());
+        }
     }
 }
@@ -0,0 +1,109 @@
+package ledance.infra.mensajeria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RelayWebSocketPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private ObjectMapper mapper;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private DataSourceProperties dataSource;
+
+    @Test
+    void todoLoQueLlegaAlBrokerEnTopicSeReenviaALosDemasNodosUnaSolaVez() throws Exception {
+        WebSocketRelayProperties properties =
+                new WebSocketRelayProperties(true, "relay_test_" + UUID.randomUUID().toString().replace("-", "_"),
+                        Duration.ofMillis(200));
+        Nodo a = nodo(properties);
+        Nodo b = nodo(properties);
+        a.relay().start();
+        b.relay().start();
+        try {
+            esperarListeners(properties.canal(), 2);
+
+            List<String> mensajes = List.of("Alumno: Ana Pérez", "Profesor: Luis Gómez");
+            a.template().convertAndSend("/topic/notificaciones", mensajes);
+            a.template().convertAndSend("/queue/privada", "sólo local");
+
+            esperar(() -> !b.recibidos().isEmpty());
+            Message<?> recibido = b.recibidos().getFirst();
+            assertThat(SimpMessageHeaderAccessor.getDestination(recibido.getHeaders()))
+                    .isEqualTo("/topic/notificaciones");
+            assertThat(mapper.readValue((byte[]) recibido.getPayload(), List.class)).isEqualTo(mensajes);
+            assertThat(new String((byte[]) recibido.getPayload(), StandardCharsets.UTF_8)).contains("Ana Pérez");
+
+            Thread.sleep(500);
+            assertThat(a.recibidos()).hasSize(2);
+            assertThat(b.recibidos()).hasSize(1);
+        } finally {
+            a.relay().stop();
+            b.relay().stop();
+        }
+    }
+
+    /** Un nodo: su {@code brokerChannel} con el relay como interceptor y lo que entrega al broker. */
+    private record Nodo(RelayWebSocket relay, SimpMessagingTemplate template, List<Message<?>> recibidos) {
+    }
+
+    private Nodo nodo(WebSocketRelayProperties properties) {
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        RelayWebSocket relay = new RelayWebSocket(brokerChannel, mapper, jdbc, transactionManager, dataSource,
+                properties);
+        brokerChannel.addInterceptor(relay);
+        List<Message<?>> recibidos = new CopyOnWriteArrayList<>();
+        brokerChannel.subscribe(recibidos::add);
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        return new Nodo(relay, template, recibidos);
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicion.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("El mensaje no llegó al otro nodo");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private void esperarListeners(String canal, int esperados) {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < limite) {
+            Integer escuchando = jdbc.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE query = ?", Integer.class, "LISTEN " + canal);
+            if (escuchando != null && escuchando >= esperados) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        throw new AssertionError("Los nodos no quedaron escuchando " + canal);
+    }
+}
@@ -0,0 +1,70 @@
+package ledance.infra.metricas;
+
+import ledance.entidades.Usuario;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.infra.seguridad.TokenService;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricasActuatorPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @LocalServerPort private int port;
+    @LocalManagementPort private int managementPort;
+    @Autowired private TokenService tokens;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private MetricasOutbox outbox;
+
+    @Test
+    void prometheusExponeCaminosCriticosSoloEnElPuertoDeGestion() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Usuario usuario = usuarios.findById(jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, Long.class, "metricas-" + suffix, role)).orElseThrow();
+        Long alumno = jdbc.queryForObject("""
+                INSERT INTO alumnos(nombre, fecha_incorporacion, activo)
+                VALUES (?, DATE '2026-01-01', true) RETURNING id
+                """, Long.class, "Alumno metricas " + suffix);
+
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            HttpResponse<String> pagos = http.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/pagos/alumno/" + alumno))
+                    .header("Authorization", "Bearer " + tokens.generarAccessToken(usuario)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(pagos.statusCode()).isEqualTo(200);
+            outbox.refrescar();
+
+            HttpResponse<String> scrape = http.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + managementPort + "/actuator/prometheus")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(scrape.statusCode()).isEqualTo(200);
+            assertThat(scrape.body())
+                    .contains("ledance_jwt_verificacion_seconds_count")
+                    .contains("ledance_outbox_pendientes")
+                    .contains("ledance_outbox_antiguedad_seconds")
+                    .contains("hikaricp_connections_active{application=\"LeDance\",pool=\"web\"}")
+                    .contains("http_server_requests_seconds_count");
+
+            HttpResponse<String> publico = http.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(publico.statusCode()).isNotEqualTo(200);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ledance.infra.persistencia;
+
+import ledance.infra.persistencia.DatasetEscuela.Escala;
+import ledance.infra.persistencia.DatasetEscuela.Resumen;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara la planilla y los totales por alumno leídos de las filas diarias
+ * contra las máscaras mensuales sobre cinco años de asistencia. Por defecto
+ * usa una escuela chica; con {@code -Dasistencia.escala=GRANDE} carga la
+ * escuela de referencia con todo el período de asistencia.
+ */
+class AsistenciaMascarasPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AsistenciaMascarasPostgreSqlTest.class);
+
+    private static final String PLANILLA_FILAS = """
+            SELECT m.id, d.fecha, d.estado
+            FROM asistencias_alumno_mensual m
+            JOIN asistencias_diarias d ON d.asistencia_alumno_mensual_id = m.id AND d.vigente
+            WHERE m.asistencia_mensual_id = ?
+            """;
+    private static final String PLANILLA_MASCARAS = """
+            SELECT id, dias_clase, dias_presente, dias_justificado
+            FROM asistencias_alumno_mensual WHERE asistencia_mensual_id = ?
+            """;
+    private static final String TOTALES_FILAS = """
+            SELECT i.alumno_id, count(*) FILTER (WHERE d.estado = 'PRESENTE'), count(*)
+            FROM asistencias_diarias d
+            JOIN asistencias_alumno_mensual m ON m.id = d.asistencia_alumno_mensual_id
+            JOIN inscripciones i ON i.id = m.inscripcion_id
+            WHERE d.vigente AND d.fecha BETWEEN ? AND ?
+            GROUP BY i.alumno_id
+            """;
+    private static final String TOTALES_MASCARAS = """
+            SELECT i.alumno_id, sum(bit_count(CAST(m.dias_presente AS bit(32)))),
+                   sum(bit_count(CAST(m.dias_clase AS bit(32))))
+            FROM asistencias_mensuales p
+            JOIN asistencias_alumno_mensual m ON m.asistencia_mensual_id = p.id
+            JOIN inscripciones i ON i.id = m.inscripcion_id
+            WHERE make_date(p.anio, p.mes, 1) BETWEEN ? AND ?
+            GROUP BY i.alumno_id
+            HAVING sum(bit_count(CAST(m.dias_clase AS bit(32)))) > 0
+            """;
+
+    @Test
+    void lasMascarasDevuelvenLoMismoQueLasFilasDiarias() throws Exception {
+        Escala escala = "GRANDE".equalsIgnoreCase(System.getProperty("asistencia.escala"))
+                ? Escala.GRANDE
+                : new Escala(300, 10, 5, 60, LocalDate.of(2026, 6, 30), 39);
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_mascaras");
+             Connection connection = base.conectar()) {
+            Resumen resumen = DatasetEscuela.cargar(connection, escala);
+            log.info("Asistencia de {} meses cargada en {} ms: {} filas diarias, {} registros mensuales",
+                    escala.mesesAsistencia(), resumen.duracion().toMillis(),
+                    resumen.filas().get("asistencias_diarias"), resumen.filas().get("asistencias_alumno_mensual"));
+
+            long planilla = planillaMasPoblada(connection);
+            Map<Long, Map<Integer, String>> filas = medir("planilla por filas", () -> planillaPorFilas(connection, planilla));
+            Map<Long, Map<Integer, String>> mascaras = medir("planilla por máscaras",
+                    () -> planillaPorMascaras(connection, planilla));
+            assertThat(mascaras).isNotEmpty().isEqualTo(filas);
+
+            LocalDate mes = escala.corte().withDayOfMonth(1);
+            LocalDate anio = mes.minusMonths(11);
+            for (LocalDate desde : new LocalDate[]{mes, anio}) {
+                String periodo = desde.equals(mes) ? "mes" : "año";
+                Map<Long, String> porFilas = medir("totales del " + periodo + " por filas",
+                        () -> totales(connection, TOTALES_FILAS, desde, escala.corte()));
+                Map<Long, String> porMascaras = medir("totales del " + periodo + " por máscaras",
+                        () -> totales(connection, TOTALES_MASCARAS, desde, escala.corte()));
+                assertThat(porMascaras).as(periodo).isNotEmpty().isEqualTo(porFilas);
+            }
+        }
+    }
+
+    private static long planillaMasPoblada(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT asistencia_mensual_id FROM asistencias_alumno_mensual
+                GROUP BY asistencia_mensual_id ORDER BY count(*) DESC, asistencia_mensual_id LIMIT 1
+                """);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static Map<Long, Map<Integer, String>> planillaPorFilas(Connection connection, long planilla)
+            throws SQLException {
+        Map<Long, Map<Integer, String>> dias = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(PLANILLA_FILAS)) {
+            statement.setLong(1, planilla);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    dias.computeIfAbsent(result.getLong(1), id -> new HashMap<>())
+                            .put(result.getObject(2, LocalDate.class).getDayOfMonth(), result.getString(3));
+                }
+            }
+        }
+        return dias;
+    }
+
+    private static Map<Long, Map<Integer, String>> planillaPorMascaras(Connection connection, long planilla)
+            throws SQLException {
+        Map<Long, Map<Integer, String>> dias = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(PLANILLA_MASCARAS)) {
+            statement.setLong(1, planilla);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    int clase = result.getInt(2);
+                    int presente = result.getInt(3);
+                    int justificado = result.getInt(4);
+                    for (int dia = 1; dia <= 31; dia++) {
+                        int bit = 1 << (dia - 1);
+                        if ((clase & bit) != 0) {
+                            dias.computeIfAbsent(result.getLong(1), id -> new HashMap<>()).put(dia,
+                                    (presente & bit) != 0 ? "PRESENTE"
+                                            : (justificado & bit) != 0 ? "JUSTIFICADO" : "AUSENTE");
+                        }
+                    }
+                }
+            }
+        }
+        return dias;
+    }
+
+    private static Map<Long, String> totales(Connection connection, String sql, LocalDate desde, LocalDate hasta)
+            throws SQLException {
+        Map<Long, String> totales = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, desde);
+            statement.setObject(2, hasta);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    totales.put(result.getLong(1), result.getLong(2) + "/" + result.getLong(3));
+                }
+            }
+        }
+        return totales;
+    }
+
+    private static <T> T medir(String consulta, Lectura<T> lectura) throws SQLException {
+        lectura.leer();
+        long inicio = System.nanoTime();
+        T resultado = lectura.leer();
+        log.info("{}: {} µs", consulta, (System.nanoTime() - inicio) / 1_000);
+        return resultado;
+    }
+
+    @FunctionalInterface
+    private interface Lectura<T> {
+        T leer() throws SQLException;
+    }
+}
@@ -0,0 +1,60 @@
+package ledance.infra.persistencia;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Base propia dentro del contenedor compartido, migrada con Flyway y borrada
+ * al cerrar. Sirve para datasets que no deben mezclarse con los datos de los
+ * demás tests.
+ */
+public final class BaseAislada implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> servidor;
+    private final String nombre;
+    private final String url;
+
+    private BaseAislada(PostgreSQLContainer<?> servidor, String nombre) {
+        this.servidor = servidor;
+        this.nombre = nombre;
+        this.url = servidor.getJdbcUrl().replace(servidor.getDatabaseName(), nombre);
+    }
+
+    public static BaseAislada crear(PostgreSQLContainer<?> servidor, String prefijo) throws SQLException {
+        BaseAislada base = new BaseAislada(servidor, prefijo + "_" + UUID.randomUUID().toString().replace("-", ""));
+        base.administrar("CREATE DATABASE " + base.nombre);
+        try {
+            Flyway.configure().dataSource(base.url, servidor.getUsername(), servidor.getPassword()).load().migrate();
+        } catch (RuntimeException e) {
+            base.close();
+            throw e;
+        }
+        return base;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public Connection conectar() throws SQLException {
+        return DriverManager.getConnection(url, servidor.getUsername(), servidor.getPassword());
+    }
+
+    @Override
+    public void close() throws SQLException {
+        administrar("DROP DATABASE " + nombre + " WITH (FORCE)");
+    }
+
+    private void administrar(String sql) throws SQLException {
+        try (Connection admin = servidor.createConnection(""); Statement statement = admin.createStatement()) {
+            admin.setAutoCommit(true);
+            statement.execute(sql);
+        }
+    }
+}
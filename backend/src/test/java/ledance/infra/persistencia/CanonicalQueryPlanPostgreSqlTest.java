@@ -1,15 +1,12 @@
 package ledance.infra.persistencia;
 
-import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,16 +14,8 @@ class CanonicalQueryPlanPostgreSqlTest extends PostgreSqlIntegrationTest {
 
     @Test
     void listadoDeCargosPendientesUsaIndiceCompuestoEnDatasetDeterminista() throws Exception {
-        String databaseName = "ledance_plan_" + UUID.randomUUID().toString().replace("-", "");
-        String jdbcUrl = POSTGRESQL.getJdbcUrl().replace(POSTGRESQL.getDatabaseName(), databaseName);
-        try (Connection admin = POSTGRESQL.createConnection(""); Statement statement = admin.createStatement()) {
-            admin.setAutoCommit(true);
-            statement.execute("CREATE DATABASE " + databaseName);
-        }
-        try {
-            Flyway.configure().dataSource(jdbcUrl, POSTGRESQL.getUsername(), POSTGRESQL.getPassword()).load().migrate();
-            try (Connection connection = DriverManager.getConnection(jdbcUrl, POSTGRESQL.getUsername(), POSTGRESQL.getPassword());
-                 Statement statement = connection.createStatement()) {
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_plan")) {
+            try (Connection connection = base.conectar(); Statement statement = connection.createStatement()) {
                 statement.executeUpdate("""
                         INSERT INTO alumnos(nombre, apellido, fecha_incorporacion)
                         SELECT 'Alumno ' || n, 'Plan', DATE '2025-01-01'
@@ -71,11 +60,39 @@ class CanonicalQueryPlanPostgreSqlTest extends PostgreSqlIntegrationTest {
                 }
                 assertThat(ordered).hasSize(32).isSorted();
             }
-        } finally {
-            try (Connection admin = POSTGRESQL.createConnection(""); Statement statement = admin.createStatement()) {
-                admin.setAutoCommit(true);
-                statement.execute("DROP DATABASE " + databaseName + " WITH (FORCE)");
+        }
+    }
+
+    @Test
+    void cargosPendientesDelAlumnoConMasDeudaUsanIndiceEnEscuelaSintetica() throws Exception {
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_plan_escuela");
+             Connection connection = base.conectar();
+             Statement statement = connection.createStatement()) {
+            DatasetEscuela.cargar(connection, DatasetEscuela.Escala.CHICA);
+            statement.execute("VACUUM (ANALYZE) cargos");
+            long alumno;
+            try (ResultSet result = statement.executeQuery("""
+                    SELECT alumno_id FROM cargos WHERE estado IN ('PENDIENTE','PARCIAL')
+                    GROUP BY alumno_id ORDER BY count(*) DESC, alumno_id LIMIT 1
+                    """)) {
+                result.next();
+                alumno = result.getLong(1);
+            }
+
+            List<String> plan = new ArrayList<>();
+            try (ResultSet result = statement.executeQuery("""
+                    EXPLAIN (ANALYZE, BUFFERS, FORMAT TEXT)
+                    SELECT id, fecha_vencimiento
+                    FROM cargos
+                    WHERE alumno_id = %d AND estado IN ('PENDIENTE','PARCIAL')
+                    ORDER BY fecha_vencimiento, id
+                    """.formatted(alumno))) {
+                while (result.next()) plan.add(result.getString(1));
             }
+            String text = String.join(System.lineSeparator(), plan);
+            System.out.println("CARGO_PENDING_QUERY_PLAN_ESCUELA" + System.lineSeparator() + text);
+            assertThat(text).contains("Index Only Scan using ix_cargos_alumno_pendientes")
+                    .doesNotContain("Seq Scan on cargos", "Sort  ");
         }
     }
 }
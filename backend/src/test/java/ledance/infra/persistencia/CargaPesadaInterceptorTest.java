@@ -0,0 +1,51 @@
+package ledance.infra.persistencia;
+
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.ClaseAdmision;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CargaPesadaInterceptorTest {
+
+    static class Reportes {
+        @Admision(ClaseAdmision.PESADA)
+        public void exportar() {
+        }
+
+        public void listar() {
+        }
+    }
+
+    private final CargaPesadaInterceptor interceptor = new CargaPesadaInterceptor();
+
+    @Test
+    void lasPesadasUsanElPoolBatchHastaTerminarLaRequest() throws Exception {
+        HandlerMethod exportar = handler("exportar");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), exportar);
+        assertThat(CargaDeTrabajo.actual()).isEqualTo(CargaDeTrabajo.BATCH);
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), exportar, null);
+        assertThat(CargaDeTrabajo.actual()).isEqualTo(CargaDeTrabajo.WEB);
+    }
+
+    @Test
+    void lasDemasSiguenEnElPoolWeb() throws Exception {
+        HandlerMethod listar = handler("listar");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), listar);
+        assertThat(CargaDeTrabajo.actual()).isEqualTo(CargaDeTrabajo.WEB);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), listar, null);
+    }
+
+    private static HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        Reportes controlador = new Reportes();
+        return new HandlerMethod(controlador, Reportes.class.getMethod(metodo));
+    }
+}
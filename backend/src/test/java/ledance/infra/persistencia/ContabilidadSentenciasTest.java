@@ -0,0 +1,46 @@
+package ledance.infra.persistencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContabilidadSentenciasTest {
+
+    @AfterEach
+    void limpiar() {
+        ContabilidadSentencias.terminar();
+    }
+
+    @Test
+    void formaIgnoraLiteralesListasYEspacios() {
+        assertThat(ContabilidadSentencias.forma("""
+                select c.id from cargos c
+                where c.alumno_id in (?, ?,?) and c.estado = 'PENDIENTE' limit 50
+                """)).isEqualTo("select c.id from cargos c where c.alumno_id in (?...) and c.estado = ? limit ?");
+        assertThat(ContabilidadSentencias.forma("select 'it''s' from t1"))
+                .isEqualTo("select ? from t1");
+    }
+
+    @Test
+    void repetidasOrdenaPorFrecuenciaYDescartaLasUnicas() {
+        ContabilidadSentencias cuenta = ContabilidadSentencias.iniciar();
+        for (long id = 1; id <= 3; id++) {
+            cuenta.sentencia("select * from alumnos where id = " + id, 1_000_000);
+        }
+        cuenta.sentencia("select * from recargos where id = ?", 1_000_000);
+        cuenta.sentencia("select * from recargos where id = ?", 1_000_000);
+        cuenta.sentencia("select * from disciplinas", 500_000);
+        cuenta.filas(7);
+
+        assertThat(ContabilidadSentencias.actual()).isSameAs(cuenta);
+        assertThat(cuenta.sentencias()).isEqualTo(6);
+        assertThat(cuenta.milisegundos()).isEqualTo(5);
+        assertThat(cuenta.filas()).isEqualTo(7);
+        assertThat(cuenta.repetidas(5)).containsExactly(
+                Map.entry("select * from alumnos where id = ?", 3),
+                Map.entry("select * from recargos where id = ?", 2));
+    }
+}
@@ -0,0 +1,221 @@
+package ledance.infra.persistencia;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Escuela sintética y determinista para planes de consulta, benchmarks y
+ * pruebas de carga.
+ *
+ * <p>Los alumnos se generan en Java con un {@link Random} sembrado y entran
+ * con {@code COPY}; todo lo que depende de ellos (inscripciones, cuotas,
+ * cargos, pagos con aplicaciones, caja, crédito, ventas de tienda y
+ * asistencia diaria) lo arma {@code db/dataset/escuela.sql} con
+ * {@code generate_series} dentro de la base. La misma {@link Escala} produce
+ * siempre las mismas filas.
+ *
+ * <p>Necesita una base migrada sin catálogos ni alumnos, por ejemplo una
+ * {@link BaseAislada}. Desde la línea de comandos:
+ * {@code DatasetEscuela <jdbc-url> <usuario> <contraseña> [CHICA|GRANDE]}.
+ */
+public final class DatasetEscuela {
+
+    private static final String SCRIPT = "db/dataset/escuela.sql";
+    private static final int FILAS_POR_ENVIO = 1_000;
+
+    private static final List<String> TABLAS_VACIAS =
+            List.of("alumnos", "salones", "profesores", "disciplinas", "metodo_pagos", "stocks");
+
+    public static final List<String> TABLAS = List.of(
+            "alumnos", "disciplinas", "disciplina_horarios", "inscripciones", "mensualidades", "matriculas",
+            "cargos", "pagos", "aplicaciones_pago", "movimientos_caja", "movimientos_credito",
+            "ventas_stock", "asistencias_alumno_mensual", "asistencias_diarias", "resumenes_asistencia_mensual");
+
+    private static final String[] NOMBRES = {
+            "Agustina", "Benjamin", "Camila", "Delfina", "Emilia", "Federico", "Guadalupe", "Isabella",
+            "Joaquin", "Lautaro", "Lucia", "Martina", "Mateo", "Micaela", "Nicolas", "Olivia",
+            "Pilar", "Renata", "Santiago", "Sofia", "Thiago", "Valentina", "Victoria", "Zoe"};
+    private static final String[] APELLIDOS = {
+            "Acosta", "Alvarez", "Benitez", "Castro", "Diaz", "Fernandez", "Flores", "Garcia",
+            "Gimenez", "Gomez", "Gonzalez", "Herrera", "Lopez", "Martinez", "Medina", "Molina",
+            "Morales", "Perez", "Ramirez", "Rodriguez", "Romero", "Ruiz", "Sanchez", "Sosa",
+            "Suarez", "Torres"};
+
+    /**
+     * Tamaño de la escuela. {@code corte} es el último día con datos; los
+     * alumnos se incorporan a lo largo de los {@code anios} anteriores y la
+     * asistencia diaria cubre los últimos {@code mesesAsistencia} meses.
+     */
+    public record Escala(int alumnos, int disciplinas, int anios, int mesesAsistencia,
+                         LocalDate corte, long semilla) {
+
+        /** Unos segundos de carga; la usan los tests de integración. */
+        public static final Escala CHICA = new Escala(2_000, 30, 2, 2, LocalDate.of(2026, 6, 30), 39);
+
+        /**
+         * La de {@code PlanesRepositoriosPostgreSqlTest}: la más chica en la que
+         * alumnos e inscripciones superan el umbral de tabla grande del test,
+         * así la lista de planes permitidos vale para una sola escala.
+         */
+        public static final Escala PLANES = new Escala(12_000, 60, 2, 2, LocalDate.of(2026, 6, 30), 39);
+
+        /**
+         * La escuela grande de referencia para planes de consulta y carga, con
+         * asistencia diaria en los cinco años.
+         */
+        public static final Escala GRANDE = new Escala(50_000, 300, 5, 60, LocalDate.of(2026, 6, 30), 39);
+
+        public Escala {
+            if (alumnos < 1 || disciplinas < 3 || anios < 1 || corte == null) {
+                throw new IllegalArgumentException("La escala requiere alumnos, al menos 3 disciplinas y un año");
+            }
+            if (mesesAsistencia < 1 || mesesAsistencia > anios * 12) {
+                throw new IllegalArgumentException("Los meses de asistencia deben caer dentro del período");
+            }
+        }
+
+        public LocalDate desde() {
+            return corte.withDayOfMonth(1).minusMonths(anios * 12L - 1);
+        }
+    }
+
+    /** Filas por tabla después de la carga, en el orden de {@link #TABLAS}. */
+    public record Resumen(Map<String, Long> filas, Duration duracion) {
+    }
+
+    private DatasetEscuela() {
+    }
+
+    /**
+     * Carga la escala en una sola transacción y deja las estadísticas al día.
+     * La conexión vuelve con su modo de autocommit original.
+     */
+    public static Resumen cargar(Connection conexion, Escala escala) throws SQLException {
+        long inicio = System.nanoTime();
+        verificarVacia(conexion);
+        boolean autoCommit = conexion.getAutoCommit();
+        conexion.setAutoCommit(false);
+        try {
+            parametro(conexion, "dataset.semilla", Long.toString(escala.semilla()));
+            parametro(conexion, "dataset.disciplinas", Integer.toString(escala.disciplinas()));
+            parametro(conexion, "dataset.corte", escala.corte().toString());
+            parametro(conexion, "dataset.meses_asistencia", Integer.toString(escala.mesesAsistencia()));
+            copiarAlumnos(conexion, escala);
+            ScriptUtils.executeSqlScript(conexion, new ClassPathResource(SCRIPT));
+            conexion.commit();
+        } catch (SQLException | RuntimeException e) {
+            conexion.rollback();
+            throw e;
+        } finally {
+            conexion.setAutoCommit(autoCommit);
+        }
+        return new Resumen(contar(conexion), Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Uso: DatasetEscuela <jdbc-url> <usuario> <contraseña> [CHICA|GRANDE]");
+        }
+        Escala escala = args.length > 3 && args[3].equalsIgnoreCase("CHICA") ? Escala.CHICA : Escala.GRANDE;
+        try (Connection conexion = DriverManager.getConnection(args[0], args[1], args[2])) {
+            Resumen resumen = cargar(conexion, escala);
+            resumen.filas().forEach((tabla, filas) -> System.out.printf("%-28s %,12d%n", tabla, filas));
+            System.out.printf("Cargado en %d ms%n", resumen.duracion().toMillis());
+        }
+    }
+
+    private static void verificarVacia(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            for (String tabla : TABLAS_VACIAS) {
+                try (ResultSet result = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + tabla + ")")) {
+                    if (result.next() && result.getBoolean(1)) {
+                        throw new IllegalStateException("El dataset requiere una base sin datos en " + tabla);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void parametro(Connection conexion, String nombre, String valor) throws SQLException {
+        try (PreparedStatement statement = conexion.prepareStatement("SELECT set_config(?, ?, true)")) {
+            statement.setString(1, nombre);
+            statement.setString(2, valor);
+            statement.execute();
+        }
+    }
+
+    /**
+     * Uno de cada cinco alumnos ya se dio de baja; el resto sigue activo al
+     * corte. Documento y email se derivan del número de fila para ser únicos.
+     */
+    private static void copiarAlumnos(Connection conexion, Escala escala) throws SQLException {
+        Random random = new Random(escala.semilla());
+        LocalDate desde = escala.desde();
+        int dias = (int) ChronoUnit.DAYS.between(desde, escala.corte()) + 1;
+        CopyIn copy = conexion.unwrap(PGConnection.class).getCopyAPI().copyIn("""
+                COPY alumnos(nombre, apellido, fecha_nacimiento, celular1, email, documento,
+                             fecha_incorporacion, fecha_de_baja, activo)
+                FROM STDIN (FORMAT csv)
+                """);
+        try {
+            StringBuilder lote = new StringBuilder();
+            for (int i = 1; i <= escala.alumnos(); i++) {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+                LocalDate nacimiento = LocalDate.of(1965, 1, 1).plusDays(random.nextInt(18_000));
+                LocalDate incorporacion = desde.plusDays(random.nextInt(dias));
+                int restantes = (int) ChronoUnit.DAYS.between(incorporacion, escala.corte());
+                LocalDate baja = restantes > 0 && random.nextInt(5) == 0
+                        ? incorporacion.plusDays(1 + random.nextInt(restantes)) : null;
+                lote.append(nombre).append(',').append(apellido).append(',').append(nacimiento).append(',')
+                        .append("11").append(String.format("%08d", random.nextInt(100_000_000))).append(',')
+                        .append(nombre.toLowerCase()).append('.').append(apellido.toLowerCase()).append('.')
+                        .append(i).append("@example.com,")
+                        .append(30_000_000 + i).append(',')
+                        .append(incorporacion).append(',')
+                        .append(baja == null ? "" : baja.toString()).append(',')
+                        .append(baja == null).append('\n');
+                if (i % FILAS_POR_ENVIO == 0 || i == escala.alumnos()) {
+                    byte[] bytes = lote.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                    lote.setLength(0);
+                }
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static Map<String, Long> contar(Connection conexion) throws SQLException {
+        Map<String, Long> filas = new LinkedHashMap<>();
+        try (Statement statement = conexion.createStatement()) {
+            for (String tabla : TABLAS) {
+                try (ResultSet result = statement.executeQuery("SELECT count(*) FROM " + tabla)) {
+                    result.next();
+                    filas.put(tabla, result.getLong(1));
+                }
+            }
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,90 @@
+package ledance.infra.persistencia;
+
+import ledance.infra.persistencia.DatasetEscuela.Escala;
+import ledance.infra.persistencia.DatasetEscuela.Resumen;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetEscuelaPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetEscuelaPostgreSqlTest.class);
+
+    @Test
+    void escuelaChicaRespetaElLibroMayorYEsReproducible() throws Exception {
+        String primera;
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_dataset");
+             Connection connection = base.conectar()) {
+            Resumen resumen = DatasetEscuela.cargar(connection, Escala.CHICA);
+            log.info("Escuela chica cargada en {} ms: {}", resumen.duracion().toMillis(), resumen.filas());
+
+            assertThat(resumen.filas()).containsKeys(DatasetEscuela.TABLAS.toArray(String[]::new))
+                    .containsEntry("alumnos", 2_000L)
+                    .containsEntry("disciplinas", 30L)
+                    .containsEntry("disciplina_horarios", 60L)
+                    .allSatisfy((tabla, filas) -> assertThat(filas).as(tabla).isPositive());
+            assertThat(resumen.filas().get("inscripciones")).isBetween(2_000L, 6_000L);
+
+            assertThat(contar(connection, """
+                    SELECT count(*) FROM cargos c
+                    LEFT JOIN (SELECT cargo_id, sum(importe_aplicado) AS aplicado
+                               FROM aplicaciones_pago GROUP BY cargo_id) a ON a.cargo_id = c.id
+                    WHERE NOT (c.estado = 'PAGADO' AND a.aplicado = c.importe_original
+                            OR c.estado = 'PARCIAL' AND a.aplicado > 0 AND a.aplicado < c.importe_original
+                            OR c.estado = 'PENDIENTE' AND a.aplicado IS NULL)
+                    """)).as("estado del cargo contra sus aplicaciones").isZero();
+            assertThat(contar(connection, """
+                    SELECT count(*) FROM pagos p
+                    WHERE p.monto_recibido <> (SELECT sum(importe_aplicado) FROM aplicaciones_pago WHERE pago_id = p.id)
+                          + coalesce((SELECT sum(importe) FROM movimientos_credito WHERE pago_id = p.id), 0)
+                       OR p.monto_recibido <> (SELECT importe FROM movimientos_caja WHERE pago_id = p.id)
+                    """)).as("pago contra aplicaciones, crédito y caja").isZero();
+            assertThat(contar(connection, """
+                    SELECT count(*) FROM disciplina_horarios a
+                    JOIN disciplinas da ON da.id = a.disciplina_id
+                    JOIN disciplina_horarios b ON b.id > a.id AND b.dia_semana = a.dia_semana
+                                              AND b.horario_inicio = a.horario_inicio
+                    JOIN disciplinas db ON db.id = b.disciplina_id AND db.salon_id = da.salon_id
+                    """)).as("horarios superpuestos en un salon").isZero();
+            primera = huella(connection);
+        }
+
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_dataset");
+             Connection connection = base.conectar()) {
+            DatasetEscuela.cargar(connection, Escala.CHICA);
+            assertThat(huella(connection)).isEqualTo(primera);
+            assertThatThrownBy(() -> DatasetEscuela.cargar(connection, Escala.CHICA))
+                    .isInstanceOf(IllegalStateException.class).hasMessageContaining("alumnos");
+        }
+    }
+
+    private static String huella(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("""
+                     SELECT md5((SELECT string_agg(f, ',' ORDER BY f) FROM (
+                                    SELECT concat_ws('|', alumno_id, tipo, descripcion, importe_original,
+                                                     fecha_vencimiento, estado) AS f FROM cargos) c))
+                            || md5((SELECT string_agg(f, ',' ORDER BY f) FROM (
+                                    SELECT concat_ws('|', asistencia_alumno_mensual_id, fecha, estado) AS f
+                                    FROM asistencias_diarias) d))
+                     """)) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static long contar(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package ledance.infra.persistencia;
+
+import jakarta.persistence.EntityManagerFactory;
+import ledance.dto.disciplina.response.DisciplinaResponse;
+import ledance.servicios.disciplina.DisciplinaServicio;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Los listados de disciplinas se resuelven con una consulta de datos, sin
+ * importar cuántas disciplinas, profesores u horarios haya. Sin transacción
+ * de test, cada llamada arranca con un contexto de persistencia vacío: una
+ * carga perezosa se vería como sentencia extra. El conteo se toma sobre el
+ * servicio para dejar afuera la lectura de versión del ETag.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.stat=OFF",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=OFF"
+})
+@AutoConfigureMockMvc
+class DisciplinaListadosPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final int DISCIPLINAS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private DisciplinaServicio disciplinaServicio;
+
+    private final List<Long> usuarios = new ArrayList<>();
+    private final List<Long> profesores = new ArrayList<>();
+    private final List<Long> disciplinas = new ArrayList<>();
+    private Long salon;
+
+    @BeforeEach
+    void seed() {
+        Long rol = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        salon = jdbc.queryForObject(
+                "INSERT INTO salones (nombre) VALUES ('Salon listados') RETURNING id", Long.class);
+        for (int i = 1; i <= DISCIPLINAS; i++) {
+            Long usuario = jdbc.queryForObject(
+                    "INSERT INTO usuarios (nombre_usuario, contrasena, rol_id) VALUES (?, 'x', ?) RETURNING id",
+                    Long.class, "profe-listados-" + i, rol);
+            usuarios.add(usuario);
+            Long profesor = jdbc.queryForObject(
+                    "INSERT INTO profesores (nombre, apellido, usuario_id) VALUES (?, 'Listados', ?) RETURNING id",
+                    Long.class, "Profe " + i, usuario);
+            profesores.add(profesor);
+            Long disciplina = jdbc.queryForObject("""
+                    INSERT INTO disciplinas (nombre, salon_id, profesor_id, valor_cuota)
+                    VALUES (?, ?, ?, 1000) RETURNING id
+                    """, Long.class, "Disciplina listados " + i, salon, profesor);
+            disciplinas.add(disciplina);
+            jdbc.update("""
+                    INSERT INTO disciplina_horarios (disciplina_id, dia_semana, horario_inicio, duracion)
+                    VALUES (?, 'LUNES', ?, 1), (?, 'MIERCOLES', '20:00', 1.5)
+                    """, disciplina, i % 2 == 0 ? "18:00" : "19:00", disciplina);
+        }
+    }
+
+    @AfterEach
+    void limpiar() {
+        disciplinas.forEach(disciplina -> jdbc.update("DELETE FROM disciplinas WHERE id = ?", disciplina));
+        profesores.forEach(profesor -> jdbc.update("DELETE FROM profesores WHERE id = ?", profesor));
+        usuarios.forEach(usuario -> jdbc.update("DELETE FROM usuarios WHERE id = ?", usuario));
+        jdbc.update("DELETE FROM salones WHERE id = ?", salon);
+    }
+
+    @Test
+    void cadaListadoEsUnaSolaSentencia() {
+        Statistics statistics = statistics();
+
+        assertThat(contar(statistics, disciplinaServicio::listarDisciplinas)).hasSize(DISCIPLINAS);
+        assertSinCargasPorFila(statistics);
+
+        assertThat(contar(statistics, () -> disciplinaServicio.obtenerDisciplinasPorFecha("2026-03-02")))
+                .hasSize(DISCIPLINAS);
+        assertSinCargasPorFila(statistics);
+
+        assertThat(contar(statistics, () -> disciplinaServicio.obtenerDisciplinasPorHorario(LocalTime.of(18, 0))))
+                .hasSize(DISCIPLINAS / 2);
+        assertSinCargasPorFila(statistics);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRADOR")
+    void losEndpointsSerializanSinCargasPerezosas() throws Exception {
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/disciplinas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DISCIPLINAS))
+                .andExpect(jsonPath("$[0].horarios.length()").value(2))
+                .andExpect(jsonPath("$[0].profesorApellido").value("Listados"))
+                .andExpect(jsonPath("$[0].salon").value("Salon listados"));
+        assertSinCargasPorFila(statistics);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/disciplinas/por-fecha?fecha=2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DISCIPLINAS))
+                .andExpect(jsonPath("$[0].horarios.length()").value(2));
+        assertSinCargasPorFila(statistics);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/disciplinas/por-horario?horario=18:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DISCIPLINAS / 2))
+                .andExpect(jsonPath("$[0].horarios.length()").value(2));
+        assertSinCargasPorFila(statistics);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static List<DisciplinaResponse> contar(Statistics statistics, Supplier<List<DisciplinaResponse>> listado) {
+        statistics.clear();
+        List<DisciplinaResponse> resultado = listado.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        return resultado;
+    }
+
+    private static void assertSinCargasPorFila(Statistics statistics) {
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LecturaConRespaldoTest {
+
+    private final DataSource primaria = mock(DataSource.class);
+    private final HikariDataSource replica = mock(HikariDataSource.class);
+    private final LecturaConRespaldo lectura = new LecturaConRespaldo(primaria, replica, Duration.ofSeconds(5));
+
+    @Test
+    void conCredencialesEnrutaIgualQueSinEllas() throws SQLException {
+        Connection deReplica = mock(Connection.class);
+        when(replica.getConnection("lector", "secreto")).thenReturn(deReplica);
+
+        assertThat(lectura.getConnection("lector", "secreto")).isSameAs(deReplica);
+    }
+
+    @Test
+    void siLaReplicaFallaCaeALaPrimariaYLaMarcaNoDisponible() throws SQLException {
+        Connection dePrimaria = mock(Connection.class);
+        when(replica.getConnection("lector", "secreto")).thenThrow(new SQLException("caída"));
+        when(primaria.getConnection("lector", "secreto")).thenReturn(dePrimaria);
+
+        assertThat(lectura.getConnection("lector", "secreto")).isSameAs(dePrimaria);
+        assertThat(lectura.disponible()).isFalse();
+    }
+
+    @Test
+    void loQueElPoolNoSoportaSePropagaSinMarcarLaReplica() throws SQLException {
+        when(replica.getConnection("lector", "secreto")).thenThrow(new SQLFeatureNotSupportedException());
+
+        assertThatThrownBy(() -> lectura.getConnection("lector", "secreto"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThat(lectura.disponible()).isTrue();
+    }
+}
@@ -0,0 +1,460 @@
+package ledance.infra.persistencia;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compuerta de planes para todas las consultas de {@code ledance.repositorios}.
+ *
+ * <p>Cada método declarado en un repositorio ({@code @Query} o derivado) se
+ * invoca contra la base compartida con parámetros representativos y dentro de
+ * una transacción que se descarta. El proxy JDBC de la aplicación captura el
+ * SQL que genera Hibernate con sus parámetros, y ese SQL se explica con
+ * {@code EXPLAIN (FORMAT JSON)} sobre una {@link BaseAislada} cargada con
+ * {@link DatasetEscuela.Escala#PLANES}. La escala es fija porque qué tablas
+ * pasan el umbral de tabla grande depende de ella, y la lista permitida tiene
+ * que valer para una sola.
+ *
+ * <p>Falla ante un Seq Scan sobre una tabla de más de
+ * {@value #FILAS_TABLA_GRANDE} filas, un Sort cuya estimación no entra en
+ * {@code work_mem} o un Nested Loop de costo mayor a
+ * {@value #COSTO_MAXIMO_NESTED_LOOP}. Las excepciones aceptadas van en
+ * {@code db/planes-permitidos.txt}, cada una con su motivo.
+ *
+ * <p>La lista se controla en los dos sentidos: también falla una línea cuyo
+ * hallazgo ya no aparece en el plan, así no quedan excepciones de más. Cada
+ * corrida escribe en {@code target/planes-observados.txt} la lista que
+ * corresponde a los planes observados, conservando los motivos existentes;
+ * es la que se copia a {@code db/planes-permitidos.txt} tras revisarla.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PlanesRepositoriosPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final String PERMITIDOS = "db/planes-permitidos.txt";
+    private static final Path OBSERVADOS = Path.of("target", "planes-observados.txt");
+    private static final String PAQUETE = "ledance.repositorios";
+    private static final long FILAS_TABLA_GRANDE = 10_000;
+    private static final long COSTO_MAXIMO_NESTED_LOOP = 100_000;
+
+    /** Ids con más datos detrás; el resto de los {@code Long} usa el id 1. */
+    private static final Map<String, String> IDS = Map.of(
+            "alumnoId", """
+                    SELECT alumno_id FROM cargos WHERE estado IN ('PENDIENTE','PARCIAL')
+                    GROUP BY alumno_id ORDER BY count(*) DESC, alumno_id LIMIT 1
+                    """,
+            "disciplinaId", """
+                    SELECT disciplina_id FROM inscripciones WHERE estado = 'ACTIVA'
+                    GROUP BY disciplina_id ORDER BY count(*) DESC, disciplina_id LIMIT 1
+                    """,
+            "profesorId", """
+                    SELECT profesor_id FROM disciplinas d JOIN inscripciones i ON i.disciplina_id = d.id
+                    WHERE i.estado = 'ACTIVA' GROUP BY profesor_id ORDER BY count(*) DESC, profesor_id LIMIT 1
+                    """,
+            "inscripcionId", "SELECT min(id) FROM inscripciones WHERE estado = 'ACTIVA'",
+            "cargoId", "SELECT cargo_id FROM aplicaciones_pago ORDER BY id LIMIT 1",
+            "pagoId", "SELECT max(id) FROM pagos",
+            "asistenciaMensualId", "SELECT max(id) FROM asistencias_mensuales",
+            "asistenciaAlumnoMensualId", "SELECT max(id) FROM asistencias_alumno_mensual");
+
+    private record Sentencia(String sql, List<ParameterSetOperation> parametros) {
+    }
+
+    private record Permitido(String metodo, String regla) {
+    }
+
+    @Autowired private ApplicationContext contexto;
+    @Autowired private DataSource dataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManager entityManager;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    void ningunaConsultaDeRepositorioRecorreTablasGrandesFueraDeLaListaPermitida() throws Exception {
+        DatasetEscuela.Escala escala = DatasetEscuela.Escala.PLANES;
+        Map<Permitido, String> permitidos = permitidos();
+        Map<String, List<Sentencia>> capturas;
+        Map<Permitido, String> observados = new TreeMap<>(
+                Comparator.comparing(Permitido::metodo).thenComparing(Permitido::regla));
+        List<String> fallas = new ArrayList<>();
+        List<String> reporte = new ArrayList<>();
+        try (BaseAislada base = BaseAislada.crear(POSTGRESQL, "ledance_planes");
+             Connection conexion = base.conectar()) {
+            DatasetEscuela.cargar(conexion, escala);
+            conexion.setAutoCommit(true);
+            Set<String> grandes = tablasGrandes(conexion);
+            permitidos.keySet().stream()
+                    .filter(p -> p.regla().startsWith("SEQ_SCAN:"))
+                    .map(p -> p.regla().substring("SEQ_SCAN:".length()))
+                    .filter(tabla -> !grandes.contains(tabla))
+                    .distinct()
+                    .forEach(tabla -> fallas.add(PERMITIDOS + " permite recorrer " + tabla
+                            + ", que con esta escala no llega a " + FILAS_TABLA_GRANDE + " filas"));
+            long workMem = workMem(conexion);
+            capturas = capturar(escala, ids(conexion));
+
+            capturas.forEach((metodo, sentencias) -> {
+                if (sentencias.isEmpty()) {
+                    fallas.add(metodo + ": no ejecutó SQL con los parámetros de prueba");
+                    return;
+                }
+                Set<String> hallazgos = new LinkedHashSet<>();
+                for (Sentencia sentencia : sentencias) {
+                    try {
+                        JsonNode plan = explicar(conexion, sentencia);
+                        revisar(plan, grandes, workMem, hallazgos);
+                        reporte.add(metodo + " -> " + resumen(plan));
+                    } catch (SQLException | ReflectiveOperationException | IOException e) {
+                        fallas.add(metodo + ": no se pudo explicar " + sentencia.sql() + " (" + e.getMessage() + ")");
+                    }
+                }
+                for (String hallazgo : hallazgos) {
+                    Permitido encontrado = new Permitido(metodo, hallazgo.substring(0, hallazgo.indexOf(' ')));
+                    if (!permitidos.containsKey(encontrado)) {
+                        fallas.add(metodo + " " + hallazgo);
+                    }
+                    observados.putIfAbsent(encontrado,
+                            permitidos.getOrDefault(encontrado, "SIN MOTIVO: " + hallazgo));
+                }
+            });
+        }
+        Set<String> metodos = capturas.keySet();
+        permitidos.keySet().stream()
+                .filter(p -> !observados.containsKey(p))
+                .forEach(p -> fallas.add(metodos.contains(p.metodo())
+                        ? PERMITIDOS + " permite " + p.metodo() + " " + p.regla() + " pero el plan ya no lo muestra"
+                        : PERMITIDOS + " nombra un método que no existe: " + p.metodo()));
+        escribirObservados(observados);
+
+        System.out.println("PLANES_REPOSITORIOS alumnos=" + escala.alumnos() + System.lineSeparator()
+                + String.join(System.lineSeparator(), reporte));
+        assertThat(capturas).as("repositorios enumerados").hasSizeGreaterThan(100);
+        assertThat(fallas)
+                .as("Planes fuera de presupuesto o lista desactualizada. Corregí la consulta o el índice,"
+                        + " o revisá " + OBSERVADOS + " y copialo a " + PERMITIDOS)
+                .isEmpty();
+    }
+
+    /**
+     * Invoca cada método de repositorio y devuelve el SQL que disparó,
+     * indexado por {@code Repositorio.metodo}. Los ids salen de la escuela
+     * sintética, así el plan se arma con valores que existen allí.
+     */
+    private Map<String, List<Sentencia>> capturar(DatasetEscuela.Escala escala, Map<String, Long> ids) {
+        Captura captura = new Captura();
+        ChainListener listeners = ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+        listeners.addListener(captura);
+        try {
+            return capturar(captura, escala, ids);
+        } finally {
+            listeners.getListeners().remove(captura);
+        }
+    }
+
+    private Map<String, List<Sentencia>> capturar(Captura captura, DatasetEscuela.Escala escala,
+                                                  Map<String, Long> ids) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<String, List<Sentencia>> capturas = new TreeMap<>();
+        for (Map.Entry<Class<?>, Object> repositorio : repositorios().entrySet()) {
+            Method[] metodos = repositorio.getKey().getDeclaredMethods();
+            Arrays.sort(metodos, Comparator.comparing(Method::toGenericString));
+            for (Method metodo : metodos) {
+                if (metodo.isDefault() || metodo.isSynthetic() || Modifier.isStatic(metodo.getModifiers())) {
+                    continue;
+                }
+                String nombre = repositorio.getKey().getSimpleName() + "." + metodo.getName();
+                List<Sentencia> sentencias = capturas.computeIfAbsent(nombre, n -> new ArrayList<>());
+                tx.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    captura.iniciar(sentencias);
+                    try {
+                        metodo.invoke(repositorio.getValue(), argumentos(metodo, escala, ids));
+                    } catch (InvocationTargetException e) {
+                        // El SQL ya quedó capturado; el resultado contra la base compartida no importa.
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    } finally {
+                        captura.terminar();
+                    }
+                });
+            }
+        }
+        return capturas;
+    }
+
+    private Map<Class<?>, Object> repositorios() {
+        Map<Class<?>, Object> repositorios = new TreeMap<>(Comparator.comparing(Class::getName));
+        for (Object bean : contexto.getBeansOfType(Repository.class).values()) {
+            for (Class<?> interfaz : AopProxyUtils.proxiedUserInterfaces(bean)) {
+                if (PAQUETE.equals(interfaz.getPackageName())) {
+                    repositorios.put(interfaz, bean);
+                }
+            }
+        }
+        return repositorios;
+    }
+
+    private Object[] argumentos(Method metodo, DatasetEscuela.Escala escala, Map<String, Long> ids) {
+        Parameter[] parametros = metodo.getParameters();
+        Object[] argumentos = new Object[parametros.length];
+        for (int i = 0; i < parametros.length; i++) {
+            argumentos[i] = valor(metodo, parametros[i], escala, ids);
+        }
+        return argumentos;
+    }
+
+    /** Un valor típico por tipo y nombre de parámetro; los rangos de fechas cubren el último mes. */
+    private Object valor(Method metodo, Parameter parametro, DatasetEscuela.Escala escala, Map<String, Long> ids) {
+        String nombre = parametro.getName();
+        Class<?> tipo = parametro.getType();
+        LocalDate corte = escala.corte();
+        if (tipo == Long.class || tipo == long.class) {
+            return ids.getOrDefault(nombre, 1L);
+        }
+        if (tipo == Integer.class || tipo == int.class) {
+            return switch (nombre) {
+                case "anio" -> corte.getYear();
+                case "mes" -> corte.getMonthValue();
+                case "limite" -> 50;
+                case "diaDelMesAplicacion" -> 15;
+                default -> 1;
+            };
+        }
+        if (tipo == String.class) {
+            return "ma";
+        }
+        if (tipo == LocalDate.class) {
+            return switch (nombre) {
+                case "desde", "inicio", "fechaInicio" -> corte.withDayOfMonth(1);
+                default -> corte;
+            };
+        }
+        if (tipo == Instant.class) {
+            return corte.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        if (tipo == LocalTime.class) {
+            return LocalTime.of(18, 0);
+        }
+        if (tipo == Boolean.class || tipo == boolean.class) {
+            return true;
+        }
+        if (tipo == UUID.class) {
+            return new UUID(0, 1);
+        }
+        if (tipo == Long[].class) {
+            return new Long[]{1L, 2L, 3L};
+        }
+        if (tipo == String[].class) {
+            return new String[]{"ma", "pa", "la"};
+        }
+        if (tipo == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (tipo.isEnum()) {
+            return tipo.getEnumConstants()[0];
+        }
+        if (tipo.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(tipo, 1L);
+        }
+        if (Collection.class.isAssignableFrom(tipo)
+                && parametro.getParameterizedType() instanceof ParameterizedType generico
+                && generico.getActualTypeArguments()[0] instanceof Class<?> elemento) {
+            if (elemento == Long.class) {
+                return List.of(1L, 2L, 3L);
+            }
+            if (elemento == String.class) {
+                return List.of("ma", "pa");
+            }
+            if (elemento.isEnum()) {
+                return List.of(elemento.getEnumConstants()).subList(0, 2);
+            }
+        }
+        throw new IllegalArgumentException("Sin valor representativo para " + nombre + " en " + metodo);
+    }
+
+    private JsonNode explicar(Connection conexion, Sentencia sentencia)
+            throws SQLException, ReflectiveOperationException, IOException {
+        try (PreparedStatement statement = conexion.prepareStatement("EXPLAIN (FORMAT JSON) " + sentencia.sql())) {
+            for (ParameterSetOperation operacion : sentencia.parametros()) {
+                operacion.getMethod().invoke(statement, operacion.getArgs());
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return json.readTree(result.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private static void revisar(JsonNode nodo, Set<String> grandes, long workMem, Set<String> hallazgos) {
+        String tipo = nodo.path("Node Type").asText();
+        long filas = nodo.path("Plan Rows").asLong();
+        double costo = nodo.path("Total Cost").asDouble();
+        if ("Seq Scan".equals(tipo) && grandes.contains(nodo.path("Relation Name").asText())) {
+            hallazgos.add("SEQ_SCAN:" + nodo.path("Relation Name").asText() + " (" + filas + " filas estimadas)");
+        }
+        if (tipo.endsWith("Sort") && filas * nodo.path("Plan Width").asLong() > workMem) {
+            hallazgos.add("SORT_EN_DISCO (" + filas + " filas de " + nodo.path("Plan Width").asLong() + " bytes)");
+        }
+        if ("Nested Loop".equals(tipo) && costo > COSTO_MAXIMO_NESTED_LOOP) {
+            hallazgos.add("NESTED_LOOP (costo " + Math.round(costo) + ")");
+        }
+        for (JsonNode hijo : nodo.path("Plans")) {
+            revisar(hijo, grandes, workMem, hallazgos);
+        }
+    }
+
+    private static String resumen(JsonNode nodo) {
+        StringBuilder texto = new StringBuilder(nodo.path("Node Type").asText());
+        if (nodo.has("Index Name")) {
+            texto.append(" using ").append(nodo.path("Index Name").asText());
+        } else if (nodo.has("Relation Name")) {
+            texto.append(" on ").append(nodo.path("Relation Name").asText());
+        }
+        List<String> hijos = new ArrayList<>();
+        nodo.path("Plans").forEach(hijo -> hijos.add(resumen(hijo)));
+        return hijos.isEmpty() ? texto.toString() : texto + " [" + String.join(", ", hijos) + "]";
+    }
+
+    private static Set<String> tablasGrandes(Connection conexion) throws SQLException {
+        Set<String> tablas = new HashSet<>();
+        try (Statement statement = conexion.createStatement();
+             ResultSet result = statement.executeQuery("""
+                     SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+                     WHERE n.nspname = 'public' AND c.relkind = 'r' AND c.reltuples >= %d
+                     """.formatted(FILAS_TABLA_GRANDE))) {
+            while (result.next()) tablas.add(result.getString(1));
+        }
+        return tablas;
+    }
+
+    private static long workMem(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_size_bytes(current_setting('work_mem'))")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static Map<String, Long> ids(Connection conexion) throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (Statement statement = conexion.createStatement()) {
+            for (Map.Entry<String, String> consulta : IDS.entrySet()) {
+                try (ResultSet result = statement.executeQuery(consulta.getValue())) {
+                    if (result.next() && result.getObject(1) != null) {
+                        ids.put(consulta.getKey(), result.getLong(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Map<Permitido, String> permitidos() throws IOException {
+        Map<Permitido, String> permitidos = new HashMap<>();
+        String contenido = new ClassPathResource(PERMITIDOS).getContentAsString(StandardCharsets.UTF_8);
+        for (String linea : contenido.lines().map(String::strip).toList()) {
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] partes = linea.split("\\s+", 3);
+            if (partes.length < 3) {
+                throw new IllegalStateException(PERMITIDOS + ": falta el motivo en '" + linea + "'");
+            }
+            permitidos.put(new Permitido(partes[0], partes[1]), partes[2]);
+        }
+        return permitidos;
+    }
+
+    /** Deja la lista que corresponde a esta corrida; las líneas nuevas llevan el hallazgo en lugar del motivo. */
+    private static void escribirObservados(Map<Permitido, String> observados) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        lineas.add("# Generado por PlanesRepositoriosPostgreSqlTest. Completá los motivos SIN MOTIVO antes de copiarlo.");
+        observados.forEach((p, motivo) -> lineas.add(p.metodo() + " " + p.regla() + " " + motivo));
+        Files.createDirectories(OBSERVADOS.getParent());
+        Files.write(OBSERVADOS, lineas, StandardCharsets.UTF_8);
+    }
+
+    /** Guarda las sentencias del hilo que está invocando un repositorio; el resto del tráfico se ignora. */
+    private static final class Captura implements QueryExecutionListener {
+
+        private final ThreadLocal<List<Sentencia>> actual = new ThreadLocal<>();
+
+        void iniciar(List<Sentencia> sentencias) {
+            actual.set(sentencias);
+        }
+
+        void terminar() {
+            actual.remove();
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<Sentencia> sentencias = actual.get();
+            if (sentencias == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<ParameterSetOperation> parametros = query.getParametersList().isEmpty()
+                        ? List.of() : List.copyOf(query.getParametersList().getFirst());
+                sentencias.add(new Sentencia(query.getQuery(), parametros));
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
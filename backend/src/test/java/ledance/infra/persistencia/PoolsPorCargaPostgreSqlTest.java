@@ -0,0 +1,60 @@
+package ledance.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PoolsPorCargaPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired @Qualifier("batchDataSource") private HikariDataSource batch;
+
+    @Test
+    void cadaCargaUsaSuPoolConSusTimeouts() {
+        assertThat(timeouts()).isEqualTo("30s/5s");
+        assertThat(en(CargaDeTrabajo.BATCH)).isEqualTo("15min/30s");
+        assertThat(en(CargaDeTrabajo.OUTBOX)).isEqualTo("1min/5s");
+        assertThat(timeouts()).as("el contexto se restaura al salir").isEqualTo("30s/5s");
+    }
+
+    @Test
+    @Timeout(10)
+    void batchSaturadoNoBloqueaALaWeb() throws Exception {
+        List<Connection> retenidas = new ArrayList<>();
+        try {
+            for (int i = 0; i < batch.getMaximumPoolSize(); i++) {
+                retenidas.add(batch.getConnection());
+            }
+            assertThat(batch.getHikariPoolMXBean().getIdleConnections()).isZero();
+
+            assertThat(jdbc.queryForObject("SELECT 1", Integer.class)).isEqualTo(1);
+        } finally {
+            for (Connection conexion : retenidas) {
+                conexion.close();
+            }
+        }
+    }
+
+    private String en(CargaDeTrabajo carga) {
+        AtomicReference<String> resultado = new AtomicReference<>();
+        carga.ejecutar(() -> resultado.set(timeouts()));
+        return resultado.get();
+    }
+
+    private String timeouts() {
+        return jdbc.queryForObject("SELECT current_setting('statement_timeout') || '/' || current_setting('lock_timeout')",
+                String.class);
+    }
+}
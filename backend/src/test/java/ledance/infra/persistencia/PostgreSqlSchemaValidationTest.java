@@ -21,12 +21,13 @@ class PostgreSqlSchemaValidationTest extends PostgreSqlIntegrationTest {
 
     private static final Set<String> EXPECTED_TABLES = Set.of(
             "alumnos", "aplicaciones_pago", "asistencias_alumno_mensual", "asistencias_diarias",
-            "asistencias_mensuales", "bonificaciones", "cargos", "conceptos", "disciplina_horarios",
+            "asistencias_mensuales", "bonificaciones", "cargos", "carritos_stock", "conceptos", "disciplina_horarios",
             "disciplinas", "egresos", "flyway_schema_history", "inscripciones", "matriculas",
             "mensualidades", "metodo_pagos", "movimientos_caja", "movimientos_credito",
             "movimientos_stock", "notificaciones", "observaciones_profesores", "pagos", "profesores",
-            "recargos", "recibos", "recibos_pendientes", "roles", "salones", "stocks",
-            "sub_conceptos", "usuarios", "ventas_stock");
+            "recargos", "recibos", "recibos_pendientes", "resumenes_asistencia_mensual", "roles", "salones",
+            "scheduler_locks", "stocks", "sub_conceptos", "trabajos_reporte", "usuarios", "ventas_stock",
+            "versiones_catalogo");
 
     @Test
     void aplicaSoloV1ValidaHibernateYCumpleElContratoDelCatalogo() throws Exception {
@@ -0,0 +1,126 @@
+package ledance.infra.persistencia;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReintentoTransaccionalTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    /** Veces que pasó por el advice de adentro, como el {@code TransactionInterceptor}. */
+    private final AtomicInteger interiores = new AtomicInteger();
+
+    public static class Operacion {
+        final AtomicInteger llamadas = new AtomicInteger();
+        Supplier<RuntimeException> falla = () -> null;
+        int fallas;
+
+        @Reintentable
+        public String ejecutar() {
+            if (llamadas.incrementAndGet() <= fallas) {
+                throw falla.get();
+            }
+            return "ok";
+        }
+
+        public String sinAnotar() {
+            llamadas.incrementAndGet();
+            throw falla.get();
+        }
+    }
+
+    @Test
+    void reintentaDeadlockHastaQueLaTransaccionPasa() {
+        Operacion operacion = new Operacion();
+        operacion.fallas = 2;
+        operacion.falla = () -> error("40P01");
+
+        assertThat(proxy(operacion, 3).ejecutar()).isEqualTo("ok");
+        assertThat(operacion.llamadas).hasValue(3);
+        assertThat(registry.counter(ReintentoTransaccional.REINTENTOS,
+                "metodo", "Operacion.ejecutar", "sqlstate", "40P01").count()).isEqualTo(2);
+    }
+
+    @Test
+    void cadaIntentoPasaPorElAdviceDeAdentro() {
+        Operacion operacion = new Operacion();
+        operacion.fallas = 2;
+        operacion.falla = () -> error("40001");
+
+        assertThat(proxy(operacion, 3).ejecutar()).isEqualTo("ok");
+        assertThat(operacion.llamadas).hasValue(3);
+        assertThat(interiores).hasValue(3);
+    }
+
+    @Test
+    void seRindeAlAgotarLosIntentosYPropagaElError() {
+        Operacion operacion = new Operacion();
+        operacion.fallas = 10;
+        operacion.falla = () -> error("55P03");
+
+        assertThatThrownBy(() -> proxy(operacion, 3).ejecutar()).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(operacion.llamadas).hasValue(3);
+        assertThat(registry.counter(ReintentoTransaccional.AGOTADOS,
+                "metodo", "Operacion.ejecutar", "sqlstate", "55P03").count()).isEqualTo(1);
+    }
+
+    @Test
+    void noReintentaOtrosErroresNiMetodosSinAnotar() {
+        Operacion operacion = new Operacion();
+        operacion.fallas = 1;
+        operacion.falla = () -> new DataIntegrityViolationException("duplicada",
+                new SQLException("duplicate key", "23505"));
+        Operacion proxy = proxy(operacion, 3);
+
+        assertThatThrownBy(proxy::ejecutar).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(operacion.llamadas).hasValue(1);
+
+        operacion.falla = () -> error("40001");
+        assertThatThrownBy(proxy::sinAnotar).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(operacion.llamadas).hasValue(2);
+    }
+
+    @Test
+    void encuentraElSqlStateEnCualquierNivelDeLaCadena() {
+        assertThat(ReintentoTransaccional.sqlStateReintentable(
+                new IllegalStateException(new RuntimeException(new SQLException("x", "40001"))))).isEqualTo("40001");
+        assertThat(ReintentoTransaccional.sqlStateReintentable(new SQLException("x", "57014"))).isNull();
+        assertThat(ReintentoTransaccional.sqlStateReintentable(new IllegalStateException())).isNull();
+    }
+
+    private Operacion proxy(Operacion operacion, int maxIntentos) {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("reintentos", new ReintentosProperties(maxIntentos, Duration.ofMillis(1),
+                Duration.ofMillis(2)));
+        beans.registerSingleton("registry", registry);
+        ProxyFactory factory = new ProxyFactory(operacion);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(Reintentable.class),
+                new ReintentoTransaccional(beans.getBeanProvider(ReintentosProperties.class),
+                        beans.getBeanProvider(MeterRegistry.class))));
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            interiores.incrementAndGet();
+            return invocation.proceed();
+        });
+        return (Operacion) factory.getProxy();
+    }
+
+    private static CannotAcquireLockException error(String sqlState) {
+        return new CannotAcquireLockException("conflicto", new SQLException("conflicto", sqlState));
+    }
+}
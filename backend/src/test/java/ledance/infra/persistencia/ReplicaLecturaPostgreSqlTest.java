@@ -0,0 +1,91 @@
+package ledance.infra.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Usa una segunda base del mismo contenedor como réplica: alcanza para
+ * verificar el enrutamiento y la caída a la primaria, no la replicación en sí
+ * (para eso está {@code docker-compose.replica.yml}).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.replica.enabled=true",
+        "app.replica.connection-timeout=500ms",
+        "app.replica.check-interval=1h",
+        "spring.jpa.open-in-view=false"
+})
+class ReplicaLecturaPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final String REPLICA = "ledance_replica_" + UUID.randomUUID().toString().replace("-", "");
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private LecturaConRespaldo lectura;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        ejecutarEnPostgres("CREATE DATABASE " + REPLICA);
+        registry.add("app.replica.url", () -> POSTGRESQL.getJdbcUrl().replace(POSTGRESQL.getDatabaseName(), REPLICA));
+        registry.add("app.replica.username", POSTGRESQL::getUsername);
+        registry.add("app.replica.password", POSTGRESQL::getPassword);
+    }
+
+    @Test
+    void soloLecturaVaALaReplicaYCaeALaPrimariaSiNoResponde() {
+        TransactionTemplate lecturaTx = new TransactionTemplate(transactionManager);
+        lecturaTx.setReadOnly(true);
+        TransactionTemplate escrituraTx = new TransactionTemplate(transactionManager);
+
+        lectura.verificar();
+        assertThat(lectura.disponible()).isTrue();
+        assertThat(base(lecturaTx)).isEqualTo(REPLICA);
+        assertThat(base(escrituraTx)).isEqualTo(POSTGRESQL.getDatabaseName());
+        assertThat(baseActual()).as("sin transacción se usa la primaria").isEqualTo(POSTGRESQL.getDatabaseName());
+        assertThat(EnrutamientoLectura.enPrimaria(() -> base(lecturaTx)))
+                .isEqualTo(POSTGRESQL.getDatabaseName());
+
+        ejecutarEnPostgres("ALTER DATABASE " + REPLICA + " ALLOW_CONNECTIONS false");
+        ejecutarEnPostgres("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = '" + REPLICA + "'");
+        try {
+            assertThat(base(lecturaTx)).isEqualTo(POSTGRESQL.getDatabaseName());
+            assertThat(lectura.disponible()).isFalse();
+        } finally {
+            ejecutarEnPostgres("ALTER DATABASE " + REPLICA + " ALLOW_CONNECTIONS true");
+        }
+        lectura.verificar();
+        assertThat(lectura.disponible()).isTrue();
+        assertThat(base(lecturaTx)).isEqualTo(REPLICA);
+    }
+
+    private String base(TransactionTemplate tx) {
+        return tx.execute(status -> baseActual());
+    }
+
+    private String baseActual() {
+        return jdbc.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static void ejecutarEnPostgres(String sql) {
+        try (Connection conexion = DriverManager.getConnection(
+                POSTGRESQL.getJdbcUrl(), POSTGRESQL.getUsername(), POSTGRESQL.getPassword());
+             Statement statement = conexion.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(sql, e);
+        }
+    }
+}
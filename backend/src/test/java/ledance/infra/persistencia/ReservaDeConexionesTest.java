@@ -0,0 +1,93 @@
+package ledance.infra.persistencia;
+
+import ledance.infra.concurrencia.Admision;
+import ledance.infra.concurrencia.BulkheadBaseDeDatos;
+import ledance.infra.concurrencia.BulkheadInterceptor;
+import ledance.infra.concurrencia.BulkheadProperties;
+import ledance.infra.concurrencia.ClaseAdmision;
+import ledance.infra.concurrencia.CupoPesadas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservaDeConexionesTest {
+
+    static class Cobros {
+        @Admision(ClaseAdmision.PRIORITARIA)
+        public void cobrar() {
+        }
+
+        public void listar() {
+        }
+    }
+
+    private final DataSource pool = mock(DataSource.class);
+    private final ReservaDeConexiones reserva = new ReservaDeConexiones(pool, new BulkheadBaseDeDatos(3, 1),
+            Duration.ofMillis(10));
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor(new BulkheadBaseDeDatos(3, 1),
+            new CupoPesadas(1, 0, Duration.ofMillis(10)), new BulkheadProperties(Duration.ofMillis(10), 1),
+            Duration.ofSeconds(7), false);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void terminarRequest() {
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+    }
+
+    @Test
+    void lasGeneralesNoTocanLaReservaYLasPrioritariasSi() throws Exception {
+        when(pool.getConnection()).thenAnswer(i -> mock(Connection.class));
+        atender("listar");
+        reserva.getConnection();
+        reserva.getConnection();
+
+        assertThatThrownBy(reserva::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(reserva.bulkhead().enUso()).isEqualTo(2);
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        atender("cobrar");
+        reserva.getConnection();
+        assertThat(reserva.bulkhead().enUso()).isEqualTo(3);
+    }
+
+    @Test
+    void cerrarDevuelveElPermisoUnaSolaVez() throws Exception {
+        Connection fisica = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(fisica);
+        Connection conexion = reserva.getConnection();
+
+        conexion.close();
+        conexion.close();
+
+        verify(fisica, times(2)).close();
+        assertThat(reserva.bulkhead().enUso()).isZero();
+    }
+
+    @Test
+    void siElPoolFallaElPermisoSeDevuelve() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool agotado"));
+
+        assertThatThrownBy(reserva::getConnection).hasMessage("pool agotado");
+        assertThat(reserva.bulkhead().enUso()).isZero();
+    }
+
+    private void atender(String metodo) throws Exception {
+        interceptor.preHandle(request, new MockHttpServletResponse(),
+                new HandlerMethod(new Cobros(), Cobros.class.getMethod(metodo)));
+    }
+}
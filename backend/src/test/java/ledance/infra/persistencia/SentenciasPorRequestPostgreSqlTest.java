@@ -0,0 +1,65 @@
+package ledance.infra.persistencia;
+
+import ledance.entidades.Usuario;
+import ledance.infra.seguridad.TokenService;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.sentencias.max-sentencias=1",
+        "app.sentencias.encabezados=true"
+})
+class SentenciasPorRequestPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @LocalServerPort private int port;
+    @Autowired private TokenService tokens;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void cuentaElSqlDelRequestYLogueaLosQueSuperanElPresupuesto(CapturedOutput output) throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Usuario usuario = usuarios.findById(jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, Long.class, "sentencias-" + suffix, role)).orElseThrow();
+        Long alumno = jdbc.queryForObject("""
+                INSERT INTO alumnos(nombre, fecha_incorporacion, activo)
+                VALUES (?, DATE '2026-01-01', true) RETURNING id
+                """, Long.class, "Alumno sentencias " + suffix);
+        String requestId = "prueba-" + suffix;
+
+        HttpResponse<String> respuesta;
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            respuesta = http.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/pagos/alumno/" + alumno))
+                    .header("Authorization", "Bearer " + tokens.generarAccessToken(usuario))
+                    .header("X-Request-Id", requestId).build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+        assertThat(respuesta.statusCode()).isEqualTo(200);
+        assertThat(respuesta.headers().firstValue("X-Request-Id")).hasValue(requestId);
+        assertThat(Integer.parseInt(respuesta.headers().firstValue("X-Sql-Statements").orElseThrow()))
+                .isGreaterThan(1);
+        assertThat(Long.parseLong(respuesta.headers().firstValue("X-Sql-Rows").orElseThrow())).isPositive();
+        assertThat(respuesta.headers().firstValue("X-Sql-Time-Ms")).isPresent();
+        assertThat(output).contains("Request fuera de presupuesto id=" + requestId);
+    }
+}
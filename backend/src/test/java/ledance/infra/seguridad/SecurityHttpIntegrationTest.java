@@ -2,6 +2,8 @@ package ledance.infra.seguridad;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import ledance.controladores.PagoControlador;
 import ledance.controladores.UsuarioControlador;
 import ledance.controladores.AutenticacionControlador;
@@ -12,6 +14,7 @@ import ledance.entidades.Usuario;
 import ledance.infra.configuracion.AppProperties;
 import ledance.infra.configuracion.ConfiguracionCors;
 import ledance.infra.errores.TratadorDeErrores;
+import ledance.infra.metricas.Metricas;
 import ledance.repositorios.UsuarioRepositorio;
 import ledance.repositorios.ReciboRepositorio;
 import ledance.servicios.pago.PagoServicio;
@@ -35,6 +38,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
@@ -63,6 +67,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Import({
         SecurityConfigurations.class,
         SecurityFilter.class,
+        Metricas.class,
         TokenService.class,
         ConfiguracionCors.class,
         TratadorDeErrores.class,
@@ -400,12 +405,18 @@ class SecurityHttpIntegrationTest {
             return Clock.systemUTC();
         }
 
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
         @Bean
         AppProperties appProperties() {
             return new AppProperties(
                     ZoneId.of("America/Argentina/Buenos_Aires"),
                     Path.of("target", "security-test-receipts"),
-                    List.of("https://app.example.test")
+                    List.of("https://app.example.test"),
+                    new AppProperties.ControlAdmision(2, 4, Duration.ofSeconds(10), 2, Duration.ofSeconds(5))
             );
         }
     }
@@ -0,0 +1,133 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest;
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest.Marca;
+import ledance.dto.asistencia.response.AsistenciaDiariaDetalleResponse;
+import ledance.entidades.EstadoAsistencia;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class AsistenciaDiariaLotePostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private AsistenciaDiariaServicio asistencias;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private Clock clock;
+
+    private LocalDate hoy;
+    private long planilla;
+    private long otraPlanilla;
+    private final List<Long> registros = new ArrayList<>();
+    private long ajeno;
+
+    @BeforeEach
+    void seed() {
+        hoy = LocalDate.now(clock);
+        String suffix = UUID.randomUUID().toString();
+        long profesor = id("INSERT INTO profesores(nombre, apellido, activo) VALUES (?, 'Lote', true) RETURNING id",
+                "Profesor " + suffix);
+        long disciplina = disciplina("Disciplina " + suffix, profesor);
+        long otraDisciplina = disciplina("Otra " + suffix, profesor);
+        planilla = planilla(disciplina);
+        otraPlanilla = planilla(otraDisciplina);
+        registros.clear();
+        for (int i = 0; i < 3; i++) {
+            registros.add(registro(planilla, disciplina, "Alumno " + i + " " + suffix));
+        }
+        ajeno = registro(otraPlanilla, otraDisciplina, "Ajeno " + suffix);
+        jdbc.update("INSERT INTO asistencias_diarias(asistencia_alumno_mensual_id, fecha, estado, vigente)"
+                + " VALUES (?, ?, 'PRESENTE', false)", registros.get(1), hoy);
+    }
+
+    @Test
+    void marcaLaClaseEnUnUpsertYDevuelveLaColumnaDelDia() {
+        List<AsistenciaDiariaDetalleResponse> dia = asistencias.registrarDia(new AsistenciaDiariaLoteRequest(
+                planilla, hoy, List.of(
+                        new Marca(registros.get(2), EstadoAsistencia.AUSENTE),
+                        new Marca(registros.get(0), EstadoAsistencia.PRESENTE),
+                        new Marca(registros.get(1), EstadoAsistencia.JUSTIFICADO))));
+
+        assertThat(dia).extracting(AsistenciaDiariaDetalleResponse::asistenciaAlumnoMensualId)
+                .containsExactlyElementsOf(registros);
+        assertThat(dia).extracting(AsistenciaDiariaDetalleResponse::estado).containsExactly(
+                EstadoAsistencia.PRESENTE, EstadoAsistencia.JUSTIFICADO, EstadoAsistencia.AUSENTE);
+        assertThat(dia).allSatisfy(fila -> assertThat(fila.asistenciaMensualId()).isEqualTo(planilla));
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM asistencias_diarias WHERE asistencia_alumno_mensual_id = ? AND vigente
+                """, Integer.class, registros.get(1))).isOne();
+
+        asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, hoy,
+                List.of(new Marca(registros.get(2), EstadoAsistencia.PRESENTE))));
+        assertThat(estado(registros.get(2))).isEqualTo("PRESENTE");
+    }
+
+    @Test
+    void unRegistroAjenoODuplicadoRevierteTodoElLote() {
+        assertThatThrownBy(() -> asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, hoy, List.of(
+                new Marca(registros.getFirst(), EstadoAsistencia.AUSENTE),
+                new Marca(ajeno, EstadoAsistencia.AUSENTE)))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(estado(registros.getFirst())).isNull();
+
+        assertThatThrownBy(() -> asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, hoy, List.of(
+                new Marca(registros.getFirst(), EstadoAsistencia.AUSENTE),
+                new Marca(registros.getFirst(), EstadoAsistencia.PRESENTE)))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla,
+                hoy.minusMonths(1), List.of(new Marca(registros.getFirst(), EstadoAsistencia.AUSENTE)))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM asistencias_diarias WHERE asistencia_alumno_mensual_id = ?",
+                Integer.class, registros.getFirst())).isZero();
+    }
+
+    private String estado(long registro) {
+        return jdbc.query("SELECT estado FROM asistencias_diarias WHERE asistencia_alumno_mensual_id = ? AND fecha = ?",
+                rs -> rs.next() ? rs.getString(1) : null, registro, hoy);
+    }
+
+    private long disciplina(String nombre, long profesor) {
+        return id("""
+                INSERT INTO disciplinas(nombre, profesor_id, valor_cuota, matricula, clase_suelta, clase_prueba, activo)
+                VALUES (?, ?, 100, 40, 0, 0, true) RETURNING id
+                """, nombre, profesor);
+    }
+
+    private long planilla(long disciplina) {
+        return id("INSERT INTO asistencias_mensuales(disciplina_id, mes, anio) VALUES (?, ?, ?) RETURNING id",
+                disciplina, hoy.getMonthValue(), hoy.getYear());
+    }
+
+    private long registro(long planilla, long disciplina, String nombre) {
+        long alumno = id("""
+                INSERT INTO alumnos(nombre, fecha_incorporacion, activo) VALUES (?, DATE '2026-01-01', true) RETURNING id
+                """, nombre);
+        long inscripcion = id("""
+                INSERT INTO inscripciones(alumno_id, disciplina_id, fecha_inscripcion, estado)
+                VALUES (?, ?, DATE '2026-01-01', 'ACTIVA') RETURNING id
+                """, alumno, disciplina);
+        return id("""
+                INSERT INTO asistencias_alumno_mensual(inscripcion_id, asistencia_mensual_id, activo)
+                VALUES (?, ?, true) RETURNING id
+                """, inscripcion, planilla);
+    }
+
+    private long id(String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        if (value == null) throw new IllegalStateException("La insercion no devolvio id");
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.AsistenciaDiariaMapper;
+import ledance.dto.asistencia.request.AsistenciaDiariaRegistroRequest;
+import ledance.entidades.AsistenciaAlumnoMensual;
+import ledance.entidades.AsistenciaMensual;
+import ledance.entidades.EstadoAsistencia;
+import ledance.repositorios.AsistenciaAlumnoMensualRepositorio;
+import ledance.repositorios.AsistenciaDiariaRepositorio;
+import ledance.repositorios.ResumenAsistenciaMensualRepositorio;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsistenciaDiariaServicioTest {
+
+    private final AsistenciaDiariaRepositorio diarias = mock(AsistenciaDiariaRepositorio.class);
+    private final AsistenciaAlumnoMensualRepositorio alumnosMensuales = mock(AsistenciaAlumnoMensualRepositorio.class);
+    private final AsistenciaDiariaServicio servicio = new AsistenciaDiariaServicio(diarias, alumnosMensuales,
+            mock(ResumenAsistenciaMensualRepositorio.class), mock(AsistenciaDiariaMapper.class),
+            Clock.fixed(Instant.parse("2026-06-30T12:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void unaMarcaSueltaDeOtroMesNoSeGuarda() {
+        registroDeMarzo();
+        AsistenciaDiariaRegistroRequest abril = new AsistenciaDiariaRegistroRequest(
+                null, LocalDate.of(2026, 4, 9), EstadoAsistencia.PRESENTE, 5L);
+        AsistenciaDiariaRegistroRequest otroAnio = new AsistenciaDiariaRegistroRequest(
+                null, LocalDate.of(2025, 3, 9), EstadoAsistencia.PRESENTE, 5L);
+
+        assertThatThrownBy(() -> servicio.registrarAsistencia(abril)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> servicio.registrarOActualizarAsistencia(otroAnio))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(diarias, never()).save(any());
+    }
+
+    private void registroDeMarzo() {
+        AsistenciaMensual planilla = new AsistenciaMensual();
+        planilla.setAnio(2026);
+        planilla.setMes(3);
+        AsistenciaAlumnoMensual registro = new AsistenciaAlumnoMensual();
+        registro.setId(5L);
+        registro.setAsistenciaMensual(planilla);
+        when(alumnosMensuales.findById(5L)).thenReturn(Optional.of(registro));
+    }
+}
@@ -0,0 +1,135 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest;
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest.Marca;
+import ledance.dto.asistencia.request.AsistenciaDiariaRegistroRequest;
+import ledance.dto.asistencia.response.AsistenciaAlumnoMensualDetalleResponse;
+import ledance.dto.asistencia.response.AsistenciaDiariaDetalleResponse;
+import ledance.dto.asistencia.response.AsistenciaMensualDetalleResponse;
+import ledance.dto.asistencia.response.AsistenciaMensualMatrizResponse;
+import ledance.entidades.EstadoAsistencia;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class MascarasAsistenciaPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private AsistenciaDiariaServicio asistencias;
+    @Autowired private AsistenciaMensualServicio planillas;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private Clock clock;
+
+    private LocalDate hoy;
+    private long disciplina;
+    private long planilla;
+    private final List<Long> registros = new ArrayList<>();
+    private final List<Long> alumnos = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        hoy = LocalDate.now(clock);
+        String suffix = UUID.randomUUID().toString();
+        long profesor = id("INSERT INTO profesores(nombre, apellido, activo) VALUES (?, 'Mascara', true) RETURNING id",
+                "Profesor " + suffix);
+        disciplina = id("""
+                INSERT INTO disciplinas(nombre, profesor_id, valor_cuota, matricula, clase_suelta, clase_prueba, activo)
+                VALUES (?, ?, 100, 40, 0, 0, true) RETURNING id
+                """, "Disciplina " + suffix, profesor);
+        planilla = id("INSERT INTO asistencias_mensuales(disciplina_id, mes, anio) VALUES (?, ?, ?) RETURNING id",
+                disciplina, hoy.getMonthValue(), hoy.getYear());
+        registros.clear();
+        alumnos.clear();
+        for (int i = 0; i < 3; i++) {
+            long alumno = id("""
+                    INSERT INTO alumnos(nombre, fecha_incorporacion, activo) VALUES (?, DATE '2026-01-01', true) RETURNING id
+                    """, "Alumno " + i + " " + suffix);
+            long inscripcion = id("""
+                    INSERT INTO inscripciones(alumno_id, disciplina_id, fecha_inscripcion, estado)
+                    VALUES (?, ?, DATE '2026-01-01', 'ACTIVA') RETURNING id
+                    """, alumno, disciplina);
+            alumnos.add(alumno);
+            registros.add(id("""
+                    INSERT INTO asistencias_alumno_mensual(inscripcion_id, asistencia_mensual_id, activo)
+                    VALUES (?, ?, true) RETURNING id
+                    """, inscripcion, planilla));
+        }
+    }
+
+    @Test
+    void lasMascarasSiguenALasFilasEnCadaEscritura() {
+        int bit = 1 << (hoy.getDayOfMonth() - 1);
+        List<AsistenciaDiariaDetalleResponse> dia = asistencias.registrarDia(new AsistenciaDiariaLoteRequest(
+                planilla, hoy, List.of(
+                        new Marca(registros.get(0), EstadoAsistencia.PRESENTE),
+                        new Marca(registros.get(1), EstadoAsistencia.JUSTIFICADO),
+                        new Marca(registros.get(2), EstadoAsistencia.AUSENTE))));
+        assertThat(mascaras(registros.get(0))).containsExactly(bit, bit, 0);
+        assertThat(mascaras(registros.get(1))).containsExactly(bit, 0, bit);
+        assertThat(mascaras(registros.get(2))).containsExactly(bit, 0, 0);
+
+        asistencias.registrarOActualizarAsistencia(new AsistenciaDiariaRegistroRequest(
+                null, hoy, EstadoAsistencia.AUSENTE, registros.get(0)));
+        assertThat(mascaras(registros.get(0))).containsExactly(bit, 0, 0);
+        asistencias.eliminarAsistencia(dia.get(1).id());
+        assertThat(mascaras(registros.get(1))).containsExactly(0, 0, 0);
+        assertThat(jdbc.queryForObject("SELECT reconstruir_mascaras_asistencia()", Long.class)).isZero();
+
+        assertThat(asistencias.obtenerResumenAsistenciasPorAlumno(disciplina, hoy.withDayOfMonth(1), hoy))
+                .containsEntry(alumnos.get(0), 1)
+                .containsEntry(alumnos.get(1), 0)
+                .containsEntry(alumnos.get(2), 1);
+        assertThat(asistencias.obtenerResumenAsistenciasPorAlumno(disciplina, hoy.plusDays(1), hoy.plusMonths(1)))
+                .allSatisfy((alumno, clases) -> assertThat(clases).isZero());
+
+        AsistenciaMensualDetalleResponse resumen = planillas.obtenerResumenPlanilla(disciplina,
+                hoy.getMonthValue(), hoy.getYear());
+        assertThat(resumen.alumnos()).allSatisfy(a -> assertThat(a.asistenciasDiarias()).isNullOrEmpty());
+        assertThat(resumen.alumnos()).extracting(AsistenciaAlumnoMensualDetalleResponse::diasClase)
+                .containsExactlyInAnyOrder(bit, 0, bit);
+
+        AsistenciaMensualMatrizResponse matriz = planillas.obtenerMatrizPlanilla(disciplina,
+                hoy.getMonthValue(), hoy.getYear());
+        assertThat(matriz.fechas()).containsExactly(hoy);
+        assertThat(matriz.alumnos()).extracting(AsistenciaMensualMatrizResponse.Alumno::asistenciaAlumnoMensualId,
+                        AsistenciaMensualMatrizResponse.Alumno::estados)
+                .containsExactly(tuple(registros.get(0), "A"), tuple(registros.get(1), "-"),
+                        tuple(registros.get(2), "A"));
+    }
+
+    @Test
+    void laReconstruccionCorrigeMascarasDesfasadas() {
+        asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, hoy,
+                List.of(new Marca(registros.getFirst(), EstadoAsistencia.PRESENTE))));
+        jdbc.update("UPDATE asistencias_alumno_mensual SET dias_clase = 0, dias_presente = 0 WHERE id = ?",
+                registros.getFirst());
+
+        assertThat(jdbc.queryForObject("SELECT reconstruir_mascaras_asistencia()", Long.class)).isOne();
+        int bit = 1 << (hoy.getDayOfMonth() - 1);
+        assertThat(mascaras(registros.getFirst())).containsExactly(bit, bit, 0);
+    }
+
+    private List<Integer> mascaras(long registro) {
+        return jdbc.queryForObject("""
+                SELECT dias_clase, dias_presente, dias_justificado FROM asistencias_alumno_mensual WHERE id = ?
+                """, (rs, n) -> List.of(rs.getInt(1), rs.getInt(2), rs.getInt(3)), registro);
+    }
+
+    private long id(String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        if (value == null) throw new IllegalStateException("La insercion no devolvio id");
+        return value;
+    }
+}
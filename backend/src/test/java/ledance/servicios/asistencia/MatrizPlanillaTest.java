@@ -0,0 +1,58 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.response.AsistenciaMensualMatrizResponse;
+import ledance.repositorios.AsistenciaMensualRepositorio.FilaMatriz;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatrizPlanillaTest {
+
+    private static final int DIA_3 = 1 << 2;
+    private static final int DIA_10 = 1 << 9;
+    private static final int DIA_31 = 1 << 30;
+
+    @Test
+    void lasColumnasSonLaUnionDeLosDiasDeClase() {
+        AsistenciaMensualMatrizResponse matriz = AsistenciaMensualServicio.matriz(List.of(
+                fila(10L, "Ana", DIA_3 | DIA_10, DIA_3, DIA_10),
+                fila(11L, "Beto", DIA_3 | DIA_31, 0, 0),
+                fila(12L, "Caro", DIA_31, DIA_31, 0)));
+
+        assertThat(matriz.id()).isEqualTo(7L);
+        assertThat(matriz.fechas()).containsExactly(
+                LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 31));
+        assertThat(matriz.alumnos()).extracting(AsistenciaMensualMatrizResponse.Alumno::estados)
+                .containsExactly("PJ-", "A-A", "--P");
+        assertThat(matriz.alumnos()).extracting(AsistenciaMensualMatrizResponse.Alumno::alumnoId)
+                .containsExactly(100L, 110L, 120L);
+    }
+
+    @Test
+    void unaPlanillaSinAlumnosNoTieneColumnas() {
+        AsistenciaMensualMatrizResponse matriz = AsistenciaMensualServicio.matriz(List.of(
+                fila(null, null, 0, 0, 0)));
+
+        assertThat(matriz.fechas()).isEmpty();
+        assertThat(matriz.alumnos()).isEmpty();
+    }
+
+    private static FilaMatriz fila(Long registro, String nombre, int clase, int presente, int justificado) {
+        return new FilaMatriz() {
+            public Long getPlanillaId() { return 7L; }
+            public Integer getMes() { return 3; }
+            public Integer getAnio() { return 2026; }
+            public Long getRegistroId() { return registro; }
+            public Long getAlumnoId() { return registro == null ? null : registro * 10; }
+            public String getNombre() { return nombre; }
+            public String getApellido() { return nombre == null ? null : "Perez"; }
+            public String getObservacion() { return null; }
+            public Integer getDiasClase() { return registro == null ? null : clase; }
+            public Integer getDiasPresente() { return registro == null ? null : presente; }
+            public Integer getDiasJustificado() { return registro == null ? null : justificado; }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package ledance.servicios.asistencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangoMascarasTest {
+
+    /** Clase todos los días del mes, como en un registro de 31 días. */
+    private static final int TODO_EL_MES = (1 << 31) - 1;
+
+    @Test
+    void desdeMitadDeMesCuentaDesdeEseDiaInclusive() {
+        int mascara = TODO_EL_MES & AsistenciaDiariaServicio.diasDesde(LocalDate.of(2026, 3, 15));
+
+        assertThat(Integer.bitCount(mascara)).isEqualTo(17);
+        assertThat(mascara & (1 << 13)).isZero();
+        assertThat(mascara & (1 << 14)).isNotZero();
+    }
+
+    @Test
+    void hastaMitadDeMesCuentaHastaEseDiaInclusive() {
+        int mascara = TODO_EL_MES & AsistenciaDiariaServicio.diasHasta(LocalDate.of(2026, 3, 10));
+
+        assertThat(Integer.bitCount(mascara)).isEqualTo(10);
+        assertThat(mascara & (1 << 9)).isNotZero();
+        assertThat(mascara & (1 << 10)).isZero();
+    }
+
+    @Test
+    void losBordesDelMesTomanElMesEntero() {
+        assertThat(TODO_EL_MES & AsistenciaDiariaServicio.diasDesde(LocalDate.of(2026, 3, 1))).isEqualTo(TODO_EL_MES);
+        assertThat(AsistenciaDiariaServicio.diasHasta(LocalDate.of(2026, 3, 31))).isEqualTo(TODO_EL_MES);
+        assertThat(Integer.bitCount(TODO_EL_MES & AsistenciaDiariaServicio.diasDesde(LocalDate.of(2026, 3, 31))))
+                .isOne();
+        assertThat(AsistenciaDiariaServicio.diasHasta(LocalDate.of(2026, 3, 1))).isOne();
+    }
+
+    @Test
+    void inicioYFinEnElMismoMesSeCombinan() {
+        int mascara = TODO_EL_MES
+                & AsistenciaDiariaServicio.diasDesde(LocalDate.of(2026, 2, 10))
+                & AsistenciaDiariaServicio.diasHasta(LocalDate.of(2026, 2, 20));
+
+        assertThat(Integer.bitCount(mascara)).isEqualTo(11);
+        assertThat(Integer.numberOfTrailingZeros(mascara)).isEqualTo(9);
+    }
+}
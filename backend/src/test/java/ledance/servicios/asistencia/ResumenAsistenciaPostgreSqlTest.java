@@ -0,0 +1,130 @@
+package ledance.servicios.asistencia;
+
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest;
+import ledance.dto.asistencia.request.AsistenciaDiariaLoteRequest.Marca;
+import ledance.dto.asistencia.response.AsistenciaDiariaDetalleResponse;
+import ledance.dto.asistencia.response.TasaAsistenciaResponse;
+import ledance.entidades.EstadoAsistencia;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ResumenAsistenciaPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private AsistenciaDiariaServicio asistencias;
+    @Autowired private EstadisticaAsistenciaServicio estadisticas;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private Clock clock;
+
+    private LocalDate segundo;
+    private LocalDate primero;
+    private long profesor;
+    private long disciplina;
+    private long planilla;
+    private final List<Long> registros = new ArrayList<>();
+    private final List<Long> alumnos = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        segundo = LocalDate.now(clock).minusMonths(1).withDayOfMonth(2);
+        primero = segundo.minusDays(1);
+        String suffix = UUID.randomUUID().toString();
+        profesor = id("INSERT INTO profesores(nombre, apellido, activo) VALUES (?, 'Resumen', true) RETURNING id",
+                "Profesor " + suffix);
+        disciplina = id("""
+                INSERT INTO disciplinas(nombre, profesor_id, valor_cuota, matricula, clase_suelta, clase_prueba, activo)
+                VALUES (?, ?, 100, 40, 0, 0, true) RETURNING id
+                """, "Disciplina " + suffix, profesor);
+        planilla = id("INSERT INTO asistencias_mensuales(disciplina_id, mes, anio) VALUES (?, ?, ?) RETURNING id",
+                disciplina, segundo.getMonthValue(), segundo.getYear());
+        registros.clear();
+        alumnos.clear();
+        for (int i = 0; i < 2; i++) {
+            long alumno = id("""
+                    INSERT INTO alumnos(nombre, fecha_incorporacion, activo) VALUES (?, DATE '2026-01-01', true) RETURNING id
+                    """, "Alumno " + i + " " + suffix);
+            long inscripcion = id("""
+                    INSERT INTO inscripciones(alumno_id, disciplina_id, fecha_inscripcion, estado)
+                    VALUES (?, ?, DATE '2026-01-01', 'ACTIVA') RETURNING id
+                    """, alumno, disciplina);
+            alumnos.add(alumno);
+            registros.add(id("""
+                    INSERT INTO asistencias_alumno_mensual(inscripcion_id, asistencia_mensual_id, activo)
+                    VALUES (?, ?, true) RETURNING id
+                    """, inscripcion, planilla));
+        }
+    }
+
+    @Test
+    void elResumenSigueCadaEscrituraDeAsistencia() {
+        asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, primero, List.of(
+                new Marca(registros.get(0), EstadoAsistencia.PRESENTE),
+                new Marca(registros.get(1), EstadoAsistencia.AUSENTE))));
+        List<AsistenciaDiariaDetalleResponse> dia = asistencias.registrarDia(new AsistenciaDiariaLoteRequest(
+                planilla, segundo, List.of(
+                        new Marca(registros.get(0), EstadoAsistencia.JUSTIFICADO),
+                        new Marca(registros.get(1), EstadoAsistencia.PRESENTE))));
+        LocalDate desde = segundo.withDayOfMonth(1);
+        LocalDate hasta = segundo.withDayOfMonth(segundo.lengthOfMonth());
+
+        assertThat(estadisticas.porDisciplina(disciplina, desde, hasta))
+                .extracting(TasaAsistenciaResponse::alumnoId, TasaAsistenciaResponse::clases,
+                        TasaAsistenciaResponse::presentes, TasaAsistenciaResponse::justificados,
+                        TasaAsistenciaResponse::ausentes, TasaAsistenciaResponse::porcentajeAsistencia)
+                .containsExactly(
+                        tuple(alumnos.get(0), 2L, 1L, 1L, 0L, new BigDecimal("50.00")),
+                        tuple(alumnos.get(1), 2L, 1L, 0L, 1L, new BigDecimal("50.00")));
+        assertThat(estadisticas.porProfesor(profesor, desde, hasta))
+                .extracting(TasaAsistenciaResponse::disciplinaId, TasaAsistenciaResponse::mes,
+                        TasaAsistenciaResponse::clases, TasaAsistenciaResponse::presentes)
+                .containsExactly(tuple(disciplina, segundo.getMonthValue(), 4L, 2L));
+
+        asistencias.eliminarAsistencia(dia.get(1).id());
+        assertThat(estadisticas.porAlumno(alumnos.get(1), desde, hasta))
+                .extracting(TasaAsistenciaResponse::disciplinaId, TasaAsistenciaResponse::clases,
+                        TasaAsistenciaResponse::presentes, TasaAsistenciaResponse::porcentajeAsistencia)
+                .containsExactly(tuple(disciplina, 1L, 0L, new BigDecimal("0.00")));
+        assertThat(asistencias.obtenerResumenAsistenciasPorAlumno(disciplina, desde, hasta))
+                .containsEntry(alumnos.get(0), 2).containsEntry(alumnos.get(1), 1);
+        assertThat(asistencias.obtenerResumenAsistenciasPorAlumno(disciplina, segundo, hasta))
+                .containsEntry(alumnos.get(0), 1).containsEntry(alumnos.get(1), 0);
+        assertThat(estadisticas.porAlumno(alumnos.get(1), desde.plusMonths(1), hasta.plusMonths(1))).isEmpty();
+        assertThatThrownBy(() -> estadisticas.porDisciplina(disciplina, hasta, desde))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void laReconciliacionCorrigeUnResumenDesfasado() {
+        asistencias.registrarDia(new AsistenciaDiariaLoteRequest(planilla, primero,
+                List.of(new Marca(registros.getFirst(), EstadoAsistencia.PRESENTE))));
+        jdbc.update("UPDATE resumenes_asistencia_mensual SET clases = 7, presentes = 7 WHERE alumno_id = ?",
+                alumnos.getFirst());
+
+        assertThat(estadisticas.reconciliar()).isPositive();
+        assertThat(estadisticas.reconciliar()).isZero();
+        assertThat(jdbc.queryForObject("""
+                SELECT clases * 10 + presentes FROM resumenes_asistencia_mensual WHERE alumno_id = ?
+                """, Integer.class, alumnos.getFirst())).isEqualTo(11);
+    }
+
+    private long id(String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        if (value == null) throw new IllegalStateException("La insercion no devolvio id");
+        return value;
+    }
+}
@@ -0,0 +1,114 @@
+package ledance.servicios.observaciones;
+
+import ledance.dto.alumno.response.AlumnoNotaCoincidenciaResponse;
+import ledance.dto.reporte.observacion.ObservacionCoincidenciaDTO;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.servicios.alumno.AlumnoServicio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BusquedaTextoPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private ObservacionProfesorServicio observaciones;
+    @Autowired private AlumnoServicio alumnos;
+    @Autowired private JdbcTemplate jdbc;
+
+    private String clave;
+    private long profesor;
+    private long otroProfesor;
+    private long repetida;
+    private long simple;
+
+    @BeforeEach
+    void seed() {
+        clave = palabra();
+        profesor = id("INSERT INTO profesores(nombre, apellido, activo) VALUES (?, 'Texto', true) RETURNING id",
+                "Profesor " + clave);
+        otroProfesor = id("INSERT INTO profesores(nombre, apellido, activo) VALUES (?, 'Texto', true) RETURNING id",
+                "Otro " + clave);
+        repetida = observacion(profesor, "La coreografia " + clave + " <b>necesita</b> ensayo; repasar " + clave
+                + " antes del acto", true);
+        simple = observacion(otroProfesor, "Cambiar vestuario de " + clave, true);
+        observacion(profesor, "Borrador sobre " + clave, false);
+        observacion(profesor, "Sin relacion con la busqueda", true);
+    }
+
+    @Test
+    void lasObservacionesSeOrdenanPorRelevanciaConFragmentoResaltado() {
+        Page<ObservacionCoincidenciaDTO> todas = observaciones.buscar(clave, null, PageRequest.of(0, 20));
+
+        assertThat(todas.getTotalElements()).isEqualTo(2);
+        assertThat(todas.getContent()).extracting(ObservacionCoincidenciaDTO::id).containsExactly(repetida, simple);
+        assertThat(todas.getContent().getFirst().relevancia())
+                .isGreaterThan(todas.getContent().get(1).relevancia());
+        assertThat(todas.getContent().getFirst().fragmento())
+                .contains("<mark>" + clave + "</mark>")
+                .contains("&lt;b&gt;")
+                .doesNotContain("<b>");
+        assertThat(todas.getContent().getFirst().profesorId()).isEqualTo(profesor);
+        assertThat(todas.getContent().getFirst().fecha()).isEqualTo(LocalDate.of(2026, 3, 10));
+
+        assertThat(observaciones.buscar(clave, otroProfesor, PageRequest.of(0, 20)).getContent())
+                .extracting(ObservacionCoincidenciaDTO::id).containsExactly(simple);
+        Page<ObservacionCoincidenciaDTO> segunda = observaciones.buscar(clave, null, PageRequest.of(1, 1));
+        assertThat(segunda.getTotalElements()).isEqualTo(2);
+        assertThat(segunda.getContent()).extracting(ObservacionCoincidenciaDTO::id).containsExactly(simple);
+        assertThat(observaciones.buscar(clave + " -vestuario", null, PageRequest.of(0, 20)).getContent())
+                .extracting(ObservacionCoincidenciaDTO::id).containsExactly(repetida);
+        assertThatThrownBy(() -> observaciones.buscar("  ", null, PageRequest.of(0, 20)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lasNotasDeAlumnosActivosSonBuscables() {
+        long activo = id("""
+                INSERT INTO alumnos(nombre, apellido, fecha_incorporacion, activo, otras_notas)
+                VALUES ('Ana', ?, DATE '2026-01-01', true, ?) RETURNING id
+                """, clave, "Alergia al polen; avisar antes de " + clave);
+        id("""
+                INSERT INTO alumnos(nombre, apellido, fecha_incorporacion, activo, otras_notas)
+                VALUES ('Beto', ?, DATE '2026-01-01', false, ?) RETURNING id
+                """, clave, "Dado de baja, " + clave);
+
+        Page<AlumnoNotaCoincidenciaResponse> encontrados = alumnos.buscarEnNotas(clave, PageRequest.of(0, 20));
+
+        assertThat(encontrados.getContent()).extracting(AlumnoNotaCoincidenciaResponse::id).containsExactly(activo);
+        assertThat(encontrados.getContent().getFirst().fragmento()).contains("<mark>" + clave + "</mark>");
+        assertThat(alumnos.buscarEnNotas("polen", PageRequest.of(0, 20)).getContent())
+                .extracting(AlumnoNotaCoincidenciaResponse::id).contains(activo);
+    }
+
+    private long observacion(long profesorId, String texto, boolean activa) {
+        return id("""
+                INSERT INTO observaciones_profesores(profesor_id, fecha, observacion, activa)
+                VALUES (?, DATE '2026-03-10', ?, ?) RETURNING id
+                """, profesorId, texto, activa);
+    }
+
+    private static String palabra() {
+        StringBuilder palabra = new StringBuilder("zq");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10; i++) {
+            palabra.append((char) ('a' + random.nextInt(26)));
+        }
+        return palabra.toString();
+    }
+
+    private long id(String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        if (value == null) throw new IllegalStateException("La insercion no devolvio id");
+        return value;
+    }
+}
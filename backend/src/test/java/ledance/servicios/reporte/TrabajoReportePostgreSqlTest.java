@@ -0,0 +1,105 @@
+package ledance.servicios.reporte;
+
+import ledance.dto.reporte.request.TrabajoReporteRequest;
+import ledance.dto.reporte.response.TrabajoReporteResponse;
+import ledance.entidades.EstadoTrabajoReporte;
+import ledance.entidades.TipoReporte;
+import ledance.entidades.Usuario;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"app.scheduling-enabled=true", "app.reportes.intervalo=1h"})
+class TrabajoReportePostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private TrabajoReporteServicio servicio;
+    @Autowired private TrabajoReporteWorker worker;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void seed() {
+        jdbc.execute("TRUNCATE TABLE trabajos_reporte RESTART IDENTITY");
+        Long id = jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'no-login', (SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'), true)
+                RETURNING id
+                """, Long.class, "reportes-" + UUID.randomUUID());
+        usuario = usuarios.findById(id).orElseThrow();
+    }
+
+    @Test
+    @Timeout(30)
+    void losMismosParametrosReutilizanElTrabajoHastaQueVenceElTtl() throws Exception {
+        TrabajoReporteRequest pedido = new TrabajoReporteRequest(TipoReporte.MENSUALIDADES_CSV,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), null, null, new BigDecimal("30"));
+        TrabajoReporteResponse encolado = servicio.crear(pedido, usuario);
+        assertThat(encolado.estado()).isEqualTo(EstadoTrabajoReporte.PENDIENTE);
+        TrabajoReporteRequest mismoSinPorcentaje = new TrabajoReporteRequest(TipoReporte.MENSUALIDADES_CSV,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), null, null, null);
+        assertThat(servicio.crear(mismoSinPorcentaje, usuario).id()).isEqualTo(encolado.id());
+
+        TrabajoReporteResponse completado = esperar(encolado.id(), EstadoTrabajoReporte.COMPLETADO);
+        assertThat(completado.progreso()).isEqualTo(100);
+        var archivo = servicio.archivo(encolado.id());
+        assertThat(Files.readString(archivo.path(), StandardCharsets.UTF_8)).startsWith("cargo_id,fecha_emision");
+        assertThat(archivo.contentType()).startsWith("text/csv");
+
+        TrabajoReporteResponse cacheado = servicio.crear(pedido, usuario);
+        assertThat(cacheado.id()).isEqualTo(encolado.id());
+        assertThat(cacheado.estado()).isEqualTo(EstadoTrabajoReporte.COMPLETADO);
+        TrabajoReporteResponse otroPeriodo = servicio.crear(new TrabajoReporteRequest(TipoReporte.MENSUALIDADES_CSV,
+                LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30), null, null, null), usuario);
+        assertThat(otroPeriodo.id()).isNotEqualTo(encolado.id());
+
+        jdbc.update("UPDATE trabajos_reporte SET expira_at = now() - interval '1 minute' WHERE id = ?",
+                encolado.id());
+        worker.procesarPendientes();
+        assertThat(servicio.obtener(encolado.id()).estado()).isEqualTo(EstadoTrabajoReporte.EXPIRADO);
+        assertThat(archivo.path()).doesNotExist();
+        assertThat(servicio.crear(pedido, usuario).id()).isNotIn(encolado.id(), otroPeriodo.id());
+    }
+
+    @Test
+    @Timeout(30)
+    void losParametrosInvalidosTerminanEnErrorSinReintentar() throws Exception {
+        assertThatThrownBy(() -> servicio.crear(new TrabajoReporteRequest(TipoReporte.LIQUIDACION_PDF,
+                LocalDate.of(2026, 3, 31), LocalDate.of(2026, 3, 1), null, null, BigDecimal.TEN), usuario))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        TrabajoReporteResponse encolado = servicio.crear(new TrabajoReporteRequest(
+                TipoReporte.ALUMNOS_DISCIPLINA_PDF, null, null, Long.MAX_VALUE, null, null), usuario);
+        TrabajoReporteResponse fallido = esperar(encolado.id(), EstadoTrabajoReporte.ERROR);
+        assertThat(fallido.error()).isEqualTo("Disciplina no encontrada");
+        assertThat(jdbc.queryForObject("SELECT intentos FROM trabajos_reporte WHERE id = ?", Integer.class,
+                encolado.id())).isOne();
+    }
+
+    private TrabajoReporteResponse esperar(Long id, EstadoTrabajoReporte estado) throws InterruptedException {
+        while (true) {
+            worker.procesarPendientes();
+            TrabajoReporteResponse trabajo = servicio.obtener(id);
+            if (trabajo.estado() == estado) {
+                return trabajo;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ledance.servicios.salon;
+
+import ledance.dto.salon.response.FranjaLibreResponse;
+import ledance.entidades.DiaSemana;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OcupacionSemanalTest {
+
+    private static final HorarioOcupado SALSA =
+            horario(1L, "Salsa", DiaSemana.MARTES, "18:00", "1.5");
+    private static final HorarioOcupado TANGO =
+            horario(2L, "Tango", DiaSemana.MARTES, "20:00", "1");
+    private static final HorarioOcupado TRASNOCHE =
+            horario(3L, "Trasnoche", DiaSemana.DOMINGO, "23:30", "1");
+
+    private final OcupacionSemanal ocupacion = new OcupacionSemanal(List.of(SALSA, TANGO, TRASNOCHE));
+
+    @Test
+    void detectaSuperposicionesYAceptaBloquesContiguos() {
+        assertThat(ocupacion.conflictos(DiaSemana.MARTES, LocalTime.of(19, 0), new BigDecimal("1.5")))
+                .containsExactly(SALSA, TANGO);
+        assertThat(ocupacion.conflictos(DiaSemana.MARTES, LocalTime.of(19, 30), new BigDecimal("0.5")))
+                .isEmpty();
+        assertThat(ocupacion.conflictos(DiaSemana.MIERCOLES, LocalTime.of(18, 0), BigDecimal.ONE)).isEmpty();
+    }
+
+    @Test
+    void bloqueQueCruzaLaMedianocheDelDomingoOcupaElLunes() {
+        assertThat(ocupacion.conflictos(DiaSemana.LUNES, LocalTime.of(0, 0), new BigDecimal("0.25")))
+                .containsExactly(TRASNOCHE);
+        assertThat(ocupacion.conflictos(DiaSemana.LUNES, LocalTime.of(0, 30), BigDecimal.ONE)).isEmpty();
+    }
+
+    @Test
+    void franjasLibresRespetanAperturaCierreYDuracionMinima() {
+        List<FranjaLibreResponse> martes = ocupacion.franjasLibres(LocalTime.of(17, 0), LocalTime.of(22, 0), 60)
+                .stream().filter(f -> f.diaSemana() == DiaSemana.MARTES).toList();
+
+        assertThat(martes).containsExactly(
+                new FranjaLibreResponse(DiaSemana.MARTES, LocalTime.of(17, 0), LocalTime.of(18, 0)),
+                new FranjaLibreResponse(DiaSemana.MARTES, LocalTime.of(21, 0), LocalTime.of(22, 0)));
+        assertThat(ocupacion.franjasLibres(LocalTime.of(17, 0), LocalTime.of(22, 0), 60))
+                .filteredOn(f -> f.diaSemana() == DiaSemana.JUEVES)
+                .containsExactly(new FranjaLibreResponse(DiaSemana.JUEVES, LocalTime.of(17, 0), LocalTime.of(22, 0)));
+    }
+
+    @Test
+    void arbolCoincideConBusquedaLineal() {
+        Random random = new Random(28);
+        List<ArbolIntervalos.Intervalo<Integer>> intervalos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int inicio = random.nextInt(10_000);
+            intervalos.add(new ArbolIntervalos.Intervalo<>(inicio, inicio + 1 + random.nextInt(180), i));
+        }
+        ArbolIntervalos<Integer> arbol = ArbolIntervalos.de(intervalos);
+
+        for (int consulta = 0; consulta < 1_000; consulta++) {
+            int inicio = random.nextInt(10_000);
+            int fin = inicio + 1 + random.nextInt(240);
+            List<Integer> esperados = intervalos.stream()
+                    .filter(i -> i.inicio() < fin && inicio < i.fin())
+                    .map(ArbolIntervalos.Intervalo::valor)
+                    .toList();
+            assertThat(arbol.superpuestos(inicio, fin).stream().map(ArbolIntervalos.Intervalo::valor))
+                    .containsExactlyInAnyOrderElementsOf(esperados);
+        }
+    }
+
+    @Test
+    void rechazaDuracionesNoPositivas() {
+        assertThatThrownBy(() -> ocupacion.conflictos(DiaSemana.LUNES, LocalTime.NOON, BigDecimal.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HorarioOcupado horario(Long disciplinaId, String nombre, DiaSemana dia,
+                                          String inicio, String duracion) {
+        return new HorarioOcupado(10L, disciplinaId, nombre, dia, LocalTime.parse(inicio), new BigDecimal(duracion));
+    }
+}
@@ -0,0 +1,99 @@
+package ledance.servicios.salon;
+
+import com.jayway.jsonpath.JsonPath;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Alta y modificación de disciplinas rechazan con 409 los horarios que se
+ * superponen con otra disciplina activa del mismo salon.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMINISTRADOR")
+class SuperposicionHorariosPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbc;
+
+    private Long salon;
+    private Long profesor;
+
+    @BeforeEach
+    void seed() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Long rol = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Long usuario = jdbc.queryForObject(
+                "INSERT INTO usuarios (nombre_usuario, contrasena, rol_id) VALUES (?, 'x', ?) RETURNING id",
+                Long.class, "profe-superposicion-" + suffix, rol);
+        profesor = jdbc.queryForObject(
+                "INSERT INTO profesores (nombre, apellido, usuario_id) VALUES ('Profe', 'Superposicion', ?) RETURNING id",
+                Long.class, usuario);
+        salon = jdbc.queryForObject(
+                "INSERT INTO salones (nombre) VALUES (?) RETURNING id", Long.class, "Salon " + suffix);
+        crear("Salsa", "LUNES", "19:00:00", "1.5").andExpect(status().isOk());
+    }
+
+    @Test
+    void altaSuperpuestaResponde409() throws Exception {
+        crear("Tango", "LUNES", "20:00:00", "1").andExpect(status().isConflict());
+
+        assertThat(horariosDelSalon()).isEqualTo(1);
+    }
+
+    @Test
+    void modificacionSuperpuestaResponde409YConservaLosHorarios() throws Exception {
+        String alta = crear("Tango", "MARTES", "19:00:00", "1")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long tango = ((Number) JsonPath.read(alta, "$.id")).longValue();
+
+        mockMvc.perform(put("/api/disciplinas/" + tango)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(disciplina("Tango", "LUNES", "18:30:00", "1")))
+                .andExpect(status().isConflict());
+
+        assertThat(jdbc.queryForObject(
+                "SELECT dia_semana FROM disciplina_horarios WHERE disciplina_id = ?", String.class, tango))
+                .isEqualTo("MARTES");
+        assertThat(horariosDelSalon()).isEqualTo(2);
+    }
+
+    private ResultActions crear(String nombre, String dia, String inicio, String duracion) throws Exception {
+        return mockMvc.perform(post("/api/disciplinas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(disciplina(nombre, dia, inicio, duracion)));
+    }
+
+    private String disciplina(String nombre, String dia, String inicio, String duracion) {
+        return """
+                {"nombre": "%s", "salonId": %d, "profesorId": %d, "valorCuota": "1000",
+                 "horarios": [{"diaSemana": "%s", "horarioInicio": "%s", "duracion": %s}]}
+                """.formatted(nombre, salon, profesor, dia, inicio, duracion);
+    }
+
+    private Integer horariosDelSalon() {
+        return jdbc.queryForObject("""
+                SELECT count(*) FROM disciplina_horarios h JOIN disciplinas d ON d.id = h.disciplina_id
+                WHERE d.salon_id = ?
+                """, Integer.class, salon);
+    }
+}
@@ -0,0 +1,139 @@
+package ledance.servicios.stock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ledance.dto.cargo.response.CargoResponse;
+import ledance.dto.stock.request.CarritoStockRequest;
+import ledance.dto.stock.request.ItemCarritoStockRequest;
+import ledance.dto.stock.request.ReversionStockRequest;
+import ledance.dto.stock.response.CarritoStockResponse;
+import ledance.entidades.Usuario;
+import ledance.infra.concurrencia.OrdenDeBloqueo;
+import ledance.infra.errores.SinStockException;
+import ledance.infra.errores.TratadorDeErrores.OperacionNoPermitidaException;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarritoStockPostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final LocalDate VENCIMIENTO = LocalDate.of(2026, 9, 30);
+
+    @Autowired private StockServicio stock;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private MeterRegistry registry;
+
+    @Test
+    void carritoVendeTodoJuntoEsIdempotenteYSeAnulaCompleto() {
+        String suffix = UUID.randomUUID().toString();
+        Usuario usuario = usuario(suffix);
+        Long alumno = id("INSERT INTO alumnos(nombre, fecha_incorporacion, activo) VALUES (?, DATE '2026-01-01', true) RETURNING id",
+                "Alumno carrito " + suffix);
+        Long zapatillas = producto("Zapatillas " + suffix, "30000", 5, true);
+        Long medias = producto("Medias " + suffix, "4500.50", 10, true);
+        Long entrada = producto("Entrada show " + suffix, "8000", 0, false);
+
+        String key = "carrito-" + suffix;
+        CarritoStockRequest request = new CarritoStockRequest(alumno, List.of(
+                new ItemCarritoStockRequest(medias, 1),
+                new ItemCarritoStockRequest(zapatillas, 1),
+                new ItemCarritoStockRequest(entrada, 2),
+                new ItemCarritoStockRequest(medias, 2)), VENCIMIENTO, key);
+
+        CarritoStockResponse carrito = stock.venderCarrito(request, usuario);
+
+        assertThat(carrito.cargos()).hasSize(3);
+        assertThat(carrito.total()).isEqualTo("59501.50");
+        assertThat(cantidad(zapatillas)).isEqualTo(4);
+        assertThat(cantidad(medias)).isEqualTo(7);
+        assertThat(cantidad(entrada)).isZero();
+        assertThat(stock.venderCarrito(request, usuario).cargos())
+                .extracting(CargoResponse::id)
+                .containsExactlyElementsOf(carrito.cargos().stream().map(CargoResponse::id).toList());
+        assertThatThrownBy(() -> stock.venderCarrito(new CarritoStockRequest(alumno,
+                List.of(new ItemCarritoStockRequest(medias, 1)), VENCIMIENTO, key), usuario))
+                .isInstanceOf(OperacionNoPermitidaException.class).hasMessageContaining("otro contenido");
+
+        Long linea = jdbc.queryForObject("SELECT min(id) FROM ventas_stock WHERE carrito_id = ?", Long.class, carrito.id());
+        assertThatThrownBy(() -> stock.revertirVenta(linea,
+                new ReversionStockRequest("linea-" + suffix, "devolucion"), usuario))
+                .isInstanceOf(OperacionNoPermitidaException.class).hasMessageContaining("carrito completo");
+
+        ReversionStockRequest reversion = new ReversionStockRequest("reversion-" + suffix, "talle incorrecto");
+        long bloqueosDeCargos = esperasDeCargosEnAnulacion();
+        CarritoStockResponse anulado = stock.revertirCarrito(carrito.id(), reversion, usuario);
+        // Los cargos del carrito se bloquean a través de OrdenDeBloqueo.
+        assertThat(esperasDeCargosEnAnulacion()).isEqualTo(bloqueosDeCargos + 1);
+        assertThat(anulado.estado()).isEqualTo("ANULADA");
+        assertThat(anulado.cargos()).extracting(CargoResponse::estado).containsOnly("ANULADO");
+        assertThat(cantidad(zapatillas)).isEqualTo(5);
+        assertThat(cantidad(medias)).isEqualTo(10);
+        assertThat(stock.revertirCarrito(carrito.id(), reversion, usuario).id()).isEqualTo(carrito.id());
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM movimientos_stock m JOIN ventas_stock v ON v.id = m.venta_stock_id
+                WHERE v.carrito_id = ? AND m.tipo = 'REVERSO'
+                """, Integer.class, carrito.id())).isEqualTo(3);
+    }
+
+    @Test
+    void faltaDeStockEnUnProductoNoDejaNadaVendido() {
+        String suffix = UUID.randomUUID().toString();
+        Usuario usuario = usuario(suffix);
+        Long alumno = id("INSERT INTO alumnos(nombre, fecha_incorporacion, activo) VALUES (?, DATE '2026-01-01', true) RETURNING id",
+                "Alumno sin stock " + suffix);
+        Long calzas = producto("Calzas " + suffix, "12000", 3, true);
+        Long vestuario = producto("Vestuario " + suffix, "25000", 1, true);
+
+        assertThatThrownBy(() -> stock.venderCarrito(new CarritoStockRequest(alumno, List.of(
+                new ItemCarritoStockRequest(calzas, 2),
+                new ItemCarritoStockRequest(vestuario, 2)), VENCIMIENTO, "sin-stock-" + suffix), usuario))
+                .isInstanceOf(SinStockException.class);
+
+        assertThat(cantidad(calzas)).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM ventas_stock WHERE alumno_id = ?", Integer.class, alumno))
+                .isZero();
+    }
+
+    private long esperasDeCargosEnAnulacion() {
+        return registry.find(OrdenDeBloqueo.ESPERA)
+                .tags("operacion", "anulacion-venta-stock", "recurso", "cargos")
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private Usuario usuario(String suffix) {
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        return usuarios.findById(id("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, "carrito-" + suffix, role)).orElseThrow();
+    }
+
+    private Long producto(String nombre, String precio, int cantidad, boolean controla) {
+        return id("""
+                INSERT INTO stocks(nombre, precio, cantidad_actual, requiere_control_de_stock, activo)
+                VALUES (?, CAST(? AS NUMERIC), ?, ?, true) RETURNING id
+                """, nombre, precio, cantidad, controla);
+    }
+
+    private int cantidad(Long stockId) {
+        return jdbc.queryForObject("SELECT cantidad_actual FROM stocks WHERE id = ?", Integer.class, stockId);
+    }
+
+    private Long id(String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        if (value == null) throw new IllegalStateException("La inserción no devolvió id");
+        return value;
+    }
+}
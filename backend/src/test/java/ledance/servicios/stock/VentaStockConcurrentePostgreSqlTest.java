@@ -0,0 +1,111 @@
+package ledance.servicios.stock;
+
+import ledance.dto.stock.request.VentaStockRequest;
+import ledance.entidades.Usuario;
+import ledance.infra.errores.SinStockException;
+import ledance.infra.persistencia.PostgreSqlIntegrationTest;
+import ledance.repositorios.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 32 cajas venden el mismo producto a la vez, cada una a un alumno distinto.
+ * Verifica que el descuento condicional no sobrevende ni pierde unidades y
+ * deja en el log las ventas por segundo como referencia de contención.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class VentaStockConcurrentePostgreSqlTest extends PostgreSqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VentaStockConcurrentePostgreSqlTest.class);
+    private static final int CAJAS = 32;
+    private static final int VENTAS_POR_CAJA = 20;
+    private static final int EXISTENCIA = 500;
+
+    @Autowired private StockServicio stock;
+    @Autowired private UsuarioRepositorio usuarios;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    @Timeout(120)
+    void treintaYDosCajasSobreUnProductoCalienteNoSobrevenden() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Long role = jdbc.queryForObject("SELECT id FROM roles WHERE descripcion = 'ADMINISTRADOR'", Long.class);
+        Usuario usuario = usuarios.findById(jdbc.queryForObject("""
+                INSERT INTO usuarios(nombre_usuario, contrasena, rol_id, activo)
+                VALUES (?, 'test-only', ?, true) RETURNING id
+                """, Long.class, "cajas-" + suffix, role)).orElseThrow();
+        Long producto = jdbc.queryForObject("""
+                INSERT INTO stocks(nombre, precio, cantidad_actual, requiere_control_de_stock, activo)
+                VALUES (?, 1500, ?, true, true) RETURNING id
+                """, Long.class, "Remera show " + suffix, EXISTENCIA);
+        List<Long> alumnos = new ArrayList<>();
+        for (int i = 0; i < CAJAS; i++) {
+            alumnos.add(jdbc.queryForObject("""
+                    INSERT INTO alumnos(nombre, fecha_incorporacion, activo)
+                    VALUES (?, DATE '2026-01-01', true) RETURNING id
+                    """, Long.class, "Alumno caja " + i + " " + suffix));
+        }
+
+        AtomicInteger vendidas = new AtomicInteger();
+        AtomicInteger sinStock = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CAJAS);
+        List<Future<?>> cajas = new ArrayList<>();
+        for (Long alumno : alumnos) {
+            cajas.add(executor.submit(() -> {
+                start.await();
+                for (int venta = 0; venta < VENTAS_POR_CAJA; venta++) {
+                    try {
+                        stock.vender(new VentaStockRequest(alumno, producto, 1, LocalDate.of(2026, 8, 31),
+                                "caja-" + alumno + "-" + venta), usuario);
+                        vendidas.incrementAndGet();
+                    } catch (SinStockException e) {
+                        sinStock.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> caja : cajas) {
+                caja.get(100, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        log.info("{} cajas, {} ventas y {} rechazos por falta de stock en {} ms ({} ventas/s)",
+                CAJAS, vendidas.get(), sinStock.get(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                vendidas.get() * 1_000_000_000L / Math.max(nanos, 1));
+        assertThat(vendidas.get()).isEqualTo(EXISTENCIA);
+        assertThat(sinStock.get()).isEqualTo(CAJAS * VENTAS_POR_CAJA - EXISTENCIA);
+        assertThat(jdbc.queryForObject("SELECT cantidad_actual FROM stocks WHERE id = ?", Integer.class, producto))
+                .isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM ventas_stock WHERE stock_id = ?", Integer.class, producto))
+                .isEqualTo(EXISTENCIA);
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM movimientos_stock WHERE stock_id = ? AND tipo = 'VENTA'
+                """, Integer.class, producto)).isEqualTo(EXISTENCIA);
+    }
+}
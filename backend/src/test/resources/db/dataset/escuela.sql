@@ -0,0 +1,296 @@
+-- Escuela sintética para pruebas de rendimiento. La ejecuta DatasetEscuela
+-- después de copiar los alumnos con COPY, dentro de una única transacción.
+--
+-- Parámetros (set_config local a la transacción):
+--   dataset.semilla, dataset.disciplinas, dataset.corte, dataset.meses_asistencia
+--
+-- El azar sale de hashint8extended(id, semilla): no depende del orden en que
+-- el plan recorre las filas, así que la misma escala produce los mismos datos.
+-- Sin workers paralelos los ids también salen en el mismo orden.
+
+SET LOCAL max_parallel_workers_per_gather = 0;
+
+CREATE FUNCTION pg_temp.azar(n BIGINT, sal INTEGER) RETURNS INTEGER
+    LANGUAGE sql STABLE
+    AS $$ SELECT abs(hashint8extended(n, sal + current_setting('dataset.semilla')::BIGINT) % 1000000)::INTEGER $$;
+
+-- Cargos vencidos hace más de dos meses están casi todos pagos; los recientes no.
+CREATE FUNCTION pg_temp.estado_cargo(r INTEGER, vencimiento DATE, corte DATE) RETURNS VARCHAR
+    LANGUAGE sql IMMUTABLE
+    AS $$ SELECT CASE
+        WHEN vencimiento < corte - 60 THEN
+            CASE WHEN r % 100 < 92 THEN 'PAGADO' WHEN r % 100 < 95 THEN 'PARCIAL' ELSE 'PENDIENTE' END
+        ELSE
+            CASE WHEN r % 100 < 50 THEN 'PAGADO' WHEN r % 100 < 60 THEN 'PARCIAL' ELSE 'PENDIENTE' END
+        END $$;
+
+CREATE TEMP TABLE ds_parametros AS
+SELECT current_setting('dataset.disciplinas')::INTEGER AS disciplinas,
+       current_setting('dataset.corte')::DATE AS corte,
+       current_setting('dataset.meses_asistencia')::INTEGER AS meses_asistencia;
+
+-- Catálogos ----------------------------------------------------------------
+
+INSERT INTO usuarios(nombre_usuario, contrasena, rol_id)
+SELECT 'dataset-caja-' || n, 'dataset-sin-login', r.id
+FROM generate_series(1, 3) n
+CROSS JOIN roles r
+WHERE r.descripcion = 'ADMINISTRADOR';
+
+CREATE TEMP TABLE ds_cajas AS
+SELECT row_number() OVER (ORDER BY id) - 1 AS k, id
+FROM usuarios WHERE nombre_usuario LIKE 'dataset-caja-%';
+
+INSERT INTO metodo_pagos(descripcion, recargo)
+VALUES ('Efectivo', 0), ('Transferencia', 0), ('Debito', 0), ('Credito', 10);
+
+CREATE TEMP TABLE ds_metodos AS
+SELECT row_number() OVER (ORDER BY id) - 1 AS k, id FROM metodo_pagos;
+
+-- Quince disciplinas por salon, dos horarios de una hora cada una: entran en
+-- la grilla de lunes a sábado de 16 a 21 sin superponerse.
+INSERT INTO salones(nombre, descripcion)
+SELECT 'Salon ' || n, 'Salon generado para pruebas de rendimiento'
+FROM ds_parametros p
+CROSS JOIN generate_series(1, (p.disciplinas + 14) / 15) n;
+
+INSERT INTO profesores(nombre, apellido, fecha_nacimiento, telefono)
+SELECT (ARRAY['Ana','Bruno','Carla','Diego','Elena','Facundo','Gabriela','Hernan','Ines','Julian'])[1 + pg_temp.azar(n, 1) % 10],
+       (ARRAY['Acosta','Benitez','Castro','Diaz','Fernandez','Gomez','Herrera','Lopez','Martinez','Sosa'])[1 + pg_temp.azar(n, 2) % 10],
+       DATE '1965-01-01' + pg_temp.azar(n, 3) % 12000,
+       '11' || lpad((pg_temp.azar(n, 4) % 100000000)::TEXT, 8, '0')
+FROM ds_parametros p
+CROSS JOIN generate_series(1, (p.disciplinas + 3) / 4) n;
+
+INSERT INTO disciplinas(nombre, salon_id, profesor_id, valor_cuota, matricula, clase_suelta)
+SELECT (ARRAY['Salsa','Tango','Ballet','Jazz','Hip Hop','Folklore','Contemporaneo','Bachata',
+              'Reggaeton','Flamenco','Stretching','Ritmos'])[1 + g.k % 12]
+           || ' ' || (ARRAY['Inicial','Intermedio','Avanzado','Kids','Adultos'])[1 + (g.k / 12) % 5]
+           || ' ' || (g.k + 1),
+       s.id, pr.id, 15000 + 500 * (pg_temp.azar(g.k, 5) % 30), 12000, 4000
+FROM ds_parametros p
+CROSS JOIN generate_series(0, p.disciplinas - 1) g(k)
+JOIN (SELECT row_number() OVER (ORDER BY id) - 1 AS k, id FROM salones) s ON s.k = g.k / 15
+JOIN (SELECT row_number() OVER (ORDER BY id) - 1 AS k, id FROM profesores) pr ON pr.k = g.k / 4;
+
+CREATE TEMP TABLE ds_disciplinas AS
+SELECT row_number() OVER (ORDER BY id) - 1 AS k, id FROM disciplinas;
+
+INSERT INTO disciplina_horarios(disciplina_id, dia_semana, horario_inicio, duracion)
+SELECT d.id, (ARRAY['LUNES','MARTES','MIERCOLES','JUEVES','VIERNES','SABADO'])[1 + s.franja % 6],
+       TIME '16:00' + make_interval(hours => s.franja / 6), 1
+FROM ds_disciplinas d
+CROSS JOIN LATERAL (VALUES (2 * (d.k % 15)), (2 * (d.k % 15) + 1)) s(franja);
+
+INSERT INTO stocks(nombre, precio, cantidad_actual, requiere_control_de_stock, codigo_barras)
+SELECT (ARRAY['Remera','Calza','Zapatillas','Medias','Botella','Mochila','Vestuario','Entrada show'])[1 + n % 8]
+           || ' ' || (ARRAY['XS','S','M','L','XL'])[1 + (n / 8) % 5] || ' ' || n,
+       2000 + 500 * (pg_temp.azar(n, 6) % 60), 1000000, n % 8 <> 7, '779' || lpad(n::TEXT, 10, '0')
+FROM generate_series(1, 40) n;
+
+CREATE TEMP TABLE ds_stocks AS
+SELECT row_number() OVER (ORDER BY id) - 1 AS k, id, nombre, precio FROM stocks;
+
+-- Inscripciones y cuotas ---------------------------------------------------
+
+-- Cada alumno tiene entre una y tres inscripciones a disciplinas distintas;
+-- las de un alumno dado de baja quedan finalizadas en la fecha de su baja.
+INSERT INTO inscripciones(alumno_id, disciplina_id, fecha_inscripcion, fecha_baja, estado)
+SELECT x.alumno_id, d.id, x.fecha,
+       CASE x.estado
+           WHEN 'ACTIVA' THEN NULL
+           WHEN 'FINALIZADA' THEN x.fin
+           ELSE LEAST(x.fecha + 30 * (1 + pg_temp.azar(x.alumno_id, 20 + x.n) % 12), x.fin)
+       END,
+       x.estado
+FROM (
+    SELECT a.id AS alumno_id, g.n,
+           LEAST(a.fecha_incorporacion + 45 * g.n, coalesce(a.fecha_de_baja, p.corte)) AS fecha,
+           coalesce(a.fecha_de_baja, p.corte) AS fin,
+           CASE WHEN NOT a.activo THEN 'FINALIZADA'
+                WHEN g.n > 0 AND pg_temp.azar(a.id, 20 + g.n) % 100 < 30 THEN 'INACTIVA'
+                ELSE 'ACTIVA' END AS estado,
+           (pg_temp.azar(a.id, 11) + g.n * (p.disciplinas / 3)) % p.disciplinas AS disciplina_k
+    FROM alumnos a
+    CROSS JOIN ds_parametros p
+    CROSS JOIN LATERAL generate_series(0, CASE WHEN pg_temp.azar(a.id, 10) % 100 < 10 THEN 2
+                                               WHEN pg_temp.azar(a.id, 10) % 100 < 40 THEN 1
+                                               ELSE 0 END) g(n)
+) x
+JOIN ds_disciplinas d ON d.k = x.disciplina_k;
+
+INSERT INTO mensualidades(inscripcion_id, anio, mes, fecha_generacion, fecha_vencimiento, descripcion)
+SELECT i.id, extract(YEAR FROM m.periodo)::INTEGER, extract(MONTH FROM m.periodo)::INTEGER,
+       m.periodo::DATE, m.periodo::DATE + 9, d.nombre || ' ' || to_char(m.periodo, 'YYYY-MM')
+FROM inscripciones i
+JOIN disciplinas d ON d.id = i.disciplina_id
+CROSS JOIN ds_parametros p
+CROSS JOIN LATERAL generate_series(date_trunc('month', i.fecha_inscripcion),
+                                   date_trunc('month', coalesce(i.fecha_baja, p.corte)),
+                                   INTERVAL '1 month') m(periodo);
+
+INSERT INTO cargos(alumno_id, tipo, descripcion, importe_original, fecha_emision, fecha_vencimiento,
+                   estado, mensualidad_id, created_at)
+SELECT i.alumno_id, 'MENSUALIDAD', m.descripcion, coalesce(i.costo_particular, d.valor_cuota),
+       m.fecha_generacion, m.fecha_vencimiento,
+       pg_temp.estado_cargo(pg_temp.azar(m.id, 30), m.fecha_vencimiento, p.corte), m.id, m.fecha_generacion
+FROM mensualidades m
+JOIN inscripciones i ON i.id = m.inscripcion_id
+JOIN disciplinas d ON d.id = i.disciplina_id
+CROSS JOIN ds_parametros p;
+
+INSERT INTO matriculas(alumno_id, anio, fecha_emision)
+SELECT a.id, y, GREATEST(make_date(y, 1, 1), a.fecha_incorporacion)
+FROM alumnos a
+CROSS JOIN ds_parametros p
+CROSS JOIN LATERAL generate_series(extract(YEAR FROM a.fecha_incorporacion)::INTEGER,
+                                   extract(YEAR FROM coalesce(a.fecha_de_baja, p.corte))::INTEGER) y;
+
+INSERT INTO cargos(alumno_id, tipo, descripcion, importe_original, fecha_emision, fecha_vencimiento,
+                   estado, matricula_id, created_at)
+SELECT mt.alumno_id, 'MATRICULA', 'Matricula ' || mt.anio, 12000, mt.fecha_emision, make_date(mt.anio, 1, 31),
+       pg_temp.estado_cargo(pg_temp.azar(mt.id, 31), GREATEST(make_date(mt.anio, 1, 31), mt.fecha_emision), p.corte),
+       mt.id, mt.fecha_emision
+FROM matriculas mt
+CROSS JOIN ds_parametros p;
+
+-- Tienda ------------------------------------------------------------------
+
+INSERT INTO ventas_stock(alumno_id, stock_id, cantidad, precio_unitario, fecha, idempotency_key, request_hash)
+SELECT a.id, s.id, 1 + pg_temp.azar(a.id, 41 + g.n) % 2, s.precio,
+       a.fecha_incorporacion + pg_temp.azar(a.id, 42 + g.n) % (coalesce(a.fecha_de_baja, p.corte) - a.fecha_incorporacion + 1),
+       'dataset-venta-' || a.id || '-' || g.n,
+       encode(sha256(convert_to('dataset-venta-' || a.id || '-' || g.n, 'UTF8')), 'hex')
+FROM alumnos a
+CROSS JOIN ds_parametros p
+CROSS JOIN LATERAL generate_series(1, GREATEST(0, pg_temp.azar(a.id, 40) % 5 - 2)) g(n)
+JOIN ds_stocks s ON s.k = pg_temp.azar(a.id, 43 + g.n) % 40;
+
+INSERT INTO cargos(alumno_id, tipo, descripcion, importe_original, fecha_emision, fecha_vencimiento,
+                   estado, venta_stock_id, created_at)
+SELECT v.alumno_id, 'VENTA_STOCK', s.nombre || ' x' || v.cantidad, v.precio_unitario * v.cantidad,
+       v.fecha, v.fecha + 30, pg_temp.estado_cargo(pg_temp.azar(v.id, 32), v.fecha + 30, p.corte), v.id, v.fecha
+FROM ventas_stock v
+JOIN ds_stocks s ON s.id = v.stock_id
+CROSS JOIN ds_parametros p;
+
+INSERT INTO movimientos_stock(stock_id, tipo, cantidad, venta_stock_id, usuario_id, idempotency_key, created_at)
+SELECT v.stock_id, 'VENTA', v.cantidad, v.id, u.id, 'venta:' || v.idempotency_key, v.fecha
+FROM ventas_stock v
+JOIN ds_cajas u ON u.k = pg_temp.azar(v.id, 44) % 3;
+
+UPDATE stocks s
+SET cantidad_actual = s.cantidad_actual - v.vendidas
+FROM (SELECT stock_id, sum(cantidad) AS vendidas FROM ventas_stock GROUP BY stock_id) v
+WHERE v.stock_id = s.id AND s.requiere_control_de_stock;
+
+-- Pagos --------------------------------------------------------------------
+
+-- Un pago por alumno y mes de emisión cubre lo pagado o la mitad de lo
+-- parcial; uno de cada veinticinco deja un excedente como crédito.
+CREATE TEMP TABLE ds_aplicaciones AS
+SELECT c.id AS cargo_id, c.alumno_id, c.fecha_emision,
+       date_trunc('month', c.fecha_emision)::DATE AS periodo,
+       CASE c.estado WHEN 'PAGADO' THEN c.importe_original ELSE round(c.importe_original / 2, 2) END AS importe
+FROM cargos c
+WHERE c.estado IN ('PAGADO', 'PARCIAL');
+
+CREATE TEMP TABLE ds_pagos AS
+SELECT x.alumno_id, x.periodo, x.n, x.aplicado,
+       CASE WHEN pg_temp.azar(x.n, 52) % 25 = 0 THEN 1000 ELSE 0 END AS excedente,
+       GREATEST(x.ultima_emision, LEAST(x.periodo + pg_temp.azar(x.n, 53) % 15, p.corte)) AS fecha,
+       'dataset-pago-' || x.alumno_id || '-' || to_char(x.periodo, 'YYYY-MM') AS clave,
+       NULL::BIGINT AS pago_id
+FROM (
+    SELECT alumno_id, periodo, sum(importe) AS aplicado, max(fecha_emision) AS ultima_emision,
+           alumno_id * 100000 + extract(YEAR FROM periodo)::BIGINT * 12 + extract(MONTH FROM periodo)::BIGINT AS n
+    FROM ds_aplicaciones
+    GROUP BY alumno_id, periodo
+) x
+CROSS JOIN ds_parametros p;
+
+INSERT INTO pagos(alumno_id, metodo_pago_id, usuario_id, fecha, monto_recibido, idempotency_key, request_hash, created_at)
+SELECT x.alumno_id, m.id, u.id, x.fecha, x.aplicado + x.excedente, x.clave,
+       encode(sha256(convert_to(x.clave, 'UTF8')), 'hex'), x.fecha
+FROM ds_pagos x
+JOIN ds_metodos m ON m.k = pg_temp.azar(x.n, 50) % 4
+JOIN ds_cajas u ON u.k = pg_temp.azar(x.n, 51) % 3;
+
+UPDATE ds_pagos x SET pago_id = p.id FROM pagos p WHERE p.idempotency_key = x.clave;
+
+INSERT INTO aplicaciones_pago(pago_id, cargo_id, usuario_id, importe_aplicado, fecha, created_at)
+SELECT p.id, a.cargo_id, p.usuario_id, a.importe, p.fecha, p.created_at
+FROM ds_aplicaciones a
+JOIN ds_pagos x ON x.alumno_id = a.alumno_id AND x.periodo = a.periodo
+JOIN pagos p ON p.id = x.pago_id;
+
+INSERT INTO movimientos_caja(tipo, fecha, importe, metodo_pago_id, pago_id, usuario_id, idempotency_key, created_at)
+SELECT 'INGRESO_PAGO', p.fecha, p.monto_recibido, p.metodo_pago_id, p.id, p.usuario_id,
+       'pago:' || p.idempotency_key, p.created_at
+FROM pagos p;
+
+INSERT INTO movimientos_credito(alumno_id, tipo, importe, pago_id, usuario_id, idempotency_key, request_hash, created_at)
+SELECT x.alumno_id, 'GENERACION', x.excedente, p.id, p.usuario_id, 'credito:' || x.clave,
+       encode(sha256(convert_to('PAGO_CREDITO|' || x.clave || '|' || x.excedente, 'UTF8')), 'hex'), p.created_at
+FROM ds_pagos x
+JOIN pagos p ON p.id = x.pago_id
+WHERE x.excedente > 0;
+
+INSERT INTO recibos(pago_id, storage_key, generado_at, enviado_at)
+SELECT id, 'recibos/' || id || '.pdf', created_at, created_at FROM pagos;
+
+INSERT INTO recibos_pendientes(pago_id, tipo, estado, intentos, next_attempt_at, idempotency_key, created_at, processed_at)
+SELECT id, 'GENERAR_Y_ENVIAR', 'COMPLETADO', 1, created_at, 'recibo:' || id || ':GENERAR_Y_ENVIAR', created_at, created_at
+FROM pagos;
+
+-- Asistencia ---------------------------------------------------------------
+
+INSERT INTO asistencias_mensuales(disciplina_id, mes, anio)
+SELECT d.id, extract(MONTH FROM m.periodo)::INTEGER, extract(YEAR FROM m.periodo)::INTEGER
+FROM disciplinas d
+CROSS JOIN ds_parametros p
+CROSS JOIN LATERAL generate_series(date_trunc('month', p.corte) - make_interval(months => p.meses_asistencia - 1),
+                                   date_trunc('month', p.corte), INTERVAL '1 month') m(periodo);
+
+-- Las máscaras y el resumen mensual se arman de una vez al final en lugar de
+-- fila por fila.
+ALTER TABLE asistencias_alumno_mensual DISABLE TRIGGER tg_asistencias_alumno_resumen;
+ALTER TABLE asistencias_alumno_mensual DISABLE TRIGGER tg_asistencias_alumno_resumen_cambio;
+
+INSERT INTO asistencias_alumno_mensual(inscripcion_id, asistencia_mensual_id)
+SELECT i.id, am.id
+FROM asistencias_mensuales am
+JOIN inscripciones i ON i.disciplina_id = am.disciplina_id
+WHERE i.fecha_inscripcion < make_date(am.anio, am.mes, 1) + INTERVAL '1 month'
+  AND coalesce(i.fecha_baja, DATE '9999-12-31') >= make_date(am.anio, am.mes, 1);
+
+ALTER TABLE asistencias_diarias DISABLE TRIGGER tg_asistencias_diarias_mascaras;
+
+INSERT INTO asistencias_diarias(asistencia_alumno_mensual_id, fecha, estado)
+SELECT aam.id, f.fecha::DATE,
+       CASE WHEN z.r < 80 THEN 'PRESENTE' WHEN z.r < 95 THEN 'AUSENTE' ELSE 'JUSTIFICADO' END
+FROM asistencias_alumno_mensual aam
+JOIN asistencias_mensuales am ON am.id = aam.asistencia_mensual_id
+JOIN inscripciones i ON i.id = aam.inscripcion_id
+JOIN disciplina_horarios h ON h.disciplina_id = am.disciplina_id
+CROSS JOIN ds_parametros p
+CROSS JOIN LATERAL generate_series(make_date(am.anio, am.mes, 1)::TIMESTAMP,
+                                   make_date(am.anio, am.mes, 1) + INTERVAL '1 month' - INTERVAL '1 day',
+                                   INTERVAL '1 day') f(fecha)
+CROSS JOIN LATERAL (SELECT pg_temp.azar(aam.id * 32 + extract(DAY FROM f.fecha)::BIGINT, 60) % 100 AS r) z
+WHERE extract(ISODOW FROM f.fecha) = array_position(
+          ARRAY['LUNES','MARTES','MIERCOLES','JUEVES','VIERNES','SABADO','DOMINGO'], h.dia_semana::TEXT)
+  AND f.fecha::DATE BETWEEN i.fecha_inscripcion AND coalesce(i.fecha_baja, p.corte)
+  AND f.fecha::DATE <= p.corte;
+
+ALTER TABLE asistencias_diarias ENABLE TRIGGER tg_asistencias_diarias_mascaras;
+SELECT reconstruir_mascaras_asistencia();
+ALTER TABLE asistencias_alumno_mensual ENABLE TRIGGER tg_asistencias_alumno_resumen;
+ALTER TABLE asistencias_alumno_mensual ENABLE TRIGGER tg_asistencias_alumno_resumen_cambio;
+SELECT reconstruir_resumen_asistencia();
+
+DROP TABLE ds_parametros, ds_cajas, ds_metodos, ds_disciplinas, ds_stocks, ds_aplicaciones, ds_pagos;
+DROP FUNCTION pg_temp.azar(BIGINT, INTEGER);
+DROP FUNCTION pg_temp.estado_cargo(INTEGER, DATE, DATE);
+
+ANALYZE;
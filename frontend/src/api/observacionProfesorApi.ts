@@ -3,6 +3,7 @@ import api from "./axiosConfig";
 import type {
   ObservacionProfesorResponse,
   ObservacionProfesorRequest,
+  PageResponse,
 } from "../types/types";
 
 // Crea una nueva ObservacionProfesor
@@ -43,21 +44,29 @@ const eliminarObservacionProfesor = async (id: number): Promise<void> => {
   await api.delete(`/observaciones-profesores/${id}`);
 };
 
-// Lista todas las ObservacionesProfesor
-const listarObservacionesProfesores = async (): Promise<
-  ObservacionProfesorResponse[]
-> => {
-  const { data } = await api.get<ObservacionProfesorResponse[]>(
-    "/observaciones-profesores"
+// Lista las ObservacionesProfesor, de la más reciente a la más antigua
+const listarObservacionesProfesores = async (
+  page = 0,
+  size = 50
+): Promise<PageResponse<ObservacionProfesorResponse>> => {
+  const { data } = await api.get<PageResponse<ObservacionProfesorResponse>>(
+    "/observaciones-profesores",
+    { params: { page, size } }
   );
   return data;
 };
 
+// Lista las observaciones de un profesor en un rango de fechas
 const listarObservacionesPorProfesor = async (
-  profesorId: number
-): Promise<ObservacionProfesorResponse[]> => {
-  const { data } = await api.get<ObservacionProfesorResponse[]>(
-    `/observaciones-profesores/profesor/${profesorId}`
+  profesorId: number,
+  desde: string,
+  hasta: string,
+  page = 0,
+  size = 50
+): Promise<PageResponse<ObservacionProfesorResponse>> => {
+  const { data } = await api.get<PageResponse<ObservacionProfesorResponse>>(
+    `/observaciones-profesores/profesor/${profesorId}`,
+    { params: { desde, hasta, page, size } }
   );
   return data;
 };
@@ -28,6 +28,8 @@ const ConsultaObservacionesProfesores: React.FC = () => {
     ObservacionProfesorResponse[]
   >([]);
   const [loading, setLoading] = useState(false);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
 
   // Estados para el modal de "Agregar Observación"
   const [showModal, setShowModal] = useState(false);
@@ -55,24 +57,24 @@ const ConsultaObservacionesProfesores: React.FC = () => {
     cargarProfesores();
   }, []);
 
-  // Función para filtrar observaciones desde el frontend
-  const handleFiltrar = async () => {
+  // Función para filtrar observaciones por profesor y rango de fechas
+  const handleFiltrar = async (pagina = 0) => {
     if (!profesorId) {
       toast.error("Debe seleccionar un profesor para filtrar.");
       return;
     }
     try {
       setLoading(true);
-      // Se obtienen TODAS las observaciones del profesor desde el backend.
+      // El backend filtra por el rango de fechas seleccionado.
       const data = await observacionProfesorApi.listarObservacionesPorProfesor(
-        profesorId
+        profesorId,
+        fechaInicio,
+        fechaFin,
+        pagina
       );
-      // Luego, se filtran por el rango de fechas seleccionado en el frontend.
-      const filtradas = data.filter((obs) => {
-        // Se asume que obs.fecha es una cadena ISO (ej. "2025-03-27")
-        return obs.fecha >= fechaInicio && obs.fecha <= fechaFin;
-      });
-      setObservaciones(filtradas);
+      setObservaciones(data.content);
+      setPage(pagina);
+      setTotalPages(data.totalPages);
     } catch {
       toast.error("Error al cargar observaciones.");
     } finally {
@@ -112,8 +114,8 @@ const ConsultaObservacionesProfesores: React.FC = () => {
       await observacionProfesorApi.crearObservacionProfesor(solicitud);
       toast.success("Observación agregada correctamente.");
       setShowModal(false);
-      // Refrescar la lista de observaciones
-      handleFiltrar();
+      // Refrescar la página actual de observaciones
+      handleFiltrar(page);
     } catch {
       toast.error("Error al agregar la observación.");
     }
@@ -159,7 +161,7 @@ const ConsultaObservacionesProfesores: React.FC = () => {
           </select>
         </div>
         <Boton
-          onClick={handleFiltrar}
+          onClick={() => handleFiltrar()}
           className="bg-green-500 text-white p-2 rounded"
         >
           Ver Observaciones
@@ -190,6 +192,12 @@ const ConsultaObservacionesProfesores: React.FC = () => {
         )}
       </div>
 
+      <div className="mt-4">
+        <Boton disabled={page === 0 || loading} onClick={() => handleFiltrar(page - 1)} className="page-button-secondary">Anterior</Boton>
+        <span> Página {page + 1} de {Math.max(totalPages, 1)} </span>
+        <Boton disabled={loading || page + 1 >= totalPages} onClick={() => handleFiltrar(page + 1)} className="page-button-secondary">Siguiente</Boton>
+      </div>
+
       {/* Modal para Agregar Observación */}
       {showModal && (
         <div className="fixed inset-0 z-50 flex items-center justify-center bg-black bg-opacity-30">
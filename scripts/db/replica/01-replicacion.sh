@@ -0,0 +1,5 @@
+#!/bin/sh
+# Permite conexiones de replicación desde la red de Compose. Sólo corre al
+# inicializar un volumen vacío; en uno existente agregá la línea a mano.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"